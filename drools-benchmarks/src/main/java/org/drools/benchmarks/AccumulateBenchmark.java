@@ -0,0 +1,116 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.drools.benchmarks.domain.A;
+import org.drools.benchmarks.domain.B;
+import org.kie.api.KieBase;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.rule.FactHandle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures an accumulate whose source facts are continuously deleted and reinserted, comparing a reversible
+ * function, where each deletion only reverses its own contribution, with an inline accumulate without a reverse
+ * block, where each deletion recalculates the result from scratch.
+ */
+@Fork(value = 2, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AccumulateBenchmark {
+
+    private static final String REVERSIBLE_DRL =
+            BenchmarkUtil.imports( A.class, B.class ) +
+            "rule Sum when\n" +
+            "    $a : A()\n" +
+            "    accumulate( B( value >= $a.value, $v : value ); $sum : sum( $v ) )\n" +
+            "then end\n";
+
+    private static final String NOT_REVERSIBLE_DRL =
+            BenchmarkUtil.imports( A.class, B.class ) +
+            "rule Sum when\n" +
+            "    $a : A()\n" +
+            "    $sum : Integer() from accumulate( B( value >= $a.value, $v : value ),\n" +
+            "                                      init( int total = 0; ),\n" +
+            "                                      action( total += $v; ),\n" +
+            "                                      result( total ) )\n" +
+            "then end\n";
+
+    @Param({"true", "false"})
+    private boolean reversible;
+
+    @Param({"10", "1000"})
+    private int factCount;
+
+    private KieSession ksession;
+    private List<B> bs;
+    private FactHandle[] handles;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        KieBase kieBase = BenchmarkUtil.buildKieBase( reversible ? REVERSIBLE_DRL : NOT_REVERSIBLE_DRL );
+        ksession = kieBase.newKieSession();
+        ksession.insert( new A( 0, 0 ) );
+
+        Random random = new Random( BenchmarkUtil.SEED );
+        bs = new ArrayList<B>( factCount );
+        handles = new FactHandle[factCount];
+        for (int i = 0; i < factCount; i++) {
+            B b = new B( i, random.nextInt( 1000 ) );
+            bs.add( b );
+            handles[i] = ksession.insert( b );
+        }
+        ksession.fireAllRules();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ksession.dispose();
+    }
+
+    @Benchmark
+    public int deleteAndReinsert() {
+        int i = next;
+        next = ( next + 1 ) % factCount;
+
+        ksession.delete( handles[i] );
+        ksession.fireAllRules();
+        handles[i] = ksession.insert( bs.get( i ) );
+        return ksession.fireAllRules();
+    }
+}
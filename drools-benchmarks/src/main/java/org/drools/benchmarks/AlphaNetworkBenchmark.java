@@ -0,0 +1,95 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.drools.benchmarks.domain.A;
+import org.kie.api.KieBase;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.rule.FactHandle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the dispatch of a fact through the alpha network, i.e. the CompositeObjectSinkAdapter of the
+ * ObjectTypeNode, with a growing number of alpha nodes. Equality constraints are hashed once the number of
+ * sinks reaches the hashing threshold, while range constraints are evaluated one by one or through the range index.
+ */
+@Fork(value = 2, jvmArgsAppend = { "-Xms1g", "-Xmx1g" })
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AlphaNetworkBenchmark {
+
+    public enum ConstraintType {
+        EQUALITY("=="), RANGE(">");
+
+        private final String operator;
+
+        ConstraintType(String operator) {
+            this.operator = operator;
+        }
+    }
+
+    @Param({"1", "4", "16", "64", "256"})
+    private int sinkCount;
+
+    @Param({"EQUALITY", "RANGE"})
+    private ConstraintType constraintType;
+
+    private KieSession ksession;
+    private A fact;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        StringBuilder drl = new StringBuilder( BenchmarkUtil.imports( A.class ) );
+        for (int i = 0; i < sinkCount; i++) {
+            drl.append( "rule R" ).append( i ).append( " when\n" )
+               .append( "    A( value " ).append( constraintType.operator ).append( " " ).append( i ).append( " )\n" )
+               .append( "then end\n" );
+        }
+        KieBase kieBase = BenchmarkUtil.buildKieBase( drl.toString() );
+        ksession = kieBase.newKieSession();
+        fact = new A( 0, sinkCount / 2 );
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ksession.dispose();
+    }
+
+    @Benchmark
+    public FactHandle insertAndDelete() {
+        FactHandle fh = ksession.insert( fact );
+        ksession.delete( fh );
+        return fh;
+    }
+}
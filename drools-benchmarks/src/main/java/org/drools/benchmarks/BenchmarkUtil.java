@@ -0,0 +1,73 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.benchmarks;
+
+import org.drools.modelcompiler.ExecutableModelProject;
+import org.kie.api.KieBase;
+import org.kie.api.KieBaseConfiguration;
+import org.kie.api.KieServices;
+import org.kie.api.builder.KieBuilder;
+import org.kie.api.builder.KieFileSystem;
+import org.kie.api.builder.Message;
+import org.kie.api.builder.ReleaseId;
+import org.kie.api.runtime.KieContainer;
+
+public final class BenchmarkUtil {
+
+    /**
+     * Seed used by all the benchmarks generating random data, so that every run works on the same facts
+     */
+    public static final long SEED = 42L;
+
+    private BenchmarkUtil() { }
+
+    public static KieBase buildKieBase(String drl) {
+        return buildKieBase( drl, false, null );
+    }
+
+    public static KieBase buildKieBase(String drl, boolean executableModel, KieBaseConfiguration conf) {
+        KieServices ks = KieServices.get();
+        ReleaseId releaseId = ks.newReleaseId( "org.drools.benchmarks", "benchmark-" + System.nanoTime(), "1.0" );
+
+        KieFileSystem kfs = ks.newKieFileSystem();
+        kfs.generateAndWritePomXML( releaseId );
+        kfs.write( "src/main/resources/org/drools/benchmarks/rules.drl", drl );
+
+        KieBuilder kieBuilder = ks.newKieBuilder( kfs );
+        if ( executableModel ) {
+            kieBuilder.buildAll( ExecutableModelProject.class );
+        } else {
+            kieBuilder.buildAll();
+        }
+        if ( kieBuilder.getResults().hasMessages( Message.Level.ERROR ) ) {
+            throw new IllegalStateException( "Unable to build the benchmark rules: " + kieBuilder.getResults().getMessages() );
+        }
+
+        KieContainer kieContainer = ks.newKieContainer( releaseId );
+        KieBase kieBase = conf == null ? kieContainer.getKieBase() : kieContainer.newKieBase( conf );
+        ks.getRepository().removeKieModule( releaseId );
+        return kieBase;
+    }
+
+    public static String imports(Class<?>... classes) {
+        StringBuilder sb = new StringBuilder( "package org.drools.benchmarks;\n" );
+        for (Class<?> clazz : classes) {
+            sb.append( "import " ).append( clazz.getCanonicalName() ).append( ";\n" );
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.drools.benchmarks.domain.A;
+import org.drools.benchmarks.domain.B;
+import org.kie.api.KieBase;
+import org.kie.api.KieBaseConfiguration;
+import org.kie.api.KieServices;
+import org.kie.api.runtime.KieSession;
+import org.kie.internal.conf.IndexLeftBetaMemoryOption;
+import org.kie.internal.conf.IndexRightBetaMemoryOption;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the throughput of an equality join, with the beta memories indexed (TupleIndexHashTable)
+ * or not (TupleList).
+ */
+@Fork(value = 2, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BetaJoinBenchmark {
+
+    private static final String DRL =
+            BenchmarkUtil.imports( A.class, B.class ) +
+            "rule Join when\n" +
+            "    $a : A()\n" +
+            "    B( value == $a.value )\n" +
+            "then end\n";
+
+    @Param({"true", "false"})
+    private boolean indexed;
+
+    @Param({"100", "1000"})
+    private int factCount;
+
+    @Param({"10"})
+    private int distinctValues;
+
+    private KieBase kieBase;
+    private List<A> as;
+    private List<B> bs;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        KieBaseConfiguration conf = KieServices.get().newKieBaseConfiguration();
+        conf.setOption( indexed ? IndexLeftBetaMemoryOption.YES : IndexLeftBetaMemoryOption.NO );
+        conf.setOption( indexed ? IndexRightBetaMemoryOption.YES : IndexRightBetaMemoryOption.NO );
+        kieBase = BenchmarkUtil.buildKieBase( DRL, false, conf );
+
+        Random random = new Random( BenchmarkUtil.SEED );
+        as = new ArrayList<A>( factCount );
+        bs = new ArrayList<B>( factCount );
+        for (int i = 0; i < factCount; i++) {
+            as.add( new A( i, random.nextInt( distinctValues ) ) );
+            bs.add( new B( i, random.nextInt( distinctValues ) ) );
+        }
+    }
+
+    @Benchmark
+    public int join() {
+        KieSession ksession = kieBase.newKieSession();
+        try {
+            for (int i = 0; i < factCount; i++) {
+                ksession.insert( as.get( i ) );
+                ksession.insert( bs.get( i ) );
+            }
+            return ksession.fireAllRules();
+        } finally {
+            ksession.dispose();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.drools.benchmarks.domain.A;
+import org.drools.benchmarks.domain.B;
+import org.kie.api.KieBase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the time needed to build a KieBase from DRL, either compiling it with the DRL compiler
+ * or generating and compiling the executable model.
+ */
+@Fork(value = 2, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class KieBaseBuildBenchmark {
+
+    @Param({"10", "100"})
+    private int ruleCount;
+
+    @Param({"false", "true"})
+    private boolean executableModel;
+
+    private String drl;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        StringBuilder sb = new StringBuilder( BenchmarkUtil.imports( A.class, B.class ) );
+        for (int i = 0; i < ruleCount; i++) {
+            sb.append( "rule R" ).append( i ).append( " when\n" )
+              .append( "    $a : A( value > " ).append( i ).append( " )\n" )
+              .append( "    B( id == $a.id, value < " ).append( i ).append( " )\n" )
+              .append( "then\n" )
+              .append( "    $a.setValue( " ).append( i ).append( " );\n" )
+              .append( "end\n" );
+        }
+        drl = sb.toString();
+    }
+
+    @Benchmark
+    public KieBase build() {
+        return BenchmarkUtil.buildKieBase( drl, executableModel, null );
+    }
+}
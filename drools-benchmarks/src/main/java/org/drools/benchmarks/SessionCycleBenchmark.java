@@ -0,0 +1,120 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.drools.benchmarks.domain.A;
+import org.drools.benchmarks.domain.B;
+import org.kie.api.KieBase;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.rule.FactHandle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a full insert, update and delete cycle of a batch of facts on a long lived
+ * StatefulKnowledgeSessionImpl, evaluating a few alpha and beta rules at each step.
+ */
+@Fork(value = 2, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SessionCycleBenchmark {
+
+    private static final String DRL =
+            BenchmarkUtil.imports( A.class, B.class ) +
+            "rule Alpha when\n" +
+            "    A( value > 50 )\n" +
+            "then end\n" +
+            "rule Join when\n" +
+            "    $a : A()\n" +
+            "    B( value == $a.value )\n" +
+            "then end\n" +
+            "rule Not when\n" +
+            "    $a : A()\n" +
+            "    not B( id == $a.id )\n" +
+            "then end\n";
+
+    @Param({"1", "100"})
+    private int batchSize;
+
+    private KieSession ksession;
+    private A[] as;
+    private FactHandle[] handles;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        KieBase kieBase = BenchmarkUtil.buildKieBase( DRL );
+        ksession = kieBase.newKieSession();
+        random = new Random( BenchmarkUtil.SEED );
+
+        // a stable population of B to join with
+        for (int i = 0; i < 100; i++) {
+            ksession.insert( new B( i, random.nextInt( 100 ) ) );
+        }
+        ksession.fireAllRules();
+
+        as = new A[batchSize];
+        handles = new FactHandle[batchSize];
+        for (int i = 0; i < batchSize; i++) {
+            as[i] = new A( i, 0 );
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ksession.dispose();
+    }
+
+    @Benchmark
+    public int insertUpdateDelete() {
+        int fired = 0;
+        for (int i = 0; i < batchSize; i++) {
+            as[i].setValue( random.nextInt( 100 ) );
+            handles[i] = ksession.insert( as[i] );
+        }
+        fired += ksession.fireAllRules();
+
+        for (int i = 0; i < batchSize; i++) {
+            as[i].setValue( random.nextInt( 100 ) );
+            ksession.update( handles[i], as[i] );
+        }
+        fired += ksession.fireAllRules();
+
+        for (int i = 0; i < batchSize; i++) {
+            ksession.delete( handles[i] );
+        }
+        fired += ksession.fireAllRules();
+        return fired;
+    }
+}
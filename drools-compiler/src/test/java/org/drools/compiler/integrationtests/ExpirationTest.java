@@ -237,6 +237,56 @@ public class ExpirationTest {
         assertEquals(0, counter.get());
     }
 
+    @Test
+    public void testBatchedExpiration() {
+        String drl = "import " + A.class.getCanonicalName() + "\n" +
+                     "import " + B.class.getCanonicalName() + "\n" +
+                     "declare A @role( event ) @expires(10ms) end\n" +
+                     "declare B @role( event ) @expires(30ms) end\n" +
+                     "global java.util.concurrent.atomic.AtomicInteger counter;\n" +
+                     "rule R0 when\n" +
+                     "  B( $id : id )\n" +
+                     "  not A( id == $id )\n" +
+                     "then\n" +
+                     "  counter.incrementAndGet();\n" +
+                     "end";
+
+        KieSessionConfiguration sessionConfig = KnowledgeBaseFactory.newKnowledgeSessionConfiguration();
+        sessionConfig.setOption( ClockTypeOption.get( ClockType.PSEUDO_CLOCK.getId() ) );
+        sessionConfig.setProperty( "drools.batchedExpiration", "true" );
+
+        KieHelper helper = new KieHelper();
+        helper.addContent( drl, ResourceType.DRL );
+        KieBase kbase = helper.build( EventProcessingOption.STREAM );
+        KieSession ksession = kbase.newKieSession( sessionConfig, null );
+
+        PseudoClockScheduler sessionClock = ksession.getSessionClock();
+
+        AtomicInteger counter = new AtomicInteger( 0 );
+        ksession.setGlobal( "counter", counter );
+
+        // all the As expire at the same clock advance and are queued as a single propagation entry
+        for (int i = 0; i < 100; i++) {
+            ksession.insert( new A( i ) );
+            ksession.insert( new B( i ) );
+        }
+        ksession.fireAllRules();
+        assertEquals( 0, counter.get() );
+
+        sessionClock.advanceTime( 15, TimeUnit.MILLISECONDS );
+        ksession.fireAllRules();
+        assertEquals( 100, counter.get() );
+        assertEquals( 100, ksession.getFactCount() );
+
+        // a second round opens a new batch
+        for (int i = 100; i < 110; i++) {
+            ksession.insert( new A( i ) );
+        }
+        sessionClock.advanceTime( 20, TimeUnit.MILLISECONDS );
+        ksession.fireAllRules();
+        assertEquals( 0, ksession.getFactCount() );
+    }
+
     public class A {
         private final int id;
 
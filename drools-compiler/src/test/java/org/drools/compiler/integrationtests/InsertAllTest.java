@@ -0,0 +1,160 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.compiler.integrationtests;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.drools.compiler.Cheese;
+import org.drools.compiler.Person;
+import org.drools.core.WorkingMemoryEntryPoint;
+import org.drools.core.common.InternalFactHandle;
+import org.junit.Test;
+import org.kie.api.event.rule.DefaultRuleRuntimeEventListener;
+import org.kie.api.event.rule.ObjectInsertedEvent;
+import org.kie.api.io.ResourceType;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.rule.FactHandle;
+import org.kie.internal.utils.KieHelper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class InsertAllTest {
+
+    private static final String DRL =
+            "import " + Person.class.getCanonicalName() + ";\n" +
+            "import " + Cheese.class.getCanonicalName() + ";\n" +
+            "global java.util.List list;\n" +
+            "rule R when\n" +
+            "    $p : Person( age > 30 )\n" +
+            "    Cheese( type == $p.likes )\n" +
+            "then\n" +
+            "    list.add( $p.getName() );\n" +
+            "end\n";
+
+    @Test
+    public void testInsertAllMixedTypes() {
+        KieSession ksession = new KieHelper().addContent( DRL, ResourceType.DRL ).build().newKieSession();
+        List<String> list = new ArrayList<String>();
+        ksession.setGlobal( "list", list );
+
+        Person mark = new Person( "mark", "stilton", 40 );
+        Person edson = new Person( "edson", "brie", 20 );
+        Cheese stilton = new Cheese( "stilton", 10 );
+        List<FactHandle> handles = ( (WorkingMemoryEntryPoint) ksession ).insertAll( Arrays.asList( mark, stilton, null, edson, mark ) );
+
+        assertEquals( 5, handles.size() );
+        assertSame( mark, ( (InternalFactHandle) handles.get( 0 ) ).getObject() );
+        assertSame( stilton, ( (InternalFactHandle) handles.get( 1 ) ).getObject() );
+        assertNull( handles.get( 2 ) );
+        assertSame( edson, ( (InternalFactHandle) handles.get( 3 ) ).getObject() );
+        // the same object inserted twice gets the same handle
+        assertSame( handles.get( 0 ), handles.get( 4 ) );
+        assertEquals( 3, ksession.getFactCount() );
+
+        assertEquals( 1, ksession.fireAllRules() );
+        assertEquals( Arrays.asList( "mark" ), list );
+    }
+
+    @Test
+    public void testInsertAllKeepsInputOrder() {
+        String drl =
+                "import " + Person.class.getCanonicalName() + ";\n" +
+                "import " + Cheese.class.getCanonicalName() + ";\n" +
+                "global java.util.List list;\n" +
+                "rule P when\n" +
+                "    $p : Person()\n" +
+                "then\n" +
+                "    list.add( $p.getName() );\n" +
+                "end\n" +
+                "rule C when\n" +
+                "    $c : Cheese()\n" +
+                "then\n" +
+                "    list.add( $c.getType() );\n" +
+                "end\n";
+
+        List<Object> facts = new ArrayList<Object>();
+        for ( int i = 0; i < 10; i++ ) {
+            facts.add( new Person( "p" + i, "brie", i ) );
+            facts.add( new Cheese( "c" + i, i ) );
+            facts.add( new Person( "q" + i, "brie", i ) );
+        }
+
+        KieSession batched = new KieHelper().addContent( drl, ResourceType.DRL ).build().newKieSession();
+        List<Object> batchedInserted = trackInserted( batched );
+        List<String> batchedList = new ArrayList<String>();
+        batched.setGlobal( "list", batchedList );
+        ( (WorkingMemoryEntryPoint) batched ).insertAll( facts );
+
+        KieSession single = new KieHelper().addContent( drl, ResourceType.DRL ).build().newKieSession();
+        List<Object> singleInserted = trackInserted( single );
+        List<String> singleList = new ArrayList<String>();
+        single.setGlobal( "list", singleList );
+        for ( Object fact : facts ) {
+            single.insert( fact );
+        }
+
+        assertEquals( facts, batchedInserted );
+        assertEquals( singleInserted, batchedInserted );
+        assertEquals( single.fireAllRules(), batched.fireAllRules() );
+        // the facts are propagated in input order, so the rules fire in the same order
+        assertEquals( singleList, batchedList );
+    }
+
+    private List<Object> trackInserted( KieSession ksession ) {
+        List<Object> inserted = new ArrayList<Object>();
+        ksession.addEventListener( new DefaultRuleRuntimeEventListener() {
+            @Override
+            public void objectInserted( ObjectInsertedEvent event ) {
+                inserted.add( event.getObject() );
+            }
+        } );
+        return inserted;
+    }
+
+    @Test
+    public void testInsertAllMatchesSingleInserts() {
+        KieSession batched = new KieHelper().addContent( DRL, ResourceType.DRL ).build().newKieSession();
+        List<String> batchedList = new ArrayList<String>();
+        batched.setGlobal( "list", batchedList );
+
+        KieSession single = new KieHelper().addContent( DRL, ResourceType.DRL ).build().newKieSession();
+        List<String> singleList = new ArrayList<String>();
+        single.setGlobal( "list", singleList );
+
+        List<Object> facts = new ArrayList<Object>();
+        for ( int i = 0; i < 1000; i++ ) {
+            facts.add( new Person( "p" + i, "cheese" + ( i % 10 ), i % 60 ) );
+        }
+        for ( int i = 0; i < 10; i += 2 ) {
+            facts.add( new Cheese( "cheese" + i, i ) );
+        }
+
+        ( (WorkingMemoryEntryPoint) batched ).insertAll( facts );
+        for ( Object fact : facts ) {
+            single.insert( fact );
+        }
+
+        assertEquals( single.fireAllRules(), batched.fireAllRules() );
+        assertEquals( singleList.size(), batchedList.size() );
+        assertEquals( new HashSet<String>( singleList ), new HashSet<String>( batchedList ) );
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.compiler.integrationtests;
+
+import org.drools.core.common.OffHeapEventFactHandle;
+import org.junit.Test;
+import org.kie.api.KieBase;
+import org.kie.api.KieServices;
+import org.kie.api.definition.type.FactType;
+import org.kie.api.io.ResourceType;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.KieSessionConfiguration;
+import org.kie.api.runtime.rule.FactHandle;
+import org.kie.internal.utils.KieHelper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+public class OffHeapEventsTest {
+
+    private static final String DRL =
+            "package org.drools.test;\n" +
+            "declare StockTick\n" +
+            "    @role( event )\n" +
+            "    symbol : String\n" +
+            "    price : double\n" +
+            "end\n" +
+            "rule Raise when\n" +
+            "    $t : StockTick( symbol == \"ACME\", price < 10 )\n" +
+            "then\n" +
+            "    modify( $t ) { setPrice( 10 ) }\n" +
+            "end\n";
+
+    @Test
+    public void testUpdateInPlaceRewritesArena() throws Exception {
+        KieBase kbase = new KieHelper().addContent( DRL, ResourceType.DRL ).build();
+        KieSessionConfiguration conf = KieServices.Factory.get().newKieSessionConfiguration();
+        conf.setProperty( "drools.offHeapEvents", "true" );
+        KieSession ksession = kbase.newKieSession( conf, null );
+
+        FactType type = kbase.getFactType( "org.drools.test", "StockTick" );
+        Object tick = type.newInstance();
+        type.set( tick, "symbol", "RHT" );
+        type.set( tick, "price", 1.0 );
+        FactHandle fh = ksession.insert( tick );
+        OffHeapEventFactHandle handle = (OffHeapEventFactHandle) fh;
+        assertTrue( handle.isOffHeap() );
+
+        // modified in place and updated with the same instance
+        type.set( tick, "price", 2.0 );
+        ksession.update( fh, tick );
+
+        handle.evictObject();
+        Object materialized = handle.getObject();
+        assertNotSame( tick, materialized );
+        assertEquals( 2.0, type.get( materialized, "price" ) );
+
+        ksession.dispose();
+    }
+
+    @Test
+    public void testModifyRewritesArena() throws Exception {
+        KieBase kbase = new KieHelper().addContent( DRL, ResourceType.DRL ).build();
+        KieSessionConfiguration conf = KieServices.Factory.get().newKieSessionConfiguration();
+        conf.setProperty( "drools.offHeapEvents", "true" );
+        KieSession ksession = kbase.newKieSession( conf, null );
+
+        FactType type = kbase.getFactType( "org.drools.test", "StockTick" );
+        Object tick = type.newInstance();
+        type.set( tick, "symbol", "ACME" );
+        type.set( tick, "price", 5.0 );
+        OffHeapEventFactHandle handle = (OffHeapEventFactHandle) ksession.insert( tick );
+
+        assertEquals( 1, ksession.fireAllRules() );
+
+        handle.evictObject();
+        Object materialized = handle.getObject();
+        assertNotSame( tick, materialized );
+        assertEquals( "ACME", type.get( materialized, "symbol" ) );
+        assertEquals( 10.0, type.get( materialized, "price" ) );
+
+        ksession.dispose();
+    }
+}
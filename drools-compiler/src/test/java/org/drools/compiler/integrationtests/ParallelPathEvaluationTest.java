@@ -0,0 +1,133 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.compiler.integrationtests;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.drools.core.SessionConfiguration;
+import org.drools.core.common.DefaultAgenda;
+import org.drools.core.common.InternalAgendaGroup;
+import org.drools.core.common.InternalWorkingMemory;
+import org.drools.core.concurrent.ParallelPathEvaluator;
+import org.drools.core.phreak.RuleAgendaItem;
+import org.drools.core.spi.Activation;
+import org.junit.Test;
+import org.kie.api.KieBase;
+import org.kie.api.KieServices;
+import org.kie.api.io.ResourceType;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.KieSessionConfiguration;
+import org.kie.internal.utils.KieHelper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ParallelPathEvaluationTest {
+
+    @Test(timeout = 40000L)
+    public void testSameFiringsAsSequentialEvaluation() {
+        StringBuilder sb = new StringBuilder( 4000 );
+        sb.append( "global java.util.List list;\n" );
+        for (int i = 0; i < 50; i++) {
+            sb.append( getRule( i ) );
+        }
+        KieBase kbase = new KieHelper().addContent( sb.toString(), ResourceType.DRL ).build();
+
+        List<String> sequential = fire( kbase, false );
+        List<String> parallel = fire( kbase, true );
+
+        assertEquals( 50 * 51 / 2, parallel.size() );
+        assertEquals( sequential, parallel );
+    }
+
+    @Test(timeout = 40000L)
+    public void testSharedPathsAreNotEvaluatedInParallel() {
+        String drl =
+                "global java.util.List list;\n" +
+                "rule R1 when\n" +
+                "    $i : Integer( intValue > 0 )\n" +
+                "    String( length == $i )\n" +
+                "then\n" +
+                "    list.add( \"R1:\" + $i );\n" +
+                "end\n" +
+                "rule R2 when\n" +
+                "    $i : Integer( intValue > 0 )\n" +
+                "    String( length == $i )\n" +
+                "    exists Long()\n" +
+                "then\n" +
+                "    list.add( \"R2:\" + $i );\n" +
+                "end\n";
+        KieBase kbase = new KieHelper().addContent( drl, ResourceType.DRL ).build();
+        KieSession ksession = kbase.newKieSession( parallelConf(), null );
+        List<String> list = new ArrayList<String>();
+        ksession.setGlobal( "list", list );
+
+        ksession.insert( 1 );
+        ksession.insert( "a" );
+        ksession.insert( 1L );
+        ((InternalWorkingMemory) ksession).flushPropagations();
+
+        // R1 and R2 share the join node, so their paths are not independent
+        InternalAgendaGroup main = (InternalAgendaGroup) ((InternalWorkingMemory) ksession).getAgenda().getAgendaGroup( "MAIN" );
+        for ( Activation activation : main.getActivations() ) {
+            assertFalse( ParallelPathEvaluator.isIndependentPath( ((RuleAgendaItem) activation).getRuleExecutor() ) );
+        }
+
+        assertEquals( 2, ksession.fireAllRules() );
+        assertTrue( list.contains( "R1:1" ) );
+        assertTrue( list.contains( "R2:1" ) );
+        assertEquals( 0, getPathEvaluator( ksession ).getEvaluatedPaths() );
+    }
+
+    private ParallelPathEvaluator getPathEvaluator( KieSession ksession ) {
+        return ((DefaultAgenda) ((InternalWorkingMemory) ksession).getAgenda()).getPathEvaluator();
+    }
+
+    private List<String> fire( KieBase kbase, boolean parallel ) {
+        KieSession ksession = parallel ? kbase.newKieSession( parallelConf(), null ) : kbase.newKieSession();
+        List<String> list = new ArrayList<String>();
+        ksession.setGlobal( "list", list );
+        for (int i = 0; i < 50; i++) {
+            ksession.insert( i );
+            ksession.insert( "" + i );
+        }
+        ksession.fireAllRules();
+        if ( parallel ) {
+            assertTrue( getPathEvaluator( ksession ).getEvaluatedPaths() > 0 );
+        }
+        ksession.dispose();
+        return list;
+    }
+
+    private KieSessionConfiguration parallelConf() {
+        KieSessionConfiguration conf = KieServices.get().newKieSessionConfiguration();
+        conf.setProperty( SessionConfiguration.PARALLEL_PATH_EVALUATION_PROPERTY, "true" );
+        return conf;
+    }
+
+    private String getRule( int i ) {
+        return "rule R" + i + " when\n" +
+               "    $i : Integer( intValue >= " + i + " )\n" +
+               "    $s : String( this == \"\" + $i )\n" +
+               "    not Long( intValue == $i )\n" +
+               "then\n" +
+               "    list.add( \"R" + i + ":\" + $s );\n" +
+               "end\n";
+    }
+}
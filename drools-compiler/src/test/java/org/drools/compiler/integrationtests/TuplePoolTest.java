@@ -0,0 +1,119 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.compiler.integrationtests;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.drools.compiler.Cheese;
+import org.drools.compiler.Person;
+import org.drools.core.SessionConfiguration;
+import org.junit.Test;
+import org.kie.api.KieBase;
+import org.kie.api.KieServices;
+import org.kie.api.io.ResourceType;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.KieSessionConfiguration;
+import org.kie.api.runtime.rule.FactHandle;
+import org.kie.internal.utils.KieHelper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class TuplePoolTest {
+
+    private static final String DRL =
+            "import " + Person.class.getCanonicalName() + ";\n" +
+            "import " + Cheese.class.getCanonicalName() + ";\n" +
+            "global java.util.List list;\n" +
+            "rule Join when\n" +
+            "    $p : Person()\n" +
+            "    $c : Cheese( type == $p.likes )\n" +
+            "then\n" +
+            "    list.add( \"join \" + $p.getName() + \" \" + $c.getPrice() );\n" +
+            "end\n" +
+            "rule Not when\n" +
+            "    $p : Person()\n" +
+            "    not Cheese( type == $p.likes )\n" +
+            "then\n" +
+            "    list.add( \"not \" + $p.getName() );\n" +
+            "end\n" +
+            "rule Exists when\n" +
+            "    $p : Person()\n" +
+            "    exists Cheese( type == $p.likes, price > 5 )\n" +
+            "then\n" +
+            "    list.add( \"exists \" + $p.getName() );\n" +
+            "end\n";
+
+    @Test
+    public void testTuplePoolProperty() {
+        KieSessionConfiguration conf = KieServices.get().newKieSessionConfiguration();
+        assertEquals( "0", conf.getProperty( SessionConfiguration.TUPLE_POOL_SIZE_PROPERTY ) );
+        conf.setProperty( SessionConfiguration.TUPLE_POOL_SIZE_PROPERTY, "16" );
+        assertEquals( 16, ( (SessionConfiguration) conf ).getTuplePoolSize() );
+    }
+
+    @Test
+    public void testRecycledTuplesProduceSameMatches() {
+        KieBase kbase = new KieHelper().addContent( DRL, ResourceType.DRL ).build();
+        List<String> expected = churn( kbase.newKieSession() );
+        List<String> actual = churn( kbase.newKieSession( pooledConf(), null ) );
+        assertFalse( expected.isEmpty() );
+        assertEquals( expected, actual );
+    }
+
+    private List<String> churn( KieSession ksession ) {
+        List<String> list = new ArrayList<String>();
+        ksession.setGlobal( "list", list );
+
+        String[] types = { "stilton", "brie", "cheddar" };
+        List<FactHandle> persons = new ArrayList<FactHandle>();
+        for (int i = 0; i < 6; i++) {
+            persons.add( ksession.insert( new Person( "p" + i, types[i % types.length], 30 ) ) );
+        }
+        ksession.fireAllRules();
+
+        for (int round = 0; round < 20; round++) {
+            List<FactHandle> cheeses = new ArrayList<FactHandle>();
+            for (int i = 0; i < 5; i++) {
+                cheeses.add( ksession.insert( new Cheese( types[( round + i ) % types.length], round + i ) ) );
+            }
+            ksession.fireAllRules();
+
+            // modify a person, so that its tuples are deleted and recreated
+            FactHandle personHandle = persons.get( round % persons.size() );
+            Person person = (Person) ksession.getObject( personHandle );
+            person.setLikes( types[( round + 1 ) % types.length] );
+            ksession.update( personHandle, person );
+            ksession.fireAllRules();
+
+            for (FactHandle cheese : cheeses) {
+                ksession.delete( cheese );
+            }
+            ksession.fireAllRules();
+        }
+
+        ksession.dispose();
+        return list;
+    }
+
+    private KieSessionConfiguration pooledConf() {
+        KieSessionConfiguration conf = KieServices.get().newKieSessionConfiguration();
+        conf.setProperty( SessionConfiguration.TUPLE_POOL_SIZE_PROPERTY, "4" );
+        return conf;
+    }
+}
@@ -17,11 +17,25 @@ package org.drools.compiler.integrationtests;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import org.kie.api.time.SessionPseudoClock;
+import org.drools.core.common.InternalWorkingMemory;
+import org.drools.core.impl.InternalKnowledgeBase;
 import org.drools.core.impl.KnowledgeBaseFactory;
+import org.drools.core.reteoo.EntryPointNode;
+import org.drools.core.reteoo.ObjectSink;
+import org.drools.core.reteoo.ObjectTypeNode;
+import org.drools.core.reteoo.WindowNode;
+import org.drools.core.rule.Behavior;
+import org.drools.core.rule.EntryPointId;
+import org.drools.core.rule.SharedSlidingTimeWindowContext;
+import org.drools.core.rule.SlidingTimeWindow;
+import org.drools.core.time.JobContext;
+import org.drools.core.time.SelfRemovalJobContext;
+import org.drools.core.time.impl.TimerJobInstance;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -33,12 +47,16 @@ import org.kie.api.builder.KieFileSystem;
 import org.kie.api.builder.Message;
 import org.kie.api.builder.Message.Level;
 import org.kie.api.conf.EventProcessingOption;
+import org.kie.api.io.ResourceType;
 import org.kie.api.runtime.KieSession;
 import org.kie.api.runtime.KieSessionConfiguration;
 import org.kie.api.runtime.conf.ClockTypeOption;
 import org.kie.api.runtime.rule.EntryPoint;
+import org.kie.api.runtime.rule.FactHandle;
+import org.kie.internal.utils.KieHelper;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class WindowTest {
 
@@ -252,6 +270,111 @@ public class WindowTest {
         }
     }
 
+    @Test
+    public void testSharedTimeWindows() {
+        String drl =
+                "import org.drools.compiler.integrationtests.WindowTest.TestEvent\n" +
+                "declare TestEvent @role( event ) end\n" +
+                "query \"All\"\n" +
+                "    Number( $eventCount : longValue ) from accumulate (\n" +
+                "        $event : TestEvent () over window:time( 300ms ) from entry-point EventStream,\n" +
+                "        count($event) )\n" +
+                "end\n" +
+                "query \"Even\"\n" +
+                "    Number( $eventCount : longValue ) from accumulate (\n" +
+                "        $event : TestEvent ( id % 2 == 0 ) over window:time( 300ms ) from entry-point EventStream,\n" +
+                "        count($event) )\n" +
+                "end\n" +
+                "query \"Short\"\n" +
+                "    Number( $eventCount : longValue ) from accumulate (\n" +
+                "        $event : TestEvent ( id % 2 == 0 ) over window:time( 50ms ) from entry-point EventStream,\n" +
+                "        count($event) )\n" +
+                "end\n";
+
+        KieBase kbase = new KieHelper().addContent(drl, ResourceType.DRL).build(EventProcessingOption.STREAM);
+
+        KieSessionConfiguration ksconfig = KnowledgeBaseFactory.newKnowledgeSessionConfiguration();
+        ksconfig.setOption(ClockTypeOption.get("pseudo"));
+        ksconfig.setProperty("drools.sharedTimeWindows", "true");
+        KieSession shared = kbase.newKieSession(ksconfig, null);
+        SessionPseudoClock sharedClock = shared.getSessionClock();
+
+        final long all[] = new long[] { 1, 2, 3, 3, 3, 3 };
+        final long even[] = new long[] { 1, 1, 2, 1, 2, 1 };
+        final long recent[] = new long[] { 1, 0, 1, 0, 1, 0 };
+        // the two 300ms windows share the same state, while the 50ms one has its own
+        List<SharedSlidingTimeWindowContext> contexts = getSharedTimeWindows(kbase, (InternalWorkingMemory) shared);
+        assertEquals(3, contexts.size());
+        assertEquals(2, new HashSet<SharedSlidingTimeWindowContext>(contexts).size());
+        SharedSlidingTimeWindowContext context300 = null;
+        for (SharedSlidingTimeWindowContext context : contexts) {
+            if (context.getSize() == 300) {
+                assertTrue(context300 == null || context300 == context);
+                context300 = context;
+            }
+        }
+        assertEquals(2, context300.getViewsCount());
+
+        EntryPoint entryPoint = shared.getEntryPoint("EventStream");
+        for (int i = 0; i < 6; i++) {
+            entryPoint.insert(new TestEvent(i, "shared", null));
+            if (i == 0) {
+                // a single timer expires the event from both the 300ms windows
+                assertEquals(1, countBehaviorJobs((InternalWorkingMemory) shared, context300));
+            }
+            assertEquals(all[i], shared.getQueryResults("All").iterator().next().get("$eventCount"));
+            assertEquals(even[i], shared.getQueryResults("Even").iterator().next().get("$eventCount"));
+            assertEquals(recent[i], shared.getQueryResults("Short").iterator().next().get("$eventCount"));
+            sharedClock.advanceTime(100, TimeUnit.MILLISECONDS);
+        }
+
+        // retracting an event removes it from all the windows sharing it
+        entryPoint.insert(new TestEvent(6, "shared", null));
+        FactHandle fh = entryPoint.insert(new TestEvent(8, "shared", null));
+        assertEquals(4L, shared.getQueryResults("All").iterator().next().get("$eventCount"));
+        entryPoint.delete(fh);
+        assertEquals(3L, shared.getQueryResults("All").iterator().next().get("$eventCount"));
+        assertEquals(2L, shared.getQueryResults("Even").iterator().next().get("$eventCount"));
+
+        sharedClock.advanceTime(400, TimeUnit.MILLISECONDS);
+        assertEquals(0L, shared.getQueryResults("All").iterator().next().get("$eventCount"));
+        assertEquals(0L, shared.getQueryResults("Even").iterator().next().get("$eventCount"));
+        shared.dispose();
+    }
+
+    private List<SharedSlidingTimeWindowContext> getSharedTimeWindows(KieBase kbase, InternalWorkingMemory wm) {
+        List<SharedSlidingTimeWindowContext> contexts = new ArrayList<SharedSlidingTimeWindowContext>();
+        EntryPointNode epn = ((InternalKnowledgeBase) kbase).getRete().getEntryPointNode(new EntryPointId("EventStream"));
+        for (ObjectTypeNode otn : epn.getObjectTypeNodes().values()) {
+            for (ObjectSink sink : otn.getObjectSinkPropagator().getSinks()) {
+                if (sink instanceof WindowNode) {
+                    for (Behavior.Context context : wm.getNodeMemory((WindowNode) sink).behaviorContext) {
+                        contexts.add(((SharedSlidingTimeWindowContext.View) context).getSharedContext());
+                    }
+                }
+            }
+        }
+        return contexts;
+    }
+
+    private int countBehaviorJobs(InternalWorkingMemory wm, SharedSlidingTimeWindowContext context) {
+        int count = 0;
+        for (TimerJobInstance job : wm.getTimerService().getTimerJobInstances(wm.getIdentifier())) {
+            JobContext jobContext = job.getJobContext();
+            if (jobContext instanceof SelfRemovalJobContext) {
+                jobContext = ((SelfRemovalJobContext) jobContext).getJobContext();
+            }
+            if (jobContext instanceof SlidingTimeWindow.BehaviorJobContext) {
+                Behavior.Context behaviorContext = ((SlidingTimeWindow.BehaviorJobContext) jobContext).behaviorContext;
+                if (behaviorContext instanceof SharedSlidingTimeWindowContext.View &&
+                    ((SharedSlidingTimeWindowContext.View) behaviorContext).getSharedContext() == context) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
     public class TestEvent implements Serializable {
 
         private static final long serialVersionUID = -6985691286327371275L;
@@ -18,16 +18,20 @@ package org.drools.compiler.integrationtests.marshalling;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.jar.JarEntry;
 import java.util.jar.JarInputStream;
@@ -62,6 +66,8 @@ import org.drools.core.impl.KnowledgeBaseFactory;
 import org.drools.core.impl.KnowledgeBaseImpl;
 import org.drools.core.marshalling.impl.ClassObjectMarshallingStrategyAcceptor;
 import org.drools.core.marshalling.impl.IdentityPlaceholderResolverStrategy;
+import org.drools.core.marshalling.impl.ProtobufMarshaller;
+import org.drools.core.marshalling.impl.SessionChangeTracker;
 import org.drools.core.marshalling.impl.RuleBaseNodes;
 import org.drools.core.reteoo.MockTupleSource;
 import org.drools.core.reteoo.ObjectTypeNode;
@@ -97,6 +103,7 @@ import org.kie.api.runtime.conf.ClockTypeOption;
 import org.kie.api.runtime.conf.TimedRuleExecutionOption;
 import org.kie.api.runtime.conf.TimerJobFactoryOption;
 import org.kie.api.runtime.rule.EntryPoint;
+import org.kie.api.runtime.rule.FactHandle;
 import org.kie.api.time.SessionClock;
 import org.kie.api.time.SessionPseudoClock;
 import org.kie.internal.builder.KnowledgeBuilderConfiguration;
@@ -2957,4 +2964,233 @@ public class MarshallingTest extends CommonTestMethodBase {
             assertEquals( i < 3 ? 0 : 1, list2.size() );
         }
     }
+
+    @Test
+    public void testCheckpointAndDeltas() throws Exception {
+        String drl = "import " + Person.class.getCanonicalName() + "\n" +
+                     "global java.util.List list\n" +
+                     "rule R when\n" +
+                     "    $p : Person( age > 30 )\n" +
+                     "then\n" +
+                     "    list.add( $p.getName() );\n" +
+                     "end\n";
+
+        KieBase kbase = new KieHelper().addContent( drl, ResourceType.DRL ).build();
+        KieSession ksession = kbase.newKieSession();
+        ProtobufMarshaller marshaller = (ProtobufMarshaller) MarshallerFactory.newMarshaller( kbase );
+
+        Person mario = new Person( "Mario", 40 );
+        Person luigi = new Person( "Luigi", 20 );
+        FactHandle marioFh = ksession.insert( mario );
+        FactHandle luigiFh = ksession.insert( luigi );
+
+        try {
+            marshaller.marshallDelta( new ByteArrayOutputStream(), ksession );
+            fail( "A delta requires a checkpoint" );
+        } catch (IllegalStateException e) {
+            // expected
+        }
+
+        ByteArrayOutputStream checkpoint = new ByteArrayOutputStream();
+        marshaller.marshallCheckpoint( checkpoint, ksession );
+
+        ksession.insert( new Person( "Edson", 35 ) );
+        luigi.setAge( 50 );
+        ksession.update( luigiFh, luigi );
+        ksession.delete( marioFh );
+        ByteArrayOutputStream delta1 = new ByteArrayOutputStream();
+        marshaller.marshallDelta( delta1, ksession );
+
+        ksession.insert( new Person( "Bob", 45 ) );
+        ByteArrayOutputStream delta2 = new ByteArrayOutputStream();
+        marshaller.marshallDelta( delta2, ksession );
+        ksession.dispose();
+
+        List<InputStream> deltas = new ArrayList<InputStream>();
+        deltas.add( new ByteArrayInputStream( delta1.toByteArray() ) );
+        deltas.add( new ByteArrayInputStream( delta2.toByteArray() ) );
+        KieSession restored = marshaller.unmarshall( new ByteArrayInputStream( checkpoint.toByteArray() ), deltas, null, null );
+
+        List<String> list = new ArrayList<String>();
+        restored.setGlobal( "list", list );
+        assertEquals( 3, restored.getObjects().size() );
+        assertEquals( 3, restored.fireAllRules() );
+        Collections.sort( list );
+        assertEquals( Arrays.asList( "Bob", "Edson", "Luigi" ), list );
+        restored.dispose();
+    }
+
+    @Test
+    public void testDeltaContainsExpiredEvents() throws Exception {
+        String drl = "import " + Person.class.getCanonicalName() + "\n" +
+                     "declare Person @role( event ) @expires( 1s ) end\n" +
+                     "rule R when\n" +
+                     "    Person( age > 30 )\n" +
+                     "then\n" +
+                     "end\n";
+
+        KieBase kbase = new KieHelper().addContent( drl, ResourceType.DRL ).build( EventProcessingOption.STREAM );
+        KieSessionConfiguration conf = KieServices.Factory.get().newKieSessionConfiguration();
+        conf.setOption( ClockTypeOption.get( "pseudo" ) );
+        KieSession ksession = kbase.newKieSession( conf, null );
+        SessionPseudoClock clock = ksession.getSessionClock();
+        ProtobufMarshaller marshaller = (ProtobufMarshaller) MarshallerFactory.newMarshaller( kbase );
+
+        ksession.insert( new Person( "Mario", 40 ) );
+        ByteArrayOutputStream checkpoint = new ByteArrayOutputStream();
+        marshaller.marshallCheckpoint( checkpoint, ksession );
+
+        // an expired event is removed without any delete event
+        clock.advanceTime( 2, TimeUnit.SECONDS );
+        ksession.fireAllRules();
+        assertEquals( 0, ksession.getObjects().size() );
+        ByteArrayOutputStream delta = new ByteArrayOutputStream();
+        marshaller.marshallDelta( delta, ksession );
+        ksession.dispose();
+
+        KieSession restored = marshaller.unmarshall( new ByteArrayInputStream( checkpoint.toByteArray() ),
+                                                     Collections.<InputStream>singletonList( new ByteArrayInputStream( delta.toByteArray() ) ),
+                                                     conf, null );
+        assertEquals( 0, restored.getObjects().size() );
+        restored.dispose();
+    }
+
+    @Test
+    public void testDeltaRequiresCheckpointAfterTooManyChanges() throws Exception {
+        String drl = "import " + Person.class.getCanonicalName() + "\n" +
+                     "rule R when\n" +
+                     "    Person( age > 30 )\n" +
+                     "then\n" +
+                     "end\n";
+
+        KieBase kbase = new KieHelper().addContent( drl, ResourceType.DRL ).build();
+        KieSession ksession = kbase.newKieSession();
+        ProtobufMarshaller marshaller = (ProtobufMarshaller) MarshallerFactory.newMarshaller( kbase );
+        SessionChangeTracker tracker = new SessionChangeTracker( 2 );
+        ksession.addEventListener( tracker );
+
+        marshaller.marshallCheckpoint( new ByteArrayOutputStream(), ksession );
+        ksession.insert( new Person( "Mario", 40 ) );
+        ksession.insert( new Person( "Luigi", 20 ) );
+        ksession.insert( new Person( "Edson", 35 ) );
+        assertTrue( tracker.isOverflown() );
+        try {
+            marshaller.marshallDelta( new ByteArrayOutputStream(), ksession );
+            fail( "A delta requires a new checkpoint once the tracker overflows" );
+        } catch (IllegalStateException e) {
+            // expected
+        }
+
+        ByteArrayOutputStream checkpoint = new ByteArrayOutputStream();
+        marshaller.marshallCheckpoint( checkpoint, ksession );
+        ksession.insert( new Person( "Bob", 45 ) );
+        ByteArrayOutputStream delta = new ByteArrayOutputStream();
+        marshaller.marshallDelta( delta, ksession );
+
+        marshaller.stopTracking( ksession );
+        ksession.insert( new Person( "Toad", 50 ) );
+        try {
+            marshaller.marshallDelta( new ByteArrayOutputStream(), ksession );
+            fail( "A delta requires a checkpoint" );
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        ksession.dispose();
+
+        KieSession restored = marshaller.unmarshall( new ByteArrayInputStream( checkpoint.toByteArray() ),
+                                                     Collections.<InputStream>singletonList( new ByteArrayInputStream( delta.toByteArray() ) ),
+                                                     null, null );
+        assertEquals( 4, restored.getObjects().size() );
+        restored.dispose();
+    }
+
+    @Test
+    public void testMarshallInPages() throws Exception {
+        String drl = "import " + Person.class.getCanonicalName() + "\n" +
+                     "global java.util.List list\n" +
+                     "rule R when\n" +
+                     "    $p : Person( age > 10 )\n" +
+                     "then\n" +
+                     "    list.add( $p.getAge() );\n" +
+                     "end\n";
+
+        KieBase kbase = new KieHelper().addContent( drl, ResourceType.DRL ).build();
+        KieSession ksession = kbase.newKieSession();
+        for ( int i = 0; i < 25; i++ ) {
+            ksession.insert( new Person( "Person" + i, i ) );
+        }
+
+        ProtobufMarshaller marshaller = (ProtobufMarshaller) MarshallerFactory.newMarshaller( kbase );
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        marshaller.marshallInPages( out, ksession, 10 );
+        ksession.dispose();
+
+        KieSession restored = marshaller.unmarshallInPages( new ByteArrayInputStream( out.toByteArray() ), null, null );
+
+        List<Integer> list = new ArrayList<Integer>();
+        restored.setGlobal( "list", list );
+        assertEquals( 25, restored.getObjects().size() );
+        assertEquals( 14, restored.fireAllRules() );
+        Collections.sort( list );
+        assertEquals( 11, (int) list.get( 0 ) );
+        assertEquals( 24, (int) list.get( 13 ) );
+        restored.dispose();
+    }
+
+    @Test
+    public void testUnmarshallInParallel() throws Exception {
+        String drl = "import " + Person.class.getCanonicalName() + "\n" +
+                     "import " + Cheese.class.getCanonicalName() + "\n" +
+                     "global java.util.List list\n" +
+                     "rule R when\n" +
+                     "    $p : Person( age >= 2990 )\n" +
+                     "    Cheese( type == \"stilton\" )\n" +
+                     "then\n" +
+                     "    list.add( $p.getAge() );\n" +
+                     "end\n" +
+                     "rule Replay when\n" +
+                     "    $o : Object( this instanceof Person || this instanceof Cheese )\n" +
+                     "then\n" +
+                     "    list.add( $o instanceof Person ? ((Person) $o).getName() : ((Cheese) $o).getType() );\n" +
+                     "end\n";
+
+        KieBase kbase = new KieHelper().addContent( drl, ResourceType.DRL ).build();
+        KieSession ksession = kbase.newKieSession();
+        for ( int i = 0; i < 3000; i++ ) {
+            ksession.insert( new Person( "Person" + i, i ) );
+            if ( i % 1000 == 0 ) {
+                ksession.insert( new Cheese( i == 0 ? "stilton" : "brie" ) );
+            }
+        }
+
+        ProtobufMarshaller marshaller = (ProtobufMarshaller) MarshallerFactory.newMarshaller( kbase );
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        marshaller.marshall( out, ksession );
+        ksession.dispose();
+
+        // the handles replayed sequentially give the expected firing order
+        KieSession sequential = marshaller.unmarshall( new ByteArrayInputStream( out.toByteArray() ) );
+        List<Object> expected = new ArrayList<Object>();
+        sequential.setGlobal( "list", expected );
+        assertEquals( 3013, sequential.fireAllRules() );
+        sequential.dispose();
+
+        ExecutorService executor = Executors.newFixedThreadPool( 4 );
+        try {
+            marshaller.setUnmarshallingExecutor( executor );
+            KieSession restored = marshaller.unmarshall( new ByteArrayInputStream( out.toByteArray() ) );
+
+            List<Object> list = new ArrayList<Object>();
+            restored.setGlobal( "list", list );
+            assertEquals( 3003, restored.getObjects().size() );
+            assertEquals( 3013, restored.fireAllRules() );
+            // the handles of different types are replayed in the order they have been written
+            assertEquals( expected, list );
+            assertTrue( list.contains( 2990 ) );
+            assertTrue( list.contains( 2999 ) );
+            restored.dispose();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 }
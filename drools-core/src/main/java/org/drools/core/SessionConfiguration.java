@@ -45,6 +45,22 @@ import org.kie.internal.runtime.conf.ForceEagerActivationOption;
 
 public abstract class SessionConfiguration implements KieSessionConfiguration, Externalizable {
 
+    public static final String PARALLEL_PATH_EVALUATION_PROPERTY = "drools.parallelPathEvaluation";
+
+    public static final String LOCK_FREE_PROPAGATION_LIST_PROPERTY = "drools.lockFreePropagationList";
+
+    public static final String TUPLE_POOL_SIZE_PROPERTY = "drools.tuplePoolSize";
+
+    public static final String BATCHED_EXPIRATION_PROPERTY = "drools.batchedExpiration";
+
+    public static final String SHARED_TIME_WINDOWS_PROPERTY = "drools.sharedTimeWindows";
+
+    public static final String OFF_HEAP_EVENTS_PROPERTY = "drools.offHeapEvents";
+
+    public static final String CONCURRENT_OBJECT_STORE_PROPERTY = "drools.concurrentObjectStore";
+
+    public static final String PARTITIONED_EQUALITY_KEYS_PROPERTY = "drools.partitionedEqualityKeys";
+
     public static SessionConfiguration newInstance() {
         return new SessionConfigurationImpl();
     }
@@ -67,6 +83,30 @@ public abstract class SessionConfiguration implements KieSessionConfiguration, E
         }
     }
 
+    public abstract void setParallelPathEvaluation(boolean parallelPathEvaluation);
+    public abstract boolean isParallelPathEvaluation();
+
+    public abstract void setLockFreePropagationList(boolean lockFreePropagationList);
+    public abstract boolean isLockFreePropagationList();
+
+    public abstract void setTuplePoolSize(int tuplePoolSize);
+    public abstract int getTuplePoolSize();
+
+    public abstract void setBatchedExpiration(boolean batchedExpiration);
+    public abstract boolean isBatchedExpiration();
+
+    public abstract void setSharedTimeWindows(boolean sharedTimeWindows);
+    public abstract boolean isSharedTimeWindows();
+
+    public abstract void setOffHeapEvents(boolean offHeapEvents);
+    public abstract boolean isOffHeapEvents();
+
+    public abstract void setConcurrentObjectStore(boolean concurrentObjectStore);
+    public abstract boolean isConcurrentObjectStore();
+
+    public abstract void setPartitionedEqualityKeys(boolean partitionedEqualityKeys);
+    public abstract boolean isPartitionedEqualityKeys();
+
     public abstract SessionConfiguration addDefaultProperties(Properties properties);
 
     public abstract void setTimedRuleExecutionFilter(TimedRuleExecutionFilter timedRuleExecutionFilter);
@@ -170,6 +210,22 @@ public abstract class SessionConfiguration implements KieSessionConfiguration, E
             setQueryListenerOption( QueryListenerOption.determineQueryListenerClassOption( property ) );
         } else if ( name.equals( BeliefSystemTypeOption.PROPERTY_NAME ) ) {
             setBeliefSystemType(StringUtils.isEmpty(value) ? BeliefSystemType.SIMPLE : BeliefSystemType.resolveBeliefSystemType(value));
+        } else if ( name.equals( PARALLEL_PATH_EVALUATION_PROPERTY ) ) {
+            setParallelPathEvaluation(!StringUtils.isEmpty(value) && Boolean.parseBoolean(value));
+        } else if ( name.equals( LOCK_FREE_PROPAGATION_LIST_PROPERTY ) ) {
+            setLockFreePropagationList(!StringUtils.isEmpty(value) && Boolean.parseBoolean(value));
+        } else if ( name.equals( TUPLE_POOL_SIZE_PROPERTY ) ) {
+            setTuplePoolSize(StringUtils.isEmpty(value) ? 0 : Integer.parseInt(value));
+        } else if ( name.equals( BATCHED_EXPIRATION_PROPERTY ) ) {
+            setBatchedExpiration(!StringUtils.isEmpty(value) && Boolean.parseBoolean(value));
+        } else if ( name.equals( SHARED_TIME_WINDOWS_PROPERTY ) ) {
+            setSharedTimeWindows(!StringUtils.isEmpty(value) && Boolean.parseBoolean(value));
+        } else if ( name.equals( OFF_HEAP_EVENTS_PROPERTY ) ) {
+            setOffHeapEvents(!StringUtils.isEmpty(value) && Boolean.parseBoolean(value));
+        } else if ( name.equals( CONCURRENT_OBJECT_STORE_PROPERTY ) ) {
+            setConcurrentObjectStore(!StringUtils.isEmpty(value) && Boolean.parseBoolean(value));
+        } else if ( name.equals( PARTITIONED_EQUALITY_KEYS_PROPERTY ) ) {
+            setPartitionedEqualityKeys(!StringUtils.isEmpty(value) && Boolean.parseBoolean(value));
         }
     }
 
@@ -189,6 +245,22 @@ public abstract class SessionConfiguration implements KieSessionConfiguration, E
             return getQueryListenerOption().getAsString();
         } else if ( name.equals( BeliefSystemTypeOption.PROPERTY_NAME ) ) {
             return getBeliefSystemType().getId();
+        } else if ( name.equals( PARALLEL_PATH_EVALUATION_PROPERTY ) ) {
+            return Boolean.toString(isParallelPathEvaluation());
+        } else if ( name.equals( LOCK_FREE_PROPAGATION_LIST_PROPERTY ) ) {
+            return Boolean.toString(isLockFreePropagationList());
+        } else if ( name.equals( TUPLE_POOL_SIZE_PROPERTY ) ) {
+            return Integer.toString(getTuplePoolSize());
+        } else if ( name.equals( BATCHED_EXPIRATION_PROPERTY ) ) {
+            return Boolean.toString(isBatchedExpiration());
+        } else if ( name.equals( SHARED_TIME_WINDOWS_PROPERTY ) ) {
+            return Boolean.toString(isSharedTimeWindows());
+        } else if ( name.equals( OFF_HEAP_EVENTS_PROPERTY ) ) {
+            return Boolean.toString(isOffHeapEvents());
+        } else if ( name.equals( CONCURRENT_OBJECT_STORE_PROPERTY ) ) {
+            return Boolean.toString(isConcurrentObjectStore());
+        } else if ( name.equals( PARTITIONED_EQUALITY_KEYS_PROPERTY ) ) {
+            return Boolean.toString(isPartitionedEqualityKeys());
         }
         return null;
     }
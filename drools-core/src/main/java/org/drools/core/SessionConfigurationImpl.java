@@ -60,6 +60,14 @@ import org.kie.internal.utils.ChainedProperties;
  * 
  * 
  * drools.keepReference = <true|false>
+ * drools.parallelPathEvaluation = <true|false>
+ * drools.lockFreePropagationList = <true|false>
+ * drools.tuplePoolSize = <int>
+ * drools.batchedExpiration = <true|false>
+ * drools.sharedTimeWindows = <true|false>
+ * drools.offHeapEvents = <true|false>
+ * drools.concurrentObjectStore = <true|false>
+ * drools.partitionedEqualityKeys = <true|false>
  * drools.clockType = <pseudo|realtime|heartbeat|implicit>
  */
 public class SessionConfigurationImpl extends SessionConfiguration {
@@ -72,6 +80,22 @@ public class SessionConfigurationImpl extends SessionConfiguration {
 
     private boolean                        keepReference;
 
+    private boolean                        parallelPathEvaluation;
+
+    private boolean                        lockFreePropagationList;
+
+    private int                            tuplePoolSize;
+
+    private boolean                        batchedExpiration;
+
+    private boolean                        sharedTimeWindows;
+
+    private boolean                        offHeapEvents;
+
+    private boolean                        concurrentObjectStore;
+
+    private boolean                        partitionedEqualityKeys;
+
     private ForceEagerActivationFilter     forceEagerActivationFilter;
     private TimedRuleExecutionFilter       timedRuleExecutionFilter;
 
@@ -157,6 +181,22 @@ public class SessionConfigurationImpl extends SessionConfiguration {
 
         setKeepReference(Boolean.valueOf(this.chainedProperties.getProperty(KeepReferenceOption.PROPERTY_NAME, "true")));
 
+        setParallelPathEvaluation(Boolean.valueOf(this.chainedProperties.getProperty(PARALLEL_PATH_EVALUATION_PROPERTY, "false")));
+
+        setLockFreePropagationList(Boolean.valueOf(this.chainedProperties.getProperty(LOCK_FREE_PROPAGATION_LIST_PROPERTY, "false")));
+
+        setTuplePoolSize(Integer.parseInt(this.chainedProperties.getProperty(TUPLE_POOL_SIZE_PROPERTY, "0")));
+
+        setBatchedExpiration(Boolean.valueOf(this.chainedProperties.getProperty(BATCHED_EXPIRATION_PROPERTY, "false")));
+
+        setSharedTimeWindows(Boolean.valueOf(this.chainedProperties.getProperty(SHARED_TIME_WINDOWS_PROPERTY, "false")));
+
+        setOffHeapEvents(Boolean.valueOf(this.chainedProperties.getProperty(OFF_HEAP_EVENTS_PROPERTY, "false")));
+
+        setConcurrentObjectStore(Boolean.valueOf(this.chainedProperties.getProperty(CONCURRENT_OBJECT_STORE_PROPERTY, "false")));
+
+        setPartitionedEqualityKeys(Boolean.valueOf(this.chainedProperties.getProperty(PARTITIONED_EQUALITY_KEYS_PROPERTY, "false")));
+
         setForceEagerActivationFilter(ForceEagerActivationOption.resolve(this.chainedProperties.getProperty(ForceEagerActivationOption.PROPERTY_NAME,
                                                                                                             "false")).getFilter());
 
@@ -219,6 +259,81 @@ public class SessionConfigurationImpl extends SessionConfiguration {
         return this.keepReference;
     }
 
+    public void setParallelPathEvaluation(boolean parallelPathEvaluation) {
+        checkCanChange(); // throws an exception if a change isn't possible;
+        this.parallelPathEvaluation = parallelPathEvaluation;
+    }
+
+    public boolean isParallelPathEvaluation() {
+        return this.parallelPathEvaluation;
+    }
+
+    public void setLockFreePropagationList(boolean lockFreePropagationList) {
+        checkCanChange(); // throws an exception if a change isn't possible;
+        this.lockFreePropagationList = lockFreePropagationList;
+    }
+
+    public boolean isLockFreePropagationList() {
+        return this.lockFreePropagationList;
+    }
+
+    public void setTuplePoolSize(int tuplePoolSize) {
+        checkCanChange(); // throws an exception if a change isn't possible;
+        if ( tuplePoolSize < 0 ) {
+            throw new IllegalArgumentException( "The tuple pool size cannot be negative: " + tuplePoolSize );
+        }
+        this.tuplePoolSize = tuplePoolSize;
+    }
+
+    public int getTuplePoolSize() {
+        return this.tuplePoolSize;
+    }
+
+    public void setBatchedExpiration(boolean batchedExpiration) {
+        checkCanChange(); // throws an exception if a change isn't possible;
+        this.batchedExpiration = batchedExpiration;
+    }
+
+    public boolean isBatchedExpiration() {
+        return this.batchedExpiration;
+    }
+
+    public void setSharedTimeWindows(boolean sharedTimeWindows) {
+        checkCanChange(); // throws an exception if a change isn't possible;
+        this.sharedTimeWindows = sharedTimeWindows;
+    }
+
+    public boolean isSharedTimeWindows() {
+        return this.sharedTimeWindows;
+    }
+
+    public void setOffHeapEvents(boolean offHeapEvents) {
+        checkCanChange(); // throws an exception if a change isn't possible;
+        this.offHeapEvents = offHeapEvents;
+    }
+
+    public boolean isOffHeapEvents() {
+        return this.offHeapEvents;
+    }
+
+    public void setConcurrentObjectStore(boolean concurrentObjectStore) {
+        checkCanChange(); // throws an exception if a change isn't possible;
+        this.concurrentObjectStore = concurrentObjectStore;
+    }
+
+    public boolean isConcurrentObjectStore() {
+        return this.concurrentObjectStore;
+    }
+
+    public void setPartitionedEqualityKeys(boolean partitionedEqualityKeys) {
+        checkCanChange(); // throws an exception if a change isn't possible;
+        this.partitionedEqualityKeys = partitionedEqualityKeys;
+    }
+
+    public boolean isPartitionedEqualityKeys() {
+        return this.partitionedEqualityKeys;
+    }
+
     public void setForceEagerActivationFilter(ForceEagerActivationFilter forceEagerActivationFilter) {
         checkCanChange(); // throws an exception if a change isn't possible;
         this.forceEagerActivationFilter = forceEagerActivationFilter;
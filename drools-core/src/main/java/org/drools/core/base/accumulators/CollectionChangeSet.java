@@ -0,0 +1,171 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.base.accumulators;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps track of the elements added to and removed from a collected result
+ * since the last result that has been propagated. An element added and then
+ * removed (or vice versa) before the next propagation cancels out.
+ * <p>
+ * The changes are counted per value, so cancelling a change takes constant time.
+ * A result can be calculated more than once, or rejected by the result constraints,
+ * without losing the changes: they are only reset when the result taken from them
+ * is actually propagated, see {@link Result#propagated()}.
+ */
+public class CollectionChangeSet implements Externalizable {
+
+    /**
+     * A result reporting the changes of this change set. The accumulate node notifies it
+     * when it is propagated, so that the following result only reports newer changes.
+     */
+    public interface Result {
+        void propagated();
+    }
+
+    private Map<Object, Integer> added = new LinkedHashMap<Object, Integer>();
+    private Map<Object, Integer> removed = new LinkedHashMap<Object, Integer>();
+
+    // incremented on every change, so that a stale result cannot reset newer changes
+    private transient long version;
+
+    public CollectionChangeSet() {
+    }
+
+    @SuppressWarnings("unchecked")
+    public void readExternal(ObjectInput in) throws IOException,
+                                            ClassNotFoundException {
+        added = (Map<Object, Integer>) in.readObject();
+        removed = (Map<Object, Integer>) in.readObject();
+    }
+
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeObject( added );
+        out.writeObject( removed );
+    }
+
+    public void added(Object value) {
+        if ( !decrement( removed, value, 1 ) ) {
+            added.merge( value, 1, Integer::sum );
+        }
+        version++;
+    }
+
+    public void removed(Object value) {
+        if ( !decrement( added, value, 1 ) ) {
+            removed.merge( value, 1, Integer::sum );
+        }
+        version++;
+    }
+
+    /**
+     * Records that the whole content of the collection is going to be dropped.
+     * Only the elements already seen by the consumers are reported as removed.
+     */
+    public void cleared(Collection<?> content) {
+        Map<Object, Integer> seen = new LinkedHashMap<Object, Integer>();
+        for ( Object value : content ) {
+            seen.merge( value, 1, Integer::sum );
+        }
+        for ( Map.Entry<Object, Integer> entry : added.entrySet() ) {
+            decrement( seen, entry.getKey(), entry.getValue() );
+        }
+        added.clear();
+        for ( Map.Entry<Object, Integer> entry : seen.entrySet() ) {
+            removed.merge( entry.getKey(), entry.getValue(), Integer::sum );
+        }
+        version++;
+    }
+
+    public List<Object> getAdded() {
+        return expand( added );
+    }
+
+    public List<Object> getRemoved() {
+        return expand( removed );
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Resets the changes, provided that none happened after the given version was taken.
+     */
+    public void propagated(long resultVersion) {
+        if ( resultVersion == version ) {
+            added.clear();
+            removed.clear();
+        }
+    }
+
+    /**
+     * Notifies the incremental results contained in a propagated accumulate result,
+     * which is an array when the accumulate uses more than one function.
+     */
+    public static void propagated(Object result) {
+        if ( result instanceof Result ) {
+            ( (Result) result ).propagated();
+        } else if ( result instanceof Object[] ) {
+            for ( Object element : (Object[]) result ) {
+                if ( element instanceof Result ) {
+                    ( (Result) element ).propagated();
+                }
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return added.isEmpty() && removed.isEmpty();
+    }
+
+    private static List<Object> expand(Map<Object, Integer> counts) {
+        if ( counts.isEmpty() ) {
+            return Collections.emptyList();
+        }
+        List<Object> values = new ArrayList<Object>( counts.size() );
+        for ( Map.Entry<Object, Integer> entry : counts.entrySet() ) {
+            for ( int i = entry.getValue(); i > 0; i-- ) {
+                values.add( entry.getKey() );
+            }
+        }
+        return Collections.unmodifiableList( values );
+    }
+
+    private static boolean decrement(Map<Object, Integer> counts, Object value, int amount) {
+        Integer count = counts.get( value );
+        if ( count == null ) {
+            return false;
+        }
+        if ( count > amount ) {
+            counts.put( value, count - amount );
+        } else {
+            counts.remove( value );
+        }
+        return true;
+    }
+}
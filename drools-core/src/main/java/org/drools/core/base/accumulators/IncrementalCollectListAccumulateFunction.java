@@ -0,0 +1,241 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.base.accumulators;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * <p>A variant of the collectList accumulate function whose result is an
+ * {@link IncrementalCollection}, reporting the elements added and removed
+ * since the previous result was propagated.</p>
+ *
+ * <p>Example:</p>
+ * <pre>
+ * rule "Track employee names"
+ * when
+ *     $names : List() from accumulate(
+ *             Employee( $n : firstName, $l : lastName ),
+ *             incrementalCollectList( $n + " " + $l ) )
+ * then
+ *     for ( Object name : ((IncrementalCollection) $names).getAdded() ) {
+ *         // do something
+ *     }
+ * end
+ * </pre>
+ *
+ * <p>Removing an element takes constant time, as it is replaced by the last
+ * element of the list. As for collectList, the order of the elements in the
+ * list is not guaranteed.</p>
+ */
+public class IncrementalCollectListAccumulateFunction extends CollectListAccumulateFunction {
+
+    public static class IncrementalCollectListData extends CollectListData {
+
+        private Map<Object, Positions> positions = new HashMap<Object, Positions>();
+        private CollectionChangeSet changes = new CollectionChangeSet();
+
+        public IncrementalCollectListData() {
+        }
+
+        @Override
+        public void readExternal(ObjectInput in) throws IOException,
+                                                ClassNotFoundException {
+            super.readExternal( in );
+            changes = (CollectionChangeSet) in.readObject();
+            positions = new HashMap<Object, Positions>();
+            for ( int i = 0; i < list.size(); i++ ) {
+                positionsOf( list.get( i ) ).push( i );
+            }
+        }
+
+        @Override
+        public void writeExternal(ObjectOutput out) throws IOException {
+            super.writeExternal( out );
+            out.writeObject( changes );
+        }
+
+        public void add(Object value) {
+            positionsOf( value ).push( list.size() );
+            list.add( value );
+            changes.added( value );
+        }
+
+        public void remove(Object value) {
+            Positions valuePositions = positions.get( value );
+            if ( valuePositions == null ) {
+                return;
+            }
+            int index = valuePositions.pop();
+            if ( valuePositions.isEmpty() ) {
+                positions.remove( value );
+            }
+
+            int last = list.size() - 1;
+            if ( index != last ) {
+                Object moved = list.get( last );
+                list.set( index, moved );
+                positions.get( moved ).replace( last, index );
+            }
+            list.remove( last );
+            changes.removed( value );
+        }
+
+        public void clear() {
+            changes.cleared( list );
+            positions.clear();
+            list.clear();
+        }
+
+        public CollectionChangeSet getChanges() {
+            return changes;
+        }
+
+        private Positions positionsOf(Object value) {
+            Positions valuePositions = positions.get( value );
+            if ( valuePositions == null ) {
+                valuePositions = new Positions();
+                positions.put( value, valuePositions );
+            }
+            return valuePositions;
+        }
+    }
+
+    /**
+     * The indexes in the list of the elements equal to a given value
+     */
+    private static class Positions {
+        private int[] indexes = new int[1];
+        private int size;
+
+        void push(int index) {
+            if ( size == indexes.length ) {
+                indexes = Arrays.copyOf( indexes, size << 1 );
+            }
+            indexes[size++] = index;
+        }
+
+        int pop() {
+            return indexes[--size];
+        }
+
+        void replace(int oldIndex, int newIndex) {
+            for ( int i = size - 1; i >= 0; i-- ) {
+                if ( indexes[i] == oldIndex ) {
+                    indexes[i] = newIndex;
+                    return;
+                }
+            }
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+    }
+
+    public static class ChangeSetList<T> extends AbstractList<T> implements IncrementalCollection<T>, CollectionChangeSet.Result, RandomAccess {
+
+        private final List<T> list;
+        private final Collection<T> added;
+        private final Collection<T> removed;
+        private final CollectionChangeSet changes;
+        private final long version;
+
+        @SuppressWarnings("unchecked")
+        public ChangeSetList(List<T> list, CollectionChangeSet changes) {
+            this.list = list;
+            this.added = (Collection<T>) changes.getAdded();
+            this.removed = (Collection<T>) changes.getRemoved();
+            this.changes = changes;
+            this.version = changes.getVersion();
+        }
+
+        @Override
+        public T get(int index) {
+            return list.get( index );
+        }
+
+        @Override
+        public int size() {
+            return list.size();
+        }
+
+        public Collection<T> getAdded() {
+            return added;
+        }
+
+        public Collection<T> getRemoved() {
+            return removed;
+        }
+
+        public void propagated() {
+            changes.propagated( version );
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see org.kie.base.accumulators.AccumulateFunction#createContext()
+     */
+    @Override
+    public CollectListData createContext() {
+        return new IncrementalCollectListData();
+    }
+
+    /* (non-Javadoc)
+     * @see org.kie.base.accumulators.AccumulateFunction#init(java.lang.Object)
+     */
+    @Override
+    public void init(CollectListData data) {
+        ((IncrementalCollectListData) data).clear();
+    }
+
+    /* (non-Javadoc)
+     * @see org.kie.base.accumulators.AccumulateFunction#accumulate(java.lang.Object, java.lang.Object)
+     */
+    @Override
+    public void accumulate(CollectListData data,
+                           Object value) {
+        ((IncrementalCollectListData) data).add( value );
+    }
+
+    /* (non-Javadoc)
+     * @see org.kie.base.accumulators.AccumulateFunction#reverse(java.lang.Object, java.lang.Object)
+     */
+    @Override
+    public void reverse(CollectListData data,
+                        Object value) {
+        ((IncrementalCollectListData) data).remove( value );
+    }
+
+    /* (non-Javadoc)
+     * @see org.kie.base.accumulators.AccumulateFunction#getResult(java.lang.Object)
+     */
+    @Override
+    public Object getResult(CollectListData data) {
+        return new ChangeSetList<Object>( Collections.unmodifiableList( data.list ),
+                                          ((IncrementalCollectListData) data).getChanges() );
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.base.accumulators;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * <p>A variant of the collectSet accumulate function whose result is an
+ * {@link IncrementalCollection}, reporting the elements that entered and
+ * left the set since the previous result was propagated.</p>
+ *
+ * <p>Example:</p>
+ * <pre>
+ * rule "Track unique employee names"
+ * when
+ *     $names : Set() from accumulate(
+ *             Employee( $n : firstName, $l : lastName ),
+ *             incrementalCollectSet( $n + " " + $l ) )
+ * then
+ *     for ( Object name : ((IncrementalCollection) $names).getRemoved() ) {
+ *         // do something
+ *     }
+ * end
+ * </pre>
+ *
+ * <p>A value accumulated more than once is reported as added only the first time
+ * and as removed only when its last occurrence is reversed.</p>
+ */
+public class IncrementalCollectSetAccumulateFunction extends CollectSetAccumulateFunction {
+
+    public static class IncrementalCollectSetData extends CollectListData {
+
+        private CollectionChangeSet changes = new CollectionChangeSet();
+
+        public IncrementalCollectSetData() {
+        }
+
+        @Override
+        public void readExternal(ObjectInput in) throws IOException,
+                                                ClassNotFoundException {
+            super.readExternal( in );
+            changes = (CollectionChangeSet) in.readObject();
+        }
+
+        @Override
+        public void writeExternal(ObjectOutput out) throws IOException {
+            super.writeExternal( out );
+            out.writeObject( changes );
+        }
+
+        public CollectionChangeSet getChanges() {
+            return changes;
+        }
+    }
+
+    public static class ChangeSetSet<T> extends AbstractSet<T> implements IncrementalCollection<T>, CollectionChangeSet.Result {
+
+        private final Set<T> set;
+        private final Collection<T> added;
+        private final Collection<T> removed;
+        private final CollectionChangeSet changes;
+        private final long version;
+
+        @SuppressWarnings("unchecked")
+        public ChangeSetSet(Set<T> set, CollectionChangeSet changes) {
+            this.set = set;
+            this.added = (Collection<T>) changes.getAdded();
+            this.removed = (Collection<T>) changes.getRemoved();
+            this.changes = changes;
+            this.version = changes.getVersion();
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return set.iterator();
+        }
+
+        @Override
+        public int size() {
+            return set.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return set.contains( o );
+        }
+
+        public Collection<T> getAdded() {
+            return added;
+        }
+
+        public Collection<T> getRemoved() {
+            return removed;
+        }
+
+        public void propagated() {
+            changes.propagated( version );
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see org.kie.base.accumulators.AccumulateFunction#createContext()
+     */
+    @Override
+    public CollectListData createContext() {
+        return new IncrementalCollectSetData();
+    }
+
+    /* (non-Javadoc)
+     * @see org.kie.base.accumulators.AccumulateFunction#init(java.lang.Object)
+     */
+    @Override
+    public void init(CollectListData data) {
+        ((IncrementalCollectSetData) data).getChanges().cleared( data.map.keySet() );
+        super.init( data );
+    }
+
+    /* (non-Javadoc)
+     * @see org.kie.base.accumulators.AccumulateFunction#accumulate(java.lang.Object, java.lang.Object)
+     */
+    @Override
+    public void accumulate(CollectListData data,
+                           Object value) {
+        CollectListData.MutableInt counter = data.map.get( value );
+        if( counter == null ) {
+            counter = new CollectListData.MutableInt();
+            data.map.put( value, counter );
+            ((IncrementalCollectSetData) data).getChanges().added( value );
+        }
+        counter.value++;
+    }
+
+    /* (non-Javadoc)
+     * @see org.kie.base.accumulators.AccumulateFunction#reverse(java.lang.Object, java.lang.Object)
+     */
+    @Override
+    public void reverse(CollectListData data,
+                        Object value) {
+        CollectListData.MutableInt counter = data.map.get( value );
+        if( (--counter.value) == 0 ) {
+            data.map.remove( value );
+            ((IncrementalCollectSetData) data).getChanges().removed( value );
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see org.kie.base.accumulators.AccumulateFunction#getResult(java.lang.Object)
+     */
+    @Override
+    public Object getResult(CollectListData data) {
+        return new ChangeSetSet<Object>( Collections.unmodifiableSet( data.map.keySet() ),
+                                         ((IncrementalCollectSetData) data).getChanges() );
+    }
+}
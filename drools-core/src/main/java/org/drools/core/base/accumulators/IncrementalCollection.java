@@ -0,0 +1,39 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.base.accumulators;
+
+import java.util.Collection;
+
+/**
+ * A collection produced by an incremental collecting accumulate function.
+ * Besides exposing the whole collected content, it reports the elements
+ * that have been added to and removed from the collection since the previous
+ * result was propagated, so consumers can process only the change set
+ * instead of iterating again over the entire collection.
+ */
+public interface IncrementalCollection<T> extends Collection<T> {
+
+    /**
+     * @return the elements added since the previous result was propagated
+     */
+    Collection<T> getAdded();
+
+    /**
+     * @return the elements removed since the previous result was propagated
+     */
+    Collection<T> getRemoved();
+}
@@ -18,11 +18,15 @@ package org.drools.core.base.accumulators;
 
 import java.io.Externalizable;
 import java.io.IOException;
+import java.io.InvalidObjectException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import java.util.TreeMap;
 
 /**
- * An implementation of an accumulator capable of calculating maximum values
+ * An implementation of an accumulator capable of calculating maximum values.
+ * The accumulated values are kept in a sorted multiset, so that a retracted value
+ * can be reversed in O(log n) without recalculating the whole accumulation.
  */
 public class IntegerMaxAccumulateFunction extends AbstractAccumulateFunction<IntegerMaxAccumulateFunction.MaxData> {
 
@@ -35,16 +39,26 @@ public class IntegerMaxAccumulateFunction extends AbstractAccumulateFunction<Int
     }
 
     protected static class MaxData implements Externalizable {
-        public Integer max = null;
+        // each accumulated value with the number of times it has been accumulated
+        public TreeMap<Integer, Integer> values = new TreeMap<Integer, Integer>();
 
         public MaxData() {}
 
+        @SuppressWarnings("unchecked")
         public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
-            max = (Integer) in.readObject();
+            Object read = in.readObject();
+            if ( read instanceof TreeMap ) {
+                values = (TreeMap<Integer, Integer>) read;
+            } else if ( read != null ) {
+                // contexts written before the values were tracked only hold the current extreme,
+                // which is not enough to reverse it, so they can't be restored
+                throw new InvalidObjectException( "The context of a " + this + " accumulation written by a previous version " +
+                                                  "only holds its result, the accumulation has to be recalculated" );
+            }
         }
 
         public void writeExternal(ObjectOutput out) throws IOException {
-            out.writeObject(max);
+            out.writeObject( values );
         }
 
         @Override
@@ -58,27 +72,29 @@ public class IntegerMaxAccumulateFunction extends AbstractAccumulateFunction<Int
     }
 
     public void init(MaxData data) {
-        data.max = null;
+        data.values.clear();
     }
 
     public void accumulate(MaxData data,
                            Object value) {
         if (value != null) {
-            Integer number = (Integer)value;
-            data.max = data.max == null || data.max < number ? number : data.max;
+            data.values.merge( (Integer) value, 1, Integer::sum );
         }
     }
 
     public void reverse(MaxData data,
                         Object value) {
+        if (value != null) {
+            data.values.computeIfPresent( (Integer) value, (k, count) -> count == 1 ? null : count - 1 );
+        }
     }
 
     public Object getResult(MaxData data) {
-        return data.max;
+        return data.values.isEmpty() ? null : data.values.lastKey();
     }
 
     public boolean supportsReverse() {
-        return false;
+        return true;
     }
 
     public Class<?> getResultType() {
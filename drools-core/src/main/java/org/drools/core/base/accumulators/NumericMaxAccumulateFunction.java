@@ -18,14 +18,41 @@ package org.drools.core.base.accumulators;
 
 import java.io.Externalizable;
 import java.io.IOException;
+import java.io.InvalidObjectException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
 
 /**
- * An implementation of an accumulator capable of calculating maximum values
+ * An implementation of an accumulator capable of calculating maximum values.
+ * The accumulated values are kept in a sorted multiset, so that a retracted value
+ * can be reversed in O(log n) without recalculating the whole accumulation.
+ *
+ * Values of different types with the same double value are ordered by their class name,
+ * so the result among them no longer depends on the order they were accumulated in:
+ * max( 1, 1.0d ) is the Integer 1, whichever comes first.
  */
 public class NumericMaxAccumulateFunction extends AbstractAccumulateFunction<NumericMaxAccumulateFunction.MaxData> {
 
+    // numbers are ordered by their double value, but equal values of different types are kept
+    // apart, so that reversing one of them does not change the type of the result
+    private static final Comparator<Number> NUMERIC_ORDER = NumericMaxAccumulateFunction::compareNumbers;
+
+    @SuppressWarnings("unchecked")
+    static int compareNumbers(Number n1, Number n2) {
+        int result = Double.compare( n1.doubleValue(), n2.doubleValue() );
+        if ( result != 0 ) {
+            return result;
+        }
+        if ( n1.getClass() != n2.getClass() ) {
+            return n1.getClass().getName().compareTo( n2.getClass().getName() );
+        }
+        return n1 instanceof Comparable ? ( (Comparable<Number>) n1 ).compareTo( n2 ) : 0;
+    }
+
     public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
 
     }
@@ -35,16 +62,27 @@ public class NumericMaxAccumulateFunction extends AbstractAccumulateFunction<Num
     }
 
     protected static class MaxData implements Externalizable {
-        public Number max = null;
+        // each accumulated value with the number of times it has been accumulated
+        public TreeMap<Number, Integer> values = new TreeMap<Number, Integer>( NUMERIC_ORDER );
 
         public MaxData() {}
 
+        @SuppressWarnings("unchecked")
         public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
-            max = (Number) in.readObject();
+            Object read = in.readObject();
+            if ( read instanceof Map ) {
+                values.putAll( (Map<Number, Integer>) read );
+            } else if ( read != null ) {
+                // contexts written before the values were tracked only hold the current extreme,
+                // which is not enough to reverse it, so they can't be restored
+                throw new InvalidObjectException( "The context of a " + this + " accumulation written by a previous version " +
+                                                  "only holds its result, the accumulation has to be recalculated" );
+            }
         }
 
         public void writeExternal(ObjectOutput out) throws IOException {
-            out.writeObject(max);
+            // the comparator is not serializable, so the entries are written as a plain map
+            out.writeObject( new LinkedHashMap<Number, Integer>( values ) );
         }
 
         @Override
@@ -58,27 +96,29 @@ public class NumericMaxAccumulateFunction extends AbstractAccumulateFunction<Num
     }
 
     public void init(MaxData data) {
-        data.max = null;
+        data.values.clear();
     }
 
     public void accumulate(MaxData data,
                            Object value) {
         if (value != null) {
-            Number number = (Number)value;
-            data.max = data.max == null || data.max.doubleValue() < number.doubleValue() ? number : data.max;
+            data.values.merge( (Number) value, 1, Integer::sum );
         }
     }
 
     public void reverse(MaxData data,
                         Object value) {
+        if (value != null) {
+            data.values.computeIfPresent( (Number) value, (k, count) -> count == 1 ? null : count - 1 );
+        }
     }
 
     public Object getResult(MaxData data) {
-        return data.max;
+        return data.values.isEmpty() ? null : data.values.lastKey();
     }
 
     public boolean supportsReverse() {
-        return false;
+        return true;
     }
 
     public Class<?> getResultType() {
@@ -24,8 +24,12 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.drools.core.RuleBaseConfiguration;
 import org.drools.core.factmodel.traits.CoreWrapper;
@@ -35,18 +39,31 @@ import org.drools.core.util.ObjectHashMap;
 import org.kie.api.runtime.ClassObjectFilter;
 import org.kie.api.runtime.ObjectFilter;
 
+/**
+ * ObjectStore keeping a separate store for each class of the inserted objects.
+ *
+ * When created as concurrent, each class store guards its own maps with a read/write lock
+ * and the equality map has a lock of its own, so handle lookups and iterations don't need
+ * the entry point lock and can run in parallel with inserts and rule firing. Iterators
+ * returned by a concurrent store work on a snapshot of the class stores they cover.
+ */
 public class ClassAwareObjectStore implements Externalizable, ObjectStore {
 
     private Lock lock;
 
-    private Map<String, SingleClassStore> storesMap = new HashMap<String, SingleClassStore>();
+    private Map<String, SingleClassStore> storesMap;
     private List<ConcreteClassStore> concreteStores = new CopyOnWriteArrayList<ConcreteClassStore>();
 
     private ObjectHashMap equalityMap;
+    private ReadWriteLock equalityLock;
 
     private boolean isEqualityBehaviour;
 
-    private int size;
+    private boolean concurrent;
+
+    private AtomicInteger size = new AtomicInteger();
+
+    private transient volatile ChangeListener changeListener;
 
     public ClassAwareObjectStore() { }
 
@@ -54,12 +71,25 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
         this(conf.getAssertBehaviour(), lock);
     }
 
+    public ClassAwareObjectStore(RuleBaseConfiguration conf, Lock lock, boolean concurrent) {
+        this(conf.getAssertBehaviour(), lock, concurrent);
+    }
+
     public ClassAwareObjectStore( RuleBaseConfiguration.AssertBehaviour assertBehaviour, Lock lock ) {
+        this(assertBehaviour, lock, false);
+    }
+
+    public ClassAwareObjectStore( RuleBaseConfiguration.AssertBehaviour assertBehaviour, Lock lock, boolean concurrent ) {
         this.lock = lock;
+        this.concurrent = concurrent;
+        this.storesMap = concurrent ? new ConcurrentHashMap<String, SingleClassStore>() : new HashMap<String, SingleClassStore>();
         this.isEqualityBehaviour = RuleBaseConfiguration.AssertBehaviour.EQUALITY.equals(assertBehaviour);
         if (isEqualityBehaviour) {
             this.equalityMap = new ObjectHashMap();
             this.equalityMap.setComparator( new EqualityAssertMapComparator() );
+            if (concurrent) {
+                this.equalityLock = new ReentrantReadWriteLock();
+            }
         }
     }
 
@@ -68,9 +98,11 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
         out.writeObject(storesMap);
         out.writeObject(concreteStores);
         out.writeObject(equalityMap);
-        out.writeInt(size);
+        out.writeInt(size.get());
         out.writeBoolean(isEqualityBehaviour);
         out.writeObject(lock);
+        out.writeBoolean(concurrent);
+        out.writeObject(equalityLock);
     }
 
     @Override
@@ -78,19 +110,25 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
         storesMap = (Map<String, SingleClassStore>) in.readObject();
         concreteStores = (List<ConcreteClassStore>) in.readObject();
         equalityMap = (ObjectHashMap) in.readObject();
-        size = in.readInt();
+        size = new AtomicInteger(in.readInt());
         isEqualityBehaviour = in.readBoolean();
         lock = (Lock)in.readObject();
+        concurrent = in.readBoolean();
+        equalityLock = (ReadWriteLock)in.readObject();
+    }
+
+    public boolean isConcurrent() {
+        return concurrent;
     }
 
     @Override
     public int size() {
-        return size;
+        return size.get();
     }
 
     @Override
     public boolean isEmpty() {
-        return size == 0;
+        return size.get() == 0;
     }
 
     @Override
@@ -98,13 +136,26 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
         storesMap.clear();
         concreteStores = new CopyOnWriteArrayList<ConcreteClassStore>();
         if (isEqualityBehaviour) {
-            equalityMap.clear();
+            if (concurrent) {
+                equalityLock.writeLock().lock();
+                try {
+                    equalityMap.clear();
+                } finally {
+                    equalityLock.writeLock().unlock();
+                }
+            } else {
+                equalityMap.clear();
+            }
         }
-        size = 0;
+        size.set(0);
     }
 
     @Override
     public Object getObjectForHandle(InternalFactHandle handle) {
+        if (concurrent) {
+            InternalFactHandle reconnectedHandle = reconnect(handle);
+            return reconnectedHandle != null ? reconnectedHandle.getObject() : null;
+        }
         try {
             this.lock.lock();
             InternalFactHandle reconnectedHandle = reconnect(handle);
@@ -127,18 +178,18 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
             }
 
             return handle.isNegated() ?
-                   (InternalFactHandle) ((ConcreteClassStore) store).getNegMap().get(handle) :
-                   (InternalFactHandle) ((ConcreteClassStore) store).getIdentityMap().get(handle);
+                   ((ConcreteClassStore) store).getNegatedHandle(handle) :
+                   ((ConcreteClassStore) store).getIdentityHandle(handle);
         }
 
         if (isEqualityBehaviour) {
-            return (InternalFactHandle) equalityMap.get(handle);
+            return getEqualHandle(handle);
         }
 
         for (ConcreteClassStore stores : concreteStores) {
-            Object reconnectedHandle = stores.getAssertMap().get(handle);
+            InternalFactHandle reconnectedHandle = stores.getAssertedHandle(handle);
             if (reconnectedHandle != null) {
-                return (InternalFactHandle) reconnectedHandle;
+                return reconnectedHandle;
             }
         }
 
@@ -152,13 +203,25 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
         }
 
         return isEqualityBehaviour ?
-               (InternalFactHandle) equalityMap.get(object) :
-               (InternalFactHandle) getOrCreateConcreteClassStore(object).getAssertMap().get(object);
+               getEqualHandle(object) :
+               getOrCreateConcreteClassStore(object).getAssertedHandle(object);
     }
 
     @Override
     public InternalFactHandle getHandleForObjectIdentity(Object object) {
-        return (InternalFactHandle) getOrCreateConcreteClassStore(object).getIdentityMap().get(object);
+        return getOrCreateConcreteClassStore(object).getIdentityHandle(object);
+    }
+
+    private InternalFactHandle getEqualHandle(Object object) {
+        if (!concurrent) {
+            return (InternalFactHandle) equalityMap.get(object);
+        }
+        equalityLock.readLock().lock();
+        try {
+            return (InternalFactHandle) equalityMap.get(object);
+        } finally {
+            equalityLock.readLock().unlock();
+        }
     }
 
     @Override
@@ -171,17 +234,33 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
     @Override
     public void addHandle(InternalFactHandle handle, Object object) {
         if ( getOrCreateConcreteClassStore(object).addHandle(handle, object) ) {
-            size++;
+            size.incrementAndGet();
+            ChangeListener listener = changeListener;
+            if ( listener != null ) {
+                listener.handleAdded( handle );
+            }
         }
     }
 
     @Override
     public void removeHandle(InternalFactHandle handle) {
         if ( getOrCreateConcreteClassStore(handle.getObject()).removeHandle(handle) != null ) {
-            size--;
+            size.decrementAndGet();
+            ChangeListener listener = changeListener;
+            if ( listener != null ) {
+                listener.handleRemoved( handle );
+            }
+        }
+        if ( handle instanceof OffHeapEventFactHandle ) {
+            ( (OffHeapEventFactHandle) handle ).releaseOffHeap();
         }
     }
 
+    @Override
+    public void setChangeListener(ChangeListener listener) {
+        this.changeListener = listener;
+    }
+
     @Override
     public Iterator<Object> iterateObjects() {
         return new CompositeObjectIterator(concreteStores, true);
@@ -245,6 +324,20 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
     }
 
     public SingleClassStore getOrCreateClassStore(Class<?> clazz) {
+        SingleClassStore store = storesMap.get(clazz.getName());
+        if (store == null) {
+            if (concurrent) {
+                synchronized (storesMap) {
+                    store = createClassStore(clazz);
+                }
+            } else {
+                store = createClassStore(clazz);
+            }
+        }
+        return store;
+    }
+
+    private SingleClassStore createClassStore(Class<?> clazz) {
         SingleClassStore store = storesMap.get(clazz.getName());
         if (store == null) {
             store = createClassStoreAndAddConcreteSubStores(clazz);
@@ -265,10 +358,14 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
         SingleClassStore existingStore = getOrCreateClassStore(clazz);
         if (existingStore.isConcrete()) {
             return (ConcreteClassStore) existingStore;
-        } else {
-            // The existing store was abstract so has to be converted in a concrete one
-            return makeStoreConcrete(existingStore);
         }
+        // The existing store was abstract so has to be converted in a concrete one
+        if (concurrent) {
+            synchronized (storesMap) {
+                return existingStore.isConcrete() ? (ConcreteClassStore) existingStore : makeStoreConcrete(existingStore);
+            }
+        }
+        return makeStoreConcrete(existingStore);
     }
 
     private ConcreteClassStore makeStoreConcrete(SingleClassStore storeToMakeConcrete) {
@@ -285,7 +382,12 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
     }
 
     private SingleClassStore createClassStoreAndAddConcreteSubStores(Class<?> clazz) {
-        SingleClassStore newStore = isEqualityBehaviour ? new ConcreteEqualityClassStore(clazz, equalityMap) : new ConcreteIdentityClassStore(clazz);
+        SingleClassStore newStore;
+        if (concurrent) {
+            newStore = isEqualityBehaviour ? new ConcurrentEqualityClassStore(clazz, equalityMap, equalityLock) : new ConcurrentIdentityClassStore(clazz);
+        } else {
+            newStore = isEqualityBehaviour ? new ConcreteEqualityClassStore(clazz, equalityMap) : new ConcreteIdentityClassStore(clazz);
+        }
         for (SingleClassStore classStore : storesMap.values()) {
             if (classStore.isConcrete() && clazz.isAssignableFrom(classStore.getStoredClass())) {
                 newStore.addConcreteStore(((ConcreteClassStore) classStore));
@@ -308,7 +410,7 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
 
     private abstract static class AbstractClassStore implements SingleClassStore {
         private Class<?> storedClass;
-        private List<ConcreteClassStore> concreteStores = new ArrayList<ConcreteClassStore>();
+        private List<ConcreteClassStore> concreteStores = new CopyOnWriteArrayList<ConcreteClassStore>();
 
         public AbstractClassStore() { }
 
@@ -355,9 +457,11 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
         boolean addHandle(InternalFactHandle handle, Object object);
         InternalFactHandle removeHandle(InternalFactHandle handle);
 
-        ObjectHashMap getAssertMap();
-        ObjectHashMap getIdentityMap();
-        ObjectHashMap getNegMap();
+        InternalFactHandle getAssertedHandle(Object object);
+        InternalFactHandle getIdentityHandle(Object object);
+        InternalFactHandle getNegatedHandle(Object object);
+
+        <T> Iterator<T> iterator(boolean assrt, int type);
     }
 
     private static class ConcreteIdentityClassStore extends AbstractClassStore implements ConcreteClassStore {
@@ -391,18 +495,25 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
         }
 
         @Override
-        public ObjectHashMap getAssertMap() {
-            return identityMap;
+        public InternalFactHandle getAssertedHandle(Object object) {
+            return (InternalFactHandle) identityMap.get(object);
         }
 
         @Override
-        public ObjectHashMap getNegMap() {
-            return negMap;
+        public InternalFactHandle getIdentityHandle(Object object) {
+            return (InternalFactHandle) identityMap.get(object);
         }
 
         @Override
-        public ObjectHashMap getIdentityMap() {
-            return identityMap;
+        public InternalFactHandle getNegatedHandle(Object object) {
+            return (InternalFactHandle) negMap.get(object);
+        }
+
+        @Override
+        public <T> Iterator<T> iterator(boolean assrt, int type) {
+            HashTableIterator iterator = new HashTableIterator( assrt ? identityMap : negMap );
+            iterator.reset();
+            return new JavaIteratorAdapter<T>( iterator, type );
         }
 
         @Override
@@ -459,20 +570,178 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
         }
 
         @Override
-        public ObjectHashMap getAssertMap() {
-            return equalityMap;
+        public InternalFactHandle getAssertedHandle(Object object) {
+            return (InternalFactHandle) equalityMap.get(object);
+        }
+
+        @Override
+        public void writeExternal(ObjectOutput out) throws IOException {
+            super.writeExternal(out);
+            out.writeObject(equalityMap);
+        }
+
+        @Override
+        public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+            super.readExternal(in);
+            equalityMap = (ObjectHashMap)in.readObject();
+        }
+    }
+
+    private static class ConcurrentIdentityClassStore extends ConcreteIdentityClassStore {
+
+        private final ReadWriteLock rwLock = new ReentrantReadWriteLock();
+
+        private volatile boolean concrete;
+
+        public ConcurrentIdentityClassStore() { }
+
+        public ConcurrentIdentityClassStore(Class<?> storedClass) {
+            super(storedClass);
+        }
+
+        @Override
+        public boolean addHandle(InternalFactHandle handle, Object object) {
+            rwLock.writeLock().lock();
+            try {
+                return super.addHandle(handle, object);
+            } finally {
+                rwLock.writeLock().unlock();
+            }
+        }
+
+        @Override
+        public InternalFactHandle removeHandle(InternalFactHandle handle) {
+            rwLock.writeLock().lock();
+            try {
+                return super.removeHandle(handle);
+            } finally {
+                rwLock.writeLock().unlock();
+            }
+        }
+
+        @Override
+        public InternalFactHandle getAssertedHandle(Object object) {
+            return getIdentityHandle(object);
+        }
+
+        @Override
+        public InternalFactHandle getIdentityHandle(Object object) {
+            rwLock.readLock().lock();
+            try {
+                return super.getIdentityHandle(object);
+            } finally {
+                rwLock.readLock().unlock();
+            }
+        }
+
+        @Override
+        public InternalFactHandle getNegatedHandle(Object object) {
+            rwLock.readLock().lock();
+            try {
+                return super.getNegatedHandle(object);
+            } finally {
+                rwLock.readLock().unlock();
+            }
+        }
+
+        @Override
+        public <T> Iterator<T> iterator(boolean assrt, int type) {
+            List<T> snapshot = new ArrayList<T>();
+            rwLock.readLock().lock();
+            try {
+                for (Iterator<T> it = super.iterator(assrt, type); it.hasNext(); ) {
+                    snapshot.add(it.next());
+                }
+            } finally {
+                rwLock.readLock().unlock();
+            }
+            return snapshot.iterator();
+        }
+
+        @Override
+        public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+            super.readExternal(in);
+            concrete = super.isConcrete();
+        }
+
+        @Override
+        public boolean isConcrete() {
+            return concrete;
+        }
+
+        @Override
+        public ConcreteClassStore makeConcrete() {
+            rwLock.writeLock().lock();
+            try {
+                super.makeConcrete();
+            } finally {
+                rwLock.writeLock().unlock();
+            }
+            concrete = true;
+            return this;
+        }
+    }
+
+    private static class ConcurrentEqualityClassStore extends ConcurrentIdentityClassStore {
+
+        private ObjectHashMap equalityMap;
+
+        private ReadWriteLock equalityLock;
+
+        public ConcurrentEqualityClassStore() { }
+
+        public ConcurrentEqualityClassStore(Class<?> storedClass, ObjectHashMap equalityMap, ReadWriteLock equalityLock) {
+            super(storedClass);
+            this.equalityMap = equalityMap;
+            this.equalityLock = equalityLock;
+        }
+
+        @Override
+        public boolean addHandle(InternalFactHandle handle, Object object) {
+            boolean isNew = super.addHandle(handle, object);
+            equalityLock.writeLock().lock();
+            try {
+                equalityMap.put(handle, handle, false);
+            } finally {
+                equalityLock.writeLock().unlock();
+            }
+            return isNew;
+        }
+
+        @Override
+        public InternalFactHandle removeHandle(InternalFactHandle handle) {
+            InternalFactHandle removedHandle = super.removeHandle(handle);
+            equalityLock.writeLock().lock();
+            try {
+                equalityMap.remove(handle);
+            } finally {
+                equalityLock.writeLock().unlock();
+            }
+            return removedHandle;
+        }
+
+        @Override
+        public InternalFactHandle getAssertedHandle(Object object) {
+            equalityLock.readLock().lock();
+            try {
+                return (InternalFactHandle) equalityMap.get(object);
+            } finally {
+                equalityLock.readLock().unlock();
+            }
         }
 
         @Override
         public void writeExternal(ObjectOutput out) throws IOException {
             super.writeExternal(out);
             out.writeObject(equalityMap);
+            out.writeObject(equalityLock);
         }
 
         @Override
         public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
             super.readExternal(in);
             equalityMap = (ObjectHashMap)in.readObject();
+            equalityLock = (ReadWriteLock)in.readObject();
         }
     }
 
@@ -553,11 +822,7 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
 
         @Override
         protected void fetchNextIterator() {
-            HashTableIterator iterator = assrt ?
-                                         new HashTableIterator( stores.next().getIdentityMap() ) :
-                                         new HashTableIterator( stores.next().getNegMap() );
-            iterator.reset();
-            currentIterator = new JavaIteratorAdapter<Object>( iterator, JavaIteratorAdapter.OBJECT );
+            currentIterator = stores.next().iterator( assrt, JavaIteratorAdapter.OBJECT );
         }
 
         @Override
@@ -577,11 +842,7 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
 
         @Override
         protected void fetchNextIterator() {
-            HashTableIterator iterator = assrt ?
-                                         new HashTableIterator( stores.next().getIdentityMap() ) :
-                                         new HashTableIterator( stores.next().getNegMap() );
-            iterator.reset();
-            currentIterator = new JavaIteratorAdapter<InternalFactHandle>( iterator, JavaIteratorAdapter.FACT_HANDLE );
+            currentIterator = stores.next().iterator( assrt, JavaIteratorAdapter.FACT_HANDLE );
         }
 
         @Override
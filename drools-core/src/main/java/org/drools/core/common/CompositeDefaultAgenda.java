@@ -518,6 +518,11 @@ public class CompositeDefaultAgenda implements Externalizable, InternalAgenda {
         throw new UnsupportedOperationException( "org.drools.core.common.CompositeDefaultAgenda.removeEagerRuleAgendaItem -> TODO" );
     }
 
+    @Override
+    public void addDirtyRuleAgendaItem( RuleAgendaItem item ) {
+        // partitions are already evaluated in parallel, so parallel path evaluation is never enabled
+    }
+
     @Override
     public void addQueryAgendaItem( RuleAgendaItem item ) {
         throw new UnsupportedOperationException( "org.drools.core.common.CompositeDefaultAgenda.addQueryAgendaItem -> TODO" );
@@ -28,13 +28,16 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+import org.drools.core.SessionConfiguration;
 import org.drools.core.WorkingMemoryEntryPoint;
+import org.drools.core.concurrent.ParallelPathEvaluator;
 import org.drools.core.concurrent.RuleEvaluator;
 import org.drools.core.concurrent.SequentialRuleEvaluator;
 import org.drools.core.definitions.rule.impl.RuleImpl;
 import org.drools.core.impl.InternalKnowledgeBase;
 import org.drools.core.phreak.ExecutableEntry;
 import org.drools.core.phreak.PropagationEntry;
+import org.drools.core.phreak.LockFreePropagationList;
 import org.drools.core.phreak.PropagationList;
 import org.drools.core.phreak.RuleAgendaItem;
 import org.drools.core.phreak.RuleExecutor;
@@ -131,6 +134,8 @@ public class DefaultAgenda
 
     private RuleEvaluator ruleEvaluator;
 
+    private ParallelPathEvaluator pathEvaluator;
+
     private PropagationList propagationList;
 
     private ExecutionStateMachine executionStateMachine;
@@ -250,12 +255,24 @@ public class DefaultAgenda
 //                             new SequentialRuleEvaluator( this );
 
         this.ruleEvaluator = new SequentialRuleEvaluator( this );
+        this.pathEvaluator = isParallelPathEvaluation() ? new ParallelPathEvaluator( this ) : null;
         this.propagationList = createPropagationList();
     }
 
+    private boolean isParallelPathEvaluation() {
+        // partitioned kbases already evaluate each partition on its own thread
+        return workingMemory.getSessionConfiguration().isParallelPathEvaluation() &&
+               !workingMemory.getKnowledgeBase().getConfiguration().isMultithreadEvaluation() &&
+               !workingMemory.getKnowledgeBase().getConfiguration().isSequential();
+    }
+
     private PropagationList createPropagationList() {
-        return workingMemory.getSessionConfiguration().hasForceEagerActivationFilter() ?
-               new SynchronizedBypassPropagationList( workingMemory ) :
+        SessionConfiguration sessionConfiguration = workingMemory.getSessionConfiguration();
+        if ( sessionConfiguration.hasForceEagerActivationFilter() ) {
+            return new SynchronizedBypassPropagationList( workingMemory );
+        }
+        return sessionConfiguration.isLockFreePropagationList() ?
+               new LockFreePropagationList( workingMemory ) :
                new SynchronizedPropagationList( workingMemory );
     }
 
@@ -295,6 +312,13 @@ public class DefaultAgenda
         eager.remove( item );
     }
 
+    @Override
+    public void addDirtyRuleAgendaItem(RuleAgendaItem item) {
+        if ( pathEvaluator != null ) {
+            pathEvaluator.addDirtyRule( item );
+        }
+    }
+
     @Override
     public void addQueryAgendaItem(RuleAgendaItem item) {
         queries.put( (QueryImpl) item.getRule(), item );
@@ -716,6 +740,9 @@ public class DefaultAgenda
         }
 
         eager.clear();
+        if ( pathEvaluator != null ) {
+            pathEvaluator.reset();
+        }
         activationCounter = 0;
         executionStateMachine.reset();
         propagationList.reset();
@@ -1059,6 +1086,9 @@ public class DefaultAgenda
                     // only fire rules while the limit has not reached.
                     // if halt is called, then isFiring will be false.
                     // The while loop may continue to loop, to keep flushing the action propagation queue
+                    if ( pathEvaluator != null ) {
+                        pathEvaluator.evaluate( group );
+                    }
                     returnedFireCount = ruleEvaluator.evaluateAndFire( agendaFilter, fireCount, fireLimit, group );
                     fireCount += returnedFireCount;
 
@@ -1509,4 +1539,11 @@ public class DefaultAgenda
     public boolean isParallelAgenda() {
         return false;
     }
+
+    /**
+     * Returns the evaluator of the independent paths of the dirty rules, or null if the parallel path evaluation is disabled
+     */
+    public ParallelPathEvaluator getPathEvaluator() {
+        return pathEvaluator;
+    }
 }
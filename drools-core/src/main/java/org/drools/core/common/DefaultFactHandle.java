@@ -16,6 +16,7 @@
 
 package org.drools.core.common;
 
+import java.io.Serializable;
 import java.util.Objects;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
@@ -67,19 +68,12 @@ public class DefaultFactHandle extends AbstractBaseLinkedListNode<DefaultFactHan
 
     private EntryPointId            entryPointId;
 
-    private boolean                 disconnected;
-
-    private TraitTypeEnum           traitType;
-
     private boolean                 valid = true;
 
-    private boolean                 negated;
-
-    private String                  objectClassName;
-
     protected LinkedTuples          linkedTuples;
 
-    private InternalFactHandle      parentHandle;
+    /** The state used only by a few handles, allocated when first needed to keep the common handles small */
+    private Extension               extension;
 
     protected transient WorkingMemoryEntryPoint wmEntryPoint;
 
@@ -146,7 +140,7 @@ public class DefaultFactHandle extends AbstractBaseLinkedListNode<DefaultFactHan
         this.recency = recency;
         setObject( object );
         this.identityHashCode = identityHashCode;
-        this.traitType = traitType;
+        setTraitType( traitType );
     }
 
     public DefaultFactHandle(long id,
@@ -161,8 +155,7 @@ public class DefaultFactHandle extends AbstractBaseLinkedListNode<DefaultFactHan
         setObject( object );
         this.identityHashCode = identityHashCode;
         this.objectHashCode = objectHashCode;
-        this.disconnected = true;
-        this.traitType = TraitTypeEnum.NON_TRAIT;
+        setDisconnected( true );
     }
 
     // ----------------------------------------------------------------------
@@ -180,19 +173,29 @@ public class DefaultFactHandle extends AbstractBaseLinkedListNode<DefaultFactHan
         this.key = null;
         this.linkedTuples = null;
         this.entryPointId = null;
-        this.disconnected = true;
+        setDisconnected( true );
+    }
+
+    private Extension getOrCreateExtension() {
+        if ( this.extension == null ) {
+            this.extension = new Extension();
+        }
+        return this.extension;
     }
 
     public boolean isNegated() {
-        return negated;
+        return extension != null && extension.negated;
     }
 
     public void setNegated(boolean negated) {
-        this.negated = negated;
+        if ( negated || extension != null ) {
+            getOrCreateExtension().negated = negated;
+        }
     }
 
     @Override
     public <K> K as( Class<K> klass ) throws ClassCastException {
+        Object object = getObject();
         if ( klass.isAssignableFrom( object.getClass() ) ) {
             return (K) object;
         } else if ( this.isTraitOrTraitable() ) {
@@ -205,11 +208,13 @@ public class DefaultFactHandle extends AbstractBaseLinkedListNode<DefaultFactHan
     }
 
     public boolean isDisconnected() {
-        return disconnected;
+        return extension != null && extension.disconnected;
     }
 
     protected void setDisconnected( boolean disconnected ) {
-        this.disconnected = disconnected;
+        if ( disconnected || extension != null ) {
+            getOrCreateExtension().disconnected = disconnected;
+        }
     }
 
     public int getObjectHashCode() {
@@ -255,9 +260,9 @@ public class DefaultFactHandle extends AbstractBaseLinkedListNode<DefaultFactHan
                ":" +
                 ( ( this.entryPointId != null ) ? this.entryPointId.getEntryPointId() : "null" ) +
                ":" +
-               this.traitType.name() +
+               getTraitType().name() +
                ":" +
-               this.objectClassName;
+               getObjectClassName();
     }
 
     protected String getFormatVersion() {
@@ -277,7 +282,7 @@ public class DefaultFactHandle extends AbstractBaseLinkedListNode<DefaultFactHan
      * @see Object
      */
     public String toString() {
-        return "[fact " + toExternalForm() + ":" + this.object + "]";
+        return "[fact " + toExternalForm() + ":" + getObject() + "]";
     }
 
     public long getRecency() {
@@ -305,13 +310,27 @@ public class DefaultFactHandle extends AbstractBaseLinkedListNode<DefaultFactHan
     }
 
     public String getObjectClassName() {
-        return this.objectClassName;
+        if ( this.object != null ) {
+            return this.object.getClass().getName();
+        }
+        return extension != null ? extension.objectClassName : null;
+    }
+
+    /**
+     * Replaces the reference to the object without recomputing its hash codes and class name.
+     * Used by subclasses keeping the object elsewhere and overriding getObject().
+     */
+    protected void setObjectReference( final Object object ) {
+        this.object = object;
     }
 
     public void setObject( final Object object ) {
+        if ( object == null && this.object != null ) {
+            // the class name is no longer available from the object
+            getOrCreateExtension().objectClassName = this.object.getClass().getName();
+        }
         this.object = object;
         if (object != null) {
-            this.objectClassName = object.getClass().getName();
             this.objectHashCode = object.hashCode();
         } else {
             this.objectHashCode = 0;
@@ -319,12 +338,12 @@ public class DefaultFactHandle extends AbstractBaseLinkedListNode<DefaultFactHan
 
         if ( isTraitOrTraitable() ) {
             TraitTypeEnum newType = determineTraitType(object, isTraitOrTraitable());
-            if ( ! ( this.traitType == TraitTypeEnum.LEGACY_TRAITABLE && newType != TraitTypeEnum.LEGACY_TRAITABLE ) ) {
+            if ( ! ( getTraitType() == TraitTypeEnum.LEGACY_TRAITABLE && newType != TraitTypeEnum.LEGACY_TRAITABLE ) ) {
                 this.identityHashCode = determineIdentityHashCode( object );
             } else {
                 // we are replacing a non-traitable object with its proxy, so we need to preserve the identity hashcode
             }
-            this.traitType = newType;
+            setTraitType( newType );
         } else {
             this.identityHashCode = determineIdentityHashCode( object );
         }
@@ -353,7 +372,7 @@ public class DefaultFactHandle extends AbstractBaseLinkedListNode<DefaultFactHan
     }
 
     public boolean isTraitOrTraitable() {
-        return traitType != TraitTypeEnum.NON_TRAIT;
+        return getTraitType() != TraitTypeEnum.NON_TRAIT;
     }
 
     public InternalWorkingMemory getWorkingMemory() {
@@ -414,13 +433,13 @@ public class DefaultFactHandle extends AbstractBaseLinkedListNode<DefaultFactHan
     }
 
     public DefaultFactHandle clone() {
-        DefaultFactHandle clone = new DefaultFactHandle( this.id, this.identityHashCode, this.object, this.recency, this.entryPointId, traitType );
+        DefaultFactHandle clone = new DefaultFactHandle( this.id, this.identityHashCode, this.object, this.recency, this.entryPointId, getTraitType() );
         clone.key = this.key;
         clone.linkedTuples = this.linkedTuples.clone();
 
         clone.objectHashCode = this.objectHashCode;
-        clone.disconnected = this.disconnected;
-        clone.negated = this.negated;
+        clone.setDisconnected( isDisconnected() );
+        clone.setNegated( isNegated() );
         clone.wmEntryPoint = this.wmEntryPoint;
         return clone;
     }
@@ -459,9 +478,9 @@ public class DefaultFactHandle extends AbstractBaseLinkedListNode<DefaultFactHan
         handle.entryPointId = StringUtils.isEmpty( elements[5] ) || "null".equals( elements[5].trim() ) ?
                             null :
                             new EntryPointId( elements[5].trim() );
-        handle.disconnected = true;
-        handle.traitType = elements.length > 6 ? TraitTypeEnum.valueOf( elements[6] ) : TraitTypeEnum.NON_TRAIT;
-        handle.objectClassName = elements.length > 7 ? elements[7] : null;
+        handle.setDisconnected( true );
+        handle.setTraitType( elements.length > 6 ? TraitTypeEnum.valueOf( elements[6] ) : TraitTypeEnum.NON_TRAIT );
+        handle.extension.objectClassName = elements.length > 7 ? elements[7] : null;
     }
 
     private static TraitTypeEnum determineTraitType(Object object, boolean isTraitOrTraitable) {
@@ -473,19 +492,22 @@ public class DefaultFactHandle extends AbstractBaseLinkedListNode<DefaultFactHan
     }
 
     public boolean isTraitable() {
+        TraitTypeEnum traitType = getTraitType();
         return traitType == TraitTypeEnum.TRAITABLE || traitType == TraitTypeEnum.WRAPPED_TRAITABLE;
     }
 
     public boolean isTraiting() {
-        return traitType == TraitTypeEnum.TRAIT;
+        return getTraitType() == TraitTypeEnum.TRAIT;
     }
 
     public TraitTypeEnum getTraitType() {
-        return traitType;
+        return extension != null ? extension.traitType : TraitTypeEnum.NON_TRAIT;
     }
 
     protected void setTraitType( TraitTypeEnum traitType ) {
-        this.traitType = traitType;
+        if ( traitType != TraitTypeEnum.NON_TRAIT || extension != null ) {
+            getOrCreateExtension().traitType = traitType;
+        }
     }
 
     public boolean isExpired() {
@@ -975,14 +997,32 @@ public class DefaultFactHandle extends AbstractBaseLinkedListNode<DefaultFactHan
 
     @Override
     public InternalDataSource<?> getDataSource() {
+        InternalFactHandle parentHandle = getParentHandle();
         return parentHandle != null ? parentHandle.getDataSource() : null;
     }
 
     public InternalFactHandle getParentHandle() {
-        return parentHandle;
+        return extension != null ? extension.parentHandle : null;
     }
 
     public void setParentHandle( InternalFactHandle parentHandle ) {
-        this.parentHandle = parentHandle;
+        if ( parentHandle != null || extension != null ) {
+            getOrCreateExtension().parentHandle = parentHandle;
+        }
+    }
+
+    private static class Extension implements Serializable {
+
+        private static final long  serialVersionUID = 510l;
+
+        private boolean            disconnected;
+
+        private boolean            negated;
+
+        private TraitTypeEnum      traitType = TraitTypeEnum.NON_TRAIT;
+
+        private String             objectClassName;
+
+        private InternalFactHandle parentHandle;
     }
 }
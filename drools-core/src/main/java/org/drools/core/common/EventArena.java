@@ -0,0 +1,427 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.common;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.drools.core.factmodel.ClassDefinition;
+import org.drools.core.factmodel.FieldDefinition;
+
+/**
+ * A columnar, off-heap store for the payloads of the events of a declared type.
+ *
+ * Every field of the type's ClassDefinition gets its own column, a direct ByteBuffer
+ * with a fixed width per slot, while strings are encoded in UTF-8 into a shared
+ * variable length area. Fields whose type has no off-heap encoding are kept in an
+ * on-heap Object[] column. An event is written once into a slot when its handle is
+ * created and materialized again, through the field accessors of the definition,
+ * only when the engine or a consequence needs the object and it has been reclaimed.
+ */
+public class EventArena {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private static final int MIN_STRINGS_COMPACTION = 64 * 1024;
+
+    private final ClassDefinition classDef;
+
+    private final Column[]        columns;
+
+    private int                   capacity;
+
+    private int                   size;
+
+    private int[]                 freeSlots = new int[16];
+
+    private int                   freeSlotsSize;
+
+    private int                   nextSlot;
+
+    private boolean[]             live;
+
+    private ByteBuffer            strings;
+
+    private int                   garbageBytes;
+
+    public EventArena(ClassDefinition classDef) {
+        this.classDef = classDef;
+        this.capacity = INITIAL_CAPACITY;
+        this.live = new boolean[capacity];
+        this.strings = ByteBuffer.allocateDirect( 4096 );
+
+        List<Column> cols = new ArrayList<Column>();
+        for ( FieldDefinition field : classDef.getFieldsDefinitions() ) {
+            cols.add( new Column( field, ColumnType.of( field.getType() ), capacity ) );
+        }
+        this.columns = cols.toArray( new Column[cols.size()] );
+    }
+
+    /**
+     * Checks if the events of the given declared type can be stored off-heap. All its state
+     * must be described by its definition, so types extending a non declared class and
+     * traitable types are excluded.
+     */
+    public static boolean isSupported(ClassDefinition classDef) {
+        return classDef != null &&
+               classDef.getDefinedClass() != null &&
+               !classDef.isTraitable() &&
+               !classDef.isAbstrakt() &&
+               classDef.getDefinedClass().getSuperclass() == Object.class;
+    }
+
+    public ClassDefinition getClassDefinition() {
+        return classDef;
+    }
+
+    /**
+     * Checks if the current field values of the given event can be written to this arena
+     * and read back unchanged. A date column only stores the milliseconds of the value, so a
+     * subclass of Date, like a java.sql.Timestamp, would come back as a plain Date.
+     */
+    public boolean canStore(Object object) {
+        for ( Column column : columns ) {
+            if ( column.type == ColumnType.DATE ) {
+                Object value = column.field.getValue( object );
+                if ( value != null && value.getClass() != Date.class ) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    public synchronized int allocate() {
+        int slot;
+        if ( freeSlotsSize > 0 ) {
+            slot = freeSlots[--freeSlotsSize];
+        } else {
+            if ( nextSlot == capacity ) {
+                grow();
+            }
+            slot = nextSlot++;
+        }
+        live[slot] = true;
+        size++;
+        return slot;
+    }
+
+    public synchronized void free(int slot) {
+        if ( !live[slot] ) {
+            return;
+        }
+        for ( Column column : columns ) {
+            column.clear( this, slot );
+        }
+        live[slot] = false;
+        size--;
+        if ( freeSlotsSize == freeSlots.length ) {
+            freeSlots = Arrays.copyOf( freeSlots, freeSlotsSize * 2 );
+        }
+        freeSlots[freeSlotsSize++] = slot;
+    }
+
+    public synchronized void write(int slot, Object object) {
+        for ( Column column : columns ) {
+            column.write( this, slot, column.field.getValue( object ) );
+        }
+    }
+
+    public synchronized Object read(int slot) {
+        Object object;
+        try {
+            object = classDef.newInstance();
+        } catch ( Exception e ) {
+            throw new RuntimeException( "Unable to materialize an event of type " + classDef.getClassName(), e );
+        }
+        for ( Column column : columns ) {
+            column.field.setValue( object, column.read( this, slot ) );
+        }
+        return object;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of bytes currently reserved off-heap by this arena
+     */
+    public synchronized long getOffHeapBytes() {
+        long bytes = strings.capacity();
+        for ( Column column : columns ) {
+            if ( column.buffer != null ) {
+                bytes += column.buffer.capacity();
+            }
+        }
+        return bytes;
+    }
+
+    private void grow() {
+        int newCapacity = capacity * 2;
+        for ( Column column : columns ) {
+            column.resize( capacity, newCapacity );
+        }
+        live = Arrays.copyOf( live, newCapacity );
+        capacity = newCapacity;
+    }
+
+    private long storeString(String value) {
+        byte[] bytes = value.getBytes( StandardCharsets.UTF_8 );
+        if ( strings.remaining() < bytes.length ) {
+            if ( garbageBytes > MIN_STRINGS_COMPACTION && garbageBytes > strings.position() / 2 ) {
+                compactStrings( bytes.length );
+            }
+            if ( strings.remaining() < bytes.length ) {
+                ByteBuffer newStrings = ByteBuffer.allocateDirect( Math.max( strings.capacity() * 2, strings.position() + bytes.length ) );
+                strings.flip();
+                newStrings.put( strings );
+                strings = newStrings;
+            }
+        }
+        int offset = strings.position();
+        strings.put( bytes );
+        return ( (long) offset << 32 ) | bytes.length;
+    }
+
+    private String loadString(long pointer) {
+        int offset = (int) ( pointer >>> 32 );
+        int length = (int) pointer;
+        byte[] bytes = new byte[length];
+        for ( int i = 0; i < length; i++ ) {
+            bytes[i] = strings.get( offset + i );
+        }
+        return new String( bytes, StandardCharsets.UTF_8 );
+    }
+
+    private void compactStrings(int needed) {
+        ByteBuffer compacted = ByteBuffer.allocateDirect( Math.max( strings.capacity(), strings.position() - garbageBytes + needed ) );
+        for ( Column column : columns ) {
+            if ( column.type != ColumnType.STRING ) {
+                continue;
+            }
+            for ( int slot = 0; slot < nextSlot; slot++ ) {
+                if ( !live[slot] || column.isNull( slot ) ) {
+                    continue;
+                }
+                long pointer = column.buffer.getLong( column.offset( slot ) + 1 );
+                int offset = (int) ( pointer >>> 32 );
+                int length = (int) pointer;
+                int newOffset = compacted.position();
+                for ( int i = 0; i < length; i++ ) {
+                    compacted.put( strings.get( offset + i ) );
+                }
+                column.buffer.putLong( column.offset( slot ) + 1, ( (long) newOffset << 32 ) | length );
+            }
+        }
+        strings = compacted;
+        garbageBytes = 0;
+    }
+
+    private enum ColumnType {
+        BOOLEAN( 1, false ), BYTE( 1, false ), CHAR( 2, false ), SHORT( 2, false ),
+        INT( 4, false ), FLOAT( 4, false ), LONG( 8, false ), DOUBLE( 8, false ),
+        BOOLEAN_OBJ( 1, true ), BYTE_OBJ( 1, true ), CHAR_OBJ( 2, true ), SHORT_OBJ( 2, true ),
+        INT_OBJ( 4, true ), FLOAT_OBJ( 4, true ), LONG_OBJ( 8, true ), DOUBLE_OBJ( 8, true ),
+        DATE( 8, true ), STRING( 8, true ), OBJECT( 0, false );
+
+        private final int     width;
+        private final boolean nullable;
+
+        ColumnType(int width, boolean nullable) {
+            this.width = nullable ? width + 1 : width;
+            this.nullable = nullable;
+        }
+
+        static ColumnType of(Class<?> type) {
+            if ( type == boolean.class ) return BOOLEAN;
+            if ( type == byte.class ) return BYTE;
+            if ( type == char.class ) return CHAR;
+            if ( type == short.class ) return SHORT;
+            if ( type == int.class ) return INT;
+            if ( type == float.class ) return FLOAT;
+            if ( type == long.class ) return LONG;
+            if ( type == double.class ) return DOUBLE;
+            if ( type == Boolean.class ) return BOOLEAN_OBJ;
+            if ( type == Byte.class ) return BYTE_OBJ;
+            if ( type == Character.class ) return CHAR_OBJ;
+            if ( type == Short.class ) return SHORT_OBJ;
+            if ( type == Integer.class ) return INT_OBJ;
+            if ( type == Float.class ) return FLOAT_OBJ;
+            if ( type == Long.class ) return LONG_OBJ;
+            if ( type == Double.class ) return DOUBLE_OBJ;
+            if ( type == Date.class ) return DATE;
+            if ( type == String.class ) return STRING;
+            return OBJECT;
+        }
+    }
+
+    private static class Column {
+        private final FieldDefinition field;
+        private final ColumnType      type;
+        private ByteBuffer            buffer;
+        private Object[]              objects;
+
+        Column(FieldDefinition field, ColumnType type, int capacity) {
+            this.field = field;
+            this.type = type;
+            if ( type == ColumnType.OBJECT ) {
+                this.objects = new Object[capacity];
+            } else {
+                this.buffer = ByteBuffer.allocateDirect( capacity * type.width );
+            }
+        }
+
+        int offset(int slot) {
+            return slot * type.width;
+        }
+
+        boolean isNull(int slot) {
+            return type.nullable && buffer.get( offset( slot ) ) == 0;
+        }
+
+        void resize(int oldCapacity, int newCapacity) {
+            if ( objects != null ) {
+                objects = Arrays.copyOf( objects, newCapacity );
+            } else {
+                ByteBuffer newBuffer = ByteBuffer.allocateDirect( newCapacity * type.width );
+                ByteBuffer old = buffer.duplicate();
+                old.clear();
+                old.limit( oldCapacity * type.width );
+                newBuffer.put( old );
+                newBuffer.clear();
+                buffer = newBuffer;
+            }
+        }
+
+        void clear(EventArena arena, int slot) {
+            if ( objects != null ) {
+                objects[slot] = null;
+            } else if ( type == ColumnType.STRING && !isNull( slot ) ) {
+                arena.garbageBytes += (int) buffer.getLong( offset( slot ) + 1 );
+                buffer.put( offset( slot ), (byte) 0 );
+            }
+        }
+
+        void write(EventArena arena, int slot, Object value) {
+            if ( objects != null ) {
+                objects[slot] = value;
+                return;
+            }
+            clear( arena, slot );
+            int pos = offset( slot );
+            if ( type.nullable ) {
+                buffer.put( pos, value == null ? (byte) 0 : (byte) 1 );
+                if ( value == null ) {
+                    return;
+                }
+                pos++;
+            }
+            switch ( type ) {
+                case BOOLEAN:
+                case BOOLEAN_OBJ:
+                    buffer.put( pos, (Boolean) value ? (byte) 1 : (byte) 0 );
+                    break;
+                case BYTE:
+                case BYTE_OBJ:
+                    buffer.put( pos, (Byte) value );
+                    break;
+                case CHAR:
+                case CHAR_OBJ:
+                    buffer.putChar( pos, (Character) value );
+                    break;
+                case SHORT:
+                case SHORT_OBJ:
+                    buffer.putShort( pos, (Short) value );
+                    break;
+                case INT:
+                case INT_OBJ:
+                    buffer.putInt( pos, (Integer) value );
+                    break;
+                case FLOAT:
+                case FLOAT_OBJ:
+                    buffer.putFloat( pos, (Float) value );
+                    break;
+                case LONG:
+                case LONG_OBJ:
+                    buffer.putLong( pos, (Long) value );
+                    break;
+                case DOUBLE:
+                case DOUBLE_OBJ:
+                    buffer.putDouble( pos, (Double) value );
+                    break;
+                case DATE:
+                    buffer.putLong( pos, ( (Date) value ).getTime() );
+                    break;
+                case STRING:
+                    buffer.putLong( pos, arena.storeString( (String) value ) );
+                    break;
+                default:
+                    throw new IllegalStateException( "Unknown column type " + type );
+            }
+        }
+
+        Object read(EventArena arena, int slot) {
+            if ( objects != null ) {
+                return objects[slot];
+            }
+            int pos = offset( slot );
+            if ( type.nullable ) {
+                if ( buffer.get( pos ) == 0 ) {
+                    return null;
+                }
+                pos++;
+            }
+            switch ( type ) {
+                case BOOLEAN:
+                case BOOLEAN_OBJ:
+                    return buffer.get( pos ) != 0;
+                case BYTE:
+                case BYTE_OBJ:
+                    return buffer.get( pos );
+                case CHAR:
+                case CHAR_OBJ:
+                    return buffer.getChar( pos );
+                case SHORT:
+                case SHORT_OBJ:
+                    return buffer.getShort( pos );
+                case INT:
+                case INT_OBJ:
+                    return buffer.getInt( pos );
+                case FLOAT:
+                case FLOAT_OBJ:
+                    return buffer.getFloat( pos );
+                case LONG:
+                case LONG_OBJ:
+                    return buffer.getLong( pos );
+                case DOUBLE:
+                case DOUBLE_OBJ:
+                    return buffer.getDouble( pos );
+                case DATE:
+                    return new Date( buffer.getLong( pos ) );
+                case STRING:
+                    return arena.loadString( buffer.getLong( pos ) );
+                default:
+                    throw new IllegalStateException( "Unknown column type " + type );
+            }
+        }
+    }
+}
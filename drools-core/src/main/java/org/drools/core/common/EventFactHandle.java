@@ -42,7 +42,8 @@ public class EventFactHandle extends DefaultFactHandle implements Comparable<Eve
 
     private AtomicInteger     notExpiredPartitions;
 
-    private final transient LinkedList<JobHandle> jobs = new LinkedList<JobHandle>();
+    // most events never schedule a job, so the list is created with the first one
+    private transient volatile LinkedList<JobHandle> jobs;
 
     // ----------------------------------------------------------------------
     // Constructors
@@ -267,14 +268,7 @@ public class EventFactHandle extends DefaultFactHandle implements Comparable<Eve
     }
 
     public EventFactHandle clone() {
-        EventFactHandle clone = new EventFactHandle( getId(),
-                                                      getIdentityHashCode(),
-                                                      getObject(),
-                                                      getRecency(),
-                                                      getStartTimestamp(),
-                                                      getDuration(),
-                                                      getEntryPointId(),
-                                                      getTraitType() );
+        EventFactHandle clone = createClone();
         clone.setActivationsCount( getActivationsCount() );
         clone.setOtnCount( getOtnCount() );
         clone.setExpired( isExpired() );
@@ -285,15 +279,22 @@ public class EventFactHandle extends DefaultFactHandle implements Comparable<Eve
         return clone;
     }
 
+    /**
+     * Creates the bare copy of this handle that the clone methods then fill in
+     */
+    protected EventFactHandle createClone() {
+        return new EventFactHandle( getId(),
+                                    getIdentityHashCode(),
+                                    getObject(),
+                                    getRecency(),
+                                    getStartTimestamp(),
+                                    getDuration(),
+                                    getEntryPointId(),
+                                    getTraitType() );
+    }
+
     private EventFactHandle cloneWithoutTuples() {
-        EventFactHandle clone = new EventFactHandle( getId(),
-                getIdentityHashCode(),
-                getObject(),
-                getRecency(),
-                getStartTimestamp(),
-                getDuration(),
-                getEntryPointId(),
-                getTraitType() );
+        EventFactHandle clone = createClone();
         clone.setActivationsCount( getActivationsCount() );
         clone.setOtnCount( getOtnCount() );
         clone.setExpired( isExpired() );
@@ -327,12 +328,25 @@ public class EventFactHandle extends DefaultFactHandle implements Comparable<Eve
     }
 
     public void addJob(JobHandle job) {
+        LinkedList<JobHandle> jobs = this.jobs;
+        if (jobs == null) {
+            synchronized (this) {
+                if (this.jobs == null) {
+                    this.jobs = new LinkedList<JobHandle>();
+                }
+                jobs = this.jobs;
+            }
+        }
         synchronized (jobs) {
             jobs.add(job);
         }
     }
 
     public void removeJob(JobHandle job) {
+        LinkedList<JobHandle> jobs = this.jobs;
+        if (jobs == null) {
+            return;
+        }
         synchronized (jobs) {
             // the job could have been already removed if the event has been just retracted
             // and then the unscheduleAllJobs method has been invoked concurrently
@@ -343,7 +357,8 @@ public class EventFactHandle extends DefaultFactHandle implements Comparable<Eve
     }
 
     public void unscheduleAllJobs(InternalWorkingMemory workingMemory) {
-        if (!jobs.isEmpty()) {
+        LinkedList<JobHandle> jobs = this.jobs;
+        if (jobs != null && !jobs.isEmpty()) {
             synchronized (jobs) {
                 TimerService clock = workingMemory.getTimerService();
                 while ( !jobs.isEmpty() ) {
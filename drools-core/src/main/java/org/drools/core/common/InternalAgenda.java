@@ -252,6 +252,8 @@ public interface InternalAgenda
     void addEagerRuleAgendaItem(RuleAgendaItem item);
     void removeEagerRuleAgendaItem(RuleAgendaItem item);
 
+    void addDirtyRuleAgendaItem(RuleAgendaItem item);
+
     void addQueryAgendaItem(final RuleAgendaItem item);
     void removeQueryAgendaItem(final RuleAgendaItem item);
 
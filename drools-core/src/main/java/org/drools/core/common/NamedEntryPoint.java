@@ -20,9 +20,12 @@ import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -107,7 +110,7 @@ public class NamedEntryPoint
         this.lock = lock;
         this.handleFactory = this.wm.getFactHandleFactory();
         this.pctxFactory = kBase.getConfiguration().getComponentFactory().getPropagationContextFactory();
-        this.objectStore = new ClassAwareObjectStore(this.kBase.getConfiguration(), this.lock);
+        this.objectStore = new ClassAwareObjectStore(this.kBase.getConfiguration(), this.lock, this.wm.getSessionConfiguration().isConcurrentObjectStore());
         this.traitHelper = new TraitHelper( wm, this );
     }
 
@@ -263,6 +266,111 @@ public class NamedEntryPoint
 
     }
 
+    /**
+     * Inserts all the given objects, returning their fact handles in the same order.
+     * Each run of consecutive facts with the same ObjectTypeConf is propagated through
+     * the alpha network with a single propagation entry, while the entry point lock
+     * is acquired only once for the whole collection. Facts are propagated in the order
+     * of the collection, so the outcome is the same as inserting them one by one.
+     * Facts whose type requires the truth maintenance system or property change listeners
+     * are inserted one by one. The alpha constraints are still evaluated fact by fact.
+     */
+    public List<FactHandle> insertAll(final Collection<?> objects) {
+        List<FactHandle> handles = new ArrayList<FactHandle>( objects.size() );
+        if ( this.wm.isSequential() ) {
+            for ( Object object : objects ) {
+                handles.add( insert( object ) );
+            }
+            return handles;
+        }
+
+        try {
+            this.wm.startOperation();
+            InsertBatch batch = null;
+            try {
+                this.lock.lock();
+                for ( Object object : objects ) {
+                    if ( object == null ) {
+                        // you cannot assert a null object
+                        handles.add( null );
+                        continue;
+                    }
+
+                    ObjectTypeConf typeConf = getObjectTypeConfigurationRegistry().getObjectTypeConf( this.entryPoint, object );
+                    if ( typeConf.isTMSEnabled() || typeConf.isDynamic() ) {
+                        // keep the insertion order with respect to the facts already batched
+                        propagateBatch( batch );
+                        batch = null;
+                        handles.add( insert( object ) );
+                        continue;
+                    }
+
+                    // check if the object already exists in the WM
+                    InternalFactHandle handle = this.objectStore.getHandleForObject( object );
+                    if ( handle == null ) {
+                        handle = createHandle( object, typeConf );
+                        PropagationContext pctx = this.pctxFactory.createPropagationContext( this.wm.getNextPropagationIdCounter(),
+                                                                                             PropagationContext.Type.INSERTION,
+                                                                                             null, null, handle, entryPoint );
+                        this.objectStore.addHandle( handle, object );
+
+                        if ( batch == null || batch.typeConf != typeConf ) {
+                            // a new run of facts starts whenever the type changes, to keep the input order
+                            propagateBatch( batch );
+                            batch = new InsertBatch( typeConf, Math.min( objects.size(), InsertBatch.MAX_INITIAL_CAPACITY ) );
+                        }
+                        batch.add( handle, pctx );
+                    }
+                    handles.add( handle );
+                }
+                propagateBatch( batch );
+            } finally {
+                this.lock.unlock();
+            }
+            return handles;
+        } finally {
+            this.wm.endOperation();
+        }
+    }
+
+    private void propagateBatch( InsertBatch batch ) {
+        if ( batch == null ) {
+            return;
+        }
+        this.kBase.executeQueuedActions();
+        this.entryPointNode.assertObjects( batch.handles, batch.contexts, batch.size, batch.typeConf, this.wm );
+        for ( int i = 0; i < batch.size; i++ ) {
+            this.wm.getRuleRuntimeEventSupport().fireObjectInserted( batch.contexts[i],
+                                                                     batch.handles[i],
+                                                                     batch.handles[i].getObject(),
+                                                                     this.wm );
+        }
+    }
+
+    private static class InsertBatch {
+        private static final int MAX_INITIAL_CAPACITY = 1024;
+
+        private final ObjectTypeConf typeConf;
+        private InternalFactHandle[] handles;
+        private PropagationContext[] contexts;
+        private int size;
+
+        private InsertBatch( ObjectTypeConf typeConf, int capacity ) {
+            this.typeConf = typeConf;
+            this.handles = new InternalFactHandle[capacity];
+            this.contexts = new PropagationContext[capacity];
+        }
+
+        private void add( InternalFactHandle handle, PropagationContext pctx ) {
+            if ( size == handles.length ) {
+                handles = Arrays.copyOf( handles, size << 1 );
+                contexts = Arrays.copyOf( contexts, size << 1 );
+            }
+            handles[size] = handle;
+            contexts[size++] = pctx;
+        }
+    }
+
     public void insert(InternalFactHandle handle,
                        Object object,
                        RuleImpl rule,
@@ -368,6 +476,9 @@ public class NamedEntryPoint
 
                 if (originalObject != object || !AssertBehaviour.IDENTITY.equals(this.kBase.getConfiguration().getAssertBehaviour())) {
                     this.objectStore.updateHandle(handle, object);
+                } else if (handle instanceof OffHeapEventFactHandle) {
+                    // the same instance may have been modified in place, so its slot must be rewritten
+                    ((OffHeapEventFactHandle) handle).updateOffHeap(object);
                 }
 
                 this.handleFactory.increaseFactHandleRecency(handle);
@@ -42,6 +42,12 @@ public interface ObjectStore {
 
     void removeHandle(final InternalFactHandle handle);
 
+    /**
+     * Sets the listener notified of the handles added to and removed from this store,
+     * or removes the current one when null.
+     */
+    void setChangeListener(ChangeListener listener);
+
     /**
      * This class is not thread safe, changes to the working memory during iteration may give unexpected results
      */
@@ -66,4 +72,10 @@ public interface ObjectStore {
 
     Iterator<InternalFactHandle> iterateNegFactHandles(ObjectFilter filter);
 
+    interface ChangeListener {
+
+        void handleAdded(InternalFactHandle handle);
+
+        void handleRemoved(InternalFactHandle handle);
+    }
 }
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.common;
+
+import java.lang.ref.SoftReference;
+
+import org.drools.core.WorkingMemoryEntryPoint;
+
+/**
+ * An EventFactHandle keeping the payload of its event in an {@link EventArena}.
+ *
+ * The handle only holds its object through a soft reference: while the application or
+ * the engine keeps using it the same instance is returned, while under memory pressure
+ * it can be reclaimed and is then materialized again from the arena on the next access.
+ * The clones created by the window nodes delegate to the handle they are cloned from.
+ *
+ * A materialized object is a new instance, so after it has been reclaimed the event can
+ * no longer be found by identity through the object the application originally inserted.
+ * For the same reason a change made in place to the object is only kept if it is followed
+ * by an update of the handle: until then the arena still holds the old field values and
+ * they are the ones materialized once the modified instance has been reclaimed.
+ *
+ * Events whose field values the arena can't store unchanged, like a Date field holding a
+ * java.sql.Timestamp, are kept on the heap.
+ */
+public class OffHeapEventFactHandle extends EventFactHandle {
+
+    private static final long serialVersionUID = 510l;
+
+    private transient EventArena             arena;
+
+    private transient int                    slot = -1;
+
+    private transient volatile SoftReference<Object> cache;
+
+    private transient OffHeapEventFactHandle source;
+
+    public OffHeapEventFactHandle(long id,
+                                  Object object,
+                                  long recency,
+                                  long timestamp,
+                                  long duration,
+                                  WorkingMemoryEntryPoint wmEntryPoint,
+                                  boolean isTraitOrTraitable,
+                                  EventArena arena) {
+        super( id, object, recency, timestamp, duration, wmEntryPoint, isTraitOrTraitable );
+        this.arena = arena;
+        moveOffHeap( object );
+    }
+
+    private OffHeapEventFactHandle(OffHeapEventFactHandle source) {
+        super( source.getId(),
+               source.getIdentityHashCode(),
+               null,
+               source.getRecency(),
+               source.getStartTimestamp(),
+               source.getDuration(),
+               source.getEntryPointId(),
+               source.getTraitType() );
+        this.source = source;
+    }
+
+    public boolean isOffHeap() {
+        return source != null ? source.isOffHeap() : slot >= 0;
+    }
+
+    @Override
+    public Object getObject() {
+        if ( source != null ) {
+            return source.getObject();
+        }
+        Object object = super.getObject();
+        if ( object != null || slot < 0 ) {
+            return object;
+        }
+        SoftReference<Object> ref = cache;
+        object = ref != null ? ref.get() : null;
+        return object != null ? object : materialize();
+    }
+
+    @Override
+    public String getObjectClassName() {
+        if ( source != null ) {
+            return source.getObjectClassName();
+        }
+        // the object of an event kept off heap is always an instance of the declared type
+        return slot >= 0 ? arena.getClassDefinition().getClassName() : super.getObjectClassName();
+    }
+
+    @Override
+    public void setObject(Object object) {
+        super.setObject( object );
+        if ( arena != null ) {
+            moveOffHeap( object );
+        }
+    }
+
+    /**
+     * Writes the current state of the object back to the arena. The object of an event can be
+     * modified in place and then updated with the same instance, in which case the handle
+     * doesn't get a new object, but its slot still has to reflect the new field values.
+     */
+    public void updateOffHeap(Object object) {
+        if ( source != null ) {
+            source.updateOffHeap( object );
+        } else if ( arena != null ) {
+            moveOffHeap( object );
+        }
+    }
+
+    /**
+     * Drops the cached object, as the garbage collector does under memory pressure,
+     * so that the next access materializes it again from the arena.
+     */
+    public synchronized void evictObject() {
+        if ( source != null ) {
+            source.evictObject();
+        } else if ( slot >= 0 ) {
+            cache = null;
+        }
+    }
+
+    /**
+     * Moves the object back on the heap and frees its slot in the arena.
+     * Called once the event has been removed from its entry point.
+     */
+    public synchronized void releaseOffHeap() {
+        if ( slot >= 0 ) {
+            setObjectReference( getObject() );
+            arena.free( slot );
+            slot = -1;
+            cache = null;
+        }
+    }
+
+    @Override
+    protected EventFactHandle createClone() {
+        return new OffHeapEventFactHandle( source != null ? source : this );
+    }
+
+    private synchronized Object materialize() {
+        if ( slot < 0 ) {
+            return super.getObject();
+        }
+        SoftReference<Object> ref = cache;
+        Object object = ref != null ? ref.get() : null;
+        if ( object == null ) {
+            object = arena.read( slot );
+            cache = new SoftReference<Object>( object );
+        }
+        return object;
+    }
+
+    private synchronized void moveOffHeap(Object object) {
+        if ( object == null || object.getClass() != arena.getClassDefinition().getDefinedClass() || !arena.canStore( object ) ) {
+            // anything the arena can't restore as it is stays on the heap
+            if ( slot >= 0 ) {
+                arena.free( slot );
+                slot = -1;
+                cache = null;
+            }
+            setObjectReference( object );
+            return;
+        }
+        if ( slot < 0 ) {
+            slot = arena.allocate();
+        }
+        arena.write( slot, object );
+        cache = new SoftReference<Object>( object );
+        setObjectReference( null );
+    }
+}
@@ -0,0 +1,298 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.common;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.drools.core.util.AbstractHashTable;
+import org.drools.core.util.Entry;
+import org.drools.core.util.Iterator;
+import org.drools.core.util.ObjectHashMap;
+
+import static org.drools.core.common.ClassAwareObjectStore.getActualClass;
+
+/**
+ * A map of EqualityKeys, used by the TruthMaintenanceSystem, that keeps a separate open
+ * addressed table for each class of fact. A lookup only hashes and compares facts of the
+ * same class and no entry is allocated for the stored keys.
+ *
+ * Unlike the default map, an object is never matched with an equal object of a different
+ * class, unless the TruthMaintenanceSystem finds it through the object store.
+ */
+public class PartitionedEqualityKeyMap extends ObjectHashMap {
+
+    private static final long serialVersionUID = 510l;
+
+    private Map<Class<?>, Partition> partitions = new HashMap<Class<?>, Partition>();
+
+    // facts of the same class are often inserted together
+    private Partition lastPartition;
+
+    public PartitionedEqualityKeyMap() {
+        super( 1, 0.75f );
+    }
+
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        clear();
+        int size = in.readInt();
+        for ( int i = 0; i < size; i++ ) {
+            EqualityKey key = (EqualityKey) in.readObject();
+            put( key, key, false );
+        }
+    }
+
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeInt( this.size );
+        for ( Partition partition : this.partitions.values() ) {
+            for ( EqualityKey key : partition.keys ) {
+                if ( key != null ) {
+                    out.writeObject( key );
+                }
+            }
+        }
+    }
+
+    public Object put(final Object key,
+                      final Object value,
+                      final boolean checkExists) {
+        EqualityKey equalityKey = (EqualityKey) key;
+        int hashCode = AbstractHashTable.rehash( equalityKey.hashCode() );
+        Partition partition = getPartition( getActualClass( equalityKey.getFactHandle().getObject() ), true );
+        if ( checkExists && partition.indexOf( equalityKey, hashCode ) >= 0 ) {
+            // an EqualityKey is only equal to itself
+            return equalityKey;
+        }
+        partition.add( equalityKey, hashCode );
+        this.size++;
+        return null;
+    }
+
+    public Object get(final Object key) {
+        if ( key instanceof EqualityKey ) {
+            Partition partition = findPartition( (EqualityKey) key );
+            return partition != null ? key : null;
+        }
+        Partition partition = getPartition( getActualClass( key ), false );
+        if ( partition == null ) {
+            return null;
+        }
+        int index = partition.indexOf( key, AbstractHashTable.rehash( key.hashCode() ) );
+        return index >= 0 ? partition.keys[index] : null;
+    }
+
+    public Object remove(final Object key) {
+        if ( key instanceof EqualityKey ) {
+            Partition partition = findPartition( (EqualityKey) key );
+            if ( partition == null ) {
+                return null;
+            }
+            partition.removeAt( partition.indexOf( key, AbstractHashTable.rehash( key.hashCode() ) ) );
+            this.size--;
+            return key;
+        }
+        Partition partition = getPartition( getActualClass( key ), false );
+        if ( partition == null ) {
+            return null;
+        }
+        int index = partition.indexOf( key, AbstractHashTable.rehash( key.hashCode() ) );
+        if ( index < 0 ) {
+            return null;
+        }
+        EqualityKey removed = partition.keys[index];
+        partition.removeAt( index );
+        this.size--;
+        return removed;
+    }
+
+    public void clear() {
+        this.partitions.clear();
+        this.lastPartition = null;
+        this.size = 0;
+    }
+
+    public Iterator iterator() {
+        return newIterator();
+    }
+
+    public Iterator newIterator() {
+        return new PartitionsIterator( this.partitions.values().toArray( new Partition[this.partitions.size()] ) );
+    }
+
+    public Entry[] toArray() {
+        Entry[] result = new Entry[this.size];
+        Iterator it = newIterator();
+        int index = 0;
+        for ( Entry entry = (Entry) it.next(); entry != null; entry = (Entry) it.next() ) {
+            result[index++] = entry;
+        }
+        return result;
+    }
+
+    public int getPartitionsCount() {
+        return this.partitions.size();
+    }
+
+    private Partition getPartition(Class<?> clazz, boolean create) {
+        Partition partition = this.lastPartition;
+        if ( partition != null && partition.clazz == clazz ) {
+            return partition;
+        }
+        partition = this.partitions.get( clazz );
+        if ( partition == null ) {
+            if ( !create ) {
+                return null;
+            }
+            partition = new Partition( clazz );
+            this.partitions.put( clazz, partition );
+        }
+        this.lastPartition = partition;
+        return partition;
+    }
+
+    /**
+     * Looks for the partition containing the given key, starting from the one of the class of its
+     * first fact. All the partitions are scanned when the key has been emptied or its first fact
+     * is no longer of the class it has been stored with.
+     */
+    private Partition findPartition(EqualityKey key) {
+        int hashCode = AbstractHashTable.rehash( key.hashCode() );
+        Partition partition = null;
+        if ( !key.isEmpty() ) {
+            partition = getPartition( getActualClass( key.getFactHandle().getObject() ), false );
+            if ( partition != null && partition.indexOf( key, hashCode ) >= 0 ) {
+                return partition;
+            }
+        }
+        for ( Partition other : this.partitions.values() ) {
+            if ( other != partition && other.indexOf( key, hashCode ) >= 0 ) {
+                return other;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A linear probing hash table of the EqualityKeys of a class, keeping their rehashed hash
+     * codes in a parallel array. Removals shift back the following entries, so that no
+     * tombstone is left in the table.
+     */
+    private static class Partition {
+        private static final int INITIAL_CAPACITY = 16;
+
+        private final Class<?> clazz;
+        private EqualityKey[]  keys;
+        private int[]          hashCodes;
+        private int            size;
+        private int            threshold;
+
+        private Partition(Class<?> clazz) {
+            this.clazz = clazz;
+            this.keys = new EqualityKey[INITIAL_CAPACITY];
+            this.hashCodes = new int[INITIAL_CAPACITY];
+            this.threshold = INITIAL_CAPACITY * 3 / 4;
+        }
+
+        private int indexOf(Object key, int hashCode) {
+            int mask = this.keys.length - 1;
+            for ( int i = hashCode & mask; this.keys[i] != null; i = (i + 1) & mask ) {
+                // EqualityKey.equals compares the object with the one of its first fact, and is an identity check for another key
+                if ( this.hashCodes[i] == hashCode && ( this.keys[i] == key || this.keys[i].equals( key ) ) ) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private void add(EqualityKey key, int hashCode) {
+            if ( this.size >= this.threshold ) {
+                resize( this.keys.length << 1 );
+            }
+            insert( this.keys, this.hashCodes, key, hashCode );
+            this.size++;
+        }
+
+        private void removeAt(int index) {
+            int mask = this.keys.length - 1;
+            int hole = index;
+            for ( int i = (index + 1) & mask; this.keys[i] != null; i = (i + 1) & mask ) {
+                int home = this.hashCodes[i] & mask;
+                // the entry can fill the hole only if the hole isn't before its home slot
+                if ( ( (i - home) & mask ) >= ( (i - hole) & mask ) ) {
+                    this.keys[hole] = this.keys[i];
+                    this.hashCodes[hole] = this.hashCodes[i];
+                    hole = i;
+                }
+            }
+            this.keys[hole] = null;
+            this.hashCodes[hole] = 0;
+            this.size--;
+        }
+
+        private void resize(int capacity) {
+            EqualityKey[] newKeys = new EqualityKey[capacity];
+            int[] newHashCodes = new int[capacity];
+            for ( int i = 0; i < this.keys.length; i++ ) {
+                if ( this.keys[i] != null ) {
+                    insert( newKeys, newHashCodes, this.keys[i], this.hashCodes[i] );
+                }
+            }
+            this.keys = newKeys;
+            this.hashCodes = newHashCodes;
+            this.threshold = capacity * 3 / 4;
+        }
+
+        private static void insert(EqualityKey[] keys, int[] hashCodes, EqualityKey key, int hashCode) {
+            int mask = keys.length - 1;
+            int i = hashCode & mask;
+            while ( keys[i] != null ) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            hashCodes[i] = hashCode;
+        }
+    }
+
+    private static class PartitionsIterator implements Iterator {
+
+        private static final long serialVersionUID = 510l;
+
+        private final Partition[] partitions;
+        private int               partition;
+        private int               index;
+
+        private PartitionsIterator(Partition[] partitions) {
+            this.partitions = partitions;
+        }
+
+        public Object next() {
+            for ( ; this.partition < this.partitions.length; this.partition++, this.index = 0 ) {
+                Partition current = this.partitions[this.partition];
+                while ( this.index < current.keys.length ) {
+                    int i = this.index++;
+                    if ( current.keys[i] != null ) {
+                        return new ObjectEntry( current.keys[i], current.keys[i], current.hashCodes[i] );
+                    }
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -62,9 +62,12 @@ public class TruthMaintenanceSystem {
 
         typeConfReg = ep.getObjectTypeConfigurationRegistry();
 
-        this.equalityKeyMap = new ObjectHashMap();
-        this.equalityKeyMap.setComparator( EqualityKeyComparator.getInstance() );
-
+        if ( wm.getSessionConfiguration().isPartitionedEqualityKeys() ) {
+            this.equalityKeyMap = new PartitionedEqualityKeyMap();
+        } else {
+            this.equalityKeyMap = new ObjectHashMap();
+            this.equalityKeyMap.setComparator( EqualityKeyComparator.getInstance() );
+        }
 
         defaultBeliefSystem = wm.getKnowledgeBase().getConfiguration().getComponentFactory().getBeliefSystemFactory().createBeliefSystem(wm.getSessionConfiguration().getBeliefSystemType(), ep, this);
     }
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.concurrent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.drools.core.common.DefaultAgenda;
+import org.drools.core.common.InternalAgendaGroup;
+import org.drools.core.conflict.PhreakConflictResolver;
+import org.drools.core.phreak.RuleAgendaItem;
+import org.drools.core.phreak.RuleExecutor;
+import org.drools.core.reteoo.BetaNode;
+import org.drools.core.reteoo.LeftTupleSource;
+import org.drools.core.reteoo.NodeTypeEnums;
+import org.drools.core.reteoo.NotNode;
+import org.drools.core.reteoo.PathMemory;
+import org.drools.core.reteoo.RuleTerminalNode;
+import org.drools.core.reteoo.SegmentMemory;
+import org.kie.api.concurrent.KieExecutors;
+import org.kie.internal.concurrent.ExecutorProviderFactory;
+
+/**
+ * Evaluates concurrently the networks of the dirty rules of an agenda group whose paths
+ * don't share any node memory with other rules. The tuples reaching the terminal nodes
+ * are kept staged by the worker threads and then turned into activations by the firing
+ * thread, following the order of the agenda group, so the outcome doesn't depend on
+ * how the evaluations have been scheduled.
+ */
+public class ParallelPathEvaluator {
+
+    private static final int MIN_PARALLEL_PATHS = 2;
+
+    private static class ExecutorHolder {
+        private static final ExecutorService service = ExecutorProviderFactory.getExecutorProvider().getExecutor();
+    }
+
+    private final DefaultAgenda agenda;
+    private final int parallelism;
+
+    // the dirty rules not evaluated yet, only accessed by the firing thread
+    private final Set<RuleAgendaItem> dirtyRules = Collections.newSetFromMap( new IdentityHashMap<RuleAgendaItem, Boolean>() );
+
+    // only accessed by the firing thread
+    private long evaluatedPaths;
+
+    public ParallelPathEvaluator( DefaultAgenda agenda ) {
+        this( agenda, KieExecutors.Pool.SIZE );
+    }
+
+    public ParallelPathEvaluator( DefaultAgenda agenda, int parallelism ) {
+        this.agenda = agenda;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Keeps track of a rule that became dirty, so that the rules to be evaluated don't have to be
+     * searched among all the rules of the agenda group at each iteration of the fire loop.
+     */
+    public void addDirtyRule( RuleAgendaItem item ) {
+        dirtyRules.add( item );
+    }
+
+    public void reset() {
+        dirtyRules.clear();
+    }
+
+    /**
+     * Returns how many paths have been evaluated concurrently so far
+     */
+    public long getEvaluatedPaths() {
+        return evaluatedPaths;
+    }
+
+    public int evaluate( InternalAgendaGroup group ) {
+        if ( dirtyRules.size() < MIN_PARALLEL_PATHS ) {
+            return 0;
+        }
+
+        List<RuleExecutor> executors = new ArrayList<RuleExecutor>();
+        for ( Iterator<RuleAgendaItem> i = dirtyRules.iterator(); i.hasNext(); ) {
+            RuleAgendaItem item = i.next();
+            RuleExecutor executor = item.getRuleExecutor();
+            if ( !executor.isDirty() ) {
+                // already evaluated by the fire loop
+                i.remove();
+            } else if ( item.getAgendaGroup() == group ) {
+                i.remove();
+                if ( item.isQueued() && isIndependentPath( executor ) ) {
+                    executors.add( executor );
+                }
+            }
+        }
+
+        if ( executors.size() < MIN_PARALLEL_PATHS ) {
+            return 0;
+        }
+
+        int tasksNr = Math.min( parallelism, executors.size() );
+        List<Future<?>> results = new ArrayList<Future<?>>( tasksNr - 1 );
+        for ( int i = 1; i < tasksNr; i++ ) {
+            results.add( ExecutorHolder.service.submit( new PathEvaluatorCallable( executors, i, tasksNr ) ) );
+        }
+        Throwable failure = null;
+        try {
+            // the firing thread takes its share of the work instead of just waiting
+            new PathEvaluatorCallable( executors, 0, tasksNr ).call();
+        } catch (RuntimeException | Error e) {
+            failure = e;
+        }
+        for ( Future<?> result : results ) {
+            try {
+                result.get();
+            } catch (Exception e) {
+                if ( e instanceof InterruptedException ) {
+                    Thread.currentThread().interrupt();
+                }
+                Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+                if ( failure == null ) {
+                    failure = cause;
+                } else {
+                    failure.addSuppressed( cause );
+                }
+            }
+        }
+        if ( failure != null ) {
+            if ( failure instanceof RuntimeException ) {
+                throw (RuntimeException) failure;
+            }
+            if ( failure instanceof Error ) {
+                throw (Error) failure;
+            }
+            throw new RuntimeException( failure );
+        }
+
+        // create the activations following the order in which the agenda group would fire the rules
+        executors.sort( (e1, e2) -> PhreakConflictResolver.doCompare( e2.getRuleAgendaItem(), e1.getRuleAgendaItem() ) );
+        for ( RuleExecutor executor : executors ) {
+            executor.commitDeferredTerminalTuples( agenda );
+        }
+        evaluatedPaths += executors.size();
+        return executors.size();
+    }
+
+    /**
+     * A path can be evaluated in isolation when all its segments are exclusively owned by it
+     * and it is made only of nodes that don't create fact handles, don't schedule timers,
+     * don't call queries and cannot unlink segments during the evaluation. The first segment
+     * may be shared when it contains only the LeftInputAdapterNode, as the network evaluation
+     * skips it.
+     */
+    public static boolean isIndependentPath( RuleExecutor executor ) {
+        if ( executor.isDeclarativeAgendaEnabled() || executor.getRuleAgendaItem().getRule().isEager() ) {
+            return false;
+        }
+
+        PathMemory pmem = executor.getPathMemory();
+        if ( pmem.getPathEndNode().getType() != NodeTypeEnums.RuleTerminalNode ) {
+            return false;
+        }
+
+        SegmentMemory[] smems = pmem.getSegmentMemories();
+        for ( int i = 0; i < smems.length; i++ ) {
+            SegmentMemory smem = smems[i];
+            if ( smem == null ) {
+                return false;
+            }
+            if ( smem.getPathMemories().size() > 1 &&
+                 !( i == 0 && smem.getTipNode().getType() == NodeTypeEnums.LeftInputAdapterNode ) ) {
+                return false;
+            }
+        }
+
+        LeftTupleSource node = ( (RuleTerminalNode) pmem.getPathEndNode() ).getLeftTupleSource();
+        while ( node.getType() != NodeTypeEnums.LeftInputAdapterNode ) {
+            switch ( node.getType() ) {
+                case NodeTypeEnums.EvalConditionNode:
+                    break;
+                case NodeTypeEnums.NotNode:
+                    if ( ( (NotNode) node ).isEmptyBetaConstraints() ) {
+                        // can unlink its own segment when the right input gets populated
+                        return false;
+                    }
+                    // fall through
+                case NodeTypeEnums.JoinNode:
+                case NodeTypeEnums.ExistsNode:
+                    if ( ( (BetaNode) node ).isRightInputIsRiaNode() ) {
+                        return false;
+                    }
+                    break;
+                default:
+                    return false;
+            }
+            node = node.getLeftTupleSource();
+        }
+        return true;
+    }
+
+    private class PathEvaluatorCallable implements Callable<Void> {
+        private final List<RuleExecutor> executors;
+        private final int offset;
+        private final int step;
+
+        private PathEvaluatorCallable( List<RuleExecutor> executors, int offset, int step ) {
+            this.executors = executors;
+            this.offset = offset;
+            this.step = step;
+        }
+
+        @Override
+        public Void call() {
+            for ( int i = offset; i < executors.size(); i += step ) {
+                RuleExecutor executor = executors.get( i );
+                executor.evaluateNetworkDeferringTerminal( agenda );
+            }
+            return null;
+        }
+    }
+}
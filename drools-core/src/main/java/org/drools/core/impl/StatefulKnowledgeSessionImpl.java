@@ -1466,6 +1466,12 @@ public class StatefulKnowledgeSessionImpl extends AbstractRuntime
                        null );
     }
 
+    @Override
+    public List<FactHandle> insertAll(final Collection<?> objects) {
+        checkAlive();
+        return this.defaultEntryPoint.insertAll( objects );
+    }
+
     public void submit(AtomicAction action) {
         agenda.addPropagation( new PropagationEntry.AbstractPropagationEntry() {
             @Override
@@ -1820,6 +1826,45 @@ public class StatefulKnowledgeSessionImpl extends AbstractRuntime
         }
     }
 
+    /**
+     * Holds, as a single entry of the propagation list, the expirations of an ObjectTypeNode
+     * whose timers fired while the batch was waiting to be executed. Every expiration still
+     * has its own timer and is executed by its own WorkingMemoryReteExpireAction, only the
+     * queueing is shared. The batch is closed as soon as it starts executing, so any further
+     * expiration opens and queues a new one.
+     */
+    public static class WorkingMemoryReteExpireBatchAction extends PropagationEntry.AbstractPropagationEntry {
+
+        private final ObjectTypeNode.ObjectTypeNodeMemory memory;
+        private final List<WorkingMemoryReteExpireAction> actions = new ArrayList<WorkingMemoryReteExpireAction>();
+
+        public WorkingMemoryReteExpireBatchAction(ObjectTypeNode.ObjectTypeNodeMemory memory) {
+            this.memory = memory;
+        }
+
+        public void add(WorkingMemoryReteExpireAction action) {
+            actions.add(action);
+        }
+
+        public List<WorkingMemoryReteExpireAction> getActions() {
+            synchronized (memory) {
+                return new ArrayList<WorkingMemoryReteExpireAction>(actions);
+            }
+        }
+
+        public void execute(InternalWorkingMemory workingMemory) {
+            memory.closeExpireBatch( this );
+            for (WorkingMemoryReteExpireAction action : actions) {
+                action.execute( workingMemory );
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Expiration of " + actions.size() + " facts";
+        }
+    }
+
     public static class PartitionAwareWorkingMemoryReteExpireAction extends PropagationEntry.AbstractPartitionedPropagationEntry {
         private final EventFactHandle factHandle;
         private final ObjectTypeNode node;
@@ -16,7 +16,9 @@
 
 package org.drools.core.management;
 
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
 
 import javax.management.Attribute;
 import javax.management.AttributeList;
@@ -50,9 +52,16 @@ import javax.management.openmbean.TabularDataSupport;
 import javax.management.openmbean.TabularType;
 
 import org.drools.core.base.ClassObjectType;
+import org.drools.core.common.BaseNode;
 import org.drools.core.impl.InternalKnowledgeBase;
+import org.drools.core.phreak.NodeMetrics;
+import org.drools.core.reteoo.BetaNode;
 import org.drools.core.reteoo.EntryPointNode;
+import org.drools.core.reteoo.LeftTupleSource;
+import org.drools.core.reteoo.NodeTypeEnums;
 import org.drools.core.reteoo.ObjectTypeNode;
+import org.drools.core.reteoo.RightInputAdapterNode;
+import org.drools.core.reteoo.TerminalNode;
 import org.kie.api.builder.ReleaseId;
 import org.kie.api.management.KieBaseConfigurationMonitorMBean;
 import org.kie.api.management.ObjectTypeNodeMonitorMBean;
@@ -241,6 +250,9 @@ public class KnowledgeBaseMonitoring
                 }
             }
         }
+        if ( NodeMetrics.ENABLED ) {
+            registerNodeMetricsMBeans();
+        }
         final KieBaseConfigurationMonitor kbcm = new KieBaseConfigurationMonitor( kbase.getConfiguration() );
         try {
             final StandardMBean adapter = new StandardMBean(kbcm, KieBaseConfigurationMonitorMBean.class);
@@ -253,6 +265,37 @@ public class KnowledgeBaseMonitoring
         }
     }
 
+    private void registerNodeMetricsMBeans() {
+        Set<LeftTupleSource> nodes = new LinkedHashSet<LeftTupleSource>();
+        for ( BaseNode[] terminalNodes : kbase.getReteooBuilder().getTerminalNodes().values() ) {
+            for ( BaseNode terminalNode : terminalNodes ) {
+                collectEvaluatedNodes( ((TerminalNode) terminalNode).getLeftTupleSource(), nodes );
+            }
+        }
+        for ( LeftTupleSource node : nodes ) {
+            NodeMetricsMonitor nmm = new NodeMetricsMonitor( node );
+            try {
+                final StandardMBean adapter = new StandardMBean(nmm, NodeMetricsMonitorMBean.class);
+                ObjectName name = DroolsManagementAgent.createObjectName( this.name.toString() + ",group=Nodes,nodeId=" + node.getId() );
+                DroolsManagementAgent.getInstance().registerMBean( kbase,
+                                                                   adapter,
+                                                                   name );
+            } catch ( NotCompliantMBeanException e ) {
+                logger.error( "Unable to register NodeMetricsMonitor mbean for node "+node+" into the platform MBean Server", e);
+            }
+        }
+    }
+
+    private static void collectEvaluatedNodes(LeftTupleSource node, Set<LeftTupleSource> nodes) {
+        // walks the left input chain up to the LeftInputAdapterNode, including the subnetworks feeding the beta nodes
+        for ( ; node != null && nodes.add( node ); node = node.getLeftTupleSource() ) {
+            if ( NodeTypeEnums.isBetaNode( node ) && ((BetaNode) node).isRightInputIsRiaNode() ) {
+                RightInputAdapterNode riaNode = (RightInputAdapterNode) ((BetaNode) node).getRightInput();
+                collectEvaluatedNodes( riaNode.getLeftTupleSource(), nodes );
+            }
+        }
+    }
+
     public void stopInternalMBeans() {
         DroolsManagementAgent.getInstance().unregisterDependentsMBeansFromOwner( kbase );
     }
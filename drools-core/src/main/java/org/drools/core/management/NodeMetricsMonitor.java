@@ -0,0 +1,109 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.management;
+
+import org.drools.core.reteoo.LeftTupleSource;
+import org.kie.api.definition.rule.Rule;
+
+/**
+ * The monitor MBean for the execution counters of a LeftTupleSource
+ */
+public class NodeMetricsMonitor implements NodeMetricsMonitorMBean {
+
+    private final LeftTupleSource node;
+
+    public NodeMetricsMonitor(LeftTupleSource node) {
+        this.node = node;
+    }
+
+    public int getId() {
+        return node.getId();
+    }
+
+    public String getNodeType() {
+        return node.getClass().getSimpleName();
+    }
+
+    public String[] getRules() {
+        Rule[] rules = node.getAssociatedRules();
+        String[] names = new String[rules.length];
+        for (int i = 0; i < rules.length; i++) {
+            names[i] = rules[i].getPackageName() + "." + rules[i].getName();
+        }
+        return names;
+    }
+
+    public long getEvaluations() {
+        return node.getMetrics().getEvaluations();
+    }
+
+    public long getEvaluationTimeNanos() {
+        return node.getMetrics().getEvaluationNanos();
+    }
+
+    public long getLeftInserts() {
+        return node.getMetrics().getLeftInserts();
+    }
+
+    public long getLeftUpdates() {
+        return node.getMetrics().getLeftUpdates();
+    }
+
+    public long getLeftDeletes() {
+        return node.getMetrics().getLeftDeletes();
+    }
+
+    public long getRightInserts() {
+        return node.getMetrics().getRightInserts();
+    }
+
+    public long getRightUpdates() {
+        return node.getMetrics().getRightUpdates();
+    }
+
+    public long getRightDeletes() {
+        return node.getMetrics().getRightDeletes();
+    }
+
+    public long getOutputInserts() {
+        return node.getMetrics().getOutputInserts();
+    }
+
+    public long getOutputUpdates() {
+        return node.getMetrics().getOutputUpdates();
+    }
+
+    public long getOutputDeletes() {
+        return node.getMetrics().getOutputDeletes();
+    }
+
+    public long getIndexCandidates() {
+        return node.getMetrics().getIndexCandidates();
+    }
+
+    public long getIndexMatches() {
+        return node.getMetrics().getIndexMatches();
+    }
+
+    public double getIndexHitRatio() {
+        return node.getMetrics().getIndexHitRatio();
+    }
+
+    public void reset() {
+        node.getMetrics().reset();
+    }
+}
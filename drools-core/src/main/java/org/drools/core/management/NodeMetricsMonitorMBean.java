@@ -0,0 +1,59 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.management;
+
+/**
+ * An MBean exposing the execution counters of a network node
+ */
+public interface NodeMetricsMonitorMBean {
+
+    int getId();
+
+    String getNodeType();
+
+    String[] getRules();
+
+    long getEvaluations();
+
+    long getEvaluationTimeNanos();
+
+    long getLeftInserts();
+
+    long getLeftUpdates();
+
+    long getLeftDeletes();
+
+    long getRightInserts();
+
+    long getRightUpdates();
+
+    long getRightDeletes();
+
+    long getOutputInserts();
+
+    long getOutputUpdates();
+
+    long getOutputDeletes();
+
+    long getIndexCandidates();
+
+    long getIndexMatches();
+
+    double getIndexHitRatio();
+
+    void reset();
+}
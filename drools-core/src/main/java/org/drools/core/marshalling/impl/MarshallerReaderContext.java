@@ -22,6 +22,7 @@ import java.io.ObjectInputStream;
 import java.io.ObjectStreamClass;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 import org.drools.core.common.BaseNode;
 import org.drools.core.common.InternalFactHandle;
@@ -80,6 +81,9 @@ public class MarshallerReaderContext extends ObjectInputStream {
     public ClassLoader                                                             classLoader;
     public Map<Integer, Map<TupleKey, Scheduler>>                                  timerNodeSchedulers;
 
+    // when set, the objects of the fact handles are unmarshalled in parallel by this executor
+    public ExecutorService                                                         executor;
+
     public MarshallerReaderContext(InputStream stream,
                                    InternalKnowledgeBase kBase,
                                    Map<Integer, BaseNode> sinks,
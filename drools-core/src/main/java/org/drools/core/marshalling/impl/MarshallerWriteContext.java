@@ -48,6 +48,9 @@ public class MarshallerWriteContext extends ObjectOutputStream {
 
     public long                                                                    clockTime;
 
+    public SessionChangeTracker                                                    changeTracker;
+    public boolean                                                                 delta;
+
     public final Map<Class< ? >, TimersOutputMarshaller>                           writersByClass;
 
     public final PrintStream                                                       out = System.out;
@@ -122,6 +125,14 @@ public class MarshallerWriteContext extends ObjectOutputStream {
 
     }
 
+    /**
+     * Forgets the strategies used so far, so that the next objects are written with fresh strategy contexts
+     */
+    public void clearStrategies() {
+        usedStrategies.clear();
+        strategyContext.clear();
+    }
+
     public Integer getStrategyIndex(ObjectMarshallingStrategy strategy) {
         Integer index = usedStrategies.get( strategy );
         if ( index == null ) {
@@ -17,6 +17,7 @@
 package org.drools.core.marshalling.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.security.InvalidKeyException;
@@ -30,6 +31,7 @@ import java.util.Map.Entry;
 
 import com.google.protobuf.ByteString;
 import com.google.protobuf.ByteString.Output;
+import com.google.protobuf.CodedInputStream;
 import com.google.protobuf.ExtensionRegistry;
 import com.google.protobuf.Message;
 import org.drools.core.beliefsystem.simple.BeliefSystemLogicalCallback;
@@ -208,6 +210,22 @@ public class PersisterHelper {
     
     public static void writeToStreamWithHeader( MarshallerWriteContext context,
                                                 Message payload ) throws IOException {
+        context.stream.write( buildHeader( context, payload, true ).toByteArray() );
+    }
+
+    /**
+     * Writes the payload with its header as a length delimited chunk, so that more chunks can follow it
+     * in the same stream. Runtime defined classes are written only when requested, i.e. in the first chunk.
+     */
+    public static void writeDelimitedToStreamWithHeader( MarshallerWriteContext context,
+                                                         Message payload,
+                                                         boolean writeRuntimeDefinedClasses ) throws IOException {
+        buildHeader( context, payload, writeRuntimeDefinedClasses ).writeDelimitedTo( context.stream );
+    }
+
+    private static ProtobufMessages.Header buildHeader( MarshallerWriteContext context,
+                                                        Message payload,
+                                                        boolean writeRuntimeDefinedClasses ) throws IOException {
         ProtobufMessages.Header.Builder _header = ProtobufMessages.Header.newBuilder();
         _header.setVersion( ProtobufMessages.Version.newBuilder()
                                             .setVersionMajor( Drools.getMajorVersion() )
@@ -217,13 +235,15 @@ public class PersisterHelper {
         
         writeStrategiesIndex( context, _header );
 
-        writeRuntimeDefinedClasses( context, _header );
+        if ( writeRuntimeDefinedClasses ) {
+            writeRuntimeDefinedClasses( context, _header );
+        }
 
         byte[] buff = payload.toByteArray();
         sign( _header, buff );
         _header.setPayload( ByteString.copyFrom( buff ) );
 
-        context.stream.write( _header.build().toByteArray() );
+        return _header.build();
     }
 
     public static void writeRuntimeDefinedClasses( MarshallerWriteContext context,
@@ -305,6 +325,23 @@ public class PersisterHelper {
         return loadStrategiesCheckSignature(context, _header);
     }
     
+    /**
+     * Reads the next chunk written by {@link #writeDelimitedToStreamWithHeader(MarshallerWriteContext, Message, boolean)}
+     * and loads its strategies into the context
+     */
+    public static ProtobufMessages.Header readDelimitedFromStreamWithHeader( MarshallerReaderContext context, ExtensionRegistry registry ) throws IOException, ClassNotFoundException {
+        int firstByte = context.stream.read();
+        if ( firstByte == -1 ) {
+            throw new EOFException( "Unexpected end of the marshalled session" );
+        }
+        // as in readFromStreamWithHeaderPreloaded the chunk is parsed from a byte[] to avoid the protobuf message size limit
+        byte[] chunk = new byte[CodedInputStream.readRawVarint32( firstByte, context.stream )];
+        context.stream.readFully( chunk );
+        ProtobufMessages.Header _header = ProtobufMessages.Header.parseFrom( chunk, registry );
+
+        return loadStrategiesCheckSignature(context, _header);
+    }
+
     /* Method that preloads the source stream into a byte array to bypass the message size limitations in Protobuf unmarshalling.
        (Protobuf does not enforce a message size limit when unmarshalling from a byte array)
     */
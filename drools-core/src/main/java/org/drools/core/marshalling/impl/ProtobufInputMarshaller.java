@@ -17,6 +17,7 @@
 package org.drools.core.marshalling.impl;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
@@ -27,9 +28,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
+import com.google.protobuf.ByteString;
 import com.google.protobuf.ExtensionRegistry;
 import org.drools.core.SessionConfiguration;
 import org.drools.core.SessionConfigurationImpl;
@@ -86,6 +91,9 @@ import org.kie.api.runtime.rule.Match;
 public class ProtobufInputMarshaller {
     // NOTE: all variables prefixed with _ (underscore) are protobuf structs
 
+    // the number of handles unmarshalled by each task when the context has an executor
+    static final int PARALLEL_UNMARSHALLING_CHUNK_SIZE = 1024;
+
     private static ProcessMarshaller processMarshaller = createProcessMarshaller();
 
     private static ProcessMarshaller createProcessMarshaller() {
@@ -147,8 +155,70 @@ public class ProtobufInputMarshaller {
                                                            SessionConfiguration config,
                                                            KieSessionInitializer initializer) throws IOException, ClassNotFoundException {
 
-        ProtobufMessages.KnowledgeSession _session = loadAndParseSession( context );
+        return readSession( context,
+                            loadAndParseSession( context ),
+                            id,
+                            environment,
+                            config,
+                            initializer );
+    }
+
+    /**
+     * Create a new session from a checkpoint followed by a chain of deltas. The last snapshot is read
+     * through the given context, while the previous ones, starting from the checkpoint, only contribute
+     * the fact handles that haven't been updated or deleted afterwards.
+     */
+    public static ReadSessionResult readSession(MarshallerReaderContext context,
+                                                List<MarshallerReaderContext> previousContexts,
+                                                int id,
+                                                Environment environment,
+                                                SessionConfiguration config,
+                                                KieSessionInitializer initializer) throws IOException, ClassNotFoundException {
+        return readSession( context,
+                            mergeSnapshots( context, previousContexts ),
+                            id,
+                            environment,
+                            config,
+                            initializer );
+    }
+
+    /**
+     * Create a new session from a stream written with ProtobufOutputMarshaller.writeSessionInPages,
+     * reading the fact handles one page at a time
+     */
+    public static ReadSessionResult readSessionInPages(MarshallerReaderContext context,
+                                                       int id,
+                                                       Environment environment,
+                                                       SessionConfiguration config,
+                                                       KieSessionInitializer initializer) throws IOException, ClassNotFoundException {
+        ExtensionRegistry registry = PersisterHelper.buildRegistry( context, processMarshaller );
+        ProtobufMessages.Header _header = PersisterHelper.readDelimitedFromStreamWithHeader( context, registry );
+
+        return readSession( context,
+                            ProtobufMessages.KnowledgeSession.parseFrom( _header.getPayload(), registry ),
+                            id,
+                            environment,
+                            config,
+                            initializer,
+                            true );
+    }
+
+    private static ReadSessionResult readSession(MarshallerReaderContext context,
+                                                 ProtobufMessages.KnowledgeSession _session,
+                                                 int id,
+                                                 Environment environment,
+                                                 SessionConfiguration config,
+                                                 KieSessionInitializer initializer) throws IOException, ClassNotFoundException {
+        return readSession( context, _session, id, environment, config, initializer, false );
+    }
 
+    private static ReadSessionResult readSession(MarshallerReaderContext context,
+                                                 ProtobufMessages.KnowledgeSession _session,
+                                                 int id,
+                                                 Environment environment,
+                                                 SessionConfiguration config,
+                                                 KieSessionInitializer initializer,
+                                                 boolean paged) throws IOException, ClassNotFoundException {
         StatefulKnowledgeSessionImpl session = createAndInitializeSession( context,
                                                                            id,
                                                                            environment,
@@ -162,7 +232,8 @@ public class ProtobufInputMarshaller {
         return new ReadSessionResult(readSession(_session,
                                                  session,
                                                  session.getAgenda(),
-                                                 context),
+                                                 context,
+                                                 paged),
                                      _session);
     }
 
@@ -205,11 +276,107 @@ public class ProtobufInputMarshaller {
         return ProtobufMessages.KnowledgeSession.parseFrom( _header.getPayload(), registry );
     }
 
+    private static ProtobufMessages.KnowledgeSession mergeSnapshots(MarshallerReaderContext context,
+                                                                    List<MarshallerReaderContext> previousContexts) throws IOException,
+                                                                                                                    ClassNotFoundException {
+        Map<String, Map<Long, SnapshotHandle>> handles = new HashMap<String, Map<Long, SnapshotHandle>>();
+        for ( MarshallerReaderContext previousContext : previousContexts ) {
+            mergeFactHandles( handles, loadAndParseSession( previousContext ).getRuleData(), previousContext );
+        }
+        ProtobufMessages.KnowledgeSession _session = loadAndParseSession( context );
+        mergeFactHandles( handles, _session.getRuleData(), context );
+
+        // the objects of the handles coming from a previous snapshot are unmarshalled with the
+        // strategies of that snapshot and then passed to the last one through a placeholder strategy
+        IdentityPlaceholderResolverStrategy resolved = new IdentityPlaceholderResolverStrategy( ClassObjectMarshallingStrategyAcceptor.DEFAULT );
+        int resolvedIndex = 0;
+        for ( Integer index : context.usedStrategies.keySet() ) {
+            resolvedIndex = Math.max( resolvedIndex, index + 1 );
+        }
+        context.usedStrategies.put( resolvedIndex, resolved );
+
+        RuleData.Builder _ruleData = _session.getRuleData().toBuilder().clearEntryPoint();
+        for ( ProtobufMessages.EntryPoint _ep : _session.getRuleData().getEntryPointList() ) {
+            Map<Long, SnapshotHandle> epHandles = handles.get( _ep.getEntryPointId() );
+            ProtobufMessages.EntryPoint.Builder _epb = _ep.toBuilder().clearHandle();
+            if ( epHandles != null ) {
+                Long[] ids = epHandles.keySet().toArray( new Long[epHandles.size()] );
+                Arrays.sort( ids );
+                for ( Long handleId : ids ) {
+                    SnapshotHandle handle = epHandles.get( handleId );
+                    _epb.addHandle( handle.context == context ?
+                                    handle._handle :
+                                    resolveFactHandle( handle, resolved, resolvedIndex ) );
+                }
+            }
+            _ruleData.addEntryPoint( _epb.build() );
+        }
+        return _session.toBuilder().setRuleData( _ruleData.build() ).build();
+    }
+
+    private static void mergeFactHandles(Map<String, Map<Long, SnapshotHandle>> handles,
+                                         RuleData _ruleData,
+                                         MarshallerReaderContext context) {
+        for ( ProtobufMessages.EntryPoint _ep : _ruleData.getEntryPointList() ) {
+            Map<Long, SnapshotHandle> epHandles = handles.get( _ep.getEntryPointId() );
+            if ( epHandles == null ) {
+                epHandles = new HashMap<Long, SnapshotHandle>();
+                handles.put( _ep.getEntryPointId(), epHandles );
+            }
+            for ( FactHandle _handle : _ep.getHandleList() ) {
+                if ( _handle.hasType() ) {
+                    epHandles.put( _handle.getId(), new SnapshotHandle( _handle, context ) );
+                } else {
+                    // a tombstone for a deleted handle
+                    epHandles.remove( _handle.getId() );
+                }
+            }
+        }
+    }
+
+    private static FactHandle resolveFactHandle(SnapshotHandle handle,
+                                                IdentityPlaceholderResolverStrategy resolved,
+                                                int resolvedIndex) throws IOException, ClassNotFoundException {
+        FactHandle _handle = handle._handle;
+        if ( !_handle.hasStrategyIndex() ) {
+            return _handle;
+        }
+        MarshallerReaderContext context = handle.context;
+        ObjectMarshallingStrategy strategy = context.usedStrategies.get( _handle.getStrategyIndex() );
+        Object object = strategy.unmarshal( context.strategyContexts.get( strategy ),
+                                            context,
+                                            _handle.getObject().toByteArray(),
+                                            (context.kBase == null) ? null : context.kBase.getRootClassLoader() );
+        return _handle.toBuilder()
+                .setStrategyIndex( resolvedIndex )
+                .setObject( ByteString.copyFrom( resolved.marshal( null, null, object ) ) )
+                .build();
+    }
+
+    private static class SnapshotHandle {
+        private final FactHandle _handle;
+        private final MarshallerReaderContext context;
+
+        private SnapshotHandle(FactHandle _handle, MarshallerReaderContext context) {
+            this._handle = _handle;
+            this.context = context;
+        }
+    }
+
     public static StatefulKnowledgeSessionImpl readSession(ProtobufMessages.KnowledgeSession _session,
                                                            StatefulKnowledgeSessionImpl session,
                                                     InternalAgenda agenda,
                                                     MarshallerReaderContext context) throws IOException,
                                                                                     ClassNotFoundException {
+        return readSession( _session, session, agenda, context, false );
+    }
+
+    private static StatefulKnowledgeSessionImpl readSession(ProtobufMessages.KnowledgeSession _session,
+                                                            StatefulKnowledgeSessionImpl session,
+                                                            InternalAgenda agenda,
+                                                            MarshallerReaderContext context,
+                                                            boolean paged) throws IOException,
+                                                                                  ClassNotFoundException {
         GlobalResolver globalResolver = (GlobalResolver) context.env.get( EnvironmentName.GLOBALS );
         if ( globalResolver != null ) {
             session.setGlobalResolver( globalResolver );
@@ -237,10 +404,16 @@ public class ProtobufInputMarshaller {
 
         for ( ProtobufMessages.EntryPoint _ep : _session.getRuleData().getEntryPointList() ) {
             EntryPoint wmep = ((StatefulKnowledgeSessionImpl)context.wm).getEntryPointMap().get(_ep.getEntryPointId());
-            readFactHandles( context,
-                             _ep,
-                             ((WorkingMemoryEntryPoint) wmep).getObjectStore(),
-                             pctxs );
+            if ( paged ) {
+                readFactHandlePages( context,
+                                     ((WorkingMemoryEntryPoint) wmep).getObjectStore(),
+                                     pctxs );
+            } else {
+                readFactHandles( context,
+                                 _ep,
+                                 ((WorkingMemoryEntryPoint) wmep).getObjectStore(),
+                                 pctxs );
+            }
 
             context.wm.getFactHandleFactory().doRecycleIds( context.handles.keySet() );
 
@@ -422,6 +595,14 @@ public class ProtobufInputMarshaller {
                                        ObjectStore objectStore,
                                        List<PropagationContext> pctxs) throws IOException,
                                                                           ClassNotFoundException {
+        if ( context.executor != null && _ep.getHandleCount() > PARALLEL_UNMARSHALLING_CHUNK_SIZE ) {
+            readFactHandlesInParallel( context,
+                                       _ep,
+                                       objectStore,
+                                       pctxs );
+            return;
+        }
+
         InternalWorkingMemory wm = context.wm;
 
         EntryPoint entryPoint = ((StatefulKnowledgeSessionImpl)context.wm).getEntryPointMap().get(_ep.getEntryPointId());
@@ -452,6 +633,173 @@ public class ProtobufInputMarshaller {
 
     }
 
+    /**
+     * Unmarshalls the objects of the handles with the executor of the context, in chunks of
+     * PARALLEL_UNMARSHALLING_CHUNK_SIZE handles, and then asserts each run of consecutive handles
+     * sharing the same ObjectTypeConf with a single propagation, so that the handles are replayed
+     * in the order they have been written. The strategies used by the session must support
+     * concurrent calls to unmarshal.
+     */
+    private static void readFactHandlesInParallel(MarshallerReaderContext context,
+                                                  ProtobufMessages.EntryPoint _ep,
+                                                  ObjectStore objectStore,
+                                                  List<PropagationContext> pctxs) throws IOException,
+                                                                                     ClassNotFoundException {
+        InternalWorkingMemory wm = context.wm;
+
+        EntryPoint entryPoint = ((StatefulKnowledgeSessionImpl)context.wm).getEntryPointMap().get(_ep.getEntryPointId());
+
+        List<FactHandle> _handles = _ep.getHandleList();
+        Object[] objects = unmarshalObjects( context, _handles );
+
+        List<InternalFactHandle> batch = new ArrayList<InternalFactHandle>();
+        ObjectTypeConf batchTypeConf = null;
+        for ( int i = 0; i < objects.length; i++ ) {
+            ProtobufMessages.FactHandle _handle = _handles.get( i );
+            InternalFactHandle handle = createFactHandle( context,
+                                                          entryPoint,
+                                                          _handle,
+                                                          objects[i] );
+
+            context.handles.put( handle.getId(),
+                                 handle );
+
+            if ( !_handle.getIsJustified() ) {
+                if ( handle.getObject() == null ) {
+                    assertBatch( context, batch, batchTypeConf, pctxs );
+                    assertHandleIntoOTN( context,
+                                         wm,
+                                         handle,
+                                         pctxs );
+                    continue;
+                }
+                objectStore.addHandle( handle,
+                                       handle.getObject() );
+
+                WorkingMemoryEntryPoint ep = handle.getEntryPoint( wm );
+                ObjectTypeConf typeConf = ep.getObjectTypeConfigurationRegistry().getObjectTypeConf( ep.getEntryPoint(), handle.getObject() );
+                if ( typeConf != batchTypeConf ) {
+                    assertBatch( context, batch, batchTypeConf, pctxs );
+                    batchTypeConf = typeConf;
+                }
+                batch.add( handle );
+            }
+        }
+        assertBatch( context, batch, batchTypeConf, pctxs );
+
+        wm.flushPropagations();
+    }
+
+    private static void assertBatch(MarshallerReaderContext context,
+                                    List<InternalFactHandle> batch,
+                                    ObjectTypeConf typeConf,
+                                    List<PropagationContext> pctxs) {
+        if ( batch.isEmpty() ) {
+            return;
+        }
+        InternalWorkingMemory wm = context.wm;
+        PropagationContextFactory pctxFactory = wm.getKnowledgeBase().getConfiguration().getComponentFactory().getPropagationContextFactory();
+        InternalFactHandle[] handles = batch.toArray( new InternalFactHandle[batch.size()] );
+        PropagationContext[] propagationContexts = new PropagationContext[handles.length];
+        for ( int i = 0; i < handles.length; i++ ) {
+            propagationContexts[i] = pctxFactory.createPropagationContext( wm.getNextPropagationIdCounter(), PropagationContext.Type.INSERTION, null, null, handles[i], handles[i].getEntryPoint( wm ).getEntryPoint(), context );
+            // keeping this list for a later cleanup is necessary because of the lazy propagations that might occur
+            pctxs.add( propagationContexts[i] );
+        }
+        WorkingMemoryEntryPoint ep = handles[0].getEntryPoint( wm );
+        ep.getEntryPointNode().assertObjects( handles,
+                                              propagationContexts,
+                                              handles.length,
+                                              typeConf,
+                                              wm );
+        batch.clear();
+    }
+
+    private static Object[] unmarshalObjects(final MarshallerReaderContext context,
+                                             final List<FactHandle> _handles) throws IOException,
+                                                                                  ClassNotFoundException {
+        final Object[] objects = new Object[_handles.size()];
+        List<Future<?>> futures = new ArrayList<Future<?>>();
+        for ( int start = 0; start < objects.length; start += PARALLEL_UNMARSHALLING_CHUNK_SIZE ) {
+            final int from = start;
+            final int to = Math.min( start + PARALLEL_UNMARSHALLING_CHUNK_SIZE, objects.length );
+            futures.add( context.executor.submit( new Callable<Void>() {
+                public Void call() throws Exception {
+                    for ( int i = from; i < to; i++ ) {
+                        objects[i] = unmarshalObject( context, _handles.get( i ) );
+                    }
+                    return null;
+                }
+            } ) );
+        }
+
+        try {
+            for ( Future<?> future : futures ) {
+                future.get();
+            }
+        } catch ( InterruptedException e ) {
+            cancelAll( futures );
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException( "Interrupted while unmarshalling the fact handles" );
+        } catch ( ExecutionException e ) {
+            cancelAll( futures );
+            Throwable cause = e.getCause();
+            if ( cause instanceof IOException ) {
+                throw (IOException) cause;
+            }
+            if ( cause instanceof ClassNotFoundException ) {
+                throw (ClassNotFoundException) cause;
+            }
+            if ( cause instanceof RuntimeException ) {
+                throw (RuntimeException) cause;
+            }
+            if ( cause instanceof Error ) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException( cause );
+        }
+        return objects;
+    }
+
+    private static void cancelAll(List<Future<?>> futures) {
+        for ( Future<?> future : futures ) {
+            future.cancel( true );
+        }
+    }
+
+    private static void readFactHandlePages(MarshallerReaderContext context,
+                                            ObjectStore objectStore,
+                                            List<PropagationContext> pctxs) throws IOException,
+                                                                               ClassNotFoundException {
+        // pages don't carry any extension
+        ExtensionRegistry registry = ExtensionRegistry.getEmptyRegistry();
+
+        // every page comes with its own strategies, the ones of the session are restored at the end
+        Map<Integer, ObjectMarshallingStrategy> sessionStrategies = new HashMap<Integer, ObjectMarshallingStrategy>( context.usedStrategies );
+        Map<ObjectMarshallingStrategy, ObjectMarshallingStrategy.Context> sessionStrategyContexts = new HashMap<ObjectMarshallingStrategy, ObjectMarshallingStrategy.Context>( context.strategyContexts );
+        try {
+            while ( true ) {
+                context.usedStrategies.clear();
+                context.strategyContexts.clear();
+                ProtobufMessages.Header _header = PersisterHelper.readDelimitedFromStreamWithHeader( context, registry );
+                ProtobufMessages.EntryPoint _page = ProtobufMessages.EntryPoint.parseFrom( _header.getPayload(), registry );
+                if ( _page.getHandleCount() == 0 ) {
+                    // an empty page closes the entry point
+                    return;
+                }
+                readFactHandles( context,
+                                 _page,
+                                 objectStore,
+                                 pctxs );
+            }
+        } finally {
+            context.usedStrategies.clear();
+            context.usedStrategies.putAll( sessionStrategies );
+            context.strategyContexts.clear();
+            context.strategyContexts.putAll( sessionStrategyContexts );
+        }
+    }
+
     private static void assertHandleIntoOTN(MarshallerReaderContext context,
                                             InternalWorkingMemory wm,
                                             InternalFactHandle handle,
@@ -484,17 +832,29 @@ public class ProtobufInputMarshaller {
                                                     EntryPoint entryPoint,
                                                     FactHandle _handle) throws IOException,
                                                                        ClassNotFoundException {
-        Object object = null;
-        ObjectMarshallingStrategy strategy = null;
-        if ( _handle.hasStrategyIndex() ) {
-            strategy = context.usedStrategies.get( _handle.getStrategyIndex() );
-            object = strategy.unmarshal( context.strategyContexts.get( strategy ),
-                                         context,
-                                         _handle.getObject().toByteArray(),
-                                         (context.kBase == null) ? null : context.kBase.getRootClassLoader() );
-        }
+        return createFactHandle( context,
+                                 entryPoint,
+                                 _handle,
+                                 unmarshalObject( context, _handle ) );
+    }
 
+    private static Object unmarshalObject(MarshallerReaderContext context,
+                                          FactHandle _handle) throws IOException,
+                                                             ClassNotFoundException {
+        if ( !_handle.hasStrategyIndex() ) {
+            return null;
+        }
+        ObjectMarshallingStrategy strategy = context.usedStrategies.get( _handle.getStrategyIndex() );
+        return strategy.unmarshal( context.strategyContexts.get( strategy ),
+                                   context,
+                                   _handle.getObject().toByteArray(),
+                                   (context.kBase == null) ? null : context.kBase.getRootClassLoader() );
+    }
 
+    private static InternalFactHandle createFactHandle(MarshallerReaderContext context,
+                                                       EntryPoint entryPoint,
+                                                       FactHandle _handle,
+                                                       Object object) {
         EntryPointId confEP;
         if ( entryPoint != null ) {
             confEP = ((NamedEntryPoint) entryPoint).getEntryPoint();
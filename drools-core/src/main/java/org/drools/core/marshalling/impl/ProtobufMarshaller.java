@@ -19,8 +19,11 @@ package org.drools.core.marshalling.impl;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 import org.drools.core.RuleBaseConfiguration;
 import org.drools.core.SessionConfiguration;
@@ -34,6 +37,7 @@ import org.drools.core.reteoo.ObjectTypeNode.ExpireJobContextTimerInputMarshalle
 import org.drools.core.rule.SlidingTimeWindow.BehaviorJobContextTimerInputMarshaller;
 import org.kie.api.KieBase;
 import org.kie.api.KieServices;
+import org.kie.api.event.rule.RuleRuntimeEventListener;
 import org.kie.api.marshalling.MarshallingConfiguration;
 import org.kie.api.marshalling.ObjectMarshallingStrategyStore;
 import org.kie.api.runtime.Environment;
@@ -61,6 +65,21 @@ public class ProtobufMarshaller
         this.initializer = initializer;
     }
 
+    protected ExecutorService unmarshallingExecutor;
+
+    public ExecutorService getUnmarshallingExecutor() {
+        return unmarshallingExecutor;
+    }
+
+    /**
+     * When set, the facts of the unmarshalled sessions are decoded in parallel by the given
+     * executor and then inserted into the network in bulk. All the strategies used to marshall
+     * the sessions must support concurrent calls to unmarshal, as the built-in ones do.
+     */
+    public void setUnmarshallingExecutor( ExecutorService unmarshallingExecutor ) {
+        this.unmarshallingExecutor = unmarshallingExecutor;
+    }
+
     public static final Map<Integer, TimersInputMarshaller> TIMER_READERS = new HashMap<>();
     static {
         TIMER_READERS.put( ProtobufMessages.Timers.TimerType.BEHAVIOR_VALUE, new BehaviorJobContextTimerInputMarshaller() );
@@ -107,6 +126,114 @@ public class ProtobufMarshaller
     public void marshall(final OutputStream stream,
                          final KieSession ksession,
                          final long clockTime) throws IOException {
+        marshall( stream, ksession, clockTime, null, false );
+    }
+
+    /**
+     * Marshalls the whole session, like {@link #marshall(OutputStream, KieSession)}, and starts
+     * tracking its changes, so that the following snapshots can be written with
+     * {@link #marshallDelta(OutputStream, KieSession)}.
+     */
+    public void marshallCheckpoint(final OutputStream stream,
+                                   final KieSession ksession) throws IOException {
+        SessionChangeTracker tracker;
+        synchronized (ksession) {
+            tracker = getChangeTracker( ksession );
+            if ( tracker == null ) {
+                tracker = new SessionChangeTracker();
+                ksession.addEventListener( tracker );
+            }
+            // the tracker detaches itself from the entry points when too many changes pile up
+            tracker.attach( (InternalWorkingMemory) ksession );
+        }
+        marshall( stream, ksession, ksession.getSessionClock().getCurrentTime(), tracker, false );
+    }
+
+    /**
+     * Stops tracking the changes of a session, started by {@link #marshallCheckpoint(OutputStream, KieSession)},
+     * when no more deltas of it are going to be written.
+     */
+    public void stopTracking(final KieSession ksession) {
+        synchronized (ksession) {
+            SessionChangeTracker tracker = getChangeTracker( ksession );
+            if ( tracker != null ) {
+                tracker.detach();
+                ksession.removeEventListener( tracker );
+            }
+        }
+    }
+
+    /**
+     * Marshalls only the facts inserted, updated or deleted since the last checkpoint or delta
+     * of the session, together with its agenda, timers and the other state not bound to the
+     * facts. The session can be restored with {@link #unmarshall(InputStream, List, KieSessionConfiguration, Environment)}
+     * from the last checkpoint and all the deltas written after it.
+     */
+    public void marshallDelta(final OutputStream stream,
+                              final KieSession ksession) throws IOException {
+        SessionChangeTracker tracker = getChangeTracker( ksession );
+        if ( tracker == null || !tracker.isValid() ) {
+            throw new IllegalStateException( "A delta can be marshalled only after a checkpoint of the same session" );
+        }
+        marshall( stream, ksession, ksession.getSessionClock().getCurrentTime(), tracker, true );
+    }
+
+    private static SessionChangeTracker getChangeTracker(KieSession ksession) {
+        for ( RuleRuntimeEventListener listener : ksession.getRuleRuntimeEventListeners() ) {
+            if ( listener instanceof SessionChangeTracker ) {
+                return (SessionChangeTracker) listener;
+            }
+        }
+        return null;
+    }
+
+    private void marshall(final OutputStream stream,
+                          final KieSession ksession,
+                          final long clockTime,
+                          final SessionChangeTracker tracker,
+                          final boolean delta) throws IOException {
+        MarshallerWriteContext context = getMarshallerWriteContext( stream, ksession, clockTime );
+        context.changeTracker = tracker;
+        context.delta = delta;
+        try {
+            ProtobufOutputMarshaller.writeSession( context );
+        } catch (IOException | RuntimeException e) {
+            if ( tracker != null ) {
+                // the changes drained for this snapshot are lost, a new checkpoint is needed
+                tracker.invalidate();
+            }
+            throw e;
+        }
+        context.close();
+    }
+
+    /**
+     * Marshalls the session as a sequence of chunks written straight to the stream, with the fact
+     * handles split in pages of at most pageSize handles, so that the fact handles and their objects
+     * are never held in memory all together. The stream can be read back only with
+     * {@link #unmarshallInPages(InputStream, KieSessionConfiguration, Environment)}.
+     * <p>
+     * Only the fact handles are paged: the first chunk still holds the whole agenda, timers,
+     * node memories and truth maintenance keys of the session, so its size grows with them.
+     * <p>
+     * Each page is marshalled on its own, so an object referenced by the facts of more than one page
+     * is restored as a separate copy for each page, and these copies are no longer the same instance.
+     * Sessions whose facts share mutable objects must use {@link #marshall(OutputStream, KieSession)}.
+     */
+    public void marshallInPages(final OutputStream stream,
+                                final KieSession ksession,
+                                final int pageSize) throws IOException {
+        if ( pageSize <= 0 ) {
+            throw new IllegalArgumentException( "The page size must be positive: " + pageSize );
+        }
+        MarshallerWriteContext context = getMarshallerWriteContext( stream, ksession, ksession.getSessionClock().getCurrentTime() );
+        ProtobufOutputMarshaller.writeSessionInPages( context, pageSize );
+        context.close();
+    }
+
+    private MarshallerWriteContext getMarshallerWriteContext(final OutputStream stream,
+                                                             final KieSession ksession,
+                                                             final long clockTime) throws IOException {
         ((InternalWorkingMemory) ksession).flushPropagations();
         MarshallerWriteContext context = new MarshallerWriteContext( stream,
                                                                      (InternalKnowledgeBase) kbase,
@@ -117,8 +244,7 @@ public class ProtobufMarshaller
                                                                      this.marshallingConfig.isMarshallWorkItems(),
                                                                      ksession.getEnvironment() );
         context.clockTime = clockTime;
-        ProtobufOutputMarshaller.writeSession( context );
-        context.close();
+        return context;
     }
 
     public MarshallingConfiguration getMarshallingConfiguration() {
@@ -150,15 +276,89 @@ public class ProtobufMarshaller
         return readSessionResult;
     }
 
+    /**
+     * Restores a session marshalled with {@link #marshallInPages(OutputStream, KieSession, int)}.
+     * The objects shared by facts written in different pages are restored as separate copies.
+     */
+    public StatefulKnowledgeSession unmarshallInPages(final InputStream stream,
+                                                      KieSessionConfiguration config,
+                                                      Environment environment) throws IOException, ClassNotFoundException {
+        if ( config == null ) {
+            config = KnowledgeBaseFactory.newKnowledgeSessionConfiguration();
+        }
+
+        if ( environment == null ) {
+            environment = KieServices.get().newEnvironment();
+        }
+
+        MarshallerReaderContext context = getMarshallerReaderContext(stream, environment);
+        int id = ((KnowledgeBaseImpl) this.kbase).nextWorkingMemoryCounter();
+        ReadSessionResult readSessionResult = ProtobufInputMarshaller.readSessionInPages(context,
+                                                                                         id,
+                                                                                         environment,
+                                                                                         (SessionConfiguration) config,
+                                                                                         initializer);
+        context.close();
+        if ( ((SessionConfiguration) config).isKeepReference() ) {
+            ((KnowledgeBaseImpl) this.kbase).addStatefulSession(readSessionResult.getSession());
+        }
+        return readSessionResult.getSession();
+    }
+
+    /**
+     * Restores a session from a checkpoint and the deltas marshalled after it, in the same
+     * order they have been written.
+     */
+    public StatefulKnowledgeSession unmarshall(final InputStream checkpoint,
+                                               final List<InputStream> deltas,
+                                               KieSessionConfiguration config,
+                                               Environment environment) throws IOException, ClassNotFoundException {
+        if ( deltas.isEmpty() ) {
+            return unmarshall( checkpoint, config, environment );
+        }
+        if ( config == null ) {
+            config = KnowledgeBaseFactory.newKnowledgeSessionConfiguration();
+        }
+
+        if ( environment == null ) {
+            environment = KieServices.get().newEnvironment();
+        }
+
+        List<MarshallerReaderContext> previousContexts = new ArrayList<MarshallerReaderContext>();
+        previousContexts.add( getMarshallerReaderContext( checkpoint, environment ) );
+        for ( int i = 0; i < deltas.size() - 1; i++ ) {
+            previousContexts.add( getMarshallerReaderContext( deltas.get( i ), environment ) );
+        }
+        MarshallerReaderContext context = getMarshallerReaderContext( deltas.get( deltas.size() - 1 ), environment );
+
+        int id = ((KnowledgeBaseImpl) this.kbase).nextWorkingMemoryCounter();
+        ReadSessionResult readSessionResult = ProtobufInputMarshaller.readSession(context,
+                                                                                  previousContexts,
+                                                                                  id,
+                                                                                  environment,
+                                                                                  (SessionConfiguration) config,
+                                                                                  initializer);
+        context.close();
+        for ( MarshallerReaderContext previousContext : previousContexts ) {
+            previousContext.close();
+        }
+        if ( ((SessionConfiguration) config).isKeepReference() ) {
+            ((KnowledgeBaseImpl) this.kbase).addStatefulSession(readSessionResult.getSession());
+        }
+        return readSessionResult.getSession();
+    }
+
     private MarshallerReaderContext getMarshallerReaderContext(final InputStream inputStream, final Environment environment) throws IOException {
-        return new MarshallerReaderContext(inputStream,
-                                           (KnowledgeBaseImpl) kbase,
-                                           RuleBaseNodes.getNodeMap((KnowledgeBaseImpl) kbase),
-                                           this.strategyStore,
-                                           TIMER_READERS,
-                                           this.marshallingConfig.isMarshallProcessInstances(),
-                                           this.marshallingConfig.isMarshallWorkItems(),
-                                           environment);
+        MarshallerReaderContext context = new MarshallerReaderContext(inputStream,
+                                                                      (KnowledgeBaseImpl) kbase,
+                                                                      RuleBaseNodes.getNodeMap((KnowledgeBaseImpl) kbase),
+                                                                      this.strategyStore,
+                                                                      TIMER_READERS,
+                                                                      this.marshallingConfig.isMarshallProcessInstances(),
+                                                                      this.marshallingConfig.isMarshallWorkItems(),
+                                                                      environment);
+        context.executor = this.unmarshallingExecutor;
+        return context;
     }
 
 }
@@ -55,6 +55,7 @@ import org.drools.core.common.TruthMaintenanceSystem;
 import org.drools.core.common.WorkingMemoryAction;
 import org.drools.core.definitions.rule.impl.RuleImpl;
 import org.drools.core.impl.StatefulKnowledgeSessionImpl;
+import org.drools.core.impl.StatefulKnowledgeSessionImpl.WorkingMemoryReteExpireBatchAction;
 import org.drools.core.marshalling.impl.ProtobufMessages.FactHandle;
 import org.drools.core.marshalling.impl.ProtobufMessages.ObjectTypeConfiguration;
 import org.drools.core.marshalling.impl.ProtobufMessages.ProcessData.Builder;
@@ -121,16 +122,89 @@ public class ProtobufOutputMarshaller {
                                                  _session );
     }
 
+    /**
+     * Writes the session as a sequence of length delimited chunks, so that it never needs to be
+     * held in memory as a whole. The first chunk contains everything but the fact handles, which
+     * follow it in pages of at most pageSize handles per entry point, each page terminated by an
+     * empty one. Every chunk carries its own strategies, so the objects referenced by facts in
+     * different pages are marshalled independently.
+     */
+    public static void writeSessionInPages(MarshallerWriteContext context,
+                                           int pageSize) throws IOException {
+        StatefulKnowledgeSessionImpl wm = (StatefulKnowledgeSessionImpl) context.wm;
+        lockSession( wm );
+        try {
+            // only the fact handles are paged, the agenda, timers, node memories and TMS keys stay in the first chunk
+            ProtobufMessages.KnowledgeSession _session = serializeSession( context, false );
+            PersisterHelper.writeDelimitedToStreamWithHeader( context,
+                                                              _session,
+                                                              true );
+
+            for ( ProtobufMessages.EntryPoint _ep : _session.getRuleData().getEntryPointList() ) {
+                NamedEntryPoint wmep = (NamedEntryPoint) wm.getEntryPoint( _ep.getEntryPointId() );
+                writeFactHandlePages( context,
+                                      _ep.getEntryPointId(),
+                                      wmep.getObjectStore(),
+                                      pageSize );
+            }
+        } finally {
+            unlockSession( wm );
+        }
+    }
+
+    private static void writeFactHandlePages(MarshallerWriteContext context,
+                                             String entryPointId,
+                                             ObjectStore objectStore,
+                                             int pageSize) throws IOException {
+        ProtobufMessages.EntryPoint.Builder _page = ProtobufMessages.EntryPoint.newBuilder().setEntryPointId( entryPointId );
+        context.clearStrategies();
+        for ( InternalFactHandle handle : orderFacts( objectStore ) ) {
+            _page.addHandle( writeFactHandle( context,
+                                              context.objectMarshallingStrategyStore,
+                                              handle ) );
+            if ( _page.getHandleCount() == pageSize ) {
+                PersisterHelper.writeDelimitedToStreamWithHeader( context, _page.build(), false );
+                _page.clearHandle();
+                context.clearStrategies();
+            }
+        }
+        if ( _page.getHandleCount() > 0 ) {
+            PersisterHelper.writeDelimitedToStreamWithHeader( context, _page.build(), false );
+            _page.clearHandle();
+            context.clearStrategies();
+        }
+        // an empty page closes the entry point
+        PersisterHelper.writeDelimitedToStreamWithHeader( context, _page.build(), false );
+    }
+
+    private static void lockSession(StatefulKnowledgeSessionImpl wm) {
+        wm.getLock().lock();
+        for (WorkingMemoryEntryPoint ep : wm.getWorkingMemoryEntryPoints().values()) {
+            if (ep instanceof NamedEntryPoint) {
+                ((NamedEntryPoint)ep).lock();
+            }
+        }
+    }
+
+    private static void unlockSession(StatefulKnowledgeSessionImpl wm) {
+        for (WorkingMemoryEntryPoint ep : wm.getWorkingMemoryEntryPoints().values()) {
+            if (ep instanceof NamedEntryPoint) {
+                ((NamedEntryPoint)ep).unlock();
+            }
+        }
+        wm.getLock().unlock();
+    }
+
     private static ProtobufMessages.KnowledgeSession serializeSession(MarshallerWriteContext context) throws IOException {
+        return serializeSession( context, true );
+    }
+
+    private static ProtobufMessages.KnowledgeSession serializeSession(MarshallerWriteContext context,
+                                                                      boolean writeFactHandles) throws IOException {
         StatefulKnowledgeSessionImpl wm = (StatefulKnowledgeSessionImpl) context.wm;
 
         try {
-            wm.getLock().lock();
-            for (WorkingMemoryEntryPoint ep : wm.getWorkingMemoryEntryPoints().values()) {
-                if (ep instanceof NamedEntryPoint) {
-                    ((NamedEntryPoint)ep).lock();
-                }
-            }
+            lockSession( wm );
 
             evaluateRuleActivations( wm );
 
@@ -158,6 +232,12 @@ public class ProtobufOutputMarshaller {
 
             writeNodeMemories( context, _ruleData );
 
+            // the changes tracked so far are part of this snapshot, so a new delta starts here
+            if ( context.delta && !context.changeTracker.isValid() ) {
+                throw new IllegalStateException( "Too many changes since the last snapshot, a new checkpoint is needed" );
+            }
+            SessionChangeTracker.Changes changes = context.changeTracker != null ? context.changeTracker.drain() : null;
+
             for ( EntryPoint wmep : wm.getWorkingMemoryEntryPoints().values() ) {
                 org.drools.core.marshalling.impl.ProtobufMessages.EntryPoint.Builder _epb = ProtobufMessages.EntryPoint.newBuilder();
                 _epb.setEntryPointId( wmep.getEntryPointId() );
@@ -166,9 +246,16 @@ public class ProtobufOutputMarshaller {
                                               ((WorkingMemoryEntryPoint)wmep).getObjectTypeConfigurationRegistry(),
                                               _epb );
 
-                writeFactHandles( context,
-                                  _epb,
-                                  ((NamedEntryPoint) wmep).getObjectStore() );
+                if ( context.delta ) {
+                    writeFactHandlesDelta( context,
+                                           _epb,
+                                           changes,
+                                           wmep.getEntryPointId() );
+                } else if ( writeFactHandles ) {
+                    writeFactHandles( context,
+                                      _epb,
+                                      ((NamedEntryPoint) wmep).getObjectStore() );
+                }
 
                 writeTruthMaintenanceSystem( context,
                                              wmep,
@@ -212,12 +299,7 @@ public class ProtobufOutputMarshaller {
 
             return _session.build();
         } finally {
-            for (WorkingMemoryEntryPoint ep : wm.getWorkingMemoryEntryPoints().values()) {
-                if (ep instanceof NamedEntryPoint) {
-                    ((NamedEntryPoint)ep).unlock();
-                }
-            }
-            wm.getLock().unlock();
+            unlockSession( wm );
         }
     }
 
@@ -458,6 +540,10 @@ public class ProtobufOutputMarshaller {
             PropagationEntry entry = i.next();
             if (entry instanceof WorkingMemoryAction) {
                 _queue.addAction(((WorkingMemoryAction) entry).serialize(context));
+            } else if (entry instanceof WorkingMemoryReteExpireBatchAction) {
+                for (WorkingMemoryAction action : ((WorkingMemoryReteExpireBatchAction) entry).getActions()) {
+                    _queue.addAction(action.serialize(context));
+                }
             }
         }
         _session.setActionQueue( _queue.build() );
@@ -582,6 +668,32 @@ public class ProtobufOutputMarshaller {
         }
     }
 
+    /**
+     * Writes only the handles inserted or updated since the previous snapshot, followed by
+     * a tombstone, a FactHandle carrying just the id and no type, for each deleted handle.
+     */
+    private static void writeFactHandlesDelta(MarshallerWriteContext context,
+                                              org.drools.core.marshalling.impl.ProtobufMessages.EntryPoint.Builder _epb,
+                                              SessionChangeTracker.Changes changes,
+                                              String entryPointId) throws IOException {
+        ObjectMarshallingStrategyStore objectMarshallingStrategyStore = context.objectMarshallingStrategyStore;
+
+        for ( InternalFactHandle handle : orderFacts( changes.getChangedHandles( entryPointId ) ) ) {
+            ProtobufMessages.FactHandle _handle = writeFactHandle( context,
+                                                                   objectMarshallingStrategyStore,
+                                                                   handle );
+            _epb.addHandle( _handle );
+        }
+
+        Long[] deleted = changes.getDeletedHandles( entryPointId ).toArray( new Long[0] );
+        Arrays.sort( deleted );
+        for ( Long id : deleted ) {
+            _epb.addHandle( ProtobufMessages.FactHandle.newBuilder()
+                                    .setId( id )
+                                    .build() );
+        }
+    }
+
     private static ProtobufMessages.FactHandle writeFactHandle(MarshallerWriteContext context,
                                                                ObjectMarshallingStrategyStore objectMarshallingStrategyStore,
                                                                InternalFactHandle handle) throws IOException {
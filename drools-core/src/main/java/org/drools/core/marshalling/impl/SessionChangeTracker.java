@@ -0,0 +1,240 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.marshalling.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.drools.core.WorkingMemoryEntryPoint;
+import org.drools.core.common.InternalFactHandle;
+import org.drools.core.common.InternalWorkingMemory;
+import org.drools.core.common.ObjectStore;
+import org.kie.api.event.rule.ObjectDeletedEvent;
+import org.kie.api.event.rule.ObjectInsertedEvent;
+import org.kie.api.event.rule.ObjectUpdatedEvent;
+import org.kie.api.event.rule.RuleRuntimeEventListener;
+import org.kie.api.runtime.rule.EntryPoint;
+
+/**
+ * Keeps track of the fact handles inserted, updated and deleted in a session since its
+ * last marshalled snapshot, so that the next snapshot can be written as a delta
+ * containing only those handles.
+ *
+ * Inserts and deletes are recorded by the object stores of the entry points, so that the
+ * handles removed without any event, like the expired ones, are not missed, while updates
+ * are recorded through the session events, since an object updated in place stays in its store.
+ * Once more than maxChanges handles have been recorded the tracker stops, and a new checkpoint
+ * is needed before writing any further delta.
+ */
+public class SessionChangeTracker implements RuleRuntimeEventListener, ObjectStore.ChangeListener {
+
+    public static final int DEFAULT_MAX_CHANGES = 1 << 20;
+
+    private final int maxChanges;
+
+    private Map<String, Map<Long, InternalFactHandle>> changed = new HashMap<String, Map<Long, InternalFactHandle>>();
+    private Map<String, Set<Long>> deleted = new HashMap<String, Set<Long>>();
+    private int changesCount;
+
+    private List<ObjectStore> stores = Collections.emptyList();
+
+    private boolean valid;
+    private boolean overflown;
+
+    public SessionChangeTracker() {
+        this( DEFAULT_MAX_CHANGES );
+    }
+
+    public SessionChangeTracker(int maxChanges) {
+        this.maxChanges = maxChanges;
+    }
+
+    /**
+     * Starts recording the handles added to and removed from the entry points of the session.
+     */
+    public synchronized void attach(InternalWorkingMemory wm) {
+        detach();
+        stores = new ArrayList<ObjectStore>();
+        for ( EntryPoint ep : wm.getEntryPoints() ) {
+            ObjectStore store = ( (WorkingMemoryEntryPoint) ep ).getObjectStore();
+            store.setChangeListener( this );
+            stores.add( store );
+        }
+    }
+
+    /**
+     * Stops recording the handles added to and removed from the entry points of the session.
+     */
+    public synchronized void detach() {
+        for ( ObjectStore store : stores ) {
+            store.setChangeListener( null );
+        }
+        stores = Collections.emptyList();
+    }
+
+    @Override
+    public void objectInserted(ObjectInsertedEvent event) {
+        // recorded by the object store
+    }
+
+    @Override
+    public synchronized void objectUpdated(ObjectUpdatedEvent event) {
+        handleAdded( (InternalFactHandle) event.getFactHandle() );
+    }
+
+    @Override
+    public void objectDeleted(ObjectDeletedEvent event) {
+        // recorded by the object store
+    }
+
+    @Override
+    public synchronized void handleAdded(InternalFactHandle handle) {
+        if ( overflown ) {
+            return;
+        }
+        String entryPoint = handle.getEntryPointName();
+        Set<Long> deletedInEntryPoint = deleted.get( entryPoint );
+        if ( deletedInEntryPoint != null && deletedInEntryPoint.remove( handle.getId() ) ) {
+            changesCount--;
+        }
+        Map<Long, InternalFactHandle> changedInEntryPoint = changed.get( entryPoint );
+        if ( changedInEntryPoint == null ) {
+            changedInEntryPoint = new HashMap<Long, InternalFactHandle>();
+            changed.put( entryPoint, changedInEntryPoint );
+        }
+        if ( changedInEntryPoint.put( handle.getId(), handle ) == null ) {
+            changesCount++;
+            checkOverflow();
+        }
+    }
+
+    @Override
+    public synchronized void handleRemoved(InternalFactHandle handle) {
+        if ( overflown ) {
+            return;
+        }
+        String entryPoint = handle.getEntryPointName();
+        Map<Long, InternalFactHandle> changedInEntryPoint = changed.get( entryPoint );
+        if ( changedInEntryPoint != null && changedInEntryPoint.remove( handle.getId() ) != null ) {
+            changesCount--;
+        }
+        Set<Long> deletedInEntryPoint = deleted.get( entryPoint );
+        if ( deletedInEntryPoint == null ) {
+            deletedInEntryPoint = new HashSet<Long>();
+            deleted.put( entryPoint, deletedInEntryPoint );
+        }
+        if ( deletedInEntryPoint.add( handle.getId() ) ) {
+            changesCount++;
+            checkOverflow();
+        }
+    }
+
+    private void checkOverflow() {
+        if ( changesCount > maxChanges ) {
+            // a delta this large is no cheaper than a checkpoint, so stop growing until the next one
+            overflown = true;
+            valid = false;
+            changed = new HashMap<String, Map<Long, InternalFactHandle>>();
+            deleted = new HashMap<String, Set<Long>>();
+            changesCount = 0;
+            detach();
+        }
+    }
+
+    /**
+     * Returns the changes recorded since the previous call and starts recording a new delta.
+     * It has to be invoked while the session is locked, so that no change can get lost
+     * between the snapshot and the new delta.
+     */
+    public synchronized Changes drain() {
+        Changes changes = new Changes( changed, deleted );
+        changed = new HashMap<String, Map<Long, InternalFactHandle>>();
+        deleted = new HashMap<String, Set<Long>>();
+        changesCount = 0;
+        overflown = false;
+        valid = true;
+        return changes;
+    }
+
+    /**
+     * A delta can only be written on top of a successfully written snapshot
+     */
+    public synchronized boolean isValid() {
+        return valid && !overflown;
+    }
+
+    /**
+     * Returns true if the tracker has stopped recording because too many handles changed
+     * since the last snapshot.
+     */
+    public synchronized boolean isOverflown() {
+        return overflown;
+    }
+
+    public synchronized void invalidate() {
+        valid = false;
+    }
+
+    public static class Changes {
+
+        private final Map<String, Map<Long, InternalFactHandle>> changed;
+        private final Map<String, Set<Long>> deleted;
+
+        private Changes(Map<String, Map<Long, InternalFactHandle>> changed, Map<String, Set<Long>> deleted) {
+            this.changed = changed;
+            this.deleted = deleted;
+        }
+
+        public List<InternalFactHandle> getChangedHandles(String entryPoint) {
+            Map<Long, InternalFactHandle> handles = changed.get( entryPoint );
+            if ( handles == null ) {
+                return Collections.emptyList();
+            }
+            List<InternalFactHandle> result = new ArrayList<InternalFactHandle>( handles.size() );
+            for ( InternalFactHandle handle : handles.values() ) {
+                if ( handle.isValid() ) {
+                    result.add( handle );
+                }
+            }
+            return result;
+        }
+
+        public Collection<Long> getDeletedHandles(String entryPoint) {
+            Set<Long> ids = new HashSet<Long>();
+            Set<Long> deletedInEntryPoint = deleted.get( entryPoint );
+            if ( deletedInEntryPoint != null ) {
+                ids.addAll( deletedInEntryPoint );
+            }
+            Map<Long, InternalFactHandle> changedInEntryPoint = changed.get( entryPoint );
+            if ( changedInEntryPoint != null ) {
+                for ( InternalFactHandle handle : changedInEntryPoint.values() ) {
+                    // the handle has been disposed without any notification
+                    if ( !handle.isValid() ) {
+                        ids.add( handle.getId() );
+                    }
+                }
+            }
+            return ids;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.phreak;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.drools.core.common.InternalWorkingMemory;
+
+/**
+ * A PropagationList where producers never block each other. Each new entry is pushed on
+ * a stack with a single compare and set, and the consumer takes the whole stack at once,
+ * reversing it to restore the insertion order. The monitor of this list is only acquired
+ * by a producer when the list goes from empty to non-empty, in order to wake up an engine
+ * waiting on rest in fireUntilHalt.
+ */
+public class LockFreePropagationList implements PropagationList {
+
+    private final InternalWorkingMemory workingMemory;
+
+    private final AtomicReference<PropagationEntry> top = new AtomicReference<PropagationEntry>();
+
+    private final AtomicInteger entriesDeferringExpiration = new AtomicInteger();
+
+    private volatile boolean disposed = false;
+
+    public LockFreePropagationList(InternalWorkingMemory workingMemory) {
+        this.workingMemory = workingMemory;
+    }
+
+    @Override
+    public void addEntry(final PropagationEntry entry) {
+        if (entry.requiresImmediateFlushing()) {
+            if (entry.isCalledFromRHS()) {
+                entry.execute(workingMemory);
+            } else {
+                workingMemory.getAgenda().executeTask( new ExecutableEntry() {
+                    @Override
+                    public void execute() {
+                        if (entry instanceof PhreakTimerNode.TimerAction) {
+                            ( (PhreakTimerNode.TimerAction) entry ).execute( workingMemory, true );
+                        } else {
+                            entry.execute( workingMemory );
+                        }
+                    }
+
+                    @Override
+                    public void enqueue() {
+                        internalAddEntry( entry );
+                    }
+                } );
+            }
+        } else {
+            internalAddEntry( entry );
+        }
+    }
+
+    void internalAddEntry( PropagationEntry entry ) {
+        if ( entry.defersExpiration() ) {
+            entriesDeferringExpiration.incrementAndGet();
+        }
+        PropagationEntry currentTop;
+        do {
+            currentTop = top.get();
+            entry.setNext( currentTop );
+        } while ( !top.compareAndSet( currentTop, entry ) );
+
+        if ( currentTop == null ) {
+            notifyWaitOnRest();
+        }
+    }
+
+    @Override
+    public PropagationEntry takeAll() {
+        PropagationEntry entry = top.getAndSet( null );
+        if ( entry == null ) {
+            return null;
+        }
+
+        // the stack holds the most recent entry first, so reverse it
+        PropagationEntry head = null;
+        int deferring = 0;
+        while ( entry != null ) {
+            PropagationEntry next = entry.getNext();
+            entry.setNext( head );
+            head = entry;
+            if ( entry.defersExpiration() ) {
+                deferring++;
+            }
+            entry = next;
+        }
+        if ( deferring > 0 ) {
+            entriesDeferringExpiration.addAndGet( -deferring );
+        }
+        return head;
+    }
+
+    @Override
+    public void flush() {
+        flush( takeAll() );
+    }
+
+    @Override
+    public void flush(PropagationEntry currentHead) {
+        for (PropagationEntry entry = currentHead; !disposed && entry != null; entry = entry.getNext()) {
+            entry.execute(workingMemory);
+        }
+    }
+
+    @Override
+    public void reset() {
+        top.set( null );
+        entriesDeferringExpiration.set( 0 );
+        disposed = false;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return top.get() == null;
+    }
+
+    @Override
+    public boolean hasEntriesDeferringExpiration() {
+        return entriesDeferringExpiration.get() > 0;
+    }
+
+    @Override
+    public Iterator<PropagationEntry> iterator() {
+        List<PropagationEntry> entries = new ArrayList<PropagationEntry>();
+        for (PropagationEntry entry = top.get(); entry != null; entry = entry.getNext()) {
+            entries.add( entry );
+        }
+        Collections.reverse( entries );
+        return Collections.unmodifiableList( entries ).iterator();
+    }
+
+    @Override
+    public synchronized void waitOnRest() {
+        workingMemory.onSuspend();
+        try {
+            wait();
+        } catch (InterruptedException e) {
+            // do nothing
+        }
+    }
+
+    @Override
+    public synchronized void notifyWaitOnRest() {
+        notifyAll();
+        workingMemory.onResume();
+    }
+
+    @Override
+    public void onEngineInactive() { }
+
+    @Override
+    public void dispose() {
+        disposed = true;
+    }
+}
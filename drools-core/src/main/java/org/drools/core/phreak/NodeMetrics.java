@@ -0,0 +1,170 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.phreak;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.drools.core.common.TupleSets;
+import org.drools.core.spi.Tuple;
+
+/**
+ * Execution counters of a single network node, shared by all the sessions of the KieBase.
+ *
+ * The counters are only updated when the drools.nodeMetrics system property is set to true when this class is loaded.
+ * Since ENABLED is a constant, the JIT removes all the instrumentation guarded by it when the metrics are disabled.
+ */
+public class NodeMetrics {
+
+    public static final String NODE_METRICS_PROPERTY = "drools.nodeMetrics";
+
+    public static final boolean ENABLED = Boolean.getBoolean( NODE_METRICS_PROPERTY );
+
+    private final LongAdder evaluations = new LongAdder();
+    private final LongAdder evaluationNanos = new LongAdder();
+
+    private final LongAdder leftInserts = new LongAdder();
+    private final LongAdder leftUpdates = new LongAdder();
+    private final LongAdder leftDeletes = new LongAdder();
+
+    private final LongAdder rightInserts = new LongAdder();
+    private final LongAdder rightUpdates = new LongAdder();
+    private final LongAdder rightDeletes = new LongAdder();
+
+    private final LongAdder outputInserts = new LongAdder();
+    private final LongAdder outputUpdates = new LongAdder();
+    private final LongAdder outputDeletes = new LongAdder();
+
+    private final LongAdder indexCandidates = new LongAdder();
+    private final LongAdder indexMatches = new LongAdder();
+
+    public void recordEvaluation(long nanos) {
+        evaluations.increment();
+        evaluationNanos.add( nanos );
+    }
+
+    public void recordLeftInput(TupleSets<? extends Tuple> tuples) {
+        leftInserts.add( tuples.getInsertSize() );
+        leftUpdates.add( count( tuples.getUpdateFirst() ) );
+        leftDeletes.add( count( tuples.getDeleteFirst() ) );
+    }
+
+    public void recordRightInput(TupleSets<? extends Tuple> tuples) {
+        rightInserts.add( tuples.getInsertSize() );
+        rightUpdates.add( count( tuples.getUpdateFirst() ) );
+        rightDeletes.add( count( tuples.getDeleteFirst() ) );
+    }
+
+    public void recordOutput(TupleSets<? extends Tuple> tuples) {
+        outputInserts.add( tuples.getInsertSize() );
+        outputUpdates.add( count( tuples.getUpdateFirst() ) );
+        outputDeletes.add( count( tuples.getDeleteFirst() ) );
+    }
+
+    /**
+     * Records how many tuples have been returned by a memory lookup (candidates)
+     * and how many of them actually matched the constraints (matches).
+     */
+    public void recordIndexLookups(long candidates, long matches) {
+        indexCandidates.add( candidates );
+        indexMatches.add( matches );
+    }
+
+    private static long count(Tuple first) {
+        long count = 0;
+        for (Tuple tuple = first; tuple != null; tuple = tuple.getStagedNext()) {
+            count++;
+        }
+        return count;
+    }
+
+    public long getEvaluations() {
+        return evaluations.sum();
+    }
+
+    public long getEvaluationNanos() {
+        return evaluationNanos.sum();
+    }
+
+    public long getLeftInserts() {
+        return leftInserts.sum();
+    }
+
+    public long getLeftUpdates() {
+        return leftUpdates.sum();
+    }
+
+    public long getLeftDeletes() {
+        return leftDeletes.sum();
+    }
+
+    public long getRightInserts() {
+        return rightInserts.sum();
+    }
+
+    public long getRightUpdates() {
+        return rightUpdates.sum();
+    }
+
+    public long getRightDeletes() {
+        return rightDeletes.sum();
+    }
+
+    public long getOutputInserts() {
+        return outputInserts.sum();
+    }
+
+    public long getOutputUpdates() {
+        return outputUpdates.sum();
+    }
+
+    public long getOutputDeletes() {
+        return outputDeletes.sum();
+    }
+
+    public long getIndexCandidates() {
+        return indexCandidates.sum();
+    }
+
+    public long getIndexMatches() {
+        return indexMatches.sum();
+    }
+
+    /**
+     * The ratio between the tuples matching the constraints and the tuples returned by the memory lookups.
+     * A value close to 1 means that the memory index is already doing all the filtering.
+     */
+    public double getIndexHitRatio() {
+        long candidates = getIndexCandidates();
+        return candidates == 0 ? 0.0 : (double) getIndexMatches() / candidates;
+    }
+
+    public void reset() {
+        evaluations.reset();
+        evaluationNanos.reset();
+        leftInserts.reset();
+        leftUpdates.reset();
+        leftDeletes.reset();
+        rightInserts.reset();
+        rightUpdates.reset();
+        rightDeletes.reset();
+        outputInserts.reset();
+        outputUpdates.reset();
+        outputDeletes.reset();
+        indexCandidates.reset();
+        indexMatches.reset();
+    }
+}
@@ -15,6 +15,7 @@
 
 package org.drools.core.phreak;
 
+import org.drools.core.base.accumulators.CollectionChangeSet;
 import org.drools.core.common.BetaConstraints;
 import org.drools.core.common.InternalFactHandle;
 import org.drools.core.common.InternalWorkingMemory;
@@ -720,6 +721,10 @@ public class PhreakAccumulateNode {
             accctx.propagated = true;
         }
 
+        if (isAllowed) {
+            // the changes reported by an incremental result have now been seen by the consumers
+            CollectionChangeSet.propagated(result);
+        }
     }
 
     private static void addMatch(final AccumulateNode accNode,
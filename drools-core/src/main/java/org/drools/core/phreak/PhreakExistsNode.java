@@ -501,6 +501,7 @@ public class PhreakExistsNode {
             }
             rightTuple.setBlocked(null);
             rightTuple.clearStaged();
+            bm.recycleRightTuple( rightTuple );
             rightTuple = next;
         }
     }
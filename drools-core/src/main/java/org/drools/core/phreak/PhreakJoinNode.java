@@ -85,6 +85,8 @@ public class PhreakJoinNode {
         TupleMemory rtm = bm.getRightTupleMemory();
         ContextEntry[] contextEntry = bm.getContext();
         BetaConstraints constraints = joinNode.getRawConstraints();
+        long candidates = 0;
+        long matches = 0;
 
         for (LeftTuple leftTuple = srcLeftTuples.getInsertFirst(); leftTuple != null; ) {
             LeftTuple next = leftTuple.getStagedNext();
@@ -105,8 +107,14 @@ public class PhreakJoinNode {
                                                                       rtm,
                                                                       null,
                                                                       it ); rightTuple != null; rightTuple = (RightTuple) it.next(rightTuple)) {
+                if ( NodeMetrics.ENABLED ) {
+                    candidates++;
+                }
                 if (constraints.isAllowedCachedLeft( contextEntry,
                                                      rightTuple.getFactHandle() )) {
+                    if ( NodeMetrics.ENABLED ) {
+                        matches++;
+                    }
                     insertChildLeftTuple(trgLeftTuples,
                                          leftTuple,
                                          rightTuple,
@@ -121,6 +129,9 @@ public class PhreakJoinNode {
             leftTuple = next;
         }
         constraints.resetTuple( contextEntry );
+        if ( NodeMetrics.ENABLED ) {
+            joinNode.getMetrics().recordIndexLookups( candidates, matches );
+        }
     }
 
     public void doRightInserts(JoinNode joinNode,
@@ -137,6 +148,8 @@ public class PhreakJoinNode {
         if (srcRightTuples.getInsertSize() > 32 && rtm instanceof AbstractHashTable ) {
             ((AbstractHashTable) rtm).ensureCapacity(srcRightTuples.getInsertSize());
         }
+        long candidates = 0;
+        long matches = 0;
 
         for (RightTuple rightTuple = srcRightTuples.getInsertFirst(); rightTuple != null; ) {
             RightTuple next = rightTuple.getStagedNext();
@@ -155,8 +168,14 @@ public class PhreakJoinNode {
                         continue;
                     }
 
+                    if ( NodeMetrics.ENABLED ) {
+                        candidates++;
+                    }
                     if ( constraints.isAllowedCachedRight( contextEntry,
                                                            leftTuple ) ) {
+                        if ( NodeMetrics.ENABLED ) {
+                            matches++;
+                        }
                         insertChildLeftTuple( trgLeftTuples,
                                               leftTuple,
                                               rightTuple,
@@ -171,6 +190,9 @@ public class PhreakJoinNode {
             rightTuple = next;
         }
         constraints.resetFactHandle( contextEntry );
+        if ( NodeMetrics.ENABLED ) {
+            joinNode.getMetrics().recordIndexLookups( candidates, matches );
+        }
     }
 
     public void doLeftUpdates(JoinNode joinNode,
@@ -445,6 +467,7 @@ public class PhreakJoinNode {
                 }
             }
             rightTuple.clearStaged();
+            bm.recycleRightTuple( rightTuple );
             rightTuple = next;
         }
     }
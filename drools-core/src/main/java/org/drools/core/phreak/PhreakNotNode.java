@@ -504,6 +504,7 @@ public class PhreakNotNode {
 
             rightTuple.setBlocked(null);
             rightTuple.clearStaged();
+            bm.recycleRightTuple( rightTuple );
             rightTuple = next;
         }
 
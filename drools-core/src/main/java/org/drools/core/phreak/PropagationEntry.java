@@ -209,6 +209,46 @@ public interface PropagationEntry {
         }
     }
 
+    class InsertAll extends AbstractPropagationEntry {
+        private final InternalFactHandle[] handles;
+        private final PropagationContext[] contexts;
+        private final int size;
+        private final ObjectTypeConf objectTypeConf;
+
+        public InsertAll( InternalFactHandle[] handles, PropagationContext[] contexts, int size, InternalWorkingMemory workingMemory, ObjectTypeConf objectTypeConf ) {
+            this.handles = handles;
+            this.contexts = contexts;
+            this.size = size;
+            this.objectTypeConf = objectTypeConf;
+
+            if ( objectTypeConf.isEvent() ) {
+                long insertionTime = workingMemory.getTimerService().getCurrentTime();
+                for ( int i = 0; i < size; i++ ) {
+                    Insert.scheduleExpiration( workingMemory, handles[i], contexts[i], objectTypeConf, insertionTime );
+                }
+            }
+        }
+
+        public void execute( InternalWorkingMemory wm ) {
+            ObjectTypeNode[] otns = objectTypeConf.getObjectTypeNodes();
+            if ( otns.length == 1 ) {
+                otns[0].propagateAssert( handles, contexts, size, wm );
+            } else {
+                // same order as inserting the facts one by one
+                for ( int i = 0; i < size; i++ ) {
+                    for ( ObjectTypeNode otn : otns ) {
+                        otn.propagateAssert( handles[i], contexts[i], wm );
+                    }
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Insert of " + size + " facts of type " + objectTypeConf.getTypeName();
+        }
+    }
+
     class Update extends AbstractPropagationEntry {
         private final InternalFactHandle handle;
         private final PropagationContext context;
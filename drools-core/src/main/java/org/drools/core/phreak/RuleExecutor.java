@@ -25,8 +25,10 @@ import org.drools.core.common.EventSupport;
 import org.drools.core.common.InternalAgenda;
 import org.drools.core.common.InternalFactHandle;
 import org.drools.core.common.InternalWorkingMemory;
+import org.drools.core.common.TupleSets;
 import org.drools.core.conflict.PhreakConflictResolver;
 import org.drools.core.definitions.rule.impl.RuleImpl;
+import org.drools.core.reteoo.LeftTuple;
 import org.drools.core.reteoo.PathMemory;
 import org.drools.core.reteoo.RuleTerminalNode;
 import org.drools.core.reteoo.RuleTerminalNodeLeftTuple;
@@ -55,6 +57,8 @@ public class RuleExecutor {
     private volatile boolean                  dirty;
     private final boolean                     declarativeAgendaEnabled;
     private boolean                           fireExitedEarly;
+    private TupleSets<LeftTuple>              deferredTerminalTuples;
+    private boolean                           deferTerminalTuples;
 
     public RuleExecutor(final PathMemory pmem,
             RuleAgendaItem ruleAgendaItem,
@@ -214,6 +218,45 @@ public class RuleExecutor {
         }
     }
 
+    /**
+     * Evaluates the network of this rule, but leaves the tuples reaching the terminal node staged
+     * instead of turning them into activations. This does not touch any agenda state, so it can
+     * be done concurrently for paths that share no node memory. The activations are created
+     * when {@link #commitDeferredTerminalTuples(InternalAgenda)} is invoked by the firing thread.
+     */
+    public void evaluateNetworkDeferringTerminal(InternalAgenda agenda) {
+        if ( isDirty() ) {
+            setDirty(false);
+            deferTerminalTuples = true;
+            try {
+                RuleNetworkEvaluator.INSTANCE.evaluateNetwork(pmem, this, agenda);
+            } finally {
+                deferTerminalTuples = false;
+            }
+        }
+    }
+
+    public void commitDeferredTerminalTuples(InternalAgenda agenda) {
+        if ( deferredTerminalTuples != null ) {
+            TupleSets<LeftTuple> srcTuples = deferredTerminalTuples;
+            deferredTerminalTuples = null;
+            RuleNetworkEvaluator.INSTANCE.evaluateTerminalNode( (RuleTerminalNode) pmem.getPathEndNode(), agenda, srcTuples, this );
+        }
+    }
+
+    boolean isDeferringTerminalTuples() {
+        return deferTerminalTuples;
+    }
+
+    void deferTerminalTuples(TupleSets<LeftTuple> srcTuples) {
+        if ( deferredTerminalTuples == null ) {
+            deferredTerminalTuples = srcTuples.takeAll();
+        } else {
+            deferredTerminalTuples.addAll( srcTuples );
+            srcTuples.resetAll();
+        }
+    }
+
     public RuleAgendaItem getRuleAgendaItem() {
         return ruleAgendaItem;
     }
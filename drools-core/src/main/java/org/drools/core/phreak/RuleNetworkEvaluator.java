@@ -133,6 +133,10 @@ public class RuleNetworkEvaluator {
         outerEval(pmem, node, bit, nodeMem, smems, smemIndex, srcTuples, agenda, stack, true, executor);
     }
 
+    public void evaluateTerminalNode(TerminalNode rtn, InternalAgenda agenda, TupleSets<LeftTuple> srcTuples, RuleExecutor executor) {
+        pRtNode.doNode(rtn, agenda, srcTuples, executor);
+    }
+
     public static String indent(int size) {
         StringBuilder sbuilder = new StringBuilder();
         for (int i = 0; i < size; i++) {
@@ -318,7 +322,11 @@ public class RuleNetworkEvaluator {
             boolean terminalNode = true;
             switch (node.getType()) {
                 case NodeTypeEnums.RuleTerminalNode:
-                    pRtNode.doNode(( TerminalNode ) node, agenda, srcTuples, executor);
+                    if ( executor.isDeferringTerminalTuples() ) {
+                        executor.deferTerminalTuples( srcTuples );
+                    } else {
+                        pRtNode.doNode(( TerminalNode ) node, agenda, srcTuples, executor);
+                    }
                     break;
                 case NodeTypeEnums.QueryTerminalNode:
                     pQtNode.doNode((QueryTerminalNode) node, agenda, srcTuples, stack);
@@ -336,7 +344,11 @@ public class RuleNetworkEvaluator {
             stagedLeftTuples = getTargetStagedLeftTuples(node, agenda.getWorkingMemory(), smem);
             LeftTupleSinkNode sink = ((LeftTupleSource) node).getSinkPropagator().getFirstLeftTupleSink();
 
-            trgTuples = evalNode( pmem, node, bit, nodeMem, smems, smemIndex, agenda, stack, processRian, executor, srcTuples, smem, stagedLeftTuples, sink );
+            if ( NodeMetrics.ENABLED ) {
+                trgTuples = evalNodeWithMetrics( pmem, node, bit, nodeMem, smems, smemIndex, agenda, stack, processRian, executor, srcTuples, smem, stagedLeftTuples, sink );
+            } else {
+                trgTuples = evalNode( pmem, node, bit, nodeMem, smems, smemIndex, agenda, stack, processRian, executor, srcTuples, smem, stagedLeftTuples, sink );
+            }
             if ( trgTuples == null ) {
                 break; // Queries exists and has been placed StackEntry, and there are no current trgTuples to process
             }
@@ -429,6 +441,27 @@ public class RuleNetworkEvaluator {
         return trgTuples;
     }
 
+    private TupleSets<LeftTuple> evalNodeWithMetrics( PathMemory pmem, NetworkNode node, long bit, Memory nodeMem,
+                                                      SegmentMemory[] smems, int smemIndex, InternalAgenda agenda, LinkedList<StackEntry> stack,
+                                                      boolean processRian, RuleExecutor executor, TupleSets<LeftTuple> srcTuples, SegmentMemory smem,
+                                                      TupleSets<LeftTuple> stagedLeftTuples, LeftTupleSinkNode sink ) {
+        NodeMetrics metrics = ((LeftTupleSource) node).getMetrics();
+        metrics.recordLeftInput( srcTuples );
+        if ( NodeTypeEnums.isBetaNode( node ) ) {
+            BetaMemory bm = NodeTypeEnums.AccumulateNode == node.getType() ? ((AccumulateMemory) nodeMem).getBetaMemory() : (BetaMemory) nodeMem;
+            metrics.recordRightInput( bm.getStagedRightTuples() );
+        }
+
+        long start = System.nanoTime();
+        TupleSets<LeftTuple> trgTuples = evalNode( pmem, node, bit, nodeMem, smems, smemIndex, agenda, stack, processRian, executor, srcTuples, smem, stagedLeftTuples, sink );
+        metrics.recordEvaluation( System.nanoTime() - start );
+
+        if ( trgTuples != null ) {
+            metrics.recordOutput( trgTuples );
+        }
+        return trgTuples;
+    }
+
     private static TupleSets<LeftTuple> getTargetStagedLeftTuples(NetworkNode node, InternalWorkingMemory wm, SegmentMemory smem) {
         if (node == smem.getTipNode()) {
             // we are about to process the segment tip, allow it to merge insert/update/delete clashes
@@ -0,0 +1,438 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.reteoo;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import org.drools.core.base.ValueType;
+import org.drools.core.common.InternalFactHandle;
+import org.drools.core.common.InternalWorkingMemory;
+import org.drools.core.rule.IndexableConstraint;
+import org.drools.core.spi.FieldValue;
+import org.drools.core.spi.InternalReadAccessor;
+import org.drools.core.spi.PropagationContext;
+import org.drools.core.util.LinkedListNode;
+import org.drools.core.util.index.IndexUtil.ConstraintType;
+
+/**
+ * Indexes the AlphaNodes having a comparison (<code>&lt;</code>, <code>&lt;=</code>, <code>&gt;</code>, <code>&gt;=</code>)
+ * against a numeric literal on the same field. The literals are kept in sorted arrays, one for each operator,
+ * so that for a given fact only the AlphaNodes whose constraint is satisfied are visited, with a binary search
+ * to find the boundary of the matching range.
+ * <p>
+ * As for the hashed AlphaNodes, the AlphaNodes found through this index are known to be true and then the
+ * propagation goes straight to their sink propagator without evaluating the constraint again.
+ */
+public class AlphaRangeIndex
+    implements
+    LinkedListNode<AlphaRangeIndex>,
+    Externalizable {
+
+    private static final long serialVersionUID = 510l;
+
+    private int                  index;
+    private InternalReadAccessor fieldExtractor;
+    private boolean              integral;
+
+    private int                  count;
+    private boolean              indexed;
+
+    // one sorted array of literals for each ConstraintType.isComparison() type
+    private RangeSinks[]         rangeSinks;
+    private int                  size;
+
+    private AlphaRangeIndex      previous;
+    private AlphaRangeIndex      next;
+
+    public AlphaRangeIndex() {
+    }
+
+    public AlphaRangeIndex(final int index,
+                           final InternalReadAccessor fieldExtractor) {
+        this.index = index;
+        this.fieldExtractor = fieldExtractor;
+        this.integral = fieldExtractor.getValueType().isIntegerNumber();
+        this.rangeSinks = new RangeSinks[4];
+    }
+
+    public void readExternal(ObjectInput in) throws IOException,
+                                            ClassNotFoundException {
+        index = in.readInt();
+        fieldExtractor = (InternalReadAccessor) in.readObject();
+        integral = in.readBoolean();
+        count = in.readInt();
+        indexed = in.readBoolean();
+        rangeSinks = (RangeSinks[]) in.readObject();
+        size = in.readInt();
+    }
+
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeInt( index );
+        out.writeObject( fieldExtractor );
+        out.writeBoolean( integral );
+        out.writeInt( count );
+        out.writeBoolean( indexed );
+        out.writeObject( rangeSinks );
+        out.writeInt( size );
+    }
+
+    /**
+     * Returns the accessor of the field constrained by the given AlphaNode if its constraint is a comparison
+     * with a numeric literal that can be put in an AlphaRangeIndex, null otherwise.
+     */
+    static InternalReadAccessor getRangeIndexableAccessor(AlphaNode alphaNode) {
+        if ( !(alphaNode.getConstraint() instanceof IndexableConstraint) ) {
+            return null;
+        }
+        IndexableConstraint indexableConstraint = (IndexableConstraint) alphaNode.getConstraint();
+        if ( !indexableConstraint.getConstraintType().isComparison() || indexableConstraint.isUnification() ) {
+            return null;
+        }
+
+        InternalReadAccessor fieldExtractor = indexableConstraint.getFieldExtractor();
+        FieldValue field = indexableConstraint.getField();
+        // our current implementation does not support indexing of deeply nested properties
+        if ( fieldExtractor == null || fieldExtractor.getIndex() < 0 || field == null || field.isNull() ) {
+            return null;
+        }
+
+        ValueType vtype = fieldExtractor.getValueType();
+        Object value = field.getValue();
+        if ( vtype.isIntegerNumber() ) {
+            return isIntegralLiteral( value ) ? fieldExtractor : null;
+        }
+        if ( vtype.isFloatNumber() ) {
+            return value instanceof Number && !isBigNumber( value ) && !Double.isNaN( field.getDoubleValue() ) ? fieldExtractor : null;
+        }
+        return null;
+    }
+
+    private static boolean isIntegralLiteral(Object value) {
+        return value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte;
+    }
+
+    private static boolean isBigNumber(Object value) {
+        return value instanceof BigDecimal || value instanceof BigInteger;
+    }
+
+    public void add(AlphaNode alphaNode) {
+        IndexableConstraint constraint = (IndexableConstraint) alphaNode.getConstraint();
+        ConstraintType constraintType = constraint.getConstraintType();
+        int pos = constraintType.ordinal() - ConstraintType.GREATER_THAN.ordinal();
+        if ( rangeSinks[pos] == null ) {
+            rangeSinks[pos] = new RangeSinks( constraintType );
+        }
+        FieldValue field = constraint.getField();
+        rangeSinks[pos].add( integral ? field.getLongValue() : toSortableLong( field.getDoubleValue() ), alphaNode );
+        size++;
+    }
+
+    public boolean remove(AlphaNode alphaNode) {
+        ConstraintType constraintType = ((IndexableConstraint) alphaNode.getConstraint()).getConstraintType();
+        int pos = constraintType.ordinal() - ConstraintType.GREATER_THAN.ordinal();
+        if ( rangeSinks[pos] == null || !rangeSinks[pos].remove( alphaNode ) ) {
+            return false;
+        }
+        if ( rangeSinks[pos].size == 0 ) {
+            rangeSinks[pos] = null;
+        }
+        size--;
+        return true;
+    }
+
+    public void propagateAssertObject(final InternalFactHandle factHandle,
+                                      final PropagationContext context,
+                                      final InternalWorkingMemory workingMemory) {
+        final Object object = factHandle.getObject();
+        if ( !isIndexableValue( object ) ) {
+            return;
+        }
+        final long key = readKey( object );
+        for ( RangeSinks sinks : rangeSinks ) {
+            if ( sinks != null ) {
+                for ( int i = sinks.start( key ), end = sinks.end( key ); i < end; i++ ) {
+                    // go straight to the AlphaNode's propagator, as we know it's true and no need to retest
+                    sinks.sinks[i].getObjectSinkPropagator().propagateAssertObject( factHandle, context, workingMemory );
+                }
+            }
+        }
+    }
+
+    public void propagateModifyObject(final InternalFactHandle factHandle,
+                                      final ModifyPreviousTuples modifyPreviousTuples,
+                                      final PropagationContext context,
+                                      final InternalWorkingMemory workingMemory) {
+        final Object object = factHandle.getObject();
+        if ( !isIndexableValue( object ) ) {
+            return;
+        }
+        final long key = readKey( object );
+        for ( RangeSinks sinks : rangeSinks ) {
+            if ( sinks != null ) {
+                for ( int i = sinks.start( key ), end = sinks.end( key ); i < end; i++ ) {
+                    // go straight to the AlphaNode's propagator, as we know it's true and no need to retest
+                    sinks.sinks[i].getObjectSinkPropagator().propagateModifyObject( factHandle, modifyPreviousTuples, context, workingMemory );
+                }
+            }
+        }
+    }
+
+    public void byPassModifyToBetaNode(final InternalFactHandle factHandle,
+                                       final ModifyPreviousTuples modifyPreviousTuples,
+                                       final PropagationContext context,
+                                       final InternalWorkingMemory workingMemory) {
+        final Object object = factHandle.getObject();
+        if ( !isIndexableValue( object ) ) {
+            return;
+        }
+        final long key = readKey( object );
+        for ( RangeSinks sinks : rangeSinks ) {
+            if ( sinks != null ) {
+                for ( int i = sinks.start( key ), end = sinks.end( key ); i < end; i++ ) {
+                    sinks.sinks[i].getObjectSinkPropagator().byPassModifyToBetaNode( factHandle, modifyPreviousTuples, context, workingMemory );
+                }
+            }
+        }
+    }
+
+    private boolean isIndexableValue(Object object) {
+        // a null or NaN value never satisfies a comparison
+        if ( fieldExtractor.isNullValue( null, object ) ) {
+            return false;
+        }
+        return integral || !Double.isNaN( fieldExtractor.getDoubleValue( null, object ) );
+    }
+
+    private long readKey(Object object) {
+        return integral ?
+               fieldExtractor.getLongValue( null, object ) :
+               toSortableLong( fieldExtractor.getDoubleValue( null, object ) );
+    }
+
+    /**
+     * Maps a double to a long having the same natural ordering, so that both integral and floating point
+     * literals can be kept in the same kind of sorted array. Not defined for NaN.
+     */
+    static long toSortableLong(double value) {
+        if ( value == 0.0d ) {
+            // -0.0 and 0.0 are equal when compared
+            value = 0.0d;
+        }
+        long bits = Double.doubleToLongBits( value );
+        return bits ^ ( ( bits >> 63 ) & Long.MAX_VALUE );
+    }
+
+    public AlphaNode[] getSinks() {
+        AlphaNode[] sinks = new AlphaNode[size];
+        int at = 0;
+        for ( RangeSinks range : rangeSinks ) {
+            if ( range != null ) {
+                System.arraycopy( range.sinks, 0, sinks, at, range.size );
+                at += range.size;
+            }
+        }
+        return sinks;
+    }
+
+    public int getIndex() {
+        return this.index;
+    }
+
+    public InternalReadAccessor getFieldExtractor() {
+        return this.fieldExtractor;
+    }
+
+    public int getCount() {
+        return this.count;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isIndexed() {
+        return this.indexed;
+    }
+
+    public void setIndexed(final boolean indexed) {
+        this.indexed = indexed;
+    }
+
+    public void increaseCounter() {
+        this.count++;
+    }
+
+    public void decreaseCounter() {
+        this.count--;
+    }
+
+    public AlphaRangeIndex getNext() {
+        return this.next;
+    }
+
+    public AlphaRangeIndex getPrevious() {
+        return this.previous;
+    }
+
+    public void setNext(final AlphaRangeIndex next) {
+        this.next = next;
+    }
+
+    public void setPrevious(final AlphaRangeIndex previous) {
+        this.previous = previous;
+    }
+
+    public void nullPrevNext() {
+        previous = null;
+        next = null;
+    }
+
+    /**
+     * The AlphaNodes having the same comparison operator, sorted by the literal they compare against.
+     */
+    public static class RangeSinks
+        implements
+        Externalizable {
+
+        private ConstraintType constraintType;
+        private long[]         keys;
+        private AlphaNode[]    sinks;
+        private int            size;
+
+        public RangeSinks() {
+        }
+
+        RangeSinks(ConstraintType constraintType) {
+            this.constraintType = constraintType;
+            this.keys = new long[4];
+            this.sinks = new AlphaNode[4];
+        }
+
+        public void readExternal(ObjectInput in) throws IOException,
+                                                ClassNotFoundException {
+            constraintType = (ConstraintType) in.readObject();
+            keys = (long[]) in.readObject();
+            sinks = (AlphaNode[]) in.readObject();
+            size = in.readInt();
+        }
+
+        public void writeExternal(ObjectOutput out) throws IOException {
+            out.writeObject( constraintType );
+            out.writeObject( keys );
+            out.writeObject( sinks );
+            out.writeInt( size );
+        }
+
+        void add(long key, AlphaNode alphaNode) {
+            if ( size == keys.length ) {
+                keys = Arrays.copyOf( keys, size * 2 );
+                sinks = Arrays.copyOf( sinks, size * 2 );
+            }
+            // keep the insertion order among equal literals
+            int pos = upperBound( key );
+            System.arraycopy( keys, pos, keys, pos + 1, size - pos );
+            System.arraycopy( sinks, pos, sinks, pos + 1, size - pos );
+            keys[pos] = key;
+            sinks[pos] = alphaNode;
+            size++;
+        }
+
+        boolean remove(AlphaNode alphaNode) {
+            for ( int i = 0; i < size; i++ ) {
+                if ( sinks[i] == alphaNode ) {
+                    System.arraycopy( keys, i + 1, keys, i, size - i - 1 );
+                    System.arraycopy( sinks, i + 1, sinks, i, size - i - 1 );
+                    sinks[--size] = null;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Returns the position of the first sink whose constraint is satisfied by the given value.
+         */
+        int start(long value) {
+            switch ( constraintType ) {
+                case LESS_THAN:
+                    // value < literal
+                    return upperBound( value );
+                case LESS_OR_EQUAL:
+                    // value <= literal
+                    return lowerBound( value );
+                default:
+                    return 0;
+            }
+        }
+
+        /**
+         * Returns the position following the last sink whose constraint is satisfied by the given value.
+         */
+        int end(long value) {
+            switch ( constraintType ) {
+                case GREATER_THAN:
+                    // value > literal
+                    return lowerBound( value );
+                case GREATER_OR_EQUAL:
+                    // value >= literal
+                    return upperBound( value );
+                default:
+                    return size;
+            }
+        }
+
+        /**
+         * Returns the position of the first literal greater than or equal to the given value.
+         */
+        private int lowerBound(long value) {
+            int low = 0;
+            int high = size;
+            while ( low < high ) {
+                int mid = (low + high) >>> 1;
+                if ( keys[mid] < value ) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Returns the position of the first literal strictly greater than the given value.
+         */
+        private int upperBound(long value) {
+            int low = 0;
+            int high = size;
+            while ( low < high ) {
+                int mid = (low + high) >>> 1;
+                if ( keys[mid] <= value ) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -126,6 +126,21 @@ public abstract class BaseTuple implements Tuple {
         this.next = null;
     }
 
+    /**
+     * Brings this tuple back to the state it had just after its creation, so it can be reused
+     */
+    protected void reset() {
+        clearStaged();
+        clear();
+        this.contextObject = null;
+        this.handle = null;
+        this.propagationContext = null;
+        this.sink = null;
+        this.handlePrevious = null;
+        this.handleNext = null;
+        this.expired = false;
+    }
+
     @Override
     public InternalFactHandle get( Declaration declaration ) {
         return get(declaration.getPattern().getOffset());
@@ -16,6 +16,9 @@
 
 package org.drools.core.reteoo;
 
+import java.util.Arrays;
+
+import org.drools.core.common.InternalFactHandle;
 import org.drools.core.common.InternalWorkingMemory;
 import org.drools.core.common.Memory;
 import org.drools.core.common.TupleSets;
@@ -39,6 +42,10 @@ public class BetaMemory extends AbstractBaseLinkedListNode<Memory>
     private int                        counter;
     private RiaPathMemory              riaRuleMemory;
 
+    // RightTuples deleted by this node and kept for reuse, see enableRightTupleRecycling
+    private RightTupleImpl[]           recycledRightTuples;
+    private int                        recycledRightTuplesSize;
+
     public BetaMemory() {
     }
 
@@ -162,6 +169,40 @@ public class BetaMemory extends AbstractBaseLinkedListNode<Memory>
         }
     }
 
+    /**
+     * Allows this memory to keep up to poolSize deleted RightTuples, so that the node can reuse them
+     * for the next inserted facts instead of allocating new ones. A poolSize of 0 disables the recycling.
+     */
+    public void enableRightTupleRecycling(int poolSize) {
+        this.recycledRightTuples = poolSize > 0 ? new RightTupleImpl[poolSize] : null;
+        this.recycledRightTuplesSize = 0;
+    }
+
+    /**
+     * Gives back a RightTuple that has been removed from the right memory and whose children have been deleted.
+     * Only plain RightTupleImpl are recycled, as subnetwork tuples are also part of the left network.
+     */
+    public void recycleRightTuple(RightTuple rightTuple) {
+        if ( recycledRightTuples != null &&
+             recycledRightTuplesSize < recycledRightTuples.length &&
+             rightTuple.getClass() == RightTupleImpl.class ) {
+            recycledRightTuples[recycledRightTuplesSize++] = (RightTupleImpl) rightTuple;
+        }
+    }
+
+    /**
+     * Returns a recycled RightTuple reinitialized for the given handle and sink, or null if none is available.
+     */
+    public RightTuple reuseRightTuple(InternalFactHandle handle, RightTupleSink sink) {
+        if ( recycledRightTuplesSize == 0 ) {
+            return null;
+        }
+        RightTupleImpl rightTuple = recycledRightTuples[--recycledRightTuplesSize];
+        recycledRightTuples[recycledRightTuplesSize] = null;
+        rightTuple.reInit( handle, sink );
+        return rightTuple;
+    }
+
     public void reset() {
         if (leftTupleMemory != null) {
             leftTupleMemory.clear();
@@ -171,5 +212,9 @@ public class BetaMemory extends AbstractBaseLinkedListNode<Memory>
         }
         stagedRightTuples.resetAll();
         counter = 0;
+        if (recycledRightTuples != null) {
+            Arrays.fill( recycledRightTuples, 0, recycledRightTuplesSize, null );
+            recycledRightTuplesSize = 0;
+        }
     }
 }
@@ -296,7 +296,7 @@ public abstract class BetaNode extends LeftTupleSource
                               final InternalWorkingMemory wm ) {
         final BetaMemory memory = getBetaMemoryFromRightInput(this, wm);
 
-        RightTuple rightTuple = createRightTuple( factHandle, this, pctx );
+        RightTuple rightTuple = createRightTuple( factHandle, this, pctx, memory );
 
         boolean stagedInsertWasEmpty = memory.getStagedRightTuples().addInsert(rightTuple);
         if ( isLogTraceEnabled ) {
@@ -559,7 +559,17 @@ public abstract class BetaNode extends LeftTupleSource
     }
 
     public Memory createMemory(RuleBaseConfiguration config, InternalWorkingMemory wm) {
-        return constraints.createBetaMemory(config, getType());
+        BetaMemory memory = constraints.createBetaMemory(config, getType());
+        if ( wm != null && isRightTupleRecyclingNode() ) {
+            memory.enableRightTupleRecycling( wm.getSessionConfiguration().getTuplePoolSize() );
+        }
+        return memory;
+    }
+
+    private boolean isRightTupleRecyclingNode() {
+        // only these nodes give back the RightTuples they delete, see PhreakJoinNode.doRightDeletes
+        short type = getType();
+        return type == NodeTypeEnums.JoinNode || type == NodeTypeEnums.NotNode || type == NodeTypeEnums.ExistsNode;
     }
 
     public String toString() {
@@ -681,6 +691,18 @@ public abstract class BetaNode extends LeftTupleSource
         rightTuple.setPropagationContext( context );
         return rightTuple;
     }
+
+    protected RightTuple createRightTuple(InternalFactHandle handle,
+                                          RightTupleSink sink,
+                                          PropagationContext context,
+                                          BetaMemory memory) {
+        RightTuple rightTuple = memory.reuseRightTuple( handle, sink );
+        if ( rightTuple == null ) {
+            return createRightTuple( handle, sink, context );
+        }
+        rightTuple.setPropagationContext( context );
+        return rightTuple;
+    }
     
     public static BetaMemory getBetaMemoryFromRightInput( final BetaNode betaNode, final InternalWorkingMemory workingMemory ) {
         return NodeTypeEnums.AccumulateNode == betaNode.getType() ?
@@ -29,6 +29,8 @@ import java.util.List;
 import org.drools.core.base.ClassObjectType;
 import org.drools.core.base.DroolsQuery;
 import org.drools.core.base.evaluators.TimeIntervalParser;
+import org.drools.core.common.EventArena;
+import org.drools.core.common.InternalWorkingMemory;
 import org.drools.core.factmodel.traits.Thing;
 import org.drools.core.factmodel.traits.Traitable;
 import org.drools.core.factmodel.traits.TraitableBean;
@@ -69,6 +71,9 @@ public class ClassObjectTypeConf
 
     private boolean                    isTrait;
 
+    private transient EventArena       eventArena;
+    private transient boolean          eventArenaChecked;
+
     public ClassObjectTypeConf() {
 
     }
@@ -244,6 +249,23 @@ public class ClassObjectTypeConf
     public TypeDeclaration getTypeDeclaration() {
         return typeDecl;
     }
+
+    /**
+     * Returns the arena where the payloads of the events of this type are kept off-heap,
+     * or null if the session doesn't enable it or this is not a declared event type.
+     */
+    public synchronized EventArena getEventArena(InternalWorkingMemory workingMemory) {
+        if ( !eventArenaChecked ) {
+            eventArenaChecked = true;
+            if ( isEvent && !isTrait && typeDecl != null && typeDecl.isDefinition() &&
+                 workingMemory.getSessionConfiguration().isOffHeapEvents() &&
+                 EventArena.isSupported( typeDecl.getTypeClassDef() ) &&
+                 typeDecl.getTypeClassDef().getDefinedClass() == cls ) {
+                eventArena = new EventArena( typeDecl.getTypeClassDef() );
+            }
+        }
+        return eventArena;
+    }
     
     public boolean isDynamic() {
         return typeDecl != null && typeDecl.isDynamic();
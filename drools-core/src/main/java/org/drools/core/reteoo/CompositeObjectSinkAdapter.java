@@ -59,6 +59,8 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
 
     ObjectHashMap             hashedSinkMap;
 
+    LinkedList<AlphaRangeIndex> rangeIndexes;
+
     private int               alphaNodeHashingThreshold;
 
     private ObjectSink[]      sinks;
@@ -79,6 +81,7 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
         hashableSinks = (ObjectSinkNodeList) in.readObject();
         hashedFieldIndexes = (LinkedList) in.readObject();
         hashedSinkMap = (ObjectHashMap) in.readObject();
+        rangeIndexes = (LinkedList) in.readObject();
         alphaNodeHashingThreshold = in.readInt();
     }
 
@@ -87,6 +90,7 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
         out.writeObject( hashableSinks );
         out.writeObject( hashedFieldIndexes );
         out.writeObject( hashedSinkMap );
+        out.writeObject( rangeIndexes );
         out.writeInt( alphaNodeHashingThreshold );
     }
 
@@ -102,6 +106,10 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
         return this.hashedSinkMap;
     }
 
+    public LinkedList<AlphaRangeIndex> getRangeIndexes() {
+        return this.rangeIndexes;
+    }
+
     public ObjectSinkPropagator addObjectSink(ObjectSink sink) {
         return addObjectSink(sink, 0);
     }
@@ -140,6 +148,19 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
                 }
                 return this;
             }
+
+            final InternalReadAccessor rangeAccessor = AlphaRangeIndex.getRangeIndexableAccessor( alphaNode );
+            if ( rangeAccessor != null ) {
+                final AlphaRangeIndex rangeIndex = registerRangeIndex( rangeAccessor );
+                if ( rangeIndex.getCount() >= this.alphaNodeHashingThreshold && this.alphaNodeHashingThreshold != 0 ) {
+                    if ( !rangeIndex.isIndexed() ) {
+                        indexRangeSinks( rangeIndex );
+                    }
+                    rangeIndex.add( alphaNode );
+                    return this;
+                }
+                // below the threshold the comparison is simply evaluated together with the other sinks
+            }
         }
 
         if ( this.otherSinks == null ) {
@@ -206,6 +227,19 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
                     return size() == 1 ? new SingleObjectSinkAdapter( getSinks()[0] ) : this;
                 }
             }
+
+            final InternalReadAccessor rangeAccessor = AlphaRangeIndex.getRangeIndexableAccessor( alphaNode );
+            if ( rangeAccessor != null ) {
+                final AlphaRangeIndex rangeIndex = unregisterRangeIndex( rangeAccessor.getIndex() );
+                if ( rangeIndex.isIndexed() ) {
+                    rangeIndex.remove( alphaNode );
+                    if ( rangeIndex.getCount() <= this.alphaNodeHashingThreshold - 1 ) {
+                        // not enough comparisons left on this field to be worth an index
+                        unIndexRangeSinks( rangeIndex );
+                    }
+                    return size() == 1 ? new SingleObjectSinkAdapter( getSinks()[0] ) : this;
+                }
+            }
         }
 
         this.otherSinks.remove( (ObjectSinkNode) sink );
@@ -297,6 +331,100 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
         fieldIndex.setHashed( false );
     }
 
+    void indexRangeSinks(final AlphaRangeIndex rangeIndex) {
+        final int index = rangeIndex.getIndex();
+
+        if ( this.otherSinks != null ) {
+            ObjectSinkNode currentSink = this.otherSinks.getFirst();
+
+            while ( currentSink != null ) {
+                final ObjectSinkNode sink = currentSink;
+
+                // position to the next sink now because the sink may be removed if it is indexed
+                currentSink = currentSink.getNextObjectSinkNode();
+
+                if ( sink.getType() == NodeTypeEnums.AlphaNode ) {
+                    final InternalReadAccessor rangeAccessor = AlphaRangeIndex.getRangeIndexableAccessor( (AlphaNode) sink );
+                    if ( rangeAccessor != null && rangeAccessor.getIndex() == index ) {
+                        this.otherSinks.remove( sink );
+                        rangeIndex.add( (AlphaNode) sink );
+                    }
+                }
+            }
+
+            if ( this.otherSinks.isEmpty() ) {
+                this.otherSinks = null;
+            }
+        }
+
+        rangeIndex.setIndexed( true );
+    }
+
+    void unIndexRangeSinks(final AlphaRangeIndex rangeIndex) {
+        for ( AlphaNode alphaNode : rangeIndex.getSinks() ) {
+            rangeIndex.remove( alphaNode );
+            if ( this.otherSinks == null ) {
+                this.otherSinks = new ObjectSinkNodeList();
+            }
+            this.otherSinks.add( alphaNode );
+        }
+
+        rangeIndex.setIndexed( false );
+    }
+
+    /**
+     * Returns an AlphaRangeIndex which keeps a count on how many times a particular field is compared with a
+     * literal in the sinks, and indexes those sinks once that count reaches the hashing threshold.
+     */
+    private AlphaRangeIndex registerRangeIndex(final InternalReadAccessor fieldExtractor) {
+        if ( this.rangeIndexes == null ) {
+            this.rangeIndexes = new LinkedList<AlphaRangeIndex>();
+        }
+
+        AlphaRangeIndex rangeIndex = findRangeIndex( fieldExtractor.getIndex() );
+
+        // doesn't exist so create it
+        if ( rangeIndex == null ) {
+            rangeIndex = new AlphaRangeIndex( fieldExtractor.getIndex(),
+                                              fieldExtractor );
+            this.rangeIndexes.add( rangeIndex );
+        }
+
+        rangeIndex.increaseCounter();
+
+        return rangeIndex;
+    }
+
+    private AlphaRangeIndex unregisterRangeIndex(final int index) {
+        final AlphaRangeIndex rangeIndex = this.rangeIndexes != null ? findRangeIndex( index ) : null;
+        if (rangeIndex == null) {
+            throw new IllegalStateException("Cannot find range index for index " + index + "!");
+        }
+        rangeIndex.decreaseCounter();
+
+        // if the count is 0 then remove it from the linkedlist
+        if ( rangeIndex.getCount() == 0 ) {
+            this.rangeIndexes.remove( rangeIndex );
+
+            // if the linkedlist is empty then null it
+            if ( this.rangeIndexes.isEmpty() ) {
+                this.rangeIndexes = null;
+            }
+        }
+
+        return rangeIndex;
+    }
+
+    private AlphaRangeIndex findRangeIndex(final int index) {
+        for ( AlphaRangeIndex node = this.rangeIndexes.getFirst(); node != null; node = node.getNext() ) {
+            if ( node.getIndex() == index ) {
+                return node;
+            }
+        }
+
+        return null;
+    }
+
     /**
      * Returns a FieldIndex which Keeps a count on how many times a particular field is used with an equality check
      * in the sinks.
@@ -393,6 +521,15 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
             }
         }
 
+        // propagate to the sinks whose indexed range contains the value of the object's field
+        if ( this.rangeIndexes != null ) {
+            for ( AlphaRangeIndex rangeIndex = this.rangeIndexes.getFirst(); rangeIndex != null; rangeIndex = rangeIndex.getNext() ) {
+                if ( rangeIndex.isIndexed() ) {
+                    rangeIndex.propagateAssertObject( factHandle, context, workingMemory );
+                }
+            }
+        }
+
         if ( this.otherSinks != null ) {
             // propagate others
             for ( ObjectSinkNode sink = this.otherSinks.getFirst(); sink != null; sink = sink.getNextObjectSinkNode() ) {
@@ -439,6 +576,15 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
             }
         }
 
+        // propagate to the sinks whose indexed range contains the value of the object's field
+        if ( this.rangeIndexes != null ) {
+            for ( AlphaRangeIndex rangeIndex = this.rangeIndexes.getFirst(); rangeIndex != null; rangeIndex = rangeIndex.getNext() ) {
+                if ( rangeIndex.isIndexed() ) {
+                    rangeIndex.propagateModifyObject( factHandle, modifyPreviousTuples, context, workingMemory );
+                }
+            }
+        }
+
         if ( this.otherSinks != null ) {
             // propagate others
             for ( ObjectSinkNode sink = this.otherSinks.getFirst(); sink != null; sink = sink.getNextObjectSinkNode() ) {
@@ -481,6 +627,15 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
             }
         }
 
+        if ( this.rangeIndexes != null ) {
+            for ( AlphaRangeIndex rangeIndex = this.rangeIndexes.getFirst(); rangeIndex != null; rangeIndex = rangeIndex.getNext() ) {
+                if ( rangeIndex.isIndexed() ) {
+                    // only alpha nodes are range indexed
+                    rangeIndex.byPassModifyToBetaNode( factHandle, modifyPreviousTuples, context, workingMemory );
+                }
+            }
+        }
+
         if ( this.otherSinks != null ) {
             // propagate others
             for ( ObjectSinkNode sink = this.otherSinks.getFirst(); sink != null; sink = sink.getNextObjectSinkNode() ) {                
@@ -542,6 +697,14 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
                 sinksMap.put( sink, sink );
             }
         }
+
+        if ( this.rangeIndexes != null ) {
+            for ( AlphaRangeIndex rangeIndex = this.rangeIndexes.getFirst(); rangeIndex != null; rangeIndex = rangeIndex.getNext() ) {
+                for ( AlphaNode sink : rangeIndex.getSinks() ) {
+                    sinksMap.put( sink, sink );
+                }
+            }
+        }
     }
 
     public ObjectSink[] getSinks() {
@@ -575,6 +738,14 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
             }
         }
 
+        if ( this.rangeIndexes != null ) {
+            for ( AlphaRangeIndex rangeIndex = this.rangeIndexes.getFirst(); rangeIndex != null; rangeIndex = rangeIndex.getNext() ) {
+                for ( AlphaNode sink : rangeIndex.getSinks() ) {
+                    sinks[at++] = sink;
+                }
+            }
+        }
+
         if ( this.otherSinks != null ) {
             for ( ObjectSinkNode sink = this.otherSinks.getFirst(); sink != null; sink = sink.getNextObjectSinkNode() ) {
                 sinks[at++] = sink;
@@ -603,7 +774,17 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
     }     
 
     public int size() {
-        return (this.otherSinks != null ? this.otherSinks.size() : 0) + (this.hashableSinks != null ? this.hashableSinks.size() : 0) + (this.hashedSinkMap != null ? this.hashedSinkMap.size() : 0);
+        return (this.otherSinks != null ? this.otherSinks.size() : 0) + (this.hashableSinks != null ? this.hashableSinks.size() : 0) + (this.hashedSinkMap != null ? this.hashedSinkMap.size() : 0) + rangeIndexedSize();
+    }
+
+    private int rangeIndexedSize() {
+        int size = 0;
+        if ( this.rangeIndexes != null ) {
+            for ( AlphaRangeIndex rangeIndex = this.rangeIndexes.getFirst(); rangeIndex != null; rangeIndex = rangeIndex.getNext() ) {
+                size += rangeIndex.size();
+            }
+        }
+        return size;
     }
 
     public boolean isEmpty() {
@@ -239,6 +239,22 @@ public class EntryPointNode extends ObjectSource
         }
     }
 
+    /**
+     * Asserts a batch of facts sharing the same ObjectTypeConf with a single propagation entry.
+     */
+    public void assertObjects(final InternalFactHandle[] handles,
+                              final PropagationContext[] contexts,
+                              final int size,
+                              final ObjectTypeConf objectTypeConf,
+                              final InternalWorkingMemory workingMemory) {
+        if ( partitionsEnabled ) {
+            for ( int i = 0; i < size; i++ ) {
+                PropagationEntry.Insert.execute( handles[i], contexts[i], workingMemory, objectTypeConf );
+            }
+        } else {
+            workingMemory.addPropagation( new PropagationEntry.InsertAll( handles, contexts, size, workingMemory, objectTypeConf ) );
+        }
+    }
 
     public void modifyObject(final InternalFactHandle handle,
                              final PropagationContext pctx,
@@ -26,6 +26,7 @@ import java.util.List;
 import org.drools.core.base.ClassObjectType;
 import org.drools.core.common.BaseNode;
 import org.drools.core.common.RuleBasePartitionId;
+import org.drools.core.phreak.NodeMetrics;
 import org.drools.core.reteoo.builder.BuildContext;
 import org.drools.core.rule.Pattern;
 import org.drools.core.spi.ClassWireable;
@@ -71,6 +72,8 @@ public abstract class LeftTupleSource extends BaseNode
 
     private int positionInPath;
 
+    private transient volatile NodeMetrics metrics;
+
     // ------------------------------------------------------------
     // Constructors
     // ------------------------------------------------------------
@@ -114,6 +117,30 @@ public abstract class LeftTupleSource extends BaseNode
         out.writeInt( positionInPath );
     }
 
+    /**
+     * Returns the execution counters of this node, lazily creating them. Only used when NodeMetrics.ENABLED.
+     */
+    public NodeMetrics getMetrics() {
+        NodeMetrics m = metrics;
+        if ( m == null ) {
+            synchronized (this) {
+                m = metrics;
+                if ( m == null ) {
+                    m = new NodeMetrics();
+                    metrics = m;
+                }
+            }
+        }
+        return m;
+    }
+
+    /**
+     * Returns the execution counters of this node, or null if it has never been evaluated with the metrics enabled
+     */
+    public NodeMetrics peekMetrics() {
+        return metrics;
+    }
+
     public int getPositionInPath() {
         return positionInPath;
     }
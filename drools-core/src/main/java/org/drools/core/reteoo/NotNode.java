@@ -134,7 +134,8 @@ public class NotNode extends BetaNode {
 
         RightTuple rightTuple = createRightTuple( factHandle,
                                                   this,
-                                                  pctx);
+                                                  pctx,
+                                                  memory );
 
         rightTuple.setPropagationContext(pctx);
 
@@ -22,8 +22,10 @@ import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import org.drools.core.InitialFact;
 import org.drools.core.RuleBaseConfiguration;
@@ -40,6 +42,7 @@ import org.drools.core.common.MemoryFactory;
 import org.drools.core.common.RuleBasePartitionId;
 import org.drools.core.common.UpdateContext;
 import org.drools.core.impl.StatefulKnowledgeSessionImpl.WorkingMemoryReteExpireAction;
+import org.drools.core.impl.StatefulKnowledgeSessionImpl.WorkingMemoryReteExpireBatchAction;
 import org.drools.core.marshalling.impl.MarshallerReaderContext;
 import org.drools.core.marshalling.impl.MarshallerWriteContext;
 import org.drools.core.marshalling.impl.PersisterEnums;
@@ -51,6 +54,7 @@ import org.drools.core.marshalling.impl.TimersOutputMarshaller;
 import org.drools.core.reteoo.builder.BuildContext;
 import org.drools.core.reteoo.compiled.CompiledNetwork;
 import org.drools.core.rule.EntryPointId;
+import org.drools.core.rule.SharedSlidingTimeWindowContext;
 import org.drools.core.spi.ObjectType;
 import org.drools.core.spi.PropagationContext;
 import org.drools.core.time.Job;
@@ -327,6 +331,27 @@ public class ObjectTypeNode extends ObjectSource
         }
     }
 
+    /**
+     * Propagates a batch of facts of the same type through the alpha network, so the network
+     * below this node is walked by all the facts in sequence.
+     */
+    public void propagateAssert(InternalFactHandle[] factHandles, PropagationContext[] contexts, int size, InternalWorkingMemory workingMemory) {
+        checkDirty();
+        if (compiledNetwork != null) {
+            for (int i = 0; i < size; i++) {
+                compiledNetwork.assertObject(factHandles[i],
+                                             contexts[i],
+                                             workingMemory);
+            }
+        } else {
+            for (int i = 0; i < size; i++) {
+                this.sink.propagateAssertObject(factHandles[i],
+                                                contexts[i],
+                                                workingMemory);
+            }
+        }
+    }
+
     /**
      * Retract the <code>FactHandleimpl</code> from the <code>Rete</code> network. Also remove the
      * <code>FactHandleImpl</code> from the node memory.
@@ -595,8 +620,24 @@ public class ObjectTypeNode extends ObjectSource
 
         public void execute(JobContext ctx) {
             ExpireJobContext context = (ExpireJobContext) ctx;
-            context.workingMemory.queueWorkingMemoryAction(context.expireAction);
-            context.getExpireAction().getFactHandle().removeJob( context.getJobHandle());
+            InternalWorkingMemory wm = context.workingMemory;
+            WorkingMemoryReteExpireAction expireAction = context.expireAction;
+            if ( expireAction.getNode() != null && wm.getSessionConfiguration().isBatchedExpiration() && !wm.getAgenda().isParallelAgenda() ) {
+                ObjectTypeNodeMemory memory = wm.getNodeMemory( expireAction.getNode() );
+                WorkingMemoryReteExpireBatchAction batch = memory.addToExpireBatch( expireAction );
+                if ( batch != null ) {
+                    // a new batch has been opened, it has to be queued only once
+                    try {
+                        wm.startOperation();
+                        wm.addPropagation( batch );
+                    } finally {
+                        wm.endOperation();
+                    }
+                }
+            } else {
+                wm.queueWorkingMemoryAction( expireAction );
+            }
+            expireAction.getFactHandle().removeJob( context.getJobHandle());
         }
     }
 
@@ -741,6 +782,8 @@ public class ObjectTypeNode extends ObjectSource
     public static class ObjectTypeNodeMemory implements Memory {
         private ClassAwareObjectStore.SingleClassStore store;
         private Class<?> classType;
+        private WorkingMemoryReteExpireBatchAction expireBatch;
+        private Map<Long, SharedSlidingTimeWindowContext> sharedTimeWindows;
 
         ObjectTypeNodeMemory(Class<?> classType) {
             this.classType = classType;
@@ -787,7 +830,49 @@ public class ObjectTypeNode extends ObjectSource
             throw new UnsupportedOperationException();
         }
 
-        public void reset() { }
+        /**
+         * Adds the expiration to the batch still waiting to be propagated, opening a new one if there isn't any.
+         * Returns the newly opened batch, that the caller has to queue, or null if the expiration joined an existing one.
+         */
+        public synchronized WorkingMemoryReteExpireBatchAction addToExpireBatch(WorkingMemoryReteExpireAction action) {
+            if (expireBatch != null) {
+                expireBatch.add( action );
+                return null;
+            }
+            expireBatch = new WorkingMemoryReteExpireBatchAction( this );
+            expireBatch.add( action );
+            return expireBatch;
+        }
+
+        public synchronized void closeExpireBatch(WorkingMemoryReteExpireBatchAction batch) {
+            if (expireBatch == batch) {
+                expireBatch = null;
+            }
+        }
+
+        /**
+         * Returns the state shared by all the sliding time windows of the given size defined on this node.
+         */
+        public synchronized SharedSlidingTimeWindowContext getSharedTimeWindow(long size) {
+            if (sharedTimeWindows == null) {
+                sharedTimeWindows = new HashMap<Long, SharedSlidingTimeWindowContext>();
+            }
+            SharedSlidingTimeWindowContext shared = sharedTimeWindows.get( size );
+            if (shared == null) {
+                shared = new SharedSlidingTimeWindowContext( size );
+                sharedTimeWindows.put( size, shared );
+            }
+            return shared;
+        }
+
+        public synchronized void reset() {
+            expireBatch = null;
+            if (sharedTimeWindows != null) {
+                for (SharedSlidingTimeWindowContext shared : sharedTimeWindows.values()) {
+                    shared.clear();
+                }
+            }
+        }
 
         public String toString() {
             return "ObjectTypeMemory for " + classType;
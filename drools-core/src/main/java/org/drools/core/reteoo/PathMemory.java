@@ -150,6 +150,7 @@ public class PathMemory extends AbstractBaseLinkedListNode<Memory>
             InternalAgendaGroup ag = agendaItem.getAgendaGroup();
             ag.add( agendaItem );
         }
+        agenda.addDirtyRuleAgendaItem( agendaItem );
     }
 
     public void queueRuleAgendaItem(InternalAgenda agenda) {
@@ -174,6 +175,8 @@ public class PathMemory extends AbstractBaseLinkedListNode<Memory>
             agenda.addQueryAgendaItem( agendaItem );
         } else if ( agendaItem.getRule().isEager() ) {
             agenda.addEagerRuleAgendaItem( agendaItem );
+        } else {
+            agenda.addDirtyRuleAgendaItem( agendaItem );
         }
     }
 
@@ -277,6 +277,9 @@ public class ReteooBuilder
                  node.getType() != NodeTypeEnums.AlphaNode ) {
                 // phreak must clear node memories, although this should ideally be pushed into AddRemoveRule
                 for (InternalWorkingMemory workingMemory : wms) {
+                    if ( node.getType() == NodeTypeEnums.WindowNode ) {
+                        ( (WindowNode) node ).releaseSharedTimeWindows( workingMemory );
+                    }
                     workingMemory.clearNodeMemory( (MemoryFactory) node);
                 }
             }
@@ -21,9 +21,11 @@ import java.io.Serializable;
 import org.drools.core.WorkingMemoryEntryPoint;
 import org.drools.core.common.AbstractFactHandleFactory;
 import org.drools.core.common.DefaultFactHandle;
+import org.drools.core.common.EventArena;
 import org.drools.core.common.EventFactHandle;
 import org.drools.core.common.InternalFactHandle;
 import org.drools.core.common.InternalWorkingMemory;
+import org.drools.core.common.OffHeapEventFactHandle;
 import org.drools.core.rule.TypeDeclaration;
 import org.drools.core.spi.FactHandleFactory;
 
@@ -64,6 +66,17 @@ public class ReteooFactHandleFactory extends AbstractFactHandleFactory implement
                 duration = type.getDurationExtractor().getLongValue( workingMemory,
                                                                      object );
             }
+            EventArena arena = conf instanceof ClassObjectTypeConf ? ( (ClassObjectTypeConf) conf ).getEventArena( workingMemory ) : null;
+            if ( arena != null ) {
+                return new OffHeapEventFactHandle( id,
+                                                   object,
+                                                   recency,
+                                                   timestamp,
+                                                   duration,
+                                                   wmEntryPoint != null ? wmEntryPoint : workingMemory,
+                                                   conf.isTrait(),
+                                                   arena );
+            }
             return new EventFactHandle( id,
                                         object,
                                         recency,
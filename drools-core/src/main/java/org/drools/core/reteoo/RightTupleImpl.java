@@ -53,6 +53,23 @@ public class RightTupleImpl extends BaseTuple implements RightTuple {
         handle.addLastRightTuple( this );
     }
 
+    /**
+     * Reinitializes a recycled tuple as if it had been created with the given handle and sink
+     */
+    void reInit(InternalFactHandle handle,
+                RightTupleSink sink) {
+        reset();
+        this.memory = null;
+        this.firstChild = null;
+        this.lastChild = null;
+        this.blocked = null;
+        this.retracted = false;
+
+        setFactHandle( handle );
+        this.sink = sink;
+        handle.addLastRightTuple( this );
+    }
+
     public RightTupleSink getTupleSink() {
         return (RightTupleSink) sink;
     }
@@ -36,6 +36,7 @@ import org.drools.core.reteoo.builder.BuildContext;
 import org.drools.core.rule.Behavior;
 import org.drools.core.rule.BehaviorManager;
 import org.drools.core.rule.EntryPointId;
+import org.drools.core.rule.SharedSlidingTimeWindowContext;
 import org.drools.core.rule.SlidingTimeWindow;
 import org.drools.core.spi.AlphaNodeFieldConstraint;
 import org.drools.core.spi.PropagationContext;
@@ -256,9 +257,46 @@ public class WindowNode extends ObjectSource
     public WindowMemory createMemory(final RuleBaseConfiguration config, InternalWorkingMemory wm) {
         WindowMemory memory = new WindowMemory();
         memory.behaviorContext = this.behavior.createBehaviorContext();
+        if ( wm != null && wm.getSessionConfiguration().isSharedTimeWindows() && !config.isMultithreadEvaluation() ) {
+            shareTimeWindows( memory, wm );
+        }
         return memory;
     }
 
+    /**
+     * Replaces the contexts of the sliding time windows with views of the state shared
+     * by all the time windows of the same size on the same ObjectTypeNode.
+     */
+    private void shareTimeWindows(WindowMemory memory, InternalWorkingMemory wm) {
+        Behavior[] behaviors = getBehaviors();
+        ObjectTypeNodeMemory omem = null;
+        for ( int i = 0; i < behaviors.length; i++ ) {
+            if ( behaviors[i] instanceof SlidingTimeWindow ) {
+                if ( omem == null ) {
+                    omem = wm.getNodeMemory( getObjectTypeNode() );
+                }
+                long size = ( (SlidingTimeWindow) behaviors[i] ).getSize();
+                memory.behaviorContext[i] = omem.getSharedTimeWindow( size ).createView();
+            }
+        }
+    }
+
+    /**
+     * Releases the views this node holds on the time windows shared with the other nodes,
+     * dropping the events that were only part of its own windows.
+     */
+    public void releaseSharedTimeWindows(InternalWorkingMemory wm) {
+        WindowMemory memory = (WindowMemory) wm.getNodeMemories().peekNodeMemory( this );
+        if ( memory == null ) {
+            return;
+        }
+        for ( Behavior.Context context : memory.behaviorContext ) {
+            if ( context instanceof SharedSlidingTimeWindowContext.View ) {
+                ( (SharedSlidingTimeWindowContext.View) context ).release( wm.getTimerService() );
+            }
+        }
+    }
+
     public String toString() {
         return "[WindowNode(" + this.id + ") constraints=" + this.constraints + "]";
     }
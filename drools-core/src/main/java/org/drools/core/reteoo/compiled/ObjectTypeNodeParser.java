@@ -21,6 +21,7 @@ import org.drools.core.reteoo.CompositePartitionAwareObjectSinkAdapter;
 import org.drools.core.reteoo.WindowNode;
 import org.drools.core.rule.IndexableConstraint;
 import org.drools.core.reteoo.AlphaNode;
+import org.drools.core.reteoo.AlphaRangeIndex;
 import org.drools.core.reteoo.BetaNode;
 import org.drools.core.reteoo.CompositeObjectSinkAdapter;
 import org.drools.core.reteoo.LeftInputAdapterNode;
@@ -34,6 +35,7 @@ import org.drools.core.reteoo.SingleObjectSinkAdapter;
 import org.drools.core.rule.constraint.MvelConstraint;
 import org.drools.core.spi.AlphaNodeFieldConstraint;
 import org.drools.core.util.Iterator;
+import org.drools.core.util.LinkedList;
 import org.drools.core.util.ObjectHashMap;
 
 /**
@@ -97,6 +99,7 @@ public class ObjectTypeNodeParser {
 
             traverseSinkLisk(composite.getHashableSinks(), handler);
             traverseSinkLisk(composite.getOthers(), handler);
+            traverseRangeIndexedAlphaNodes(composite.getRangeIndexes(), handler);
             indexableConstraint = traverseHashedAlphaNodes(composite.getHashedSinkMap(), handler);
         } else if (propagator instanceof CompositePartitionAwareObjectSinkAdapter) {
             CompositePartitionAwareObjectSinkAdapter composite = (CompositePartitionAwareObjectSinkAdapter) propagator;
@@ -112,6 +115,15 @@ public class ObjectTypeNodeParser {
         }
     }
 
+    private void traverseRangeIndexedAlphaNodes(LinkedList<AlphaRangeIndex> rangeIndexes, NetworkHandler handler) {
+        if (rangeIndexes != null) {
+            // the compiled network evaluates the range indexed alphas as any other sink
+            for (AlphaRangeIndex rangeIndex = rangeIndexes.getFirst(); rangeIndex != null; rangeIndex = rangeIndex.getNext()) {
+                traverseSinkLisk(rangeIndex.getSinks(), handler);
+            }
+        }
+    }
+
     private void traverseSinkLisk(ObjectSink[] sinks, NetworkHandler handler) {
         if (sinks != null) {
             for (ObjectSink sink : sinks) {
@@ -0,0 +1,299 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.rule;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.drools.core.common.EventFactHandle;
+import org.drools.core.time.JobHandle;
+import org.drools.core.time.TimerService;
+
+/**
+ * The state shared by all the sliding time windows of the same size defined on the same
+ * ObjectTypeNode (and then on the same entry point and type) of a session.
+ *
+ * Expiring an event from a time window only depends on its timestamp, so an event entering
+ * more than one of these windows is queued once and a single timer expires it from all of them.
+ * Each WindowNode keeps a {@link View} of this state, made of the events that passed its own
+ * constraints. The index of a released view is reused by the next view created.
+ */
+public class SharedSlidingTimeWindowContext {
+
+    public static final int NOT_REMOVED = 0;
+    public static final int REMOVED = 1;
+    public static final int HEAD_REMOVED = 2;
+
+    private final long                     size;
+
+    // ordered by timestamp, so that both the head and any retracted event are found in O(log n)
+    private final TreeSet<WindowEntry>     queue = new TreeSet<WindowEntry>();
+
+    private final Map<Long, WindowEntry>   entries = new HashMap<Long, WindowEntry>();
+
+    private View[]                         views = new View[2];
+
+    private int[]                          freeIndexes = new int[2];
+
+    private int                            freeCount;
+
+    private int                            viewsCount;
+
+    private JobHandle                      jobHandle;
+
+    private WindowEntry                    expiringEntry;
+
+    public SharedSlidingTimeWindowContext(long size) {
+        this.size = size;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public View createView() {
+        int index = freeCount > 0 ? freeIndexes[--freeCount] : viewsCount++;
+        if ( index >= views.length ) {
+            views = Arrays.copyOf( views, views.length << 1 );
+        }
+        View view = new View( this, index );
+        views[index] = view;
+        return view;
+    }
+
+    /**
+     * Returns the number of views currently sharing this state.
+     */
+    public int getViewsCount() {
+        return viewsCount - freeCount;
+    }
+
+    /**
+     * Drops all the events of a view that is no longer used, because its WindowNode has been removed,
+     * and makes its index available to the next view.
+     */
+    void release(View view, TimerService timerService) {
+        for ( WindowEntry entry : view.entries ) {
+            entry.set( view.index, null );
+            if ( entry.isEmpty() ) {
+                entries.remove( entry.handle.getId() );
+                queue.remove( entry );
+            }
+        }
+        view.entries.clear();
+        views[view.index] = null;
+        if ( freeCount == freeIndexes.length ) {
+            freeIndexes = Arrays.copyOf( freeIndexes, freeCount << 1 );
+        }
+        freeIndexes[freeCount++] = view.index;
+
+        if ( queue.isEmpty() && jobHandle != null ) {
+            timerService.removeJob( jobHandle );
+            jobHandle = null;
+        }
+    }
+
+    /**
+     * Adds the cloned handle of an event to the given view.
+     * Returns true if the event has become the head of the queue, so the next expiration has to be rescheduled.
+     */
+    boolean add(View view, EventFactHandle handle) {
+        WindowEntry entry = entries.get( handle.getId() );
+        boolean created = entry == null;
+        if ( created ) {
+            entry = new WindowEntry( handle );
+            entries.put( handle.getId(), entry );
+        }
+        entry.set( view.index, handle );
+        view.entries.add( entry );
+        if ( created ) {
+            queue.add( entry );
+            return queue.first() == entry;
+        }
+        return false;
+    }
+
+    /**
+     * Removes the given event from a view. The event is dropped from the queue only once it is
+     * no longer part of any view.
+     */
+    int remove(View view, EventFactHandle handle) {
+        WindowEntry entry = entries.get( handle.getId() );
+        if ( entry == null || entry == expiringEntry ) {
+            return NOT_REMOVED;
+        }
+        entry.set( view.index, null );
+        view.entries.remove( entry );
+        if ( !entry.isEmpty() ) {
+            return NOT_REMOVED;
+        }
+        entries.remove( handle.getId() );
+        boolean head = queue.first() == entry;
+        queue.remove( entry );
+        return head ? HEAD_REMOVED : REMOVED;
+    }
+
+    WindowEntry peekEntry() {
+        return queue.isEmpty() ? null : queue.first();
+    }
+
+    WindowEntry pollEntry() {
+        WindowEntry entry = queue.pollFirst();
+        if ( entry != null ) {
+            entries.remove( entry.handle.getId() );
+            EventFactHandle[] clones = entry.getClones();
+            for ( int i = 0; i < clones.length; i++ ) {
+                if ( clones[i] != null ) {
+                    views[i].entries.remove( entry );
+                }
+            }
+        }
+        return entry;
+    }
+
+    public EventFactHandle peek() {
+        WindowEntry entry = peekEntry();
+        return entry != null ? entry.handle : null;
+    }
+
+    public boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    void setExpiringEntry(WindowEntry expiringEntry) {
+        this.expiringEntry = expiringEntry;
+    }
+
+    public JobHandle getJobHandle() {
+        return jobHandle;
+    }
+
+    public void setJobHandle(JobHandle jobHandle) {
+        this.jobHandle = jobHandle;
+    }
+
+    public void clear() {
+        queue.clear();
+        entries.clear();
+        for ( int i = 0; i < viewsCount; i++ ) {
+            if ( views[i] != null ) {
+                views[i].entries.clear();
+            }
+        }
+        expiringEntry = null;
+        jobHandle = null;
+    }
+
+    /**
+     * An event in the shared queue with the handles cloned by each of the windows it entered.
+     */
+    static class WindowEntry implements Comparable<WindowEntry> {
+        private final EventFactHandle handle;
+        private EventFactHandle[]     clones = new EventFactHandle[1];
+        private int                   clonesCount;
+
+        WindowEntry(EventFactHandle handle) {
+            this.handle = handle;
+        }
+
+        void set(int index, EventFactHandle clone) {
+            if ( index >= clones.length ) {
+                if ( clone == null ) {
+                    return;
+                }
+                clones = Arrays.copyOf( clones, index + 1 );
+            }
+            if ( clones[index] == null ) {
+                if ( clone != null ) {
+                    clonesCount++;
+                }
+            } else if ( clone == null ) {
+                clonesCount--;
+            }
+            clones[index] = clone;
+        }
+
+        EventFactHandle getHandle() {
+            return handle;
+        }
+
+        EventFactHandle get(int index) {
+            return index < clones.length ? clones[index] : null;
+        }
+
+        boolean isEmpty() {
+            return clonesCount == 0;
+        }
+
+        EventFactHandle[] getClones() {
+            return clones;
+        }
+
+        public int compareTo(WindowEntry other) {
+            int result = handle.compareTo( other.handle );
+            return result != 0 ? result : Long.compare( handle.getId(), other.handle.getId() );
+        }
+    }
+
+    /**
+     * The part of the shared state visible to a single WindowNode.
+     */
+    public static class View implements Behavior.Context {
+        private final SharedSlidingTimeWindowContext shared;
+        private final int                            index;
+        // the entries holding a handle of this view, so it doesn't have to scan the whole shared queue
+        private final Set<WindowEntry>               entries = new LinkedHashSet<WindowEntry>();
+
+        View(SharedSlidingTimeWindowContext shared, int index) {
+            this.shared = shared;
+            this.index = index;
+        }
+
+        public SharedSlidingTimeWindowContext getSharedContext() {
+            return shared;
+        }
+
+        public void release(TimerService timerService) {
+            shared.release( this, timerService );
+        }
+
+        public Collection<EventFactHandle> getFactHandles() {
+            List<EventFactHandle> handles = new ArrayList<EventFactHandle>( entries.size() );
+            for ( WindowEntry entry : entries ) {
+                handles.add( entry.get( index ) );
+            }
+            return handles;
+        }
+
+        @Override
+        public JobHandle getJobHandle() {
+            return shared.getJobHandle();
+        }
+
+        @Override
+        public void setJobHandle(JobHandle jobHandle) {
+            shared.setJobHandle( jobHandle );
+        }
+    }
+}
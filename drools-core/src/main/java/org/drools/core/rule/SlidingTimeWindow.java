@@ -119,13 +119,24 @@ public class SlidingTimeWindow
                               final InternalFactHandle fact,
                               final PropagationContext pctx,
                               final InternalWorkingMemory workingMemory) {
-        final SlidingTimeWindowContext queue = (SlidingTimeWindowContext) context;
         final EventFactHandle handle = (EventFactHandle) fact;
         long currentTime = workingMemory.getTimerService().getCurrentTime();
         if ( isExpired( currentTime, handle ) ) {
             return false;
         }
 
+        if ( context instanceof SharedSlidingTimeWindowContext.View ) {
+            SharedSlidingTimeWindowContext.View view = (SharedSlidingTimeWindowContext.View) context;
+            if ( view.getSharedContext().add( view, handle ) ) {
+                updateNextExpiration( handle,
+                                      workingMemory,
+                                      view,
+                                      nodeId );
+            }
+            return true;
+        }
+
+        final SlidingTimeWindowContext queue = (SlidingTimeWindowContext) context;
         queue.add( handle );
         if ( queue.peek() == handle ) {
             // update next expiration time
@@ -142,6 +153,10 @@ public class SlidingTimeWindow
                             final InternalFactHandle fact,
                             final PropagationContext pctx,
                             final InternalWorkingMemory workingMemory) {
+        if ( context instanceof SharedSlidingTimeWindowContext.View ) {
+            retractSharedFact( (SharedSlidingTimeWindowContext.View) context, (EventFactHandle) fact, workingMemory );
+            return;
+        }
         final SlidingTimeWindowContext queue = (SlidingTimeWindowContext) context;
         final EventFactHandle handle = (EventFactHandle) fact;
         // it may be a call back to expire the tuple that is already being expired
@@ -163,9 +178,26 @@ public class SlidingTimeWindow
         }
     }
 
+    private void retractSharedFact(final SharedSlidingTimeWindowContext.View view,
+                                   final EventFactHandle handle,
+                                   final InternalWorkingMemory workingMemory) {
+        SharedSlidingTimeWindowContext shared = view.getSharedContext();
+        int result = shared.remove( view, handle );
+        if ( result == SharedSlidingTimeWindowContext.HEAD_REMOVED ) {
+            updateNextExpiration( shared.peek(),
+                                  workingMemory,
+                                  view,
+                                  nodeId );
+        }
+    }
+
     public void expireFacts(final Object context,
                             final PropagationContext pctx,
                             final InternalWorkingMemory workingMemory) {
+        if ( context instanceof SharedSlidingTimeWindowContext.View ) {
+            expireSharedFacts( (SharedSlidingTimeWindowContext.View) context, workingMemory );
+            return;
+        }
         TimerService clock = workingMemory.getTimerService();
         long currentTime = clock.getCurrentTime();
         SlidingTimeWindowContext queue = (SlidingTimeWindowContext) context;
@@ -190,6 +222,33 @@ public class SlidingTimeWindow
                               nodeId );
     }
 
+    private void expireSharedFacts(final SharedSlidingTimeWindowContext.View view,
+                                   final InternalWorkingMemory workingMemory) {
+        long currentTime = workingMemory.getTimerService().getCurrentTime();
+        SharedSlidingTimeWindowContext shared = view.getSharedContext();
+
+        SharedSlidingTimeWindowContext.WindowEntry entry = shared.peekEntry();
+        while ( entry != null && isExpired( currentTime,
+                                            entry.getHandle() ) ) {
+            shared.setExpiringEntry( entry );
+            shared.pollEntry();
+            // expire the event from all the windows it entered at once
+            for ( EventFactHandle handle : entry.getClones() ) {
+                if ( handle != null && handle.isValid() ) {
+                    final PropagationContext expiresPctx = createPropagationContextForFact( workingMemory, handle, PropagationContext.Type.EXPIRATION );
+                    ObjectTypeNode.doRetractObject(handle, expiresPctx, workingMemory);
+                }
+            }
+            shared.setExpiringEntry( null );
+            entry = shared.peekEntry();
+        }
+        // update next expiration time
+        updateNextExpiration( shared.peek(),
+                              workingMemory,
+                              view,
+                              nodeId );
+    }
+
     protected boolean isExpired(final long currentTime,
                                 final EventFactHandle handle) {
         return handle.getStartTimestamp() + this.size <= currentTime;
@@ -305,10 +364,7 @@ public class SlidingTimeWindow
             // BehaviorJob, no state            
             BehaviorJobContext bjobCtx = ( BehaviorJobContext ) jobCtx;
 
-            // write out SlidingTimeWindowContext
-            SlidingTimeWindowContext slCtx = ( SlidingTimeWindowContext ) bjobCtx.behaviorContext;
-
-            EventFactHandle handle = slCtx.peek();
+            EventFactHandle handle = peekHandle( bjobCtx.behaviorContext );
             outputCtx.writeLong( handle.getId() );
         }
 
@@ -316,10 +372,7 @@ public class SlidingTimeWindow
                                MarshallerWriteContext outputCtx) {
             // BehaviorJob, no state            
             BehaviorJobContext bjobCtx = ( BehaviorJobContext ) jobCtx;
-            // write out SlidingTimeWindowContext
-            SlidingTimeWindowContext slCtx = ( SlidingTimeWindowContext ) bjobCtx.behaviorContext;
-
-            EventFactHandle handle = slCtx.peek();
+            EventFactHandle handle = peekHandle( bjobCtx.behaviorContext );
 
             return ProtobufMessages.Timers.Timer.newBuilder()
                                                 .setType( ProtobufMessages.Timers.TimerType.BEHAVIOR )
@@ -328,6 +381,14 @@ public class SlidingTimeWindow
                                                                                                    .build() )
                                                 .build();
         }
+
+        private static EventFactHandle peekHandle(Behavior.Context behaviorContext) {
+            // write out the head of the SlidingTimeWindowContext, or of the shared one
+            if ( behaviorContext instanceof SharedSlidingTimeWindowContext.View ) {
+                return ( (SharedSlidingTimeWindowContext.View) behaviorContext ).getSharedContext().peek();
+            }
+            return ( (SlidingTimeWindowContext) behaviorContext ).peek();
+        }
     }
 
     public static class BehaviorJobContextTimerInputMarshaller implements TimersInputMarshaller {
@@ -0,0 +1,490 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.time.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import org.drools.core.time.InternalSchedulerService;
+import org.drools.core.time.Job;
+import org.drools.core.time.JobContext;
+import org.drools.core.time.JobHandle;
+import org.drools.core.time.TimerService;
+import org.drools.core.time.Trigger;
+import org.kie.api.time.SessionClock;
+
+/**
+ * A realtime Scheduler implementation based on a hashed timing wheel.
+ *
+ * Jobs are hashed into a fixed number of buckets by their fire time and a single
+ * ticker thread advances over the wheel, firing in one pass every job due in the
+ * current tick. Jobs further away than one revolution just carry the number of
+ * remaining rounds. Scheduling and cancelling are both O(1) and lock-free: they only
+ * enqueue the handle and the ticker thread links it in or out of its bucket on the
+ * next tick. The price is that jobs can fire up to one tick late. The ticker thread
+ * is started by the first scheduled job and parks while there are no jobs.
+ *
+ * It can be enabled with -Ddrools.timerService=org.drools.core.time.impl.TimingWheelTimerService,
+ * while -Ddrools.timingWheel.tickMillis and -Ddrools.timingWheel.size tune the wheel.
+ */
+public class TimingWheelTimerService
+        implements
+        TimerService,
+        SessionClock,
+        InternalSchedulerService {
+
+    public static final String TICK_MILLIS_PROPERTY = "drools.timingWheel.tickMillis";
+    public static final String WHEEL_SIZE_PROPERTY = "drools.timingWheel.size";
+
+    private final long                            tickMillis;
+
+    private final int                             wheelSize;
+
+    private final int                             mask;
+
+    private final AtomicLong                      idCounter = new AtomicLong( 0L );
+
+    private final Queue<TimingWheelJobHandle>     pendingAdds = new ConcurrentLinkedQueue<TimingWheelJobHandle>();
+
+    private final Queue<TimingWheelJobHandle>     pendingCancels = new ConcurrentLinkedQueue<TimingWheelJobHandle>();
+
+    protected TimerJobFactoryManager              jobFactoryManager = DefaultTimerJobFactoryManager.instance;
+
+    private final AtomicReference<Ticker>         ticker = new AtomicReference<Ticker>();
+
+    private volatile boolean                      shutdown;
+
+    public TimingWheelTimerService() {
+        this( Long.getLong( TICK_MILLIS_PROPERTY, 10L ), Integer.getInteger( WHEEL_SIZE_PROPERTY, 512 ) );
+    }
+
+    public TimingWheelTimerService(long tickMillis, int wheelSize) {
+        if ( tickMillis <= 0 ) {
+            throw new IllegalArgumentException( "Tick duration must be positive: " + tickMillis );
+        }
+        if ( wheelSize <= 0 || wheelSize > ( 1 << 30 ) ) {
+            throw new IllegalArgumentException( "Invalid timing wheel size: " + wheelSize );
+        }
+        int size = Integer.highestOneBit( wheelSize );
+        if ( size < wheelSize ) {
+            size <<= 1;
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = size;
+        this.mask = size - 1;
+    }
+
+    public void setTimerJobFactoryManager(TimerJobFactoryManager timerJobFactoryManager) {
+        this.jobFactoryManager = timerJobFactoryManager;
+    }
+
+    public TimerJobFactoryManager getTimerJobFactoryManager() {
+        return this.jobFactoryManager;
+    }
+
+    public long getTickMillis() {
+        return tickMillis;
+    }
+
+    public int getWheelSize() {
+        return wheelSize;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    public long getCurrentTime() {
+        return System.currentTimeMillis();
+    }
+
+    public synchronized void reset() {
+        if ( idCounter.get() != 0L ) {
+            stopTicker();
+            this.idCounter.set( 0L );
+        }
+    }
+
+    @Override
+    public synchronized void shutdown() {
+        this.shutdown = true;
+        stopTicker();
+    }
+
+    private void stopTicker() {
+        Ticker current = ticker.getAndSet( null );
+        if ( current != null ) {
+            current.stop();
+        }
+        pendingAdds.clear();
+        pendingCancels.clear();
+    }
+
+    private Ticker ensureTicker() {
+        Ticker current = ticker.get();
+        if ( current == null && !shutdown ) {
+            Ticker created = new Ticker();
+            if ( ticker.compareAndSet( null, created ) ) {
+                created.start();
+                current = created;
+            } else {
+                current = ticker.get();
+            }
+        }
+        return current;
+    }
+
+    public JobHandle scheduleJob(Job job,
+                                 JobContext ctx,
+                                 Trigger trigger) {
+        checkNotShutdown();
+        Date date = trigger.hasNextFireTime();
+        if ( date != null ) {
+            TimingWheelJobHandle jobHandle = new TimingWheelJobHandle( idCounter.getAndIncrement() );
+
+            TimerJobInstance jobInstance = jobFactoryManager.createTimerJobInstance( job,
+                                                                                     ctx,
+                                                                                     trigger,
+                                                                                     jobHandle,
+                                                                                     this );
+            jobHandle.setTimerJobInstance( jobInstance );
+            internalSchedule( jobInstance );
+
+            return jobHandle;
+        } else {
+            return null;
+        }
+    }
+
+    public void internalSchedule(TimerJobInstance timerJobInstance) {
+        checkNotShutdown();
+        TimingWheelJobHandle jobHandle = (TimingWheelJobHandle) timerJobInstance.getJobHandle();
+        jobHandle.deadline = timerJobInstance.getTrigger().hasNextFireTime().getTime();
+
+        jobFactoryManager.addTimerJobInstance( timerJobInstance );
+        pendingAdds.add( jobHandle );
+        Ticker current = ensureTicker();
+        if ( current != null ) {
+            current.wakeUp();
+        }
+    }
+
+    private void checkNotShutdown() {
+        // as the executor of the JDKTimerService, once shut down no job can be accepted anymore
+        if ( shutdown ) {
+            throw new RejectedExecutionException( "The timer service has been shut down" );
+        }
+    }
+
+    public boolean removeJob(JobHandle jobHandle) {
+        if ( jobHandle.isCancel() ) {
+            return false;
+        }
+        jobHandle.setCancel( true );
+        TimingWheelJobHandle wheelHandle = (TimingWheelJobHandle) jobHandle;
+        jobFactoryManager.removeTimerJobInstance( wheelHandle.getTimerJobInstance() );
+        pendingCancels.add( wheelHandle );
+        return true;
+    }
+
+    /**
+     * Returns the time until the next tick with a job in its bucket, or -1 when there are no jobs.
+     * Jobs more than one revolution away are not told apart from the ones due in the same bucket,
+     * so this is a lower bound of the time to the next job, which is safe for idle waits.
+     */
+    public long getTimeToNextJob() {
+        long next = Long.MAX_VALUE;
+        Ticker current = ticker.get();
+        if ( current != null ) {
+            next = current.nextTickDeadline;
+        }
+        for ( TimingWheelJobHandle handle : pendingAdds ) {
+            if ( !handle.isCancel() ) {
+                next = Math.min( next, handle.deadline );
+            }
+        }
+        return next == Long.MAX_VALUE ? -1 : Math.max( 0, next - getCurrentTime() );
+    }
+
+    public Collection<TimerJobInstance> getTimerJobInstances(long id) {
+        return jobFactoryManager.getTimerJobInstances();
+    }
+
+    public static class TimingWheelJobHandle extends DefaultJobHandle
+            implements
+            JobHandle {
+
+        private static final long serialVersionUID = 510l;
+
+        // wheel state, only ever touched by the ticker thread except for the deadline
+        private transient volatile long         deadline;
+        private transient long                  remainingRounds;
+        private transient WheelBucket           bucket;
+        private transient TimingWheelJobHandle  wheelPrevious;
+        private transient TimingWheelJobHandle  wheelNext;
+
+        public TimingWheelJobHandle(long id) {
+            super( id );
+        }
+
+        public long getDeadline() {
+            return deadline;
+        }
+    }
+
+    private static class WheelBucket {
+        private TimingWheelJobHandle head;
+        private TimingWheelJobHandle tail;
+
+        void add(TimingWheelJobHandle handle) {
+            handle.bucket = this;
+            if ( tail == null ) {
+                head = tail = handle;
+            } else {
+                tail.wheelNext = handle;
+                handle.wheelPrevious = tail;
+                tail = handle;
+            }
+        }
+
+        void remove(TimingWheelJobHandle handle) {
+            TimingWheelJobHandle previous = handle.wheelPrevious;
+            TimingWheelJobHandle next = handle.wheelNext;
+            if ( previous == null ) {
+                head = next;
+            } else {
+                previous.wheelNext = next;
+            }
+            if ( next == null ) {
+                tail = previous;
+            } else {
+                next.wheelPrevious = previous;
+            }
+            handle.wheelPrevious = null;
+            handle.wheelNext = null;
+            handle.bucket = null;
+        }
+
+        /**
+         * Moves the handles due by the given deadline to the expired list, dropping the cancelled ones.
+         * Returns the number of handles removed from this bucket.
+         */
+        int expire(long tickDeadline, List<TimingWheelJobHandle> expired) {
+            int removed = 0;
+            TimingWheelJobHandle handle = head;
+            while ( handle != null ) {
+                TimingWheelJobHandle next = handle.wheelNext;
+                if ( handle.isCancel() ) {
+                    remove( handle );
+                    removed++;
+                } else if ( handle.remainingRounds <= 0 && handle.deadline <= tickDeadline ) {
+                    remove( handle );
+                    expired.add( handle );
+                    removed++;
+                } else {
+                    handle.remainingRounds--;
+                }
+                handle = next;
+            }
+            return removed;
+        }
+
+        void clear() {
+            TimingWheelJobHandle handle = head;
+            while ( handle != null ) {
+                TimingWheelJobHandle next = handle.wheelNext;
+                handle.wheelPrevious = null;
+                handle.wheelNext = null;
+                handle.bucket = null;
+                handle = next;
+            }
+            head = tail = null;
+        }
+    }
+
+    private class Ticker implements Runnable {
+
+        private volatile boolean running = true;
+
+        private volatile boolean parked;
+
+        // the deadline of the first tick with a non empty bucket, Long.MAX_VALUE when the wheel is empty
+        private volatile long nextTickDeadline = Long.MAX_VALUE;
+
+        private volatile Thread thread;
+
+        // each ticker owns its wheel, so a reset never races with a ticker still winding down
+        private final WheelBucket[] wheel = new WheelBucket[wheelSize];
+
+        private final long startTime = System.currentTimeMillis();
+
+        private long tick;
+
+        // the number of handles linked in the wheel
+        private int size;
+
+        private final List<TimingWheelJobHandle> expired = new ArrayList<TimingWheelJobHandle>();
+
+        Ticker() {
+            for ( int i = 0; i < wheel.length; i++ ) {
+                wheel[i] = new WheelBucket();
+            }
+        }
+
+        void start() {
+            thread = new Thread( this, "drools-timing-wheel" );
+            thread.setDaemon( true );
+            thread.start();
+        }
+
+        public void run() {
+            while ( running ) {
+                if ( size == 0 ) {
+                    parkWhileEmpty();
+                    if ( !running ) {
+                        break;
+                    }
+                }
+                long tickDeadline = waitForNextTick();
+                if ( !running ) {
+                    break;
+                }
+                processCancels();
+                transferPendingAdds();
+                size -= wheel[(int) ( tick & mask )].expire( tickDeadline, expired );
+                tick++;
+                fire();
+                updateNextTickDeadline();
+            }
+            for ( WheelBucket bucket : wheel ) {
+                bucket.clear();
+            }
+        }
+
+        void stop() {
+            running = false;
+            LockSupport.unpark( thread );
+        }
+
+        void wakeUp() {
+            if ( parked ) {
+                LockSupport.unpark( thread );
+            }
+        }
+
+        private void parkWhileEmpty() {
+            processCancels();
+            if ( !pendingAdds.isEmpty() ) {
+                return;
+            }
+            parked = true;
+            // check again after publishing the parked flag, so that a concurrent schedule cannot be missed
+            while ( running && pendingAdds.isEmpty() ) {
+                LockSupport.park( this );
+            }
+            parked = false;
+            // the wheel is empty, so it can skip the ticks elapsed while parked
+            tick = Math.max( tick, ( System.currentTimeMillis() - startTime ) / tickMillis );
+        }
+
+        private void updateNextTickDeadline() {
+            if ( size == 0 ) {
+                nextTickDeadline = Long.MAX_VALUE;
+                return;
+            }
+            for ( int i = 0; i < wheel.length; i++ ) {
+                if ( wheel[(int) ( ( tick + i ) & mask )].head != null ) {
+                    nextTickDeadline = startTime + ( tick + i + 1 ) * tickMillis;
+                    return;
+                }
+            }
+        }
+
+        private long waitForNextTick() {
+            long tickDeadline = startTime + ( tick + 1 ) * tickMillis;
+            while ( running ) {
+                long sleepTime = tickDeadline - System.currentTimeMillis();
+                if ( sleepTime <= 0 ) {
+                    break;
+                }
+                try {
+                    Thread.sleep( sleepTime );
+                } catch ( InterruptedException e ) {
+                    Thread.currentThread().interrupt();
+                    running = false;
+                }
+            }
+            return tickDeadline;
+        }
+
+        private void processCancels() {
+            for ( TimingWheelJobHandle handle = pendingCancels.poll(); handle != null; handle = pendingCancels.poll() ) {
+                if ( handle.bucket != null ) {
+                    handle.bucket.remove( handle );
+                    size--;
+                }
+            }
+        }
+
+        private void transferPendingAdds() {
+            // cap the transfer so that producers outpacing the ticker cannot stall it
+            for ( int i = 0; i < 100000; i++ ) {
+                TimingWheelJobHandle handle = pendingAdds.poll();
+                if ( handle == null ) {
+                    break;
+                }
+                if ( handle.isCancel() ) {
+                    continue;
+                }
+                long calculated = Math.max( 0, handle.deadline - startTime ) / tickMillis;
+                handle.remainingRounds = ( calculated - tick ) / wheel.length;
+                // jobs already overdue go in the current bucket
+                long ticks = Math.max( calculated, tick );
+                wheel[(int) ( ticks & mask )].add( handle );
+                size++;
+            }
+        }
+
+        private void fire() {
+            for ( int i = 0, size = expired.size(); i < size; i++ ) {
+                TimingWheelJobHandle handle = expired.get( i );
+                if ( handle.isCancel() ) {
+                    continue;
+                }
+                TimerJobInstance jobInstance = handle.getTimerJobInstance();
+                try {
+                    ( (Callable<Void>) jobInstance ).call();
+                } catch ( Exception e ) {
+                    // already logged by the job instance, keep the wheel going
+                }
+                if ( !handle.isCancel() && jobInstance.getTrigger().hasNextFireTime() == null ) {
+                    // not rescheduled, so it won't fire again
+                    jobFactoryManager.removeTimerJobInstance( jobInstance );
+                }
+            }
+            expired.clear();
+        }
+    }
+}
@@ -351,6 +351,18 @@ public abstract class AbstractHashTable
                             declaration.getValue( null, tuple.getObject( declaration ) ) ) :
                    extractor.getValue( null, tuple.getFactHandle().getObject() );
         }
+
+        public boolean requiresCoercion() {
+            return this.requiresCoercion;
+        }
+
+        private InternalReadAccessor readerOf(boolean left) {
+            return left ? declaration.getExtractor() : extractor;
+        }
+
+        private Object objectOf(Tuple tuple, boolean left) {
+            return left ? tuple.getObject( declaration ) : tuple.getFactHandle().getObject();
+        }
     }
 
     public interface Index extends Externalizable {
@@ -490,6 +502,196 @@ public abstract class AbstractHashTable
         }
     }
 
+    /**
+     * A single field index for integral values (byte, short, int and long, or their boxed counterpart) having
+     * the same type on both sides of the join. The values are read and compared as primitive longs, so that
+     * neither the index key nor the join values need to be boxed and compared through equals().
+     */
+    public static class LongSingleIndex
+        implements
+        Index {
+
+        private static final long    serialVersionUID = 510l;
+
+        private FieldIndex           index;
+
+        private int                  startResult;
+
+        public LongSingleIndex() {
+
+        }
+
+        public LongSingleIndex(final FieldIndex[] indexes,
+                               final int startResult) {
+            this.startResult = startResult;
+            this.index = indexes[0];
+        }
+
+        public void readExternal(ObjectInput in) throws IOException,
+                                                ClassNotFoundException {
+            index = (FieldIndex) in.readObject();
+            startResult = in.readInt();
+        }
+
+        public void writeExternal(ObjectOutput out) throws IOException {
+            out.writeObject( index );
+            out.writeInt( startResult );
+        }
+
+        public FieldIndex getFieldIndex(int index) {
+            if ( index > 0 ) {
+                throw new IllegalArgumentException( "IndexUtil position " + index + " does not exist" );
+            }
+            return this.index;
+        }
+
+        public int hashCodeOf(final Tuple tuple, boolean left) {
+            final InternalReadAccessor reader = index.readerOf( left );
+            final Object object = index.objectOf( tuple, left );
+            final int hashCode = reader.isNullValue( null, object ) ? 0 : Long.hashCode( reader.getLongValue( null, object ) );
+            return rehash( PRIME * startResult + hashCode );
+        }
+
+        public boolean equal(final Object right,
+                             final Tuple tuple) {
+            final InternalReadAccessor leftReader = this.index.declaration.getExtractor();
+            final Object left = tuple.getObject( this.index.declaration );
+            if ( leftReader.isNullValue( null, left ) ) {
+                return this.index.extractor.isNullValue( null, right );
+            }
+            return !this.index.extractor.isNullValue( null, right ) &&
+                   leftReader.getLongValue( null, left ) == this.index.extractor.getLongValue( null, right );
+        }
+
+        public boolean equal(final TupleList list,
+                             final Object object2) {
+            return ( (LongIndexTupleList) list ).matches( this.index.extractor, object2 );
+        }
+
+        public boolean equal(final TupleList list,
+                             final Tuple tuple2) {
+            return ( (LongIndexTupleList) list ).matches( this.index.declaration.getExtractor(),
+                                                          tuple2.getObject( this.index.declaration ) );
+        }
+
+        public TupleList createEntry(Tuple tuple, int hashCode, boolean left) {
+            return new LongIndexTupleList( this, tuple, hashCode, left );
+        }
+    }
+
+    public static class LongIndexTupleList extends AbstractIndexTupleList {
+        private long    indexKey;
+        private boolean nullKey;
+
+        public LongIndexTupleList( LongSingleIndex index, Tuple tuple, int hashCode, boolean left ) {
+            super( index, hashCode );
+            final InternalReadAccessor reader = index.index.readerOf( left );
+            final Object object = index.index.objectOf( tuple, left );
+            nullKey = reader.isNullValue( null, object );
+            indexKey = nullKey ? 0 : reader.getLongValue( null, object );
+        }
+
+        private boolean matches(InternalReadAccessor reader, Object object) {
+            if ( reader.isNullValue( null, object ) ) {
+                return nullKey;
+            }
+            return !nullKey && indexKey == reader.getLongValue( null, object );
+        }
+
+        protected void copyStateInto(TupleList other) {
+            super.copyStateInto( other );
+            ( (LongIndexTupleList) other ).indexKey = indexKey;
+            ( (LongIndexTupleList) other ).nullKey = nullKey;
+        }
+    }
+
+    /**
+     * A single field index for String values on both sides of the join, comparing the index key directly
+     * instead of going through the generic IndexEvaluator.
+     */
+    public static class StringSingleIndex
+        implements
+        Index {
+
+        private static final long    serialVersionUID = 510l;
+
+        private FieldIndex           index;
+
+        private int                  startResult;
+
+        public StringSingleIndex() {
+
+        }
+
+        public StringSingleIndex(final FieldIndex[] indexes,
+                                 final int startResult) {
+            this.startResult = startResult;
+            this.index = indexes[0];
+        }
+
+        public void readExternal(ObjectInput in) throws IOException,
+                                                ClassNotFoundException {
+            index = (FieldIndex) in.readObject();
+            startResult = in.readInt();
+        }
+
+        public void writeExternal(ObjectOutput out) throws IOException {
+            out.writeObject( index );
+            out.writeInt( startResult );
+        }
+
+        public FieldIndex getFieldIndex(int index) {
+            if ( index > 0 ) {
+                throw new IllegalArgumentException( "IndexUtil position " + index + " does not exist" );
+            }
+            return this.index;
+        }
+
+        public int hashCodeOf(final Tuple tuple, boolean left) {
+            return rehash( PRIME * startResult + Objects.hashCode( valueOf( tuple, left ) ) );
+        }
+
+        private String valueOf(final Tuple tuple, boolean left) {
+            return (String) index.readerOf( left ).getValue( null, index.objectOf( tuple, left ) );
+        }
+
+        public boolean equal(final Object right,
+                             final Tuple tuple) {
+            return Objects.equals( this.index.declaration.getExtractor().getValue( null, tuple.getObject( this.index.declaration ) ),
+                                   this.index.extractor.getValue( null, right ) );
+        }
+
+        public boolean equal(final TupleList list,
+                             final Object object2) {
+            return Objects.equals( ( (StringIndexTupleList) list ).indexKey,
+                                   this.index.extractor.getValue( null, object2 ) );
+        }
+
+        public boolean equal(final TupleList list,
+                             final Tuple tuple2) {
+            return Objects.equals( ( (StringIndexTupleList) list ).indexKey,
+                                   this.index.declaration.getExtractor().getValue( null, tuple2.getObject( this.index.declaration ) ) );
+        }
+
+        public TupleList createEntry(Tuple tuple, int hashCode, boolean left) {
+            return new StringIndexTupleList( this, tuple, hashCode, left );
+        }
+    }
+
+    public static class StringIndexTupleList extends AbstractIndexTupleList {
+        private String indexKey;
+
+        public StringIndexTupleList( StringSingleIndex index, Tuple tuple, int hashCode, boolean left ) {
+            super( index, hashCode );
+            indexKey = index.valueOf( tuple, left );
+        }
+
+        protected void copyStateInto(TupleList other) {
+            super.copyStateInto( other );
+            ( (StringIndexTupleList) other ).indexKey = indexKey;
+        }
+    }
+
     public static class DoubleCompositeIndex
         implements
         Index {
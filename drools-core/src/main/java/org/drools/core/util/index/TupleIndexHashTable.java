@@ -16,8 +16,10 @@
 
 package org.drools.core.util.index;
 
+import org.drools.core.base.ValueType;
 import org.drools.core.common.InternalFactHandle;
 import org.drools.core.reteoo.TupleMemory;
+import org.drools.core.rule.constraint.MvelConstraint;
 import org.drools.core.spi.Tuple;
 import org.drools.core.util.AbstractHashTable;
 import org.drools.core.util.Entry;
@@ -73,8 +75,8 @@ public class TupleIndexHashTable extends AbstractHashTable implements TupleMemor
             case 0 :
                 throw new IllegalArgumentException( "FieldIndexHashTable cannot use an index[] of length  0" );
             case 1 :
-                this.index = new SingleIndex( index,
-                                              this.startResult );
+                this.index = createSingleIndex( index,
+                                                this.startResult );
                 break;
             case 2 :
                 this.index = new DoubleCompositeIndex( index,
@@ -89,6 +91,25 @@ public class TupleIndexHashTable extends AbstractHashTable implements TupleMemor
         }
     }
 
+    /**
+     * Chooses the Index implementation for a single field from the ValueType of the indexed field: when both
+     * sides of the join have the same integral or String type the key is stored and compared without
+     * going through the generic IndexEvaluator and, for the integral types, without any boxing.
+     */
+    private static Index createSingleIndex( FieldIndex[] index, int startResult ) {
+        FieldIndex fieldIndex = index[0];
+        if ( !fieldIndex.requiresCoercion() && fieldIndex.getEvaluator() instanceof MvelConstraint.PlainIndexEvaluator ) {
+            ValueType valueType = fieldIndex.getExtractor().getValueType();
+            if ( valueType.isIntegerNumber() ) {
+                return new LongSingleIndex( index, startResult );
+            }
+            if ( valueType == ValueType.STRING_TYPE ) {
+                return new StringSingleIndex( index, startResult );
+            }
+        }
+        return new SingleIndex( index, startResult );
+    }
+
     public void readExternal(ObjectInput in) throws IOException,
                                             ClassNotFoundException {
         super.readExternal( in );
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.base.accumulators;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.drools.core.base.accumulators.CollectListAccumulateFunction.CollectListData;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class IncrementalCollectAccumulateFunctionTest {
+
+    @Test
+    public void testListChangeSet() {
+        IncrementalCollectListAccumulateFunction function = new IncrementalCollectListAccumulateFunction();
+        CollectListData data = function.createContext();
+        function.init( data );
+
+        function.accumulate( data, "a" );
+        function.accumulate( data, "b" );
+        function.accumulate( data, "c" );
+        IncrementalCollection<?> result = (IncrementalCollection<?>) function.getResult( data );
+        assertEquals( 3, result.size() );
+        assertEquals( Arrays.asList( "a", "b", "c" ), result.getAdded() );
+        assertTrue( result.getRemoved().isEmpty() );
+        CollectionChangeSet.propagated( result );
+
+        function.reverse( data, "a" );
+        function.accumulate( data, "d" );
+        // an element added and removed between two results is not reported
+        function.accumulate( data, "e" );
+        function.reverse( data, "e" );
+        result = (IncrementalCollection<?>) function.getResult( data );
+        assertEquals( new HashSet<Object>( Arrays.asList( "b", "c", "d" ) ), new HashSet<Object>( result ) );
+        assertEquals( Arrays.asList( "d" ), result.getAdded() );
+        assertEquals( Arrays.asList( "a" ), result.getRemoved() );
+        CollectionChangeSet.propagated( result );
+
+        result = (IncrementalCollection<?>) function.getResult( data );
+        assertTrue( result.getAdded().isEmpty() );
+        assertTrue( result.getRemoved().isEmpty() );
+    }
+
+    @Test
+    public void testListDuplicates() {
+        IncrementalCollectListAccumulateFunction function = new IncrementalCollectListAccumulateFunction();
+        CollectListData data = function.createContext();
+        function.init( data );
+
+        for ( int i = 0; i < 10; i++ ) {
+            function.accumulate( data, i % 3 );
+        }
+        function.reverse( data, 0 );
+        function.reverse( data, 1 );
+        function.reverse( data, 0 );
+
+        assertEquals( 7, data.list.size() );
+        assertEquals( 2, count( data, 0 ) );
+        assertEquals( 2, count( data, 1 ) );
+        assertEquals( 3, count( data, 2 ) );
+
+        // the positions index must still be consistent after the swaps
+        function.reverse( data, 2 );
+        function.reverse( data, 2 );
+        function.reverse( data, 2 );
+        function.reverse( data, 2 );
+        assertEquals( 4, data.list.size() );
+        assertEquals( 0, count( data, 2 ) );
+    }
+
+    @Test
+    public void testListInitReportsSeenElements() throws Exception {
+        IncrementalCollectListAccumulateFunction function = new IncrementalCollectListAccumulateFunction();
+        CollectListData data = function.createContext();
+        function.init( data );
+
+        function.accumulate( data, "a" );
+        CollectionChangeSet.propagated( function.getResult( data ) );
+        function.accumulate( data, "b" );
+
+        data = serialize( data );
+        function.init( data );
+        IncrementalCollection<?> result = (IncrementalCollection<?>) function.getResult( data );
+        assertTrue( result.isEmpty() );
+        assertTrue( result.getAdded().isEmpty() );
+        assertEquals( Arrays.asList( "a" ), result.getRemoved() );
+    }
+
+    @Test
+    public void testSetChangeSet() {
+        IncrementalCollectSetAccumulateFunction function = new IncrementalCollectSetAccumulateFunction();
+        CollectSetAccumulateFunction.CollectListData data = function.createContext();
+        function.init( data );
+
+        function.accumulate( data, "a" );
+        function.accumulate( data, "a" );
+        function.accumulate( data, "b" );
+        IncrementalCollection<?> result = (IncrementalCollection<?>) function.getResult( data );
+        assertEquals( 2, result.size() );
+        assertEquals( Arrays.asList( "a", "b" ), result.getAdded() );
+        CollectionChangeSet.propagated( result );
+
+        // "a" is still in the set, so it is not reported as removed
+        function.reverse( data, "a" );
+        function.reverse( data, "b" );
+        result = (IncrementalCollection<?>) function.getResult( data );
+        assertTrue( result.contains( "a" ) );
+        assertTrue( result.getAdded().isEmpty() );
+        assertEquals( Arrays.asList( "b" ), result.getRemoved() );
+    }
+
+    @Test
+    public void testChangesKeptUntilPropagated() {
+        IncrementalCollectListAccumulateFunction function = new IncrementalCollectListAccumulateFunction();
+        CollectListData data = function.createContext();
+        function.init( data );
+
+        function.accumulate( data, "a" );
+        // a result rejected by the result constraints is never propagated
+        function.getResult( data );
+        function.accumulate( data, "b" );
+        IncrementalCollection<?> result = (IncrementalCollection<?>) function.getResult( data );
+        assertEquals( Arrays.asList( "a", "b" ), result.getAdded() );
+
+        // a stale result does not reset the changes that happened after it
+        function.reverse( data, "a" );
+        CollectionChangeSet.propagated( result );
+        result = (IncrementalCollection<?>) function.getResult( data );
+        assertEquals( Arrays.asList( "b" ), result.getAdded() );
+
+        CollectionChangeSet.propagated( new Object[] { result } );
+        result = (IncrementalCollection<?>) function.getResult( data );
+        assertTrue( result.getAdded().isEmpty() );
+        assertTrue( result.getRemoved().isEmpty() );
+    }
+
+    @Test
+    public void testChangeSetCountsDuplicates() {
+        CollectionChangeSet changes = new CollectionChangeSet();
+        for ( int i = 0; i < 3; i++ ) {
+            changes.added( "a" );
+        }
+        changes.removed( "a" );
+        changes.removed( "b" );
+        assertEquals( Arrays.asList( "a", "a" ), changes.getAdded() );
+        assertEquals( Arrays.asList( "b" ), changes.getRemoved() );
+
+        changes.cleared( Arrays.asList( "a", "a", "c" ) );
+        assertTrue( changes.getAdded().isEmpty() );
+        assertEquals( Arrays.asList( "b", "c" ), changes.getRemoved() );
+    }
+
+    private int count( CollectListData data, Object value ) {
+        int count = 0;
+        for ( Object element : data.list ) {
+            if ( element.equals( value ) ) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends Serializable> T serialize( T data ) throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream( baos )) {
+            out.writeObject( data );
+        }
+        try (ObjectInputStream in = new ObjectInputStream( new ByteArrayInputStream( baos.toByteArray() ) )) {
+            return (T) in.readObject();
+        }
+    }
+}
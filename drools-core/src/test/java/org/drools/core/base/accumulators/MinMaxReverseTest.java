@@ -0,0 +1,185 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.base.accumulators;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Externalizable;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class MinMaxReverseTest {
+
+    @Test
+    public void testMaxReverse() {
+        MaxAccumulateFunction function = new MaxAccumulateFunction();
+        MaxAccumulateFunction.MaxData data = function.createContext();
+        function.init( data );
+        assertTrue( function.supportsReverse() );
+
+        function.accumulate( data, "b" );
+        function.accumulate( data, "c" );
+        function.accumulate( data, "c" );
+        function.accumulate( data, "a" );
+        assertEquals( "c", function.getResult( data ) );
+
+        // the same value has been accumulated twice
+        function.reverse( data, "c" );
+        assertEquals( "c", function.getResult( data ) );
+        function.reverse( data, "c" );
+        assertEquals( "b", function.getResult( data ) );
+
+        function.reverse( data, "b" );
+        function.reverse( data, "a" );
+        assertNull( function.getResult( data ) );
+    }
+
+    @Test
+    public void testIntegerMinReverse() {
+        IntegerMinAccumulateFunction function = new IntegerMinAccumulateFunction();
+        IntegerMinAccumulateFunction.MaxData data = function.createContext();
+        function.init( data );
+
+        function.accumulate( data, 5 );
+        function.accumulate( data, 3 );
+        function.accumulate( data, null );
+        function.accumulate( data, 8 );
+        assertEquals( 3, function.getResult( data ) );
+
+        function.reverse( data, null );
+        function.reverse( data, 3 );
+        assertEquals( 5, function.getResult( data ) );
+    }
+
+    @Test
+    public void testNumericMaxReverse() {
+        NumericMaxAccumulateFunction function = new NumericMaxAccumulateFunction();
+        NumericMaxAccumulateFunction.MaxData data = function.createContext();
+        function.init( data );
+
+        function.accumulate( data, 1 );
+        function.accumulate( data, 2.5d );
+        function.accumulate( data, 2L );
+        assertEquals( 2.5d, function.getResult( data ) );
+
+        function.reverse( data, 2.5d );
+        assertEquals( 2L, function.getResult( data ) );
+    }
+
+    @Test
+    public void testNumericMinSerialization() throws Exception {
+        NumericMinAccumulateFunction function = new NumericMinAccumulateFunction();
+        NumericMinAccumulateFunction.MaxData data = function.createContext();
+        function.init( data );
+
+        function.accumulate( data, 4 );
+        function.accumulate( data, 1.5d );
+        function.accumulate( data, 1.5d );
+
+        NumericMinAccumulateFunction.MaxData copy = serialize( data );
+        assertEquals( 1.5d, function.getResult( copy ) );
+        function.reverse( copy, 1.5d );
+        assertEquals( 1.5d, function.getResult( copy ) );
+        function.reverse( copy, 1.5d );
+        assertEquals( 4, function.getResult( copy ) );
+    }
+
+    @Test
+    public void testNumericMaxKeepsEqualValuesOfDifferentTypes() {
+        NumericMaxAccumulateFunction function = new NumericMaxAccumulateFunction();
+        NumericMaxAccumulateFunction.MaxData data = function.createContext();
+        function.init( data );
+
+        function.accumulate( data, 1 );
+        function.accumulate( data, 1.0d );
+        function.reverse( data, 1 );
+        assertEquals( 1.0d, function.getResult( data ) );
+
+        function.accumulate( data, 1 );
+        function.reverse( data, 1.0d );
+        assertEquals( 1, function.getResult( data ) );
+    }
+
+    @Test
+    public void testNumericTieOrderedByType() {
+        NumericMinAccumulateFunction min = new NumericMinAccumulateFunction();
+        NumericMinAccumulateFunction.MaxData minData = min.createContext();
+        min.init( minData );
+        min.accumulate( minData, 1 );
+        min.accumulate( minData, 1.0d );
+        assertEquals( 1.0d, min.getResult( minData ) );
+
+        NumericMaxAccumulateFunction max = new NumericMaxAccumulateFunction();
+        NumericMaxAccumulateFunction.MaxData maxData = max.createContext();
+        max.init( maxData );
+        max.accumulate( maxData, 1.0d );
+        max.accumulate( maxData, 1 );
+        assertEquals( 1, max.getResult( maxData ) );
+    }
+
+    @Test
+    public void testReadLegacyFormat() throws Exception {
+        // the old contexts only hold the extreme, which can't be reversed
+        try {
+            readLegacy( new LongMaxAccumulateFunction.MaxData(), 7L );
+            fail( "A legacy context with a result can't be restored" );
+        } catch (InvalidObjectException e) {
+            // expected
+        }
+        try {
+            readLegacy( new NumericMinAccumulateFunction.MaxData(), 2.5d );
+            fail( "A legacy context with a result can't be restored" );
+        } catch (InvalidObjectException e) {
+            // expected
+        }
+
+        // an empty one is fully described by its null result
+        MaxAccumulateFunction.MaxData emptyData = readLegacy( new MaxAccumulateFunction.MaxData(), null );
+        assertNull( new MaxAccumulateFunction().getResult( emptyData ) );
+        new MaxAccumulateFunction().accumulate( emptyData, 3 );
+        assertEquals( 3, new MaxAccumulateFunction().getResult( emptyData ) );
+    }
+
+    private <T extends Externalizable> T readLegacy( T data, Object extreme ) throws Exception {
+        // before the accumulated values were tracked, the contexts only wrote the current extreme
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream( baos )) {
+            out.writeObject( extreme );
+        }
+        try (ObjectInputStream in = new ObjectInputStream( new ByteArrayInputStream( baos.toByteArray() ) )) {
+            data.readExternal( in );
+        }
+        return data;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends Serializable> T serialize( T data ) throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream( baos )) {
+            out.writeObject( data );
+        }
+        try (ObjectInputStream in = new ObjectInputStream( new ByteArrayInputStream( baos.toByteArray() ) )) {
+            return (T) in.readObject();
+        }
+    }
+}
@@ -8,12 +8,16 @@ import org.junit.runners.Parameterized;
 
 import java.math.BigDecimal;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
 
 import static org.hamcrest.CoreMatchers.*;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
 
 @RunWith(Parameterized.class)
 public class ClassAwareObjectStoreTest {
@@ -157,6 +161,44 @@ public class ClassAwareObjectStoreTest {
     }
 
 
+    @Test
+    public void lookupsAndIterationsCanRunWhileInserting() throws Exception {
+        assumeTrue(underTest.isConcurrent());
+
+        final int count = 10000;
+        final List<SubClass> objects = new ArrayList<SubClass>(count);
+        for (int i = 0; i < count; i++) {
+            objects.add(new SubClass());
+        }
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> inserts = executor.submit(new Runnable() {
+                @Override
+                public void run() {
+                    for (SubClass object : objects) {
+                        insertObjectWithFactHandle(object);
+                    }
+                }
+            });
+
+            while (!inserts.isDone()) {
+                int seen = collect(underTest.iterateObjects(SuperClass.class)).size();
+                assertTrue(seen <= count);
+                underTest.getHandleForObject(objects.get(seen > 0 ? seen - 1 : 0));
+            }
+            inserts.get();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(underTest.size(), is(equalTo(count)));
+        assertThat(collect(underTest.iterateObjects(SuperClass.class)).size(), is(equalTo(count)));
+        for (SubClass object : objects) {
+            assertThat(underTest.getHandleForObject(object).getObject(), is(sameInstance((Object) object)));
+        }
+    }
+
     private void insertObjectWithFactHandle(Object objectToInsert) {
         underTest.addHandle(handleFor(objectToInsert), objectToInsert);
     }
@@ -173,19 +215,21 @@ public class ClassAwareObjectStoreTest {
         return result;
     }
 
-    public ClassAwareObjectStoreTest(RuleBaseConfiguration ruleBaseConfiguration) {
-        underTest = new ClassAwareObjectStore(ruleBaseConfiguration, new ReentrantLock());
+    public ClassAwareObjectStoreTest(RuleBaseConfiguration ruleBaseConfiguration, boolean concurrent) {
+        underTest = new ClassAwareObjectStore(ruleBaseConfiguration, new ReentrantLock(), concurrent);
     }
 
     @Parameterized.Parameters
     public static Collection<Object[]> ruleBaseConfigurations() {
-        List<Object[]> configurations = new ArrayList<Object[]>(2);
-        configurations.add(new Object[]{new RuleBaseConfiguration() {{
-            setAssertBehaviour(AssertBehaviour.EQUALITY);
-        }}});
-        configurations.add(new Object[]{new RuleBaseConfiguration() {{
-            setAssertBehaviour(AssertBehaviour.IDENTITY);
-        }}});
+        List<Object[]> configurations = new ArrayList<Object[]>(4);
+        for (boolean concurrent : new boolean[] { false, true }) {
+            configurations.add(new Object[]{new RuleBaseConfiguration() {{
+                setAssertBehaviour(AssertBehaviour.EQUALITY);
+            }}, concurrent});
+            configurations.add(new Object[]{new RuleBaseConfiguration() {{
+                setAssertBehaviour(AssertBehaviour.IDENTITY);
+            }}, concurrent});
+        }
         return configurations;
     }
 
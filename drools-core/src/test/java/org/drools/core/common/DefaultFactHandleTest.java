@@ -0,0 +1,77 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.common;
+
+import org.drools.core.factmodel.traits.TraitTypeEnum;
+import org.drools.core.test.model.Cheese;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class DefaultFactHandleTest {
+
+    @Test
+    public void testRarelyUsedStateDefaults() {
+        DefaultFactHandle handle = new DefaultFactHandle( 1, new Cheese( "stilton", 10 ) );
+
+        assertFalse( handle.isNegated() );
+        assertFalse( handle.isDisconnected() );
+        assertFalse( handle.isTraitOrTraitable() );
+        assertEquals( TraitTypeEnum.NON_TRAIT, handle.getTraitType() );
+        assertNull( handle.getParentHandle() );
+        assertEquals( Cheese.class.getName(), handle.getObjectClassName() );
+
+        handle.setNegated( true );
+        handle.setParentHandle( new DefaultFactHandle( 2, "parent" ) );
+        assertTrue( handle.isNegated() );
+        assertEquals( 2, handle.getParentHandle().getId() );
+
+        DefaultFactHandle clone = handle.clone();
+        assertTrue( clone.isNegated() );
+        assertFalse( clone.isDisconnected() );
+
+        handle.setNegated( false );
+        handle.setParentHandle( null );
+        assertFalse( handle.isNegated() );
+        assertNull( handle.getParentHandle() );
+    }
+
+    @Test
+    public void testObjectClassNameOutlivesObject() {
+        DefaultFactHandle handle = new DefaultFactHandle( 1, new Cheese( "stilton", 10 ) );
+        handle.setObject( null );
+        assertEquals( Cheese.class.getName(), handle.getObjectClassName() );
+
+        handle.setObject( "brie" );
+        assertEquals( String.class.getName(), handle.getObjectClassName() );
+    }
+
+    @Test
+    public void testExternalForm() {
+        DefaultFactHandle handle = new DefaultFactHandle( 1, new Cheese( "stilton", 10 ) );
+        handle.disconnect();
+        assertTrue( handle.isDisconnected() );
+
+        DefaultFactHandle restored = DefaultFactHandle.createFromExternalFormat( handle.toExternalForm() );
+        assertTrue( restored.isDisconnected() );
+        assertEquals( 1, restored.getId() );
+        assertEquals( handle.getObjectHashCode(), restored.getObjectHashCode() );
+        assertEquals( TraitTypeEnum.NON_TRAIT, restored.getTraitType() );
+        assertEquals( Cheese.class.getName(), restored.getObjectClassName() );
+        assertEquals( handle.toExternalForm(), restored.toExternalForm() );
+    }
+}
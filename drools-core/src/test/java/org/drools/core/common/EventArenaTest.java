@@ -0,0 +1,170 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.common;
+
+import java.sql.Timestamp;
+import java.util.Date;
+
+import org.drools.core.WorkingMemoryEntryPoint;
+import org.drools.core.base.ClassFieldAccessorCache;
+import org.drools.core.base.ClassFieldAccessorStore;
+import org.drools.core.factmodel.ClassBuilder;
+import org.drools.core.factmodel.ClassBuilderFactory;
+import org.drools.core.factmodel.ClassDefinition;
+import org.drools.core.factmodel.FieldDefinition;
+import org.drools.core.rule.JavaDialectRuntimeData;
+import org.drools.core.rule.JavaDialectRuntimeData.PackageClassLoader;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.drools.core.util.ClassUtils.convertClassToResourcePath;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+
+public class EventArenaTest {
+
+    private ClassDefinition classDef;
+
+    @Before
+    public void setUp() throws Exception {
+        classDef = new ClassDefinition( "org.drools.test.ArenaEvent" );
+        classDef.addField( new FieldDefinition( "id", "long" ) );
+        classDef.addField( new FieldDefinition( "count", "int" ) );
+        classDef.addField( new FieldDefinition( "price", "java.lang.Double" ) );
+        classDef.addField( new FieldDefinition( "name", "java.lang.String" ) );
+        classDef.addField( new FieldDefinition( "date", "java.util.Date" ) );
+
+        JavaDialectRuntimeData data = new JavaDialectRuntimeData();
+        ClassLoader classLoader = new PackageClassLoader( data, ProjectClassLoader.createProjectClassLoader() );
+        ClassBuilder builder = new ClassBuilderFactory().getBeanClassBuilder();
+        data.write( convertClassToResourcePath( classDef.getClassName() ), builder.buildClass( classDef, classLoader ) );
+
+        Class<?> clazz = classLoader.loadClass( classDef.getClassName() );
+        classDef.setDefinedClass( clazz );
+
+        ClassFieldAccessorStore store = new ClassFieldAccessorStore();
+        store.setClassFieldAccessorCache( new ClassFieldAccessorCache( classLoader ) );
+        store.setEagerWire( true );
+        for ( FieldDefinition field : classDef.getFieldsDefinitions() ) {
+            field.setReadWriteAccessor( store.getAccessor( clazz, field.getName() ) );
+        }
+    }
+
+    @Test
+    public void testWriteAndRead() throws Exception {
+        assertTrue( EventArena.isSupported( classDef ) );
+        EventArena arena = new EventArena( classDef );
+
+        Date date = new Date();
+        Object event = newEvent( 42L, 7, 3.5, "IBM", date );
+        int slot = arena.allocate();
+        arena.write( slot, event );
+        assertEquals( 1, arena.size() );
+
+        Object copy = arena.read( slot );
+        assertNotSame( event, copy );
+        assertEquals( 42L, classDef.get( copy, "id" ) );
+        assertEquals( 7, classDef.get( copy, "count" ) );
+        assertEquals( 3.5, classDef.get( copy, "price" ) );
+        assertEquals( "IBM", classDef.get( copy, "name" ) );
+        assertEquals( date, classDef.get( copy, "date" ) );
+    }
+
+    @Test
+    public void testNullValues() throws Exception {
+        EventArena arena = new EventArena( classDef );
+
+        int slot = arena.allocate();
+        arena.write( slot, newEvent( 1L, 0, null, null, null ) );
+
+        Object copy = arena.read( slot );
+        assertNull( classDef.get( copy, "price" ) );
+        assertNull( classDef.get( copy, "name" ) );
+        assertNull( classDef.get( copy, "date" ) );
+    }
+
+    @Test
+    public void testSlotsAreReusedAfterFree() throws Exception {
+        EventArena arena = new EventArena( classDef );
+
+        int[] slots = new int[1000];
+        for ( int i = 0; i < slots.length; i++ ) {
+            slots[i] = arena.allocate();
+            arena.write( slots[i], newEvent( i, i, (double) i, "event-" + i, null ) );
+        }
+        assertEquals( 1000, arena.size() );
+
+        for ( int i = 0; i < slots.length; i += 2 ) {
+            arena.free( slots[i] );
+        }
+        assertEquals( 500, arena.size() );
+
+        int reused = arena.allocate();
+        assertTrue( reused < slots.length );
+        arena.write( reused, newEvent( -1L, -1, -1.0, "reused", null ) );
+        assertEquals( "reused", classDef.get( arena.read( reused ), "name" ) );
+
+        for ( int i = 1; i < slots.length; i += 2 ) {
+            Object copy = arena.read( slots[i] );
+            assertEquals( (long) i, classDef.get( copy, "id" ) );
+            assertEquals( "event-" + i, classDef.get( copy, "name" ) );
+        }
+    }
+
+    @Test
+    public void testHandleMaterializesFromArena() throws Exception {
+        EventArena arena = new EventArena( classDef );
+        Object event = newEvent( 5L, 5, 5.0, "five", null );
+
+        OffHeapEventFactHandle handle = new OffHeapEventFactHandle( 1, event, 1, 0, 0, mock( WorkingMemoryEntryPoint.class ), false, arena );
+        assertTrue( handle.isOffHeap() );
+        assertEquals( 1, arena.size() );
+        assertEquals( "five", classDef.get( handle.getObject(), "name" ) );
+
+        handle.releaseOffHeap();
+        assertFalse( handle.isOffHeap() );
+        assertEquals( 0, arena.size() );
+        assertEquals( "five", classDef.get( handle.getObject(), "name" ) );
+    }
+
+    @Test
+    public void testDateSubclassStaysOnHeap() throws Exception {
+        EventArena arena = new EventArena( classDef );
+        Object event = newEvent( 6L, 6, 6.0, "six", new Date() );
+
+        OffHeapEventFactHandle handle = new OffHeapEventFactHandle( 1, event, 1, 0, 0, mock( WorkingMemoryEntryPoint.class ), false, arena );
+        assertTrue( handle.isOffHeap() );
+
+        Timestamp timestamp = new Timestamp( 1000L );
+        classDef.set( event, "date", timestamp );
+        handle.updateOffHeap( event );
+        assertFalse( handle.isOffHeap() );
+        assertEquals( 0, arena.size() );
+        assertSame( event, handle.getObject() );
+        assertSame( timestamp, classDef.get( handle.getObject(), "date" ) );
+    }
+
+    private Object newEvent(long id, int count, Double price, String name, Date date) throws Exception {
+        Object event = classDef.newInstance();
+        classDef.set( event, "id", id );
+        classDef.set( event, "count", count );
+        classDef.set( event, "price", price );
+        classDef.set( event, "name", name );
+        classDef.set( event, "date", date );
+        return event;
+    }
+}
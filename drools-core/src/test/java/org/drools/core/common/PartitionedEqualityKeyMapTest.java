@@ -0,0 +1,135 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.common;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.drools.core.test.model.Cheese;
+import org.drools.core.util.Iterator;
+import org.drools.core.util.ObjectHashMap.ObjectEntry;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class PartitionedEqualityKeyMapTest {
+
+    @Test
+    public void testPutGetRemove() {
+        PartitionedEqualityKeyMap map = new PartitionedEqualityKeyMap();
+
+        EqualityKey cheese = newKey( 1, new Cheese( "stilton", 10 ) );
+        EqualityKey string = newKey( 2, "stilton" );
+        map.put( cheese, cheese, false );
+        map.put( string, string, false );
+
+        assertEquals( 2, map.size() );
+        assertEquals( 2, map.getPartitionsCount() );
+        assertSame( cheese, map.get( new Cheese( "stilton", 10 ) ) );
+        assertSame( string, map.get( "stilton" ) );
+        assertSame( cheese, map.get( cheese ) );
+        assertNull( map.get( new Cheese( "brie", 10 ) ) );
+
+        assertSame( cheese, map.remove( new Cheese( "stilton", 10 ) ) );
+        assertNull( map.get( cheese ) );
+        assertSame( string, map.remove( string ) );
+        assertTrue( map.isEmpty() );
+    }
+
+    @Test
+    public void testCollidingKeys() {
+        PartitionedEqualityKeyMap map = new PartitionedEqualityKeyMap();
+
+        EqualityKey[] keys = new EqualityKey[100];
+        for ( int i = 0; i < keys.length; i++ ) {
+            keys[i] = newKey( i, new Colliding( i ) );
+            map.put( keys[i], keys[i], false );
+        }
+        assertEquals( 100, map.size() );
+
+        // removing from the middle of the probe sequences must not hide the following keys
+        for ( int i = 0; i < keys.length; i += 2 ) {
+            assertSame( keys[i], map.remove( new Colliding( i ) ) );
+        }
+        assertEquals( 50, map.size() );
+        for ( int i = 0; i < keys.length; i++ ) {
+            if ( i % 2 == 0 ) {
+                assertNull( map.get( new Colliding( i ) ) );
+            } else {
+                assertSame( keys[i], map.get( new Colliding( i ) ) );
+            }
+        }
+    }
+
+    @Test
+    public void testRemoveEmptiedKey() {
+        PartitionedEqualityKeyMap map = new PartitionedEqualityKeyMap();
+
+        InternalFactHandle handle = new DefaultFactHandle( 1, "stilton" );
+        EqualityKey key = new EqualityKey( handle );
+        map.put( key, key, false );
+
+        // a key can be removed after its last handle
+        key.removeFactHandle( handle );
+        assertSame( key, map.remove( key ) );
+        assertTrue( map.isEmpty() );
+    }
+
+    @Test
+    public void testIterator() {
+        PartitionedEqualityKeyMap map = new PartitionedEqualityKeyMap();
+
+        Set<EqualityKey> expected = new HashSet<EqualityKey>();
+        for ( int i = 0; i < 50; i++ ) {
+            EqualityKey key = newKey( i, i % 2 == 0 ? (Object) ( "cheese" + i ) : new Cheese( "cheese" + i, i ) );
+            map.put( key, key, false );
+            expected.add( key );
+        }
+
+        Set<EqualityKey> found = new HashSet<EqualityKey>();
+        Iterator it = map.iterator();
+        for ( ObjectEntry entry = (ObjectEntry) it.next(); entry != null; entry = (ObjectEntry) it.next() ) {
+            found.add( (EqualityKey) entry.getKey() );
+        }
+        assertEquals( expected, found );
+        assertEquals( 50, map.toArray().length );
+
+        map.clear();
+        assertTrue( map.isEmpty() );
+        assertNull( map.iterator().next() );
+    }
+
+    private static EqualityKey newKey( long id, Object object ) {
+        return new EqualityKey( new DefaultFactHandle( id, object ), EqualityKey.JUSTIFIED );
+    }
+
+    private static class Colliding {
+        private final int value;
+
+        private Colliding( int value ) {
+            this.value = value;
+        }
+
+        public int hashCode() {
+            return value % 3;
+        }
+
+        public boolean equals( Object obj ) {
+            return obj instanceof Colliding && ( (Colliding) obj ).value == value;
+        }
+    }
+}
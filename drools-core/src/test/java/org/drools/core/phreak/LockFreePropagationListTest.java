@@ -0,0 +1,137 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.phreak;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.drools.core.common.InternalWorkingMemory;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+
+public class LockFreePropagationListTest {
+
+    @Test
+    public void testTakeAllPreservesInsertionOrder() {
+        LockFreePropagationList list = new LockFreePropagationList( mock( InternalWorkingMemory.class ) );
+        assertTrue( list.isEmpty() );
+        assertNull( list.takeAll() );
+
+        for (int i = 0; i < 5; i++) {
+            list.addEntry( new TestEntry( 0, i, false ) );
+        }
+        assertFalse( list.isEmpty() );
+
+        Iterator<PropagationEntry> iterator = list.iterator();
+        for (int i = 0; i < 5; i++) {
+            assertEquals( i, ( (TestEntry) iterator.next() ).seq );
+        }
+        assertFalse( iterator.hasNext() );
+
+        PropagationEntry head = list.takeAll();
+        assertTrue( list.isEmpty() );
+        int expected = 0;
+        for (PropagationEntry entry = head; entry != null; entry = entry.getNext()) {
+            assertEquals( expected++, ( (TestEntry) entry ).seq );
+        }
+        assertEquals( 5, expected );
+    }
+
+    @Test
+    public void testEntriesDeferringExpiration() {
+        LockFreePropagationList list = new LockFreePropagationList( mock( InternalWorkingMemory.class ) );
+        list.addEntry( new TestEntry( 0, 0, false ) );
+        assertFalse( list.hasEntriesDeferringExpiration() );
+        list.addEntry( new TestEntry( 0, 1, true ) );
+        assertTrue( list.hasEntriesDeferringExpiration() );
+
+        list.takeAll();
+        assertFalse( list.hasEntriesDeferringExpiration() );
+    }
+
+    @Test(timeout = 10000)
+    public void testConcurrentProducers() throws Exception {
+        final int producers = 4;
+        final int entriesPerProducer = 10000;
+        final LockFreePropagationList list = new LockFreePropagationList( mock( InternalWorkingMemory.class ) );
+        final CountDownLatch start = new CountDownLatch( 1 );
+
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int p = 0; p < producers; p++) {
+            final int producer = p;
+            Thread t = new Thread( () -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException( e );
+                }
+                for (int i = 0; i < entriesPerProducer; i++) {
+                    list.addEntry( new TestEntry( producer, i, false ) );
+                }
+            } );
+            threads.add( t );
+            t.start();
+        }
+        start.countDown();
+
+        int[] lastSeq = new int[producers];
+        Arrays.fill( lastSeq, -1 );
+        int taken = 0;
+        boolean running = true;
+        while (running) {
+            running = false;
+            for (Thread t : threads) {
+                running |= t.isAlive();
+            }
+            for (PropagationEntry entry = list.takeAll(); entry != null; entry = entry.getNext()) {
+                TestEntry testEntry = (TestEntry) entry;
+                // entries coming from the same producer must be drained in the order they have been added
+                assertEquals( lastSeq[testEntry.producer] + 1, testEntry.seq );
+                lastSeq[testEntry.producer] = testEntry.seq;
+                taken++;
+            }
+        }
+
+        assertEquals( producers * entriesPerProducer, taken );
+        assertTrue( list.isEmpty() );
+    }
+
+    private static class TestEntry extends PropagationEntry.AbstractPropagationEntry {
+        private final int producer;
+        private final int seq;
+        private final boolean defersExpiration;
+
+        private TestEntry( int producer, int seq, boolean defersExpiration ) {
+            this.producer = producer;
+            this.seq = seq;
+            this.defersExpiration = defersExpiration;
+        }
+
+        @Override
+        public void execute( InternalWorkingMemory wm ) { }
+
+        @Override
+        public boolean defersExpiration() {
+            return defersExpiration;
+        }
+    }
+}
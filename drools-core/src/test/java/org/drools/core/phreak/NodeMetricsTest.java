@@ -0,0 +1,71 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.phreak;
+
+import org.drools.core.common.TupleSets;
+import org.drools.core.common.TupleSetsImpl;
+import org.drools.core.reteoo.LeftTuple;
+import org.drools.core.reteoo.LeftTupleImpl;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class NodeMetricsTest {
+
+    @Test
+    public void testRecordTupleSets() {
+        TupleSets<LeftTuple> tuples = new TupleSetsImpl<LeftTuple>();
+        tuples.addInsert( new LeftTupleImpl() );
+        tuples.addInsert( new LeftTupleImpl() );
+        tuples.addUpdate( new LeftTupleImpl() );
+        tuples.addDelete( new LeftTupleImpl() );
+        tuples.addDelete( new LeftTupleImpl() );
+        tuples.addDelete( new LeftTupleImpl() );
+
+        NodeMetrics metrics = new NodeMetrics();
+        metrics.recordLeftInput( tuples );
+        metrics.recordOutput( tuples );
+        metrics.recordOutput( tuples );
+
+        assertEquals( 2, metrics.getLeftInserts() );
+        assertEquals( 1, metrics.getLeftUpdates() );
+        assertEquals( 3, metrics.getLeftDeletes() );
+        assertEquals( 4, metrics.getOutputInserts() );
+        assertEquals( 2, metrics.getOutputUpdates() );
+        assertEquals( 6, metrics.getOutputDeletes() );
+        assertEquals( 0, metrics.getRightInserts() );
+    }
+
+    @Test
+    public void testIndexHitRatio() {
+        NodeMetrics metrics = new NodeMetrics();
+        assertEquals( 0.0, metrics.getIndexHitRatio(), 0.0 );
+
+        metrics.recordIndexLookups( 8, 2 );
+        metrics.recordIndexLookups( 2, 2 );
+        assertEquals( 0.4, metrics.getIndexHitRatio(), 0.0001 );
+
+        metrics.recordEvaluation( 100 );
+        metrics.recordEvaluation( 50 );
+        assertEquals( 2, metrics.getEvaluations() );
+        assertEquals( 150, metrics.getEvaluationNanos() );
+
+        metrics.reset();
+        assertEquals( 0, metrics.getEvaluations() );
+        assertEquals( 0, metrics.getIndexCandidates() );
+    }
+}
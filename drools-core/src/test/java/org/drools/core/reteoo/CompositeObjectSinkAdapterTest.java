@@ -30,6 +30,7 @@ import org.drools.core.base.ClassFieldAccessorStore;
 import org.drools.core.base.ValueType;
 import org.drools.core.base.field.LongFieldImpl;
 import org.drools.core.base.field.ObjectFieldImpl;
+import org.drools.core.common.DefaultFactHandle;
 import org.drools.core.common.DisconnectedWorkingMemoryEntryPoint;
 import org.drools.core.common.EmptyBetaConstraints;
 import org.drools.core.common.InternalFactHandle;
@@ -49,9 +50,11 @@ import org.junit.Before;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 public class CompositeObjectSinkAdapterTest {
@@ -444,6 +447,88 @@ public class CompositeObjectSinkAdapterTest {
         assertNull( ad.hashedSinkMap );
     }    
 
+    @Test
+    public void testRangeIndexedAlphas() {
+        final CompositeObjectSinkAdapter ad = new CompositeObjectSinkAdapter();
+        final InternalReadAccessor extractor = store.getReader( Cheese.class,
+                                                                "price" );
+
+        final AlphaNode gt10 = createRangeAlpha( "price > 10", 10, extractor );
+        final AlphaNode gt20 = createRangeAlpha( "price > 20", 20, extractor );
+        final AlphaNode lt15 = createRangeAlpha( "price < 15", 15, extractor );
+
+        ad.addObjectSink( gt10 );
+        ad.addObjectSink( gt20 );
+
+        // under the threshold the comparisons are evaluated as any other sink
+        assertEquals( 2,
+                      ad.otherSinks.size() );
+        assertEquals( 1,
+                      ad.rangeIndexes.size() );
+        assertFalse( ad.rangeIndexes.getFirst().isIndexed() );
+
+        ad.addObjectSink( lt15 );
+
+        //this should now be nicely indexed.
+        assertNull( ad.otherSinks );
+        assertTrue( ad.rangeIndexes.getFirst().isIndexed() );
+        assertEquals( 3,
+                      ad.size() );
+        assertEquals( 3,
+                      ad.getSinks().length );
+
+        // test propagation
+        final MockObjectSink gt10Sink = (MockObjectSink) gt10.getObjectSinkPropagator().getSinks()[0];
+        final MockObjectSink gt20Sink = (MockObjectSink) gt20.getObjectSinkPropagator().getSinks()[0];
+        final MockObjectSink lt15Sink = (MockObjectSink) lt15.getObjectSinkPropagator().getSinks()[0];
+
+        ad.propagateAssertObject( new DefaultFactHandle( 1, new Cheese( "brie", 12 ) ), null, null );
+        assertEquals( 1, gt10Sink.getAsserted().size() );
+        assertEquals( 0, gt20Sink.getAsserted().size() );
+        assertEquals( 1, lt15Sink.getAsserted().size() );
+
+        ad.propagateAssertObject( new DefaultFactHandle( 2, new Cheese( "brie", 20 ) ), null, null );
+        assertEquals( 2, gt10Sink.getAsserted().size() );
+        assertEquals( 0, gt20Sink.getAsserted().size() );
+        assertEquals( 1, lt15Sink.getAsserted().size() );
+
+        ad.propagateAssertObject( new DefaultFactHandle( 3, new Cheese( "brie", 10 ) ), null, null );
+        assertEquals( 2, gt10Sink.getAsserted().size() );
+        assertEquals( 0, gt20Sink.getAsserted().size() );
+        assertEquals( 2, lt15Sink.getAsserted().size() );
+
+        ad.removeObjectSink( gt20 );
+
+        // back under the threshold
+        assertFalse( ad.rangeIndexes.getFirst().isIndexed() );
+        assertEquals( 2,
+                      ad.otherSinks.size() );
+        assertEquals( 2,
+                      ad.getSinks().length );
+    }
+
+    @Test
+    public void testSortableDoubleKeys() {
+        final double[] values = new double[] { Double.NEGATIVE_INFINITY, -1.5e10, -2.0, -1.0, -0.5, 0.0, 0.25, 1.0, 3.5e8, Double.POSITIVE_INFINITY };
+        for ( int i = 1; i < values.length; i++ ) {
+            assertTrue( AlphaRangeIndex.toSortableLong( values[i - 1] ) < AlphaRangeIndex.toSortableLong( values[i] ) );
+        }
+        assertEquals( AlphaRangeIndex.toSortableLong( 0.0 ),
+                      AlphaRangeIndex.toSortableLong( -0.0 ) );
+    }
+
+    private AlphaNode createRangeAlpha( String expression, int value, InternalReadAccessor extractor ) {
+        final MvelConstraint constraint = new MvelConstraintTestUtil( expression,
+                                                                      new LongFieldImpl( value ),
+                                                                      extractor );
+        final AlphaNode alphaNode = new AlphaNode( buildContext.getNextId(),
+                                                   constraint,
+                                                   new MockObjectSource( buildContext.getNextId() ),
+                                                   buildContext );
+        alphaNode.addObjectSink( new MockObjectSink() );
+        return alphaNode;
+    }
+
     @Test
     public void testPropagationWithNullValue() {
 
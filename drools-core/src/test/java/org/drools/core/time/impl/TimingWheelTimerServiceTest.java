@@ -0,0 +1,234 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.time.impl;
+
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.drools.core.ClockType;
+import org.drools.core.SessionConfiguration;
+import org.drools.core.time.InternalSchedulerService;
+import org.drools.core.time.Job;
+import org.drools.core.time.JobContext;
+import org.drools.core.time.JobHandle;
+import org.drools.core.time.TimerService;
+import org.drools.core.time.TimerServiceFactory;
+import org.drools.core.time.Trigger;
+import org.drools.core.time.impl.JDKTimerServiceTest.DelayedTrigger;
+import org.drools.core.time.impl.JDKTimerServiceTest.HelloWorldJob;
+import org.drools.core.time.impl.JDKTimerServiceTest.HelloWorldJobContext;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TimingWheelTimerServiceTest {
+
+    private TimerService newTimerService() {
+        Properties props = new Properties();
+        props.setProperty( "drools.timerService", TimingWheelTimerService.class.getName() );
+        SessionConfiguration config = SessionConfiguration.newInstance( props );
+        config.setClockType( ClockType.REALTIME_CLOCK );
+        return TimerServiceFactory.getTimerService( config );
+    }
+
+    @Test
+    public void testSelectedThroughConfiguration() {
+        TimerService timeService = newTimerService();
+        assertTrue( timeService instanceof TimingWheelTimerService );
+        assertEquals( 512, ( (TimingWheelTimerService) timeService ).getWheelSize() );
+        assertEquals( 16, new TimingWheelTimerService( 1, 10 ).getWheelSize() );
+        timeService.shutdown();
+    }
+
+    @Test
+    public void testSingleExecutionJob() throws Exception {
+        TimerService timeService = newTimerService();
+        HelloWorldJobContext ctx = new HelloWorldJobContext( "hello world", timeService );
+        CountDownLatch fired = new CountDownLatch( 1 );
+        timeService.scheduleJob( new CountDownJob( fired ), ctx, new DelayedTrigger( 100 ) );
+        assertTrue( fired.await( 5, TimeUnit.SECONDS ) );
+        timeService.shutdown();
+        assertEquals( 1, ctx.getList().size() );
+    }
+
+    @Test
+    public void testRepeatedExecutionJobWithRemove() throws Exception {
+        TimerService timeService = newTimerService();
+        HelloWorldJobContext ctx = new HelloWorldJobContext( "hello world", timeService );
+        timeService.scheduleJob( new HelloWorldJob(), ctx, new DelayedTrigger( new long[] {100, 100, 100, 100, 100, 100, 100, 100} ) );
+        // the job removes itself at its fifth execution, before the later job fires
+        awaitJobAt( timeService, 300 );
+        timeService.shutdown();
+        assertEquals( 5, ctx.getList().size() );
+    }
+
+    @Test
+    public void testCancelBeforeFiring() throws Exception {
+        TimerService timeService = newTimerService();
+        HelloWorldJobContext ctx = new HelloWorldJobContext( "hello world", timeService );
+        JobHandle handle = timeService.scheduleJob( new HelloWorldJob(), ctx, new DelayedTrigger( 200 ) );
+        assertTrue( timeService.removeJob( handle ) );
+        awaitJobAt( timeService, 300 );
+        timeService.shutdown();
+        assertEquals( 0, ctx.getList().size() );
+    }
+
+    @Test
+    public void testManyJobsBeyondOneRevolution() throws Exception {
+        // 4 slots of 10ms, so most of the jobs need more than one revolution
+        TimingWheelTimerService timeService = new TimingWheelTimerService( 10, 4 );
+        int jobs = 200;
+        HelloWorldJobContext[] ctxs = new HelloWorldJobContext[jobs];
+        CountDownLatch fired = new CountDownLatch( jobs / 2 );
+        for ( int i = 0; i < jobs; i++ ) {
+            ctxs[i] = new HelloWorldJobContext( "job " + i, timeService );
+            JobHandle handle = timeService.scheduleJob( new CountDownJob( fired ), ctxs[i], new DelayedTrigger( 10 + ( i % 50 ) * 5 ) );
+            if ( i % 2 == 1 ) {
+                timeService.removeJob( handle );
+            }
+        }
+        assertTrue( fired.await( 5, TimeUnit.SECONDS ) );
+        awaitJobAt( timeService, 300 );
+        timeService.shutdown();
+        for ( int i = 0; i < jobs; i++ ) {
+            assertEquals( "job " + i, i % 2 == 0 ? 1 : 0, ctxs[i].getList().size() );
+        }
+    }
+
+    @Test
+    public void testTimeToNextJob() throws Exception {
+        TimingWheelTimerService timeService = new TimingWheelTimerService( 10, 64 );
+        assertEquals( -1, timeService.getTimeToNextJob() );
+
+        HelloWorldJobContext ctx = new HelloWorldJobContext( "hello world", timeService );
+        CountDownLatch fired = new CountDownLatch( 1 );
+        long scheduled = System.currentTimeMillis();
+        timeService.scheduleJob( new CountDownJob( fired ), ctx, new DelayedTrigger( 1000 ) );
+        long timeToNextJob = timeService.getTimeToNextJob();
+        assertTrue( timeToNextJob > 900 && timeToNextJob <= 1000 );
+
+        // once a first job has fired, the other one has been transferred to the wheel and is still reported
+        awaitJobAt( timeService, 20 );
+        long elapsed = System.currentTimeMillis() - scheduled;
+        timeToNextJob = timeService.getTimeToNextJob();
+        assertTrue( timeToNextJob > 0 && timeToNextJob <= 1000 + 2 * timeService.getTickMillis() - elapsed );
+
+        assertTrue( fired.await( 5, TimeUnit.SECONDS ) );
+        awaitParkedTicker();
+        assertEquals( 1, ctx.getList().size() );
+        assertEquals( -1, timeService.getTimeToNextJob() );
+        timeService.shutdown();
+    }
+
+    @Test
+    public void testFiredJobsAreRemoved() throws Exception {
+        TimingWheelTimerService timeService = new TimingWheelTimerService( 10, 64 );
+        timeService.setTimerJobFactoryManager( new TrackableTimeJobFactoryManager() {
+            @Override
+            public TimerJobInstance createTimerJobInstance( Job job, JobContext ctx, Trigger trigger, JobHandle handle, InternalSchedulerService scheduler ) {
+                ctx.setJobHandle( handle );
+                return new DefaultTimerJobInstance( job, ctx, trigger, handle, scheduler );
+            }
+        } );
+
+        HelloWorldJobContext ctx = new HelloWorldJobContext( "hello world", timeService );
+        CountDownLatch fired = new CountDownLatch( 2 );
+        timeService.scheduleJob( new CountDownJob( fired ), ctx, new DelayedTrigger( new long[] {50, 50} ) );
+        assertEquals( 1, timeService.getTimerJobInstances( 0 ).size() );
+        assertTrue( fired.await( 5, TimeUnit.SECONDS ) );
+        awaitParkedTicker();
+        assertEquals( 2, ctx.getList().size() );
+        assertTrue( timeService.getTimerJobInstances( 0 ).isEmpty() );
+        timeService.shutdown();
+    }
+
+    @Test
+    public void testTickerParksWhenEmpty() throws Exception {
+        TimingWheelTimerService timeService = new TimingWheelTimerService( 10, 64 );
+        HelloWorldJobContext ctx = new HelloWorldJobContext( "hello world", timeService );
+        CountDownLatch fired = new CountDownLatch( 2 );
+        timeService.scheduleJob( new CountDownJob( fired ), ctx, new DelayedTrigger( 20 ) );
+        awaitParkedTicker();
+        assertEquals( 1, ctx.getList().size() );
+
+        // a parked ticker is woken up by the next job
+        timeService.scheduleJob( new CountDownJob( fired ), ctx, new DelayedTrigger( 20 ) );
+        assertTrue( fired.await( 5, TimeUnit.SECONDS ) );
+        assertEquals( 2, ctx.getList().size() );
+        timeService.shutdown();
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void testScheduleAfterShutdown() {
+        TimingWheelTimerService timeService = new TimingWheelTimerService( 10, 64 );
+        timeService.shutdown();
+        timeService.scheduleJob( new HelloWorldJob(), new HelloWorldJobContext( "hello world", timeService ), new DelayedTrigger( 20 ) );
+    }
+
+    /**
+     * Schedules a job at the given delay and waits for it. The wheel fires the jobs in the order of their ticks,
+     * so once it has fired every job due in an earlier tick has fired, or been dropped if cancelled.
+     */
+    private void awaitJobAt( TimerService timeService, long delay ) throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch( 1 );
+        timeService.scheduleJob( new CountDownJob( fired ), new HelloWorldJobContext( "sentinel", timeService ), new DelayedTrigger( delay ) );
+        assertTrue( fired.await( 5, TimeUnit.SECONDS ) );
+    }
+
+    /**
+     * Waits for the ticker to have emptied its wheel and parked, i.e. for every scheduled job to be done
+     */
+    private void awaitParkedTicker() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while ( findParkedTicker() == null ) {
+            if ( System.currentTimeMillis() > deadline ) {
+                throw new AssertionError( "No parked ticker thread" );
+            }
+            Thread.yield();
+        }
+    }
+
+    private Thread findParkedTicker() {
+        for ( Thread thread : Thread.getAllStackTraces().keySet() ) {
+            if ( thread.getName().equals( "drools-timing-wheel" ) && thread.isAlive() &&
+                 thread.getState() == Thread.State.WAITING ) {
+                return thread;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Runs a HelloWorldJob and then counts down a latch, so that tests can wait for the executions
+     */
+    private static class CountDownJob extends HelloWorldJob {
+        private final CountDownLatch latch;
+
+        private CountDownJob( CountDownLatch latch ) {
+            this.latch = latch;
+        }
+
+        @Override
+        public void execute( JobContext ctx ) {
+            super.execute( ctx );
+            latch.countDown();
+        }
+    }
+}
@@ -615,4 +615,91 @@ public class RightTupleIndexHashTableTest {
         assertNull( map.getFirst( new LeftTupleImpl( stiltonHandle, null, true ) ) );
     }
 
+    @Test
+    public void testPrimitiveIntIndex() throws Exception {
+        final InternalReadAccessor extractor = store.getReader( Cheese.class,
+                                                                "price" );
+
+        final Pattern pattern = new Pattern( 0,
+                                             new ClassObjectType( Cheese.class ) );
+
+        final Declaration declaration = new Declaration( "priceOfCheese",
+                                                         extractor,
+                                                         pattern );
+
+        final FieldIndex fieldIndex = new FieldIndex( extractor,
+                                                      declaration,
+                                                      MvelConstraint.INDEX_EVALUATOR );
+
+        final TupleIndexHashTable map = new TupleIndexHashTable( new FieldIndex[]{fieldIndex}, false );
+        assertTrue( map.getIndex() instanceof AbstractHashTable.LongSingleIndex );
+
+        final RightTuple stiltonRightTuple = new RightTupleImpl( new DefaultFactHandle( 1,
+                                                                                        new Cheese( "stilton", 35 ) ),
+                                                                 null );
+        map.add( stiltonRightTuple );
+        map.add( new RightTupleImpl( new DefaultFactHandle( 2,
+                                                            new Cheese( "cheddar", 10 ) ),
+                                     null ) );
+
+        final RightTuple brieRightTuple = new RightTupleImpl( new DefaultFactHandle( 3,
+                                                                                     new Cheese( "brie", 35 ) ),
+                                                              null );
+        map.add( brieRightTuple );
+
+        assertEquals( 3,
+                      map.size() );
+
+        final Tuple tuple = map.getFirst( new LeftTupleImpl( new DefaultFactHandle( 4,
+                                                                                    new Cheese( "gouda", 35 ) ),
+                                                             null,
+                                                             true ) );
+        assertSame( stiltonRightTuple,
+                    tuple );
+        assertSame( brieRightTuple,
+                    tuple.getNext() );
+        assertNull( tuple.getNext().getNext() );
+
+        assertNull( map.getFirst( new LeftTupleImpl( new DefaultFactHandle( 5,
+                                                                            new Cheese( "gouda", 36 ) ),
+                                                     null,
+                                                     true ) ) );
+
+        map.remove( stiltonRightTuple );
+        map.remove( brieRightTuple );
+        assertEquals( 1,
+                      map.size() );
+    }
+
+    @Test
+    public void testStringIndex() throws Exception {
+        final InternalReadAccessor extractor = store.getReader( Cheese.class,
+                                                                "type" );
+
+        final Declaration declaration = new Declaration( "typeOfCheese",
+                                                         extractor,
+                                                         new Pattern( 0,
+                                                                      new ClassObjectType( Cheese.class ) ) );
+
+        final TupleIndexHashTable map = new TupleIndexHashTable( new FieldIndex[]{new FieldIndex( extractor,
+                                                                                                  declaration,
+                                                                                                  MvelConstraint.INDEX_EVALUATOR )}, false );
+        assertTrue( map.getIndex() instanceof AbstractHashTable.StringSingleIndex );
+
+        final RightTuple nullTypeRightTuple = new RightTupleImpl( new DefaultFactHandle( 1,
+                                                                                         new Cheese( null, 35 ) ),
+                                                                  null );
+        map.add( nullTypeRightTuple );
+
+        assertSame( nullTypeRightTuple,
+                    map.getFirst( new LeftTupleImpl( new DefaultFactHandle( 2,
+                                                                            new Cheese( null, 10 ) ),
+                                                     null,
+                                                     true ) ) );
+        assertNull( map.getFirst( new LeftTupleImpl( new DefaultFactHandle( 3,
+                                                                            new Cheese( "stilton", 35 ) ),
+                                                     null,
+                                                     true ) ) );
+    }
+
 }
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.api.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Default batch evaluation of {@link DMNRuntime}, made of one single evaluation per context.
+ */
+final class BatchEvaluation {
+
+    private BatchEvaluation() {
+    }
+
+    /**
+     * Applies the given single evaluation to each of the contexts, in the calling thread
+     * or, when an executor is given, in parallel on it.
+     */
+    static List<DMNResult> evaluateEach( List<DMNContext> contexts, Executor executor, Function<DMNContext, DMNResult> evaluation ) {
+        List<DMNResult> results = new ArrayList<>( contexts.size() );
+        if ( executor == null ) {
+            for ( DMNContext context : contexts ) {
+                results.add( evaluation.apply( context ) );
+            }
+            return results;
+        }
+        List<CompletableFuture<DMNResult>> futures = new ArrayList<>( contexts.size() );
+        for ( DMNContext context : contexts ) {
+            futures.add( CompletableFuture.supplyAsync( () -> evaluation.apply( context ), executor ) );
+        }
+        try {
+            for ( CompletableFuture<DMNResult> future : futures ) {
+                results.add( future.join() );
+            }
+        } catch ( CompletionException e ) {
+            if ( e.getCause() instanceof RuntimeException ) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        return results;
+    }
+}
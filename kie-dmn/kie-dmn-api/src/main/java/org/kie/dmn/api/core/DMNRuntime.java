@@ -17,6 +17,7 @@
 package org.kie.dmn.api.core;
 
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import org.kie.dmn.api.core.event.DMNRuntimeEventManager;
 
@@ -64,6 +65,25 @@ public interface DMNRuntime extends DMNRuntimeEventManager {
      */
     DMNResult evaluateAll( DMNModel model, DMNContext context );
 
+    /**
+     * Evaluate all decisions for the model, once for each of the given contexts.
+     * By default this is the same as calling {@link #evaluateAll(DMNModel, DMNContext)} for each
+     * context, while an implementation may resolve the decisions to evaluate once for the whole batch.
+     *
+     * When an executor is given the contexts are evaluated in parallel on it, so any
+     * registered listener must be thread-safe.
+     *
+     * @param model the model to evaluate
+     * @param contexts the contexts with all the input variables, one per evaluation
+     * @param executor the executor to evaluate the contexts on, or null to
+     *                 evaluate them in the calling thread
+     *
+     * @return the results of the evaluations, in the same order as the contexts
+     */
+    default List<DMNResult> evaluateAll( DMNModel model, List<DMNContext> contexts, Executor executor ) {
+        return BatchEvaluation.evaluateEach( contexts, executor, context -> evaluateAll( model, context ) );
+    }
+
     /**
      * Evaluate the decision identified by the given name and
      * all dependent decisions, given the context
@@ -109,6 +129,28 @@ public interface DMNRuntime extends DMNRuntimeEventManager {
      */
     DMNResult evaluateByName( DMNModel model, DMNContext context, String... decisionNames );
 
+    /**
+     * Evaluate all decisions identified by the given names and
+     * all dependent decisions, once for each of the given contexts.
+     * By default this is the same as calling {@link #evaluateByName(DMNModel, DMNContext, String...)} for each
+     * context, while an implementation may resolve the decisions to evaluate once for the whole batch.
+     *
+     * When an executor is given the contexts are evaluated in parallel on it, so any
+     * registered listener must be thread-safe.
+     *
+     * @param model the model to evaluate
+     * @param contexts the contexts with all the input variables, one per evaluation
+     * @param executor the executor to evaluate the contexts on, or null to
+     *                 evaluate them in the calling thread
+     * @param decisionNames list of root decisions to evaluate, identified
+     *                     by name
+     *
+     * @return the results of the evaluations, in the same order as the contexts
+     */
+    default List<DMNResult> evaluateByName( DMNModel model, List<DMNContext> contexts, Executor executor, String... decisionNames ) {
+        return BatchEvaluation.evaluateEach( contexts, executor, context -> evaluateByName( model, context, decisionNames ) );
+    }
+
     /**
      * Evaluate all decision identified by the given IDs and
      * all dependent decisions, given the context
@@ -122,9 +122,13 @@ public class DMNAssemblerService implements KieAssemblerService {
         enrichDMNResourcesWithImportsDependencies(dmnResources, dmnModels);
         List<DMNResource> sortedDmnResources = DMNResourceDependenciesSorter.sort(dmnResources);
 
-        for (DMNResource dmnRes : sortedDmnResources) {
-            DMNModel dmnModel = internalAddResource(kbuilderImpl, dmnCompiler, dmnRes.getResAndConfig(), dmnModels);
-            dmnModels.add(dmnModel);
+        try {
+            for (DMNResource dmnRes : sortedDmnResources) {
+                DMNModel dmnModel = internalAddResource(kbuilderImpl, dmnCompiler, dmnRes.getResAndConfig(), dmnModels);
+                dmnModels.add(dmnModel);
+            }
+        } finally {
+            clearFEELCompilationCache(dmnCompiler);
         }
     }
 
@@ -167,7 +171,21 @@ public class DMNAssemblerService implements KieAssemblerService {
             }
         }
 
-        compileResourceToModel(kbuilderImpl, dmnCompiler, resource, dmnModels);
+        try {
+            compileResourceToModel(kbuilderImpl, dmnCompiler, resource, dmnModels);
+        } finally {
+            clearFEELCompilationCache(dmnCompiler);
+        }
+    }
+
+    /**
+     * The compiler is kept by the packages as a cloning resource, so its cache of compiled FEEL expressions
+     * is only used while the resources of a build are compiled and must not stay in memory with the kbase.
+     */
+    private static void clearFEELCompilationCache(DMNCompiler dmnCompiler) {
+        if (dmnCompiler instanceof DMNCompilerImpl && ((DMNCompilerImpl) dmnCompiler).getFEELCompilationCache() != null) {
+            ((DMNCompilerImpl) dmnCompiler).getFEELCompilationCache().clear();
+        }
     }
 
     private DMNModel compileResourceToModel(KnowledgeBuilderImpl kbuilderImpl, DMNCompiler dmnCompiler, Resource resource, Collection<DMNModel> dmnModels) {
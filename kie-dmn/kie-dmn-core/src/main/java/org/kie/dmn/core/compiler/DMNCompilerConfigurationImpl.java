@@ -81,6 +81,8 @@ public class DMNCompilerConfigurationImpl implements DMNCompilerConfiguration {
             return (T) new CoerceDecisionServiceSingletonOutputOption(properties.get(CoerceDecisionServiceSingletonOutputOption.PROPERTY_NAME));
         } else if (ExecModelCompilerOption.class.equals(option)) {
             return (T) new ExecModelCompilerOption(properties.get(ExecModelCompilerOption.PROPERTY_NAME));
+        } else if (FEELCompilationCacheOption.class.equals(option)) {
+            return (T) new FEELCompilationCacheOption(properties.get(FEELCompilationCacheOption.PROPERTY_NAME));
         }
         return null;
     }
@@ -22,6 +22,8 @@ import java.io.Reader;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
@@ -103,6 +105,8 @@ public class DMNCompilerImpl implements DMNCompiler {
 
     private final DMNEvaluatorCompiler evaluatorCompiler;
     private DMNCompilerConfiguration dmnCompilerConfig;
+    private final DMNFEELCompilationCache feelCompilationCache;
+    private List<Object> feelCompilationScope;
     private Deque<DRGElementCompiler> drgCompilers = new LinkedList<>();
     {
         drgCompilers.add( new InputDataCompiler() );
@@ -121,6 +125,31 @@ public class DMNCompilerImpl implements DMNCompiler {
         DMNCompilerConfigurationImpl cc = (DMNCompilerConfigurationImpl) dmnCompilerConfig;
         addDRGElementCompilers(cc.getDRGElementCompilers());
         this.evaluatorCompiler = DMNEvaluatorCompiler.dmnEvaluatorCompilerFactory(this, cc);
+        int feelCacheSize = cc.getOption(FEELCompilationCacheOption.class).getSize();
+        this.feelCompilationCache = feelCacheSize > 0 ? new DMNFEELCompilationCache(feelCacheSize) : null;
+    }
+
+    /**
+     * Returns the cache of compiled FEEL expressions shared by the models compiled with this compiler, or null if disabled
+     */
+    public DMNFEELCompilationCache getFEELCompilationCache() {
+        return feelCompilationCache;
+    }
+
+    /**
+     * The configuration can still be changed after this compiler has been created, so the cache is cleared
+     * whenever a model is compiled with other FEEL profiles or another class loader than the previous one.
+     */
+    private synchronized DMNFEELCompilationCache getFEELCompilationCache(ClassLoader classLoader, List<FEELProfile> feelProfiles) {
+        if (feelCompilationCache == null) {
+            return null;
+        }
+        List<Object> scope = Arrays.asList(classLoader, new ArrayList<>(feelProfiles));
+        if (!scope.equals(feelCompilationScope)) {
+            feelCompilationCache.clear();
+            feelCompilationScope = scope;
+        }
+        return feelCompilationCache;
     }
 
     private void addDRGElementCompiler(DRGElementCompiler compiler) {
@@ -182,7 +211,7 @@ public class DMNCompilerImpl implements DMNCompiler {
         model.setRuntimeTypeCheck(((DMNCompilerConfigurationImpl) dmnCompilerConfig).getOption(RuntimeTypeCheckOption.class).isRuntimeTypeCheck());
         DMNCompilerConfigurationImpl cc = (DMNCompilerConfigurationImpl) dmnCompilerConfig;
         List<FEELProfile> helperFEELProfiles = cc.getFeelProfiles();
-        DMNFEELHelper feel = new DMNFEELHelper(cc.getRootClassLoader(), helperFEELProfiles);
+        DMNFEELHelper feel = new DMNFEELHelper(cc.getRootClassLoader(), helperFEELProfiles, getFEELCompilationCache(cc.getRootClassLoader(), helperFEELProfiles));
         DMNCompilerContext ctx = new DMNCompilerContext(feel);
         ctx.setRelativeResolver(relativeResolver);
 
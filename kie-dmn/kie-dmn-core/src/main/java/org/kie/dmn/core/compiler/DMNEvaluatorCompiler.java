@@ -43,6 +43,7 @@ import org.kie.dmn.feel.FEEL;
 import org.kie.dmn.feel.lang.CompiledExpression;
 import org.kie.dmn.feel.runtime.FEELFunction;
 import org.kie.dmn.feel.runtime.UnaryTest;
+import org.kie.dmn.feel.runtime.UnaryTestImpl;
 import org.kie.dmn.feel.runtime.decisiontables.DTDecisionRule;
 import org.kie.dmn.feel.runtime.decisiontables.DTInputClause;
 import org.kie.dmn.feel.runtime.decisiontables.DTOutputClause;
@@ -663,10 +664,11 @@ public class DMNEvaluatorCompiler {
                         ctx.exitFrame();
                     }
                 }
-                rule.getInputEntry().add( (c, x) -> tests.stream().anyMatch( t -> {
+                // keeps the entry text, so that the decision table can index it
+                rule.getInputEntry().add( new UnaryTestImpl( (c, x) -> tests.stream().anyMatch( t -> {
                     Boolean result = t.apply( c, x );
                     return result != null && result;
-                } ) );
+                } ), ut != null ? ut.getText() : null ) );
             }
             for ( LiteralExpression le : dr.getOutputEntry() ) {
                 String expressionText = le.getText();
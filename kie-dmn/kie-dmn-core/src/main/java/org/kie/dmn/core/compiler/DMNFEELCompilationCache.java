@@ -0,0 +1,185 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.core.compiler;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.kie.dmn.feel.lang.CompiledExpression;
+import org.kie.dmn.feel.lang.Type;
+import org.kie.dmn.feel.lang.impl.MapBackedType;
+import org.kie.dmn.feel.lang.types.AliasFEELType;
+import org.kie.dmn.feel.runtime.UnaryTest;
+
+/**
+ * A size-bounded, least recently used cache of the FEEL expressions and unary tests compiled by a {@link DMNCompilerImpl},
+ * shared by all the models it compiles. The cache is not global: each compiler, and then each kbuilder, has its own, and
+ * the assembler clears it once the resources of a build have been compiled, as the compiler is then kept by the kbase.
+ *
+ * Entries are keyed by the expression text and the types of the variables in scope that the text may reference, i.e. those
+ * whose name parts all appear in the text. The FEEL profiles and the class loader are the ones of the owning compiler,
+ * which clears the cache when a model is compiled with different ones.
+ * Since each model creates its own instances of its item definitions, the types are compared by their structure: the name
+ * and the fields of a {@link MapBackedType}, the name and the built-in type of an {@link AliasFEELType}, while any other
+ * type is compared with its own equals.
+ */
+public class DMNFEELCompilationCache {
+
+    private enum Kind {
+        EXPRESSION,
+        UNARY_TESTS
+    }
+
+    private final Map<Key, Object> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public DMNFEELCompilationCache(final int maxSize) {
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<Key, Object>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Object> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    public CompiledExpression getExpression(String text, Map<String, Type> variableTypes) {
+        return (CompiledExpression) get(new Key(Kind.EXPRESSION, text, variableTypes));
+    }
+
+    public void putExpression(String text, Map<String, Type> variableTypes, CompiledExpression expression) {
+        entries.put(new Key(Kind.EXPRESSION, text, variableTypes), expression);
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<UnaryTest> getUnaryTests(String text, Map<String, Type> variableTypes) {
+        return (List<UnaryTest>) get(new Key(Kind.UNARY_TESTS, text, variableTypes));
+    }
+
+    public void putUnaryTests(String text, Map<String, Type> variableTypes, List<UnaryTest> unaryTests) {
+        entries.put(new Key(Kind.UNARY_TESTS, text, variableTypes), unaryTests);
+    }
+
+    private Object get(Key key) {
+        Object value = entries.get(key);
+        if (value != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+        return value;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "DMNFEELCompilationCache [size=" + size() + ", hits=" + getHits() + ", misses=" + getMisses() + "]";
+    }
+
+    private static boolean mayReference(String text, String name) {
+        for (String part : name.trim().split("\\s+")) {
+            if (!text.contains(part)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns an object equal to the signature of any type with the same structure
+     */
+    private static Object signature(Type type, Set<Type> visiting) {
+        if (type instanceof AliasFEELType) {
+            return Arrays.asList(AliasFEELType.class, type.getName(), ((AliasFEELType) type).getBuiltInType());
+        }
+        if (!(type instanceof MapBackedType)) {
+            return type;
+        }
+        if (!visiting.add(type)) {
+            // a recursive type is identified by its name when referenced by its own fields
+            return Arrays.asList(MapBackedType.class, type.getName());
+        }
+        Map<String, Object> fields = new TreeMap<>();
+        for (Map.Entry<String, Type> field : ((MapBackedType) type).getFields().entrySet()) {
+            fields.put(field.getKey(), signature(field.getValue(), visiting));
+        }
+        visiting.remove(type);
+        return Arrays.asList(MapBackedType.class, type.getName(), fields);
+    }
+
+    private static final class Key {
+
+        private final Kind kind;
+        private final String text;
+        private final Map<String, Object> variableTypes;
+        private final int hashCode;
+
+        private Key(Kind kind, String text, Map<String, Type> allVariableTypes) {
+            this.kind = kind;
+            this.text = text;
+            this.variableTypes = new HashMap<>();
+            Set<Type> visiting = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (Map.Entry<String, Type> entry : allVariableTypes.entrySet()) {
+                if (mayReference(text, entry.getKey())) {
+                    variableTypes.put(entry.getKey(), signature(entry.getValue(), visiting));
+                }
+            }
+            this.hashCode = Objects.hash(kind, text, variableTypes);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return hashCode == other.hashCode && kind == other.kind && text.equals(other.text) && variableTypes.equals(other.variableTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
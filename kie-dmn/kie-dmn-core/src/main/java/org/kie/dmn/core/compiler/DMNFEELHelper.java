@@ -47,16 +47,26 @@ public class DMNFEELHelper {
     private final FEEL                   feel;
     private final FEELEventsListenerImpl listener;
     private final List<FEELProfile> feelProfiles = new ArrayList<>();
+    private final DMNFEELCompilationCache compilationCache;
 
     public DMNFEELHelper(List<FEELProfile> feelProfiles) {
         this(ClassLoaderUtil.findDefaultClassLoader(), feelProfiles);
     }
 
     public DMNFEELHelper(ClassLoader classLoader, List<FEELProfile> feelProfiles) {
+        this(classLoader, feelProfiles, null);
+    }
+
+    /**
+     * @param compilationCache the cache of compiled expressions and unary tests shared with the other models
+     *                         compiled with the same profiles and class loader, or null to always compile them
+     */
+    public DMNFEELHelper(ClassLoader classLoader, List<FEELProfile> feelProfiles, DMNFEELCompilationCache compilationCache) {
         this.classLoader = classLoader;
         this.feelProfiles.addAll(feelProfiles);
         this.listener = new FEELEventsListenerImpl();
         this.feel = createFEELInstance();
+        this.compilationCache = compilationCache;
     }
 
     private FEEL createFEELInstance() {
@@ -117,7 +127,15 @@ public class DMNFEELHelper {
         for ( Map.Entry<String, DMNType> entry : ctx.getVariables().entrySet() ) {
             feelctx.addInputVariableType( entry.getKey(), ((BaseDMNTypeImpl) entry.getValue()).getFeelType() );
         }
-        CompiledExpression ce = feel.compile( expression, feelctx );
+        CompiledExpression ce = compilationCache != null ? compilationCache.getExpression( expression, feelctx.getInputVariableTypes() ) : null;
+        if ( ce == null ) {
+            int events = listener.getFeelEvents().size();
+            ce = feel.compile( expression, feelctx );
+            // expressions raising events are compiled again, so that every model reports them
+            if ( compilationCache != null && ce != null && listener.getFeelEvents().size() == events ) {
+                compilationCache.putExpression( expression, feelctx.getInputVariableTypes(), ce );
+            }
+        }
         processEvents( model, element, errorMsg, msgParams );
         return ce;
     }
@@ -151,7 +169,19 @@ public class DMNFEELHelper {
             for ( Map.Entry<String, DMNType> entry : ctx.getVariables().entrySet() ) {
                 variableTypes.put( entry.getKey(), ((BaseDMNTypeImpl) entry.getValue()).getFeelType() );
             }
-            result = feel.evaluateUnaryTests( unaryTests, variableTypes );
+            List<UnaryTest> cached = compilationCache != null ? compilationCache.getUnaryTests( unaryTests, variableTypes ) : null;
+            if ( cached != null ) {
+                result = cached;
+            } else {
+                int events = listener.getFeelEvents().size();
+                result = feel.evaluateUnaryTests( unaryTests, variableTypes );
+                // the same list is handed to every model compiling these unary tests
+                result = result != null ? Collections.unmodifiableList( result ) : null;
+                // unary tests raising events are compiled again, so that every model reports them
+                if ( compilationCache != null && result != null && listener.getFeelEvents().size() == events ) {
+                    compilationCache.putUnaryTests( unaryTests, variableTypes, result );
+                }
+            }
         } catch( Throwable t ) {
             logger.error( "Error evaluating unary tests. Error will be reported in the model.", t );
         }
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.core.compiler;
+
+import org.kie.dmn.core.assembler.DMNAssemblerService;
+
+public class FEELCompilationCacheOption implements DMNOption {
+
+    private static final long serialVersionUID = 510l;
+
+    public static final String PROPERTY_NAME = DMNAssemblerService.ORG_KIE_DMN_PREFIX + ".compiler.feelcache.size";
+
+    /**
+     * The default value for this option, 0 disables the cache
+     */
+    public static final int DEFAULT_VALUE = 10000;
+
+    private final int size;
+
+    public FEELCompilationCacheOption(int value) {
+        this.size = value;
+    }
+
+    public FEELCompilationCacheOption(String value) {
+        this.size = value == null ? DEFAULT_VALUE : Integer.parseInt(value.trim());
+    }
+
+    @Override
+    public String getPropertyName() {
+        return PROPERTY_NAME;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+}
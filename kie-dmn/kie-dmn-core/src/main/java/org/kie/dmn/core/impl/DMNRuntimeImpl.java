@@ -17,14 +17,20 @@
 package org.kie.dmn.core.impl;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.RandomAccess;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javax.xml.namespace.QName;
@@ -79,6 +85,11 @@ public class DMNRuntimeImpl
         implements DMNRuntime {
     private static final Logger logger = LoggerFactory.getLogger( DMNRuntimeImpl.class );
 
+    /**
+     * The number of contexts evaluated by a single task of a parallel batch evaluation
+     */
+    static final int BATCH_CHUNK_SIZE = 64;
+
     private DMNRuntimeEventManagerImpl         eventManager;
     private final InternalKnowledgeBase        knowledgeBase;
 
@@ -158,13 +169,29 @@ public class DMNRuntimeImpl
         boolean performRuntimeTypeCheck = performRuntimeTypeCheck(model);
         DMNResultImpl result = createResult( model, context );
         // the engine should evaluate all Decisions belonging to the "local" model namespace, not imported decision explicitly.
-        Set<DecisionNode> decisions = model.getDecisions().stream().filter(d -> d.getModelNamespace().equals(model.getNamespace())).collect(Collectors.toSet());
+        Set<DecisionNode> decisions = getLocalDecisions( model );
         for( DecisionNode decision : decisions ) {
             evaluateDecision(context, result, decision, performRuntimeTypeCheck);
         }
         return result;
     }
 
+    @Override
+    public List<DMNResult> evaluateAll(DMNModel model, List<DMNContext> contexts, Executor executor) {
+        Objects.requireNonNull(model, () -> MsgUtil.createMessage(Msg.PARAM_CANNOT_BE_NULL, "model"));
+        Objects.requireNonNull(contexts, () -> MsgUtil.createMessage(Msg.PARAM_CANNOT_BE_NULL, "contexts"));
+        // the evaluation plan is the same for every context of the batch
+        boolean performRuntimeTypeCheck = performRuntimeTypeCheck(model);
+        List<DecisionNode> decisions = new ArrayList<>( getLocalDecisions( model ) );
+        return evaluateBatch( contexts, executor, context -> {
+            DMNResultImpl result = createResult( model, context, decisions );
+            for ( DecisionNode decision : decisions ) {
+                evaluateDecision( context, result, decision, performRuntimeTypeCheck );
+            }
+            return result;
+        } );
+    }
+
     @Override
     @Deprecated
     public DMNResult evaluateDecisionByName(DMNModel model, String decisionName, DMNContext context) {
@@ -195,9 +222,73 @@ public class DMNRuntimeImpl
         return result;
     }
 
-    private void evaluateByNameInternal( DMNModel model, DMNContext context, DMNResultImpl result, String name ) {
+    @Override
+    public List<DMNResult> evaluateByName(DMNModel model, List<DMNContext> contexts, Executor executor, String... decisionNames) {
+        Objects.requireNonNull(model, () -> MsgUtil.createMessage(Msg.PARAM_CANNOT_BE_NULL, "model"));
+        Objects.requireNonNull(contexts, () -> MsgUtil.createMessage(Msg.PARAM_CANNOT_BE_NULL, "contexts"));
+        Objects.requireNonNull(decisionNames, () -> MsgUtil.createMessage(Msg.PARAM_CANNOT_BE_NULL, "decisionNames"));
+        // the evaluation plan is the same for every context of the batch
         boolean performRuntimeTypeCheck = performRuntimeTypeCheck(model);
-        Optional<DecisionNode> decision = Optional.ofNullable(model.getDecisionByName(name));
+        List<DecisionNode> localDecisions = new ArrayList<>( getLocalDecisions( model ) );
+        DecisionNode[] decisions = new DecisionNode[decisionNames.length];
+        for ( int i = 0; i < decisionNames.length; i++ ) {
+            decisions[i] = model.getDecisionByName( decisionNames[i] );
+        }
+        return evaluateBatch( contexts, executor, context -> {
+            DMNResultImpl result = createResult( model, context, localDecisions );
+            for ( int i = 0; i < decisions.length; i++ ) {
+                evaluateByNameInternal( context, result, decisionNames[i], decisions[i], performRuntimeTypeCheck );
+            }
+            return result;
+        } );
+    }
+
+    /**
+     * Applies the evaluation to each of the contexts, splitting them in chunks
+     * of {@link #BATCH_CHUNK_SIZE} evaluated in parallel when an executor is given.
+     */
+    private List<DMNResult> evaluateBatch(List<DMNContext> contexts, Executor executor, Function<DMNContext, DMNResult> evaluation) {
+        List<DMNContext> inputs = contexts instanceof RandomAccess ? contexts : new ArrayList<>( contexts );
+        // checked upfront, so that a null context doesn't fail the batch half way or inside a worker thread
+        for ( int i = 0; i < inputs.size(); i++ ) {
+            final int index = i;
+            Objects.requireNonNull(inputs.get( i ), () -> MsgUtil.createMessage(Msg.PARAM_CANNOT_BE_NULL, "contexts[" + index + "]"));
+        }
+        DMNResult[] results = new DMNResult[inputs.size()];
+        if ( executor == null || inputs.size() <= BATCH_CHUNK_SIZE ) {
+            for ( int i = 0; i < results.length; i++ ) {
+                results[i] = evaluation.apply( inputs.get( i ) );
+            }
+            return Arrays.asList( results );
+        }
+
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        for ( int start = 0; start < results.length; start += BATCH_CHUNK_SIZE ) {
+            final int from = start;
+            final int to = Math.min( start + BATCH_CHUNK_SIZE, results.length );
+            chunks.add( CompletableFuture.runAsync( () -> {
+                for ( int i = from; i < to; i++ ) {
+                    results[i] = evaluation.apply( inputs.get( i ) );
+                }
+            }, executor ) );
+        }
+        try {
+            CompletableFuture.allOf( chunks.toArray( new CompletableFuture[chunks.size()] ) ).join();
+        } catch ( CompletionException e ) {
+            if ( e.getCause() instanceof RuntimeException ) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        return Arrays.asList( results );
+    }
+
+    private void evaluateByNameInternal( DMNModel model, DMNContext context, DMNResultImpl result, String name ) {
+        evaluateByNameInternal( context, result, name, model.getDecisionByName( name ), performRuntimeTypeCheck( model ) );
+    }
+
+    private void evaluateByNameInternal( DMNContext context, DMNResultImpl result, String name, DecisionNode decisionByName, boolean performRuntimeTypeCheck ) {
+        Optional<DecisionNode> decision = Optional.ofNullable(decisionByName);
         if (decision.isPresent()) {
             evaluateDecision(context, result, decision.get(), performRuntimeTypeCheck);
         } else {
@@ -262,15 +353,23 @@ public class DMNRuntimeImpl
     }
 
     private DMNResultImpl createResult(DMNModel model, DMNContext context) {
+        return createResult( model, context, getLocalDecisions( model ) );
+    }
+
+    private DMNResultImpl createResult(DMNModel model, DMNContext context, Collection<DecisionNode> localDecisions) {
         DMNResultImpl result = new DMNResultImpl(model);
         result.setContext( context.clone() );
 
-        for (DecisionNode decision : model.getDecisions().stream().filter(d -> d.getModelNamespace().equals(model.getNamespace())).collect(Collectors.toSet())) {
+        for (DecisionNode decision : localDecisions) {
             result.addDecisionResult(new DMNDecisionResultImpl(decision.getId(), decision.getName()));
         }
         return result;
     }
 
+    private static Set<DecisionNode> getLocalDecisions(DMNModel model) {
+        return model.getDecisions().stream().filter(d -> d.getModelNamespace().equals(model.getNamespace())).collect(Collectors.toSet());
+    }
+
     @Override
     public DMNResult evaluateDecisionService(DMNModel model, DMNContext context, String decisionServiceName) {
         Objects.requireNonNull(model, () -> MsgUtil.createMessage(Msg.PARAM_CANNOT_BE_NULL, "model"));
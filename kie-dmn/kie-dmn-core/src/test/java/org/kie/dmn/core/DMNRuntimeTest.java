@@ -35,6 +35,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 import org.junit.Ignore;
@@ -90,6 +92,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.kie.dmn.core.util.DMNTestUtil.getAndAssertModelNoErrors;
 import static org.kie.dmn.core.util.DynamicTypeUtils.entry;
 import static org.kie.dmn.core.util.DynamicTypeUtils.mapOf;
@@ -125,6 +128,72 @@ public class DMNRuntimeTest extends BaseInterpretedVsCompiledTest {
         assertThat( result.get( "Yearly Salary" ), is( new BigDecimal( "12000" ) ) );
     }
 
+    @Test
+    public void testEvaluateAllBatch() {
+        final DMNRuntime runtime = DMNRuntimeUtil.createRuntime("simple-item-def.dmn", this.getClass() );
+        final DMNModel dmnModel = runtime.getModel("https://github.com/kiegroup/kie-dmn/itemdef", "simple-item-def" );
+        assertThat( dmnModel, notNullValue() );
+
+        final List<DMNContext> contexts = new ArrayList<>();
+        for ( int i = 0; i < 500; i++ ) {
+            final DMNContext context = DMNFactory.newContext();
+            context.set( "Monthly Salary", i );
+            contexts.add( context );
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool( 4 );
+        try {
+            final List<DMNResult> parallel = runtime.evaluateAll( dmnModel, contexts, executor );
+            final List<DMNResult> sequential = runtime.evaluateAll( dmnModel, contexts, null );
+            assertThat( parallel, hasSize( 500 ) );
+            assertThat( sequential, hasSize( 500 ) );
+            for ( int i = 0; i < 500; i++ ) {
+                assertThat( DMNRuntimeUtil.formatMessages( parallel.get( i ).getMessages() ), parallel.get( i ).hasErrors(), is( false ) );
+                assertThat( parallel.get( i ).getContext().get( "Yearly Salary" ), is( new BigDecimal( 12 * i ) ) );
+                assertThat( sequential.get( i ).getContext().get( "Yearly Salary" ), is( new BigDecimal( 12 * i ) ) );
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testEvaluateByNameBatch() {
+        final DMNRuntime runtime = DMNRuntimeUtil.createRuntime("simple-item-def.dmn", this.getClass() );
+        final DMNModel dmnModel = runtime.getModel("https://github.com/kiegroup/kie-dmn/itemdef", "simple-item-def" );
+        assertThat( dmnModel, notNullValue() );
+
+        final List<DMNContext> contexts = new ArrayList<>();
+        for ( int i = 0; i < 100; i++ ) {
+            final DMNContext context = DMNFactory.newContext();
+            context.set( "Monthly Salary", i );
+            contexts.add( context );
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool( 2 );
+        try {
+            final List<DMNResult> results = runtime.evaluateByName( dmnModel, contexts, executor, "Yearly Salary" );
+            assertThat( results, hasSize( 100 ) );
+            for ( int i = 0; i < 100; i++ ) {
+                assertThat( results.get( i ).getContext().get( "Yearly Salary" ), is( new BigDecimal( 12 * i ) ) );
+            }
+
+            final List<DMNResult> missing = runtime.evaluateByName( dmnModel, contexts.subList( 0, 2 ), executor, "Unknown Decision" );
+            assertThat( missing, hasSize( 2 ) );
+            assertTrue( missing.get( 0 ).hasErrors() );
+            assertTrue( missing.get( 1 ).hasErrors() );
+
+            try {
+                runtime.evaluateByName( dmnModel, Arrays.asList( contexts.get( 0 ), null ), executor, "Yearly Salary" );
+                fail( "A null context must be rejected" );
+            } catch ( NullPointerException e ) {
+                assertThat( e.getMessage(), containsString( "contexts[1]" ) );
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     public void testCompositeItemDefinition() {
         final DMNRuntime runtime = DMNRuntimeUtil.createRuntime("0008-LX-arithmetic.dmn", this.getClass() );
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.core.compiler;
+
+import java.io.StringReader;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.kie.dmn.api.core.DMNModel;
+import org.kie.dmn.core.api.DMNFactory;
+import org.kie.dmn.feel.FEEL;
+import org.kie.dmn.feel.lang.CompiledExpression;
+import org.kie.dmn.feel.lang.Type;
+import org.kie.dmn.feel.lang.impl.MapBackedType;
+import org.kie.dmn.feel.lang.types.AliasFEELType;
+import org.kie.dmn.feel.lang.types.BuiltInType;
+import org.kie.dmn.feel.runtime.UnaryTest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class DMNFEELCompilationCacheTest {
+
+    private final FEEL feel = FEEL.newInstance();
+
+    @Test
+    public void testKeyedOnReferencedVariables() {
+        DMNFEELCompilationCache cache = new DMNFEELCompilationCache(10);
+        CompiledExpression expression = feel.compile("Monthly Salary * 12", feel.newCompilerContext());
+
+        Map<String, Type> types = new HashMap<>();
+        types.put("Monthly Salary", BuiltInType.NUMBER);
+        types.put("Name", BuiltInType.STRING);
+        cache.putExpression("Monthly Salary * 12", types, expression);
+
+        // variables which are not referenced by the text do not take part in the key
+        Map<String, Type> otherModelTypes = new HashMap<>();
+        otherModelTypes.put("Monthly Salary", BuiltInType.NUMBER);
+        otherModelTypes.put("Age", BuiltInType.NUMBER);
+        assertSame(expression, cache.getExpression("Monthly Salary * 12", otherModelTypes));
+
+        Map<String, Type> differentTypes = Collections.singletonMap("Monthly Salary", BuiltInType.STRING);
+        assertNull(cache.getExpression("Monthly Salary * 12", differentTypes));
+        assertNull(cache.getUnaryTests("Monthly Salary * 12", types));
+
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void testStructuredTypesComparedByStructure() {
+        DMNFEELCompilationCache cache = new DMNFEELCompilationCache(10);
+        CompiledExpression expression = feel.compile("Person.age >= 18", feel.newCompilerContext());
+        cache.putExpression("Person.age >= 18", Collections.singletonMap("Person", person("tPerson", BuiltInType.NUMBER)), expression);
+
+        // each model has its own instance of the same item definition
+        assertSame(expression, cache.getExpression("Person.age >= 18", Collections.singletonMap("Person", person("tPerson", BuiltInType.NUMBER))));
+        assertNull(cache.getExpression("Person.age >= 18", Collections.singletonMap("Person", person("tPerson", BuiltInType.STRING))));
+        assertNull(cache.getExpression("Person.age >= 18", Collections.singletonMap("Person", person("tCustomer", BuiltInType.NUMBER))));
+
+        cache.putExpression("Age + 1", Collections.singletonMap("Age", new AliasFEELType("tAge", BuiltInType.NUMBER)), expression);
+        assertSame(expression, cache.getExpression("Age + 1", Collections.singletonMap("Age", new AliasFEELType("tAge", BuiltInType.NUMBER))));
+        assertNull(cache.getExpression("Age + 1", Collections.singletonMap("Age", new AliasFEELType("tAge", BuiltInType.STRING))));
+    }
+
+    @Test
+    public void testSharedAcrossModelsWithTheSameStructuredType() {
+        DMNCompilerImpl compiler = new DMNCompilerImpl();
+        DMNFEELCompilationCache cache = compiler.getFEELCompilationCache();
+
+        DMNModel first = compiler.compile(new StringReader(adultModel("https://kiegroup.org/dmn/first")), Collections.emptyList());
+        assertFalse(first.getMessages().toString(), first.hasErrors());
+        long hits = cache.getHits();
+
+        DMNModel second = compiler.compile(new StringReader(adultModel("https://kiegroup.org/dmn/second")), Collections.emptyList());
+        assertFalse(second.getMessages().toString(), second.hasErrors());
+        assertTrue(cache.getHits() > hits);
+    }
+
+    @Test
+    public void testClearedWhenTheClassLoaderChanges() {
+        DMNCompilerConfigurationImpl config = (DMNCompilerConfigurationImpl) DMNFactory.newCompilerConfiguration();
+        DMNCompilerImpl compiler = new DMNCompilerImpl(config);
+        DMNFEELCompilationCache cache = compiler.getFEELCompilationCache();
+
+        compiler.compile(new StringReader(adultModel("https://kiegroup.org/dmn/first")), Collections.emptyList());
+        assertTrue(cache.size() > 0);
+        long hits = cache.getHits();
+
+        // expressions compiled for another class loader can't be reused
+        config.setRootClassLoader(new URLClassLoader(new URL[0], getClass().getClassLoader()));
+        DMNModel second = compiler.compile(new StringReader(adultModel("https://kiegroup.org/dmn/second")), Collections.emptyList());
+        assertFalse(second.getMessages().toString(), second.hasErrors());
+        assertEquals(hits, cache.getHits());
+    }
+
+    private static MapBackedType person(String name, Type ageType) {
+        return new MapBackedType(name).addField("name", BuiltInType.STRING).addField("age", ageType);
+    }
+
+    private static String adultModel(String namespace) {
+        return "<definitions id=\"_adult\" name=\"adult\" namespace=\"" + namespace + "\"\n" +
+               "    xmlns=\"http://www.omg.org/spec/DMN/20151101/dmn.xsd\"\n" +
+               "    xmlns:kie=\"" + namespace + "\"\n" +
+               "    xmlns:feel=\"http://www.omg.org/spec/FEEL/20140401\">\n" +
+               "  <itemDefinition name=\"tPerson\" id=\"_tPerson\">\n" +
+               "    <itemComponent name=\"name\" id=\"_tPerson_name\"><typeRef>feel:string</typeRef></itemComponent>\n" +
+               "    <itemComponent name=\"age\" id=\"_tPerson_age\"><typeRef>feel:number</typeRef></itemComponent>\n" +
+               "  </itemDefinition>\n" +
+               "  <decision name=\"Is Adult\" id=\"d_IsAdult\">\n" +
+               "    <variable name=\"Is Adult\" typeRef=\"feel:boolean\"/>\n" +
+               "    <informationRequirement><requiredInput href=\"#i_Person\"/></informationRequirement>\n" +
+               "    <literalExpression><text>Person.age &gt;= 18</text></literalExpression>\n" +
+               "  </decision>\n" +
+               "  <inputData name=\"Person\" id=\"i_Person\">\n" +
+               "    <variable name=\"Person\" typeRef=\"kie:tPerson\"/>\n" +
+               "  </inputData>\n" +
+               "</definitions>";
+    }
+
+    @Test
+    public void testBoundedSize() {
+        DMNFEELCompilationCache cache = new DMNFEELCompilationCache(2);
+        Map<String, Type> types = Collections.emptyMap();
+        List<UnaryTest> dash = feel.evaluateUnaryTests("-");
+        List<UnaryTest> positive = feel.evaluateUnaryTests("> 0");
+        List<UnaryTest> range = feel.evaluateUnaryTests("[1..10]");
+
+        cache.putUnaryTests("-", types, dash);
+        cache.putUnaryTests("> 0", types, positive);
+        // accessing "-" makes "> 0" the least recently used entry
+        assertSame(dash, cache.getUnaryTests("-", types));
+        cache.putUnaryTests("[1..10]", types, range);
+
+        assertEquals(2, cache.size());
+        assertSame(dash, cache.getUnaryTests("-", types));
+        assertSame(range, cache.getUnaryTests("[1..10]", types));
+        assertNull(cache.getUnaryTests("> 0", types));
+    }
+}
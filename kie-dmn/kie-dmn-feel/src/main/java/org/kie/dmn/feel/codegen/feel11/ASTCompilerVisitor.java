@@ -18,6 +18,8 @@
 
 package org.kie.dmn.feel.codegen.feel11;
 
+import java.math.BigDecimal;
+import java.math.MathContext;
 import java.time.Duration;
 import java.time.chrono.ChronoPeriod;
 import java.util.ArrayDeque;
@@ -116,6 +118,20 @@ public class ASTCompilerVisitor implements Visitor<DirectCompilerResult> {
 
     ScopeHelper scopeHelper = new ScopeHelper();
 
+    private final boolean fastNumeric;
+
+    public ASTCompilerVisitor() {
+        this( false );
+    }
+
+    /**
+     * @param fastNumeric whether nested arithmetic on integer operands should be computed on long values,
+     *                    see {@link org.kie.dmn.feel.parser.feel11.profiles.FastNumericFEELProfile}
+     */
+    public ASTCompilerVisitor(boolean fastNumeric) {
+        this.fastNumeric = fastNumeric;
+    }
+
     @Override
     public DirectCompilerResult visit(ASTNode n) {
         throw new UnsupportedOperationException("Not yet implemented");
@@ -220,6 +236,11 @@ public class ASTCompilerVisitor implements Visitor<DirectCompilerResult> {
 
     @Override
     public DirectCompilerResult visit(InfixOpNode n) {
+        if (isFastArithmetic(n)) {
+            // intermediate results may be longs, the outermost operation turns them back into a FEEL number
+            DirectCompilerResult result = fastArithmetic(n);
+            return DirectCompilerResult.of(Expressions.coerceNumber(result.getExpression()), BuiltInType.UNKNOWN).withFD(result);
+        }
         DirectCompilerResult left = n.getLeft().accept(this);
         DirectCompilerResult right = n.getRight().accept(this);
         MethodCallExpr expr = Expressions.binary(
@@ -229,6 +250,57 @@ public class ASTCompilerVisitor implements Visitor<DirectCompilerResult> {
         return DirectCompilerResult.of(expr, BuiltInType.UNKNOWN).withFD(left).withFD(right);
     }
 
+    private boolean isFastArithmetic(BaseNode n) {
+        return fastNumeric && n instanceof InfixOpNode && Expressions.isFastArithmetic(((InfixOpNode) n).getOperator());
+    }
+
+    private DirectCompilerResult fastArithmetic(InfixOpNode n) {
+        BigDecimal constant = numericConstant(n);
+        if (constant != null) {
+            // all the operands are number literals, so the value is computed once when compiling
+            String text = constant.toString();
+            String constantName = Constants.numericName(text);
+            return DirectCompilerResult.of(new NameExpr(constantName), BuiltInType.NUMBER, Constants.numeric(constantName, text));
+        }
+        DirectCompilerResult left = isFastArithmetic(n.getLeft()) ? fastArithmetic((InfixOpNode) n.getLeft()) : n.getLeft().accept(this);
+        DirectCompilerResult right = isFastArithmetic(n.getRight()) ? fastArithmetic((InfixOpNode) n.getRight()) : n.getRight().accept(this);
+        MethodCallExpr expr = Expressions.fastArithmetic(
+                n.getOperator(),
+                left.getExpression(),
+                right.getExpression());
+        return DirectCompilerResult.of(expr, BuiltInType.UNKNOWN).withFD(left).withFD(right);
+    }
+
+    /**
+     * Returns the value of an arithmetic expression made only of number literals, computed as the
+     * FEEL operations would at runtime, or null if it is not one or it divides by zero.
+     */
+    private BigDecimal numericConstant(BaseNode n) {
+        if (n instanceof NumberNode) {
+            return ((NumberNode) n).getValue();
+        }
+        if (!isFastArithmetic(n)) {
+            return null;
+        }
+        InfixOpNode op = (InfixOpNode) n;
+        BigDecimal left = numericConstant(op.getLeft());
+        BigDecimal right = left == null ? null : numericConstant(op.getRight());
+        if (right == null) {
+            return null;
+        }
+        switch (op.getOperator()) {
+            case ADD:
+                return left.add(right, MathContext.DECIMAL128);
+            case SUB:
+                return left.subtract(right, MathContext.DECIMAL128);
+            case MULT:
+                return left.multiply(right, MathContext.DECIMAL128);
+            default:
+                // a division by zero is left to the runtime, that reports it
+                return right.signum() == 0 ? null : left.divide(right, MathContext.DECIMAL128);
+        }
+    }
+
     @Override
     public DirectCompilerResult visit(InstanceOfNode n) {
         DirectCompilerResult expr = n.getExpression().accept(this);
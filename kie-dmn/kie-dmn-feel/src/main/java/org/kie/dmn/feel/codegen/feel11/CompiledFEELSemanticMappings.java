@@ -328,6 +328,74 @@ public class CompiledFEELSemanticMappings {
         return right == null || right.signum() == 0 ? null : InfixOpNode.div(left, right, null);
     }
 
+    /**
+     * Fast numeric counterpart of {@link #add(Object, Object)}: integer operands are added as longs,
+     * anything else, or an overflow, is delegated to {@link InfixOpNode}.
+     */
+    public static Object fastAdd(Object left, Object right) {
+        if (isExactLong(left) && isExactLong(right)) {
+            try {
+                return Math.addExact(((Number) left).longValue(), ((Number) right).longValue());
+            } catch (ArithmeticException e) {
+                // overflow, fall back to BigDecimal
+            }
+        }
+        return InfixOpNode.add(left, right, null);
+    }
+
+    /**
+     * Fast numeric counterpart of {@link #sub(Object, Object)}
+     */
+    public static Object fastSub(Object left, Object right) {
+        if (isExactLong(left) && isExactLong(right)) {
+            try {
+                return Math.subtractExact(((Number) left).longValue(), ((Number) right).longValue());
+            } catch (ArithmeticException e) {
+                // overflow, fall back to BigDecimal
+            }
+        }
+        return InfixOpNode.sub(left, right, null);
+    }
+
+    /**
+     * Fast numeric counterpart of {@link #mult(Object, Object)}
+     */
+    public static Object fastMult(Object left, Object right) {
+        if (isExactLong(left) && isExactLong(right)) {
+            try {
+                return Math.multiplyExact(((Number) left).longValue(), ((Number) right).longValue());
+            } catch (ArithmeticException e) {
+                // overflow, fall back to BigDecimal
+            }
+        }
+        return InfixOpNode.mult(left, right, null);
+    }
+
+    /**
+     * Fast numeric counterpart of {@link #div(Object, Object)}: only exact integer divisions are computed as longs.
+     */
+    public static Object fastDiv(Object left, Object right) {
+        if (isExactLong(left) && isExactLong(right)) {
+            long l = ((Number) left).longValue();
+            long r = ((Number) right).longValue();
+            if (r != 0 && !(l == Long.MIN_VALUE && r == -1) && l % r == 0) {
+                return l / r;
+            }
+        }
+        return InfixOpNode.div(left, right, null);
+    }
+
+    /**
+     * Whether the value is an integer number that is exactly represented by its long value.
+     */
+    private static boolean isExactLong(Object value) {
+        if (value instanceof BigDecimal) {
+            BigDecimal bd = (BigDecimal) value;
+            return bd.scale() == 0 && bd.precision() < 19;
+        }
+        return value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte;
+    }
+
     public static Object pow(Object left, Object right) {
         return InfixOpNode.math(left, right, null, (l, r) -> BigDecimalMath.pow(l, r, MathContext.DECIMAL128));
     }
@@ -136,6 +136,40 @@ public class Expressions {
         }
     }
 
+    public static boolean isFastArithmetic(InfixOpNode.InfixOperator operator) {
+        switch (operator) {
+            case ADD:
+            case SUB:
+            case MULT:
+            case DIV:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * The long based counterpart of {@link #binary(InfixOpNode.InfixOperator, Expression, Expression)},
+     * whose result may be a Long that must be coerced before leaving the arithmetic expression.
+     */
+    public static MethodCallExpr fastArithmetic(
+            InfixOpNode.InfixOperator operator,
+            Expression l,
+            Expression r) {
+        switch (operator) {
+            case ADD:
+                return arithmetic("fastAdd", l, r);
+            case SUB:
+                return arithmetic("fastSub", l, r);
+            case MULT:
+                return arithmetic("fastMult", l, r);
+            case DIV:
+                return arithmetic("fastDiv", l, r);
+            default:
+                throw new UnsupportedOperationException(operator.toString());
+        }
+    }
+
     private static MethodCallExpr arithmetic(String op, Expression left, Expression right) {
         return new MethodCallExpr(null, op, new NodeList<>(left, right));
     }
@@ -13,6 +13,7 @@ import org.kie.dmn.feel.lang.impl.CompiledExpressionImpl;
 import org.kie.dmn.feel.lang.impl.InterpretedExecutableExpression;
 import org.kie.dmn.feel.lang.types.BuiltInType;
 import org.kie.dmn.feel.parser.feel11.ASTBuilderVisitor;
+import org.kie.dmn.feel.parser.feel11.profiles.FastNumericFEELProfile;
 
 import static org.kie.dmn.feel.codegen.feel11.ProcessedFEELUnit.DefaultMode.Compiled;
 import static org.kie.dmn.feel.util.ClassLoaderUtil.CAN_PLATFORM_CLASSLOAD;;
@@ -24,6 +25,7 @@ public class ProcessedExpression extends ProcessedFEELUnit {
 
     private final BaseNode ast;
     private final DefaultMode defaultBackend;
+    private final boolean fastNumeric;
     private DirectCompilerResult compiledExpression;
 
     private final CompilerBytecodeLoader compiler = new CompilerBytecodeLoader();
@@ -37,6 +39,7 @@ public class ProcessedExpression extends ProcessedFEELUnit {
 
         super(expression, ctx, profiles);
         this.defaultBackend = defaultBackend;
+        this.fastNumeric = profiles.stream().anyMatch(FastNumericFEELProfile.class::isInstance);
         ParseTree tree = getFEELParser(expression, ctx, profiles).compilation_unit();
         ast = tree.accept(new ASTBuilderVisitor(ctx.getInputVariableTypes()));
     }
@@ -65,7 +68,7 @@ public class ProcessedExpression extends ProcessedFEELUnit {
                                 BuiltInType.UNKNOWN);
             } else {
                 try {
-                    compiledExpression = ast.accept(new ASTCompilerVisitor());
+                    compiledExpression = ast.accept(new ASTCompilerVisitor(fastNumeric));
                 } catch (FEELCompilationError e) {
                     compiledExpression = DirectCompilerResult.of(
                             CompiledFEELSupport.compiledErrorExpression(e.getMessage()),
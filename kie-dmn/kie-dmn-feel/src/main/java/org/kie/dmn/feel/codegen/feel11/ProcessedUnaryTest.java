@@ -13,6 +13,7 @@ import org.kie.dmn.feel.lang.impl.CompiledExpressionImpl;
 import org.kie.dmn.feel.lang.impl.UnaryTestCompiledExecutableExpression;
 import org.kie.dmn.feel.lang.impl.UnaryTestInterpretedExecutableExpression;
 import org.kie.dmn.feel.parser.feel11.ASTBuilderVisitor;
+import org.kie.dmn.feel.parser.feel11.profiles.FastNumericFEELProfile;
 import org.kie.dmn.feel.runtime.UnaryTest;
 
 public class ProcessedUnaryTest extends ProcessedFEELUnit {
@@ -21,6 +22,7 @@ public class ProcessedUnaryTest extends ProcessedFEELUnit {
     private static final String TEMPLATE_CLASS = "TemplateCompiledFEELUnaryTests";
 
     private final BaseNode ast;
+    private final boolean fastNumeric;
     private DirectCompilerResult compiledExpression;
 
     public ProcessedUnaryTest(String expressions,
@@ -29,6 +31,7 @@ public class ProcessedUnaryTest extends ProcessedFEELUnit {
         ParseTree tree = getFEELParser(expression, ctx, profiles).unaryTestsRoot();
         BaseNode initialAst = tree.accept(new ASTBuilderVisitor(ctx.getInputVariableTypes()));
         ast = initialAst.accept(new ASTUnaryTestTransform()).node();
+        fastNumeric = profiles.stream().anyMatch(FastNumericFEELProfile.class::isInstance);
     }
 
     private DirectCompilerResult getCompilerResult() {
@@ -38,7 +41,7 @@ public class ProcessedUnaryTest extends ProcessedFEELUnit {
                         errorListener.event().getMessage());
             } else {
                 try {
-                    compiledExpression = ast.accept(new ASTCompilerVisitor());
+                    compiledExpression = ast.accept(new ASTCompilerVisitor(fastNumeric));
                 } catch (FEELCompilationError e) {
                     compiledExpression = CompiledFEELSupport.compiledErrorUnaryTest(e.getMessage());
                 }
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.parser.feel11.profiles;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.kie.dmn.feel.lang.FEELProfile;
+import org.kie.dmn.feel.runtime.FEELFunction;
+
+/**
+ * Enables the fast numeric mode of compiled FEEL expressions: additions, subtractions,
+ * multiplications and exact divisions of integer operands are computed on long values,
+ * and promoted to BigDecimal only on overflow or inexact division.
+ *
+ * This mode avoids BigDecimal arithmetic, not allocations: the type of a FEEL variable is not
+ * known when the expression is compiled, so the operands are checked at runtime and the
+ * intermediate results are boxed Longs. Operations whose operands are all number literals
+ * are folded into a single BigDecimal constant when the expression is compiled.
+ */
+public class FastNumericFEELProfile implements FEELProfile {
+
+    @Override
+    public List<FEELFunction> getFEELFunctions() {
+        return Collections.emptyList();
+    }
+
+}
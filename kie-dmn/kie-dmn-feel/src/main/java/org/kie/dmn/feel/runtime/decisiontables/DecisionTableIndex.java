@@ -0,0 +1,341 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.runtime.decisiontables;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.kie.dmn.feel.runtime.UnaryTest;
+import org.kie.dmn.feel.runtime.UnaryTestImpl;
+import org.kie.dmn.feel.util.EvalHelper;
+
+/**
+ * A build-time index over the input entries of a decision table, used to narrow
+ * the rules that need to be tested for a given set of input values.
+ *
+ * Only the entries whose text is known and is either a list of string literals
+ * (e.g. <code>"A", "B"</code>) or a list of numeric tests (e.g. <code>5</code>,
+ * <code>&lt; 10</code>, <code>[1..10]</code>) are indexed; any other entry makes
+ * its rule a candidate for every value of that column. The candidates are a superset
+ * of the matching rules, so the rule tests still have to be evaluated on them.
+ */
+class DecisionTableIndex {
+
+    static final int MIN_INDEXED_RULES = 8;
+
+    private static final Pattern NUMBER = Pattern.compile( "-?(\\d+(\\.\\d*)?|\\.\\d+)" );
+
+    private final int rulesCount;
+    private final ColumnIndex[] columns;
+
+    private DecisionTableIndex(int rulesCount, ColumnIndex[] columns) {
+        this.rulesCount = rulesCount;
+        this.columns = columns;
+    }
+
+    /**
+     * Builds the index for the given decision table, or returns null if none
+     * of its input columns can be indexed.
+     */
+    static DecisionTableIndex build(List<DTInputClause> inputs, List<DTDecisionRule> rules) {
+        if ( rules.size() < MIN_INDEXED_RULES ) {
+            return null;
+        }
+        for ( DTDecisionRule rule : rules ) {
+            if ( rule.getInputEntry().size() != inputs.size() ) {
+                return null;
+            }
+        }
+
+        ColumnIndex[] columns = new ColumnIndex[inputs.size()];
+        boolean indexed = false;
+        for ( int i = 0; i < inputs.size(); i++ ) {
+            if ( !inputs.get( i ).isCollection() ) {
+                columns[i] = buildColumn( rules, i );
+                indexed |= columns[i] != null;
+            }
+        }
+        return indexed ? new DecisionTableIndex( rules.size(), columns ) : null;
+    }
+
+    private static ColumnIndex buildColumn(List<DTDecisionRule> rules, int column) {
+        BitSet anyRows = new BitSet( rules.size() );
+        Map<String, BitSet> buckets = new HashMap<>();
+        List<Interval> intervals = new ArrayList<>();
+
+        for ( int row = 0; row < rules.size(); row++ ) {
+            String text = getText( rules.get( row ).getInputEntry().get( column ) );
+            if ( text == null || text.equals( "-" ) ) {
+                anyRows.set( row );
+                continue;
+            }
+            List<String> strings = parseStrings( text );
+            if ( strings != null ) {
+                for ( String s : strings ) {
+                    buckets.computeIfAbsent( s, k -> new BitSet( rules.size() ) ).set( row );
+                }
+                continue;
+            }
+            List<Interval> numbers = parseIntervals( text, row );
+            if ( numbers != null ) {
+                intervals.addAll( numbers );
+                continue;
+            }
+            anyRows.set( row );
+        }
+
+        if ( !buckets.isEmpty() && intervals.isEmpty() ) {
+            return new StringColumnIndex( anyRows, buckets );
+        }
+        if ( buckets.isEmpty() && !intervals.isEmpty() ) {
+            return new NumericColumnIndex( anyRows, intervals );
+        }
+        // nothing to index, or strings and numbers mixed in the same column
+        return null;
+    }
+
+    /**
+     * Returns the positions of the rules that may match the given input values,
+     * or null if none of the indexed columns could narrow them.
+     */
+    BitSet getCandidates(Object[] params) {
+        BitSet candidates = null;
+        for ( int i = 0; i < columns.length && i < params.length; i++ ) {
+            if ( columns[i] == null ) {
+                continue;
+            }
+            BitSet rows = columns[i].getCandidates( params[i] );
+            if ( rows == null ) {
+                continue;
+            }
+            if ( candidates == null ) {
+                candidates = new BitSet( rulesCount );
+                candidates.or( rows );
+            } else {
+                candidates.and( rows );
+            }
+            if ( candidates.isEmpty() ) {
+                break;
+            }
+        }
+        return candidates;
+    }
+
+    private static String getText(UnaryTest test) {
+        if ( test instanceof UnaryTestImpl ) {
+            String text = ((UnaryTestImpl) test).getText();
+            return text != null ? text.trim() : null;
+        }
+        return null;
+    }
+
+    static List<String> parseStrings(String text) {
+        List<String> strings = new ArrayList<>();
+        int pos = 0;
+        int length = text.length();
+        while ( true ) {
+            pos = skipWhitespaces( text, pos );
+            if ( pos >= length || text.charAt( pos ) != '"' ) {
+                return null;
+            }
+            int end = pos + 1;
+            while ( end < length && text.charAt( end ) != '"' ) {
+                if ( text.charAt( end ) == '\\' ) {
+                    // escape sequences are left to the FEEL parser
+                    return null;
+                }
+                end++;
+            }
+            if ( end >= length ) {
+                return null;
+            }
+            strings.add( text.substring( pos + 1, end ) );
+            pos = skipWhitespaces( text, end + 1 );
+            if ( pos >= length ) {
+                return strings;
+            }
+            if ( text.charAt( pos ) != ',' ) {
+                return null;
+            }
+            pos++;
+        }
+    }
+
+    private static int skipWhitespaces(String text, int pos) {
+        while ( pos < text.length() && Character.isWhitespace( text.charAt( pos ) ) ) {
+            pos++;
+        }
+        return pos;
+    }
+
+    static List<Interval> parseIntervals(String text, int row) {
+        List<Interval> intervals = new ArrayList<>();
+        for ( String element : text.split( "," ) ) {
+            Interval interval = parseInterval( element.trim(), row );
+            if ( interval == null ) {
+                return null;
+            }
+            intervals.add( interval );
+        }
+        return intervals;
+    }
+
+    /**
+     * Parses a single numeric test into an interval with inclusive bounds, null standing for infinity.
+     * Open bounds are widened to closed ones, as the interval only needs to contain the matching values.
+     */
+    private static Interval parseInterval(String element, int row) {
+        if ( NUMBER.matcher( element ).matches() ) {
+            BigDecimal value = new BigDecimal( element );
+            return new Interval( value, value, row );
+        }
+        if ( element.startsWith( "<=" ) || element.startsWith( ">=" ) ) {
+            BigDecimal value = parseNumber( element.substring( 2 ) );
+            return value == null ? null : element.charAt( 0 ) == '<' ? new Interval( null, value, row ) : new Interval( value, null, row );
+        }
+        if ( element.startsWith( "<" ) || element.startsWith( ">" ) ) {
+            BigDecimal value = parseNumber( element.substring( 1 ) );
+            return value == null ? null : element.charAt( 0 ) == '<' ? new Interval( null, value, row ) : new Interval( value, null, row );
+        }
+        int length = element.length();
+        if ( length > 2 && "[(]".indexOf( element.charAt( 0 ) ) >= 0 && "])[".indexOf( element.charAt( length - 1 ) ) >= 0 ) {
+            String body = element.substring( 1, length - 1 );
+            int separator = body.indexOf( ".." );
+            if ( separator < 0 ) {
+                return null;
+            }
+            BigDecimal low = parseNumber( body.substring( 0, separator ) );
+            BigDecimal high = parseNumber( body.substring( separator + 2 ) );
+            return low == null || high == null ? null : new Interval( low, high, row );
+        }
+        return null;
+    }
+
+    private static BigDecimal parseNumber(String text) {
+        String trimmed = text.trim();
+        return NUMBER.matcher( trimmed ).matches() ? new BigDecimal( trimmed ) : null;
+    }
+
+    static class Interval {
+        private final BigDecimal low;
+        private final BigDecimal high;
+        private final int row;
+
+        Interval(BigDecimal low, BigDecimal high, int row) {
+            this.low = low;
+            this.high = high;
+            this.row = row;
+        }
+    }
+
+    private abstract static class ColumnIndex {
+        protected final BitSet anyRows;
+
+        ColumnIndex(BitSet anyRows) {
+            this.anyRows = anyRows;
+        }
+
+        /**
+         * Returns the rows that may match the given value, or null if the value
+         * cannot be looked up in this column.
+         */
+        abstract BitSet getCandidates(Object value);
+    }
+
+    private static class StringColumnIndex extends ColumnIndex {
+        private final Map<String, BitSet> buckets;
+
+        StringColumnIndex(BitSet anyRows, Map<String, BitSet> buckets) {
+            super( anyRows );
+            this.buckets = buckets;
+        }
+
+        @Override
+        BitSet getCandidates(Object value) {
+            if ( !(value instanceof String) ) {
+                return null;
+            }
+            BitSet bucket = buckets.get( value );
+            if ( bucket == null ) {
+                return anyRows;
+            }
+            BitSet rows = (BitSet) anyRows.clone();
+            rows.or( bucket );
+            return rows;
+        }
+    }
+
+    private static class NumericColumnIndex extends ColumnIndex {
+        // intervals sorted by their lower bound, unbounded ones first
+        private final BigDecimal[] lows;
+        private final BigDecimal[] highs;
+        private final int[] rows;
+
+        NumericColumnIndex(BitSet anyRows, List<Interval> intervals) {
+            super( anyRows );
+            intervals.sort( Comparator.comparing( (Interval i) -> i.low, Comparator.nullsFirst( Comparator.naturalOrder() ) ) );
+            this.lows = new BigDecimal[intervals.size()];
+            this.highs = new BigDecimal[intervals.size()];
+            this.rows = new int[intervals.size()];
+            for ( int i = 0; i < intervals.size(); i++ ) {
+                Interval interval = intervals.get( i );
+                lows[i] = interval.low;
+                highs[i] = interval.high;
+                rows[i] = interval.row;
+            }
+        }
+
+        @Override
+        BitSet getCandidates(Object value) {
+            if ( !(value instanceof Number) ) {
+                return null;
+            }
+            BigDecimal number = EvalHelper.getBigDecimalOrNull( value );
+            if ( number == null ) {
+                return null;
+            }
+            BitSet result = (BitSet) anyRows.clone();
+            int last = lastLowerOrEqual( number );
+            for ( int i = 0; i <= last; i++ ) {
+                if ( highs[i] == null || highs[i].compareTo( number ) >= 0 ) {
+                    result.set( rows[i] );
+                }
+            }
+            return result;
+        }
+
+        private int lastLowerOrEqual(BigDecimal number) {
+            int low = 0;
+            int high = lows.length - 1;
+            while ( low <= high ) {
+                int mid = (low + high) >>> 1;
+                if ( lows[mid] == null || lows[mid].compareTo( number ) <= 0 ) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return high;
+        }
+    }
+}
@@ -370,10 +370,10 @@ public class EvalHelper {
                     return PropertyValueResult.notDefined();
             }
         } else {
-            Method getter = getGenericAccessor( current.getClass(), property );
-            if ( getter != null ) {
+            PropertyAccessors.PropertyAccessor accessor = PropertyAccessors.getAccessor( current.getClass(), property );
+            if ( accessor != null ) {
                 try {
-                    result = getter.invoke(current);
+                    result = accessor.get(current);
                 } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
                     e.printStackTrace();
                     return PropertyValueResult.of(Either.ofLeft(e));
@@ -423,6 +423,7 @@ public class EvalHelper {
 
     public static void clearGenericAccessorCache() {
         accessorCache.clear();
+        PropertyAccessors.clear();
     }
 
     /**
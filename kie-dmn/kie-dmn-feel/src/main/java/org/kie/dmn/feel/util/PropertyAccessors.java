@@ -0,0 +1,177 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.util;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Typed accessors for the properties of Java objects navigated by FEEL path expressions.
+ *
+ * The accessor of each (class, property) pair is resolved once, through {@link EvalHelper#getGenericAccessor(Class, String)},
+ * and bound to a function generated with {@link LambdaMetafactory}, so that reading the property is a plain method call
+ * instead of a reflective one. When the function cannot be generated, e.g. because the class comes from a KieContainer
+ * and is not visible from this class loader, the getter is unreflected once into a {@link MethodHandle}, which is still
+ * cheaper to invoke than {@link Method#invoke(Object, Object...)}, the last resort when the getter cannot be unreflected.
+ */
+public final class PropertyAccessors {
+
+    private static final Logger LOG = LoggerFactory.getLogger( PropertyAccessors.class );
+
+    private static final Map<Class<?>, Map<String, PropertyAccessor>> accessors = new ConcurrentHashMap<>();
+
+    private static final PropertyAccessor NOT_DEFINED = new PropertyAccessor( null, null, null );
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType( Object.class, Object.class );
+
+    /**
+     * Returns the accessor of the given property, or null if the class defines no such property.
+     */
+    public static PropertyAccessor getAccessor(Class<?> clazz, String property) {
+        Map<String, PropertyAccessor> classAccessors = accessors.get( clazz );
+        if ( classAccessors == null ) {
+            classAccessors = accessors.computeIfAbsent( clazz, c -> new ConcurrentHashMap<>() );
+        }
+        PropertyAccessor accessor = classAccessors.get( property );
+        if ( accessor == null ) {
+            accessor = classAccessors.computeIfAbsent( property, p -> createAccessor( clazz, p ) );
+        }
+        return accessor == NOT_DEFINED ? null : accessor;
+    }
+
+    public static void clear() {
+        accessors.clear();
+    }
+
+    private static PropertyAccessor createAccessor(Class<?> clazz, String property) {
+        Method getter = EvalHelper.getGenericAccessor( clazz, property );
+        if ( getter == null ) {
+            return NOT_DEFINED;
+        }
+        Function<Object, Object> function = generateFunction( getter );
+        return new PropertyAccessor( getter, function, function == null ? unreflect( getter ) : null );
+    }
+
+    private static MethodHandle unreflect(Method getter) {
+        try {
+            return MethodHandles.lookup().unreflect( getter ).asType( GETTER_TYPE );
+        } catch ( IllegalAccessException e ) {
+            LOG.debug( "Unable to unreflect {}, falling back to reflection", getter, e );
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> generateFunction(Method getter) {
+        if ( !ClassLoaderUtil.CAN_PLATFORM_CLASSLOAD || getter.getReturnType() == void.class ||
+             !isVisible( getter.getDeclaringClass() ) || !isVisible( getter.getReturnType() ) ) {
+            return null;
+        }
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle handle = lookup.unreflect( getter );
+            CallSite site = LambdaMetafactory.metafactory( lookup,
+                                                           "apply",
+                                                           MethodType.methodType( Function.class ),
+                                                           GETTER_TYPE,
+                                                           handle,
+                                                           handle.type().wrap() );
+            return (Function<Object, Object>) site.getTarget().invokeExact();
+        } catch ( Throwable t ) {
+            LOG.debug( "Unable to generate the accessor function for {}, falling back to reflection", getter, t );
+            return null;
+        }
+    }
+
+    /**
+     * The generated function links against the class from this class loader, so it must resolve to the same class.
+     */
+    private static boolean isVisible(Class<?> clazz) {
+        while ( clazz.isArray() ) {
+            clazz = clazz.getComponentType();
+        }
+        if ( clazz.isPrimitive() ) {
+            return true;
+        }
+        try {
+            return Class.forName( clazz.getName(), false, PropertyAccessors.class.getClassLoader() ) == clazz;
+        } catch ( ClassNotFoundException | LinkageError e ) {
+            return false;
+        }
+    }
+
+    public static final class PropertyAccessor {
+
+        private final Method getter;
+        private final Function<Object, Object> function;
+        private final MethodHandle handle;
+
+        private PropertyAccessor(Method getter, Function<Object, Object> function, MethodHandle handle) {
+            this.getter = getter;
+            this.function = function;
+            this.handle = handle;
+        }
+
+        public Method getGetter() {
+            return getter;
+        }
+
+        public boolean isGenerated() {
+            return function != null;
+        }
+
+        public boolean isMethodHandle() {
+            return handle != null;
+        }
+
+        /**
+         * Reads the property from the given object, with the same exceptions of a reflective invocation of the getter.
+         */
+        public Object get(Object object) throws IllegalAccessException, InvocationTargetException {
+            if ( function == null && handle == null ) {
+                return getter.invoke( object );
+            }
+            try {
+                return function != null ? function.apply( object ) : (Object) handle.invokeExact( object );
+            } catch ( ClassCastException e ) {
+                if ( !getter.getDeclaringClass().isInstance( object ) ) {
+                    throw new IllegalArgumentException( "object is not an instance of declaring class", e );
+                }
+                throw new InvocationTargetException( e );
+            } catch ( Error e ) {
+                throw e;
+            } catch ( Throwable e ) {
+                throw new InvocationTargetException( e );
+            }
+        }
+    }
+
+    private PropertyAccessors() {
+        // not allowed for util class.
+    }
+}
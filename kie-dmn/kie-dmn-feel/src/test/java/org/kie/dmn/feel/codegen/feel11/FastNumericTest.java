@@ -0,0 +1,110 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.codegen.feel11;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.kie.dmn.feel.FEEL;
+import org.kie.dmn.feel.lang.ast.BaseNode;
+import org.kie.dmn.feel.parser.feel11.ASTBuilderVisitor;
+import org.kie.dmn.feel.parser.feel11.FEELParser;
+import org.kie.dmn.feel.parser.feel11.FEEL_1_1Parser;
+import org.kie.dmn.feel.parser.feel11.profiles.DoCompileFEELProfile;
+import org.kie.dmn.feel.parser.feel11.profiles.FastNumericFEELProfile;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class FastNumericTest {
+
+    private final FEEL defaultFEEL = FEEL.newInstance( Arrays.asList( new DoCompileFEELProfile() ) );
+    private final FEEL fastFEEL = FEEL.newInstance( Arrays.asList( new DoCompileFEELProfile(), new FastNumericFEELProfile() ) );
+
+    @Test
+    public void testSameResultsAsDefaultMode() {
+        Map<String, Object> inputs = new HashMap<>();
+        inputs.put( "a", 7 );
+        inputs.put( "b", new BigDecimal( "2.5" ) );
+        inputs.put( "c", Long.MAX_VALUE );
+        inputs.put( "s", "x" );
+
+        String[] expressions = { "1 + 2 * 3 - 4",
+                                 "9223372036854775807 + 1",
+                                 "7 / 2 + 1",
+                                 "a * 12 + 3",
+                                 "a * b + 1",
+                                 "10 / 2 + a",
+                                 "10 / 4 + 1",
+                                 "7 / 3 * 3",
+                                 "a / 0 + 1",
+                                 "c + 1 - 1",
+                                 "c * 2 / 2",
+                                 "(a + 1) * (a - 1) > 40",
+                                 "abs(a - 10) + 1",
+                                 "s + \"y\"",
+                                 "null + 1" };
+        for ( String expression : expressions ) {
+            assertThat( expression, fastFEEL.evaluate( expression, inputs ), is( defaultFEEL.evaluate( expression, inputs ) ) );
+        }
+    }
+
+    @Test
+    public void testResultsAreFEELNumbers() {
+        assertThat( fastFEEL.evaluate( "1 + 2 * 3" ), is( new BigDecimal( 7 ) ) );
+        assertThat( fastFEEL.evaluate( "1 + 2 * 3" ), instanceOf( BigDecimal.class ) );
+        assertThat( fastFEEL.evaluate( "1 / 0" ), nullValue() );
+    }
+
+    @Test
+    public void testLiteralArithmeticIsFolded() {
+        String compiled = compile( "1 + 2 * 3 - a" );
+        assertThat( compiled, compiled.contains( "fastSub(K_7," ), is( true ) );
+        assertThat( compiled, compiled.contains( "fastAdd" ), is( false ) );
+        assertThat( compile( "10 / 4 + a" ).contains( "fastAdd(K_2_465," ), is( true ) );
+        // a division by zero is left to the runtime
+        assertThat( compile( "1 / 0 + a" ).contains( "fastDiv" ), is( true ) );
+        assertThat( fastFEEL.evaluate( "1 + 2 * 3 - 4" ), is( new BigDecimal( 3 ) ) );
+        assertThat( fastFEEL.evaluate( "9223372036854775807 + 1" ), is( new BigDecimal( "9223372036854775808" ) ) );
+    }
+
+    @Test
+    public void testFastMappings() {
+        assertThat( CompiledFEELSemanticMappings.fastAdd( new BigDecimal( 2 ), 3 ), is( 5L ) );
+        assertThat( CompiledFEELSemanticMappings.fastSub( 2L, new BigDecimal( 3 ) ), is( -1L ) );
+        assertThat( CompiledFEELSemanticMappings.fastMult( 4, 5 ), is( 20L ) );
+        assertThat( CompiledFEELSemanticMappings.fastDiv( 20L, 5 ), is( 4L ) );
+        // promoted to BigDecimal on overflow, inexact division or non integer operands
+        assertThat( CompiledFEELSemanticMappings.fastAdd( Long.MAX_VALUE, 1L ), instanceOf( BigDecimal.class ) );
+        assertThat( CompiledFEELSemanticMappings.fastMult( Long.MAX_VALUE, 2L ), instanceOf( BigDecimal.class ) );
+        assertThat( CompiledFEELSemanticMappings.fastDiv( 7L, 2L ), is( new BigDecimal( "3.5" ) ) );
+        assertThat( CompiledFEELSemanticMappings.fastAdd( new BigDecimal( "1.5" ), 1L ), is( new BigDecimal( "2.5" ) ) );
+        assertThat( CompiledFEELSemanticMappings.fastDiv( 7L, 0L ), nullValue() );
+    }
+
+    private String compile(String input) {
+        FEEL_1_1Parser parser = FEELParser.parse( null, input, Collections.emptyMap(), Collections.emptyMap(), Collections.emptyList(), Collections.emptyList() );
+        BaseNode node = new ASTBuilderVisitor( Collections.emptyMap() ).visit( parser.compilation_unit() );
+        return node.accept( new ASTCompilerVisitor( true ) ).getExpression().toString();
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.runtime.decisiontables;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import org.junit.Test;
+import org.kie.dmn.feel.runtime.UnaryTestImpl;
+
+import static org.junit.Assert.*;
+
+public class DecisionTableIndexTest {
+
+    @Test
+    public void testStringBuckets() {
+        DecisionTableIndex index = DecisionTableIndex.build( inputs( 1 ),
+                                                             rules( "\"A\"", "\"B\"", "\"A\", \"C\"", "-", "\"D\"",
+                                                                    "\"E\"", "\"F\"", "not(\"A\")" ) );
+        assertNotNull( index );
+        assertEquals( bits( 0, 2, 3, 7 ), index.getCandidates( new Object[]{"A"} ) );
+        assertEquals( bits( 2, 3, 7 ), index.getCandidates( new Object[]{"C"} ) );
+        assertEquals( bits( 3, 7 ), index.getCandidates( new Object[]{"Z"} ) );
+        // a value of a different kind is not narrowed by the column
+        assertNull( index.getCandidates( new Object[]{BigDecimal.ONE} ) );
+    }
+
+    @Test
+    public void testNumericIntervals() {
+        DecisionTableIndex index = DecisionTableIndex.build( inputs( 1 ),
+                                                             rules( "< 18", "[18..65)", ">= 65", "5, 7", "-", "]100..200[",
+                                                                    "-3.5", "? > 10" ) );
+        assertNotNull( index );
+        assertEquals( bits( 0, 3, 4, 7 ), index.getCandidates( new Object[]{5} ) );
+        assertEquals( bits( 0, 1, 4, 7 ), index.getCandidates( new Object[]{new BigDecimal( "18" )} ) );
+        assertEquals( bits( 1, 2, 4, 7 ), index.getCandidates( new Object[]{65L} ) );
+        assertEquals( bits( 2, 4, 5, 7 ), index.getCandidates( new Object[]{150.5d} ) );
+        assertEquals( bits( 0, 4, 6, 7 ), index.getCandidates( new Object[]{-3.5d} ) );
+        assertNull( index.getCandidates( new Object[]{"5"} ) );
+    }
+
+    @Test
+    public void testColumnsAreIntersected() {
+        DecisionTableIndex index = DecisionTableIndex.build( inputs( 2 ),
+                                                             rules( new String[]{"\"A\"", "< 10"},
+                                                                    new String[]{"\"A\"", ">= 10"},
+                                                                    new String[]{"\"B\"", "< 10"},
+                                                                    new String[]{"\"B\"", ">= 10"},
+                                                                    new String[]{"-", "[0..100]"},
+                                                                    new String[]{"\"C\"", "-"},
+                                                                    new String[]{"\"A\"", "-"},
+                                                                    new String[]{"-", "-"} ) );
+        assertEquals( bits( 1, 4, 6, 7 ), index.getCandidates( new Object[]{"A", 20} ) );
+        assertEquals( bits( 2, 4, 7 ), index.getCandidates( new Object[]{"B", 5} ) );
+        assertEquals( bits( 7 ), index.getCandidates( new Object[]{"D", 500} ) );
+        assertNull( index.getCandidates( new Object[]{null, null} ) );
+    }
+
+    @Test
+    public void testNotIndexed() {
+        // too few rules
+        assertNull( DecisionTableIndex.build( inputs( 1 ), rules( "\"A\"", "\"B\"" ) ) );
+        // strings and numbers in the same column
+        assertNull( DecisionTableIndex.build( inputs( 1 ), rules( "\"A\"", "1", "\"B\"", "2", "-", "-", "-", "-" ) ) );
+        // escaped strings are left to FEEL
+        assertNull( DecisionTableIndex.build( inputs( 1 ), rules( "\"A\\\"\"", "-", "-", "-", "-", "-", "-", "-" ) ) );
+        // collection inputs
+        List<DTInputClause> inputs = Arrays.asList( new DTInputClause( "x", null, null, null, true ) );
+        assertNull( DecisionTableIndex.build( inputs, rules( "\"A\"", "\"B\"", "\"C\"", "\"D\"", "\"E\"", "\"F\"", "\"G\"", "\"H\"" ) ) );
+    }
+
+    private static List<DTInputClause> inputs(int size) {
+        List<DTInputClause> inputs = new ArrayList<>();
+        for ( int i = 0; i < size; i++ ) {
+            inputs.add( new DTInputClause( "x" + i, null, null, null, false ) );
+        }
+        return inputs;
+    }
+
+    private static List<DTDecisionRule> rules(String... entries) {
+        List<DTDecisionRule> rules = new ArrayList<>();
+        for ( String entry : entries ) {
+            rules.add( rule( rules.size(), entry ) );
+        }
+        return rules;
+    }
+
+    private static List<DTDecisionRule> rules(String[]... entries) {
+        List<DTDecisionRule> rules = new ArrayList<>();
+        for ( String[] row : entries ) {
+            rules.add( rule( rules.size(), row ) );
+        }
+        return rules;
+    }
+
+    private static DTDecisionRule rule(int index, String... entries) {
+        DTDecisionRule rule = new DTDecisionRule( index );
+        for ( String entry : entries ) {
+            rule.getInputEntry().add( new UnaryTestImpl( (c, x) -> true, entry ) );
+        }
+        return rule;
+    }
+
+    private static BitSet bits(int... rows) {
+        BitSet bits = new BitSet();
+        for ( int row : rows ) {
+            bits.set( row );
+        }
+        return bits;
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.math.BigDecimal;
+
+import org.junit.Test;
+import org.kie.dmn.feel.lang.FEELProperty;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PropertyAccessorsTest {
+
+    public static class Bean {
+        public String getName() {
+            return "John";
+        }
+
+        public int getAge() {
+            return 42;
+        }
+
+        public boolean isActive() {
+            return true;
+        }
+
+        @FEELProperty("full name")
+        public String fullName() {
+            return "John Doe";
+        }
+
+        public Bean getNext() {
+            return new Bean();
+        }
+
+        public String getFailing() {
+            throw new IllegalStateException( "failing getter" );
+        }
+    }
+
+    @Test
+    public void testGeneratedAccessors() throws Exception {
+        Bean bean = new Bean();
+        PropertyAccessors.PropertyAccessor name = PropertyAccessors.getAccessor( Bean.class, "name" );
+        assertTrue( name.isGenerated() );
+        assertEquals( "John", name.get( bean ) );
+        assertEquals( 42, PropertyAccessors.getAccessor( Bean.class, "age" ).get( bean ) );
+        assertEquals( true, PropertyAccessors.getAccessor( Bean.class, "active" ).get( bean ) );
+        assertEquals( "John Doe", PropertyAccessors.getAccessor( Bean.class, "full name" ).get( bean ) );
+        assertSame( name, PropertyAccessors.getAccessor( Bean.class, "name" ) );
+    }
+
+    @Test
+    public void testClassNotVisibleFromFEEL() throws Exception {
+        // the same bean defined by another class loader, as the classes of a KieContainer
+        Class<?> isolated = new IsolatedClassLoader().define( Bean.class );
+        Object bean = isolated.getDeclaredConstructor().newInstance();
+
+        PropertyAccessors.PropertyAccessor name = PropertyAccessors.getAccessor( isolated, "name" );
+        assertFalse( name.isGenerated() );
+        assertTrue( name.isMethodHandle() );
+        assertEquals( "John", name.get( bean ) );
+        assertEquals( 42, PropertyAccessors.getAccessor( isolated, "age" ).get( bean ) );
+        try {
+            PropertyAccessors.getAccessor( isolated, "failing" ).get( bean );
+            fail( "the getter exception should be propagated" );
+        } catch ( InvocationTargetException e ) {
+            assertTrue( e.getCause() instanceof IllegalStateException );
+        }
+        try {
+            name.get( new Bean() );
+            fail( "an object of another class should be rejected" );
+        } catch ( IllegalArgumentException e ) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testUndefinedProperty() {
+        assertNull( PropertyAccessors.getAccessor( Bean.class, "unknown" ) );
+        assertNull( PropertyAccessors.getAccessor( Bean.class, "unknown" ) );
+    }
+
+    @Test
+    public void testFailingGetter() throws Exception {
+        try {
+            PropertyAccessors.getAccessor( Bean.class, "failing" ).get( new Bean() );
+            fail( "the getter exception should be propagated" );
+        } catch ( InvocationTargetException e ) {
+            assertTrue( e.getCause() instanceof IllegalStateException );
+        }
+    }
+
+    @Test
+    public void testGetDefinedValue() {
+        Bean bean = new Bean();
+        assertEquals( "John", EvalHelper.getDefinedValue( bean, "name" ).getValueResult().getOrElse( null ) );
+        assertEquals( new BigDecimal( 42 ), EvalHelper.getDefinedValue( bean, "age" ).getValueResult().getOrElse( null ) );
+        assertEquals( "John", EvalHelper.getDefinedValue( EvalHelper.getValue( bean, "next" ), "name" ).getValueResult().getOrElse( null ) );
+        assertFalse( EvalHelper.getDefinedValue( bean, "unknown" ).isDefined() );
+        assertTrue( EvalHelper.getDefinedValue( bean, "failing" ).getValueResult().isLeft() );
+    }
+
+    private static class IsolatedClassLoader extends ClassLoader {
+
+        IsolatedClassLoader() {
+            super( PropertyAccessorsTest.class.getClassLoader() );
+        }
+
+        Class<?> define(Class<?> clazz) throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (InputStream in = clazz.getClassLoader().getResourceAsStream( clazz.getName().replace( '.', '/' ) + ".class" )) {
+                byte[] buffer = new byte[4096];
+                for ( int read = in.read( buffer ); read >= 0; read = in.read( buffer ) ) {
+                    bytes.write( buffer, 0, read );
+                }
+            }
+            return defineClass( clazz.getName(), bytes.toByteArray(), 0, bytes.size() );
+        }
+    }
+}